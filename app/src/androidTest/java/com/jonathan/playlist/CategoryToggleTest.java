@@ -0,0 +1,119 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CategoryToggleTest.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.database.Cursor;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test verifying the toggle of the categories of a video game on a database in memory
+ */
+@RunWith(AndroidJUnit4.class)
+public class CategoryToggleTest {
+
+    // MySQLiteOpenHelper working on a database in memory, recreated for each test
+    private MySQLiteOpenHelper mySQLiteOpenHelper;
+
+    // ID of the video game saved in the backlog for each test
+    private int zeldaId;
+
+    /**
+     * Method saving a video game in the backlog before each test
+     */
+    @Before
+    public void setUp() {
+
+        // Create the database in memory and save a video game in the backlog only
+        mySQLiteOpenHelper = new MySQLiteOpenHelper(InstrumentationRegistry.getInstrumentation().getTargetContext(), null);
+        assertTrue(mySQLiteOpenHelper.addVideoGame("Zelda", "Switch", "Nintendo", "2017-03-03", null, 0, 59.99, true, false, false, false, "null"));
+        try (Cursor cursor = mySQLiteOpenHelper.getReadableDatabase().rawQuery("SELECT " + MySQLiteOpenHelper.COLUMN_ID + " FROM " + MySQLiteOpenHelper.TABLE_VIDEO_GAMES, null)) {
+            assertTrue(cursor.moveToFirst());
+            zeldaId = cursor.getInt(0);
+        }
+
+    }
+
+    /**
+     * Method closing the database in memory after each test
+     */
+    @After
+    public void tearDown() {
+        mySQLiteOpenHelper.close();
+    }
+
+    /**
+     * Test verifying that toggling a category sets its flag in the database and toggling it again clears it, the other flags being kept
+     */
+    @Test
+    public void toggleCategoryStatus_setsAndClearsFlag() {
+
+        // Adding the video game to the collection sets the flag of the collection
+        assertEquals(CategoryToggle.ADDED, mySQLiteOpenHelper.toggleCategoryStatus("collection", zeldaId, false));
+        assertEquals(VideoGame.FLAG_BACKLOG | VideoGame.FLAG_COLLECTION, readCategories());
+
+        // Removing it from the collection clears the flag of the collection only
+        assertEquals(CategoryToggle.REMOVED, mySQLiteOpenHelper.toggleCategoryStatus("collection", zeldaId, false));
+        assertEquals(VideoGame.FLAG_BACKLOG, readCategories());
+
+    }
+
+    /**
+     * Test verifying that the video game is kept in its last category unless it must be deleted along with it
+     */
+    @Test
+    public void toggleCategoryStatus_lastCategory_keepsOrDeletes() {
+
+        // The flag of the last category is kept when the video game must not be deleted
+        assertEquals(CategoryToggle.LAST_CATEGORY, mySQLiteOpenHelper.toggleCategoryStatus("backlog", zeldaId, false));
+        assertEquals(VideoGame.FLAG_BACKLOG, readCategories());
+
+        // The video game is deleted when requested, and toggling it afterwards fails
+        assertEquals(CategoryToggle.DELETED, mySQLiteOpenHelper.toggleCategoryStatus("backlog", zeldaId, true));
+        assertTrue(mySQLiteOpenHelper.readOneVideoGame(zeldaId).isEmpty());
+        assertEquals(CategoryToggle.FAILED, mySQLiteOpenHelper.toggleCategoryStatus("collection", zeldaId, false));
+
+    }
+
+    /**
+     * Test verifying that the position of the video game within the manual order of a category is forgotten once it is removed from the category
+     */
+    @Test
+    public void toggleCategoryStatus_removed_deletesManualOrderKey() {
+
+        // Place the video game manually within the collection and remove it from the collection
+        int listId = MySQLiteOpenHelper.getCategoryListId(VideoGame.FLAG_COLLECTION);
+        mySQLiteOpenHelper.toggleCategoryStatus("collection", zeldaId, false);
+        assertTrue(mySQLiteOpenHelper.writeManualOrderKey(listId, zeldaId, "m"));
+        mySQLiteOpenHelper.toggleCategoryStatus("collection", zeldaId, false);
+
+        // The key of the video game within the collection no longer exists
+        assertNull(mySQLiteOpenHelper.readManualOrderKey(listId, zeldaId));
+
+    }
+
+    /**
+     * Method allowing to read the flags of the categories of the video game directly from the database
+     * @return Flags of the categories of the video game
+     */
+    private int readCategories() {
+
+        // Read the categories column of the video game
+        try (Cursor cursor = mySQLiteOpenHelper.getReadableDatabase().rawQuery("SELECT " + MySQLiteOpenHelper.COLUMN_CATEGORIES + " FROM " + MySQLiteOpenHelper.TABLE_VIDEO_GAMES + " WHERE " + MySQLiteOpenHelper.COLUMN_ID + " = ?", new String[]{String.valueOf(zeldaId)})) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+
+    }
+
+}
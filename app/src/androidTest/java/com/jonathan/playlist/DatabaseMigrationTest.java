@@ -0,0 +1,182 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      DatabaseMigrationTest.java   ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test verifying that upgrading a database created by the first version of the application keeps its video games
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseMigrationTest {
+
+    // Name of the database file upgraded by each test, deleted before and after each test
+    private static final String DATABASE_NAME = "PlayListMigrationTest.db";
+
+    // Context of the application and MySQLiteOpenHelper upgrading the database
+    private Context context;
+    private MySQLiteOpenHelper mySQLiteOpenHelper;
+
+    /**
+     * Method creating a database of the first version containing two video games before each test
+     */
+    @Before
+    public void setUp() {
+
+        // Delete the database left by a previous run and create the video game table as it was in the first version
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DATABASE_NAME);
+        File databaseFile = context.getDatabasePath(DATABASE_NAME);
+        assertTrue(databaseFile.getParentFile().isDirectory() || databaseFile.getParentFile().mkdirs());
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(databaseFile, null);
+        db.execSQL("CREATE TABLE video_games (_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, title VARCHAR(100) NOT NULL, platform VARCHAR(50) NOT NULL, "
+                + "publisher VARCHAR(50) NOT NULL, release_date DATE NOT NULL, completion_date DATE, playtime INTEGER CHECK (playtime <= 10000), "
+                + "price REAL CHECK (price <= 10000) NOT NULL, is_backlog INTEGER NOT NULL, is_collection INTEGER NOT NULL, is_completion INTEGER NOT NULL, "
+                + "is_wishlist INTEGER NOT NULL, image_path TEXT)");
+
+        // Save a video game in the backlog and the collection, and a completed video game in the wishlist
+        insertVersionOneVideoGame(db, "Zelda", null, 0, 59.99, 1, 1, 0, 0, "content://media/zelda");
+        insertVersionOneVideoGame(db, "Mario", "2018-01-15", 40, 49.99, 0, 0, 1, 1, "null");
+        db.setVersion(1);
+        db.close();
+
+    }
+
+    /**
+     * Method closing and deleting the upgraded database after each test
+     */
+    @After
+    public void tearDown() {
+
+        // Close the database if it was opened and delete its file
+        if (mySQLiteOpenHelper != null) {
+            mySQLiteOpenHelper.close();
+        }
+        context.deleteDatabase(DATABASE_NAME);
+
+    }
+
+    /**
+     * Test verifying that every column of the video games is kept and that their categories are converted into flags
+     */
+    @Test
+    public void upgrade_keepsVideoGames() {
+
+        // Open the database, which upgrades it from the first version to the current one
+        mySQLiteOpenHelper = new MySQLiteOpenHelper(context, DATABASE_NAME);
+        assertEquals(MySQLiteOpenHelper.DATABASE_VERSION, mySQLiteOpenHelper.getReadableDatabase().getVersion());
+        ArrayList<VideoGame> videoGames = mySQLiteOpenHelper.readAllVideoGames();
+        assertEquals(2, videoGames.size());
+
+        // The first video game keeps its values and is in the backlog and the collection only
+        VideoGame zelda = findVideoGame(videoGames, "Zelda");
+        assertEquals("Switch", zelda.getPlatform());
+        assertEquals("Nintendo", zelda.getPublisher());
+        assertEquals(LocalDate.of(2017, 3, 3), zelda.getReleaseDate());
+        assertNull(zelda.getCompletionDate());
+        assertEquals(59.99, zelda.getPrice(), 0);
+        assertEquals("content://media/zelda", zelda.getImagePath());
+        assertEquals(VideoGame.FLAG_BACKLOG | VideoGame.FLAG_COLLECTION, zelda.getCategories());
+
+        // The second video game keeps its completion date and playtime and is in the completion list and the wishlist only
+        VideoGame mario = findVideoGame(videoGames, "Mario");
+        assertEquals(LocalDate.of(2018, 1, 15), mario.getCompletionDate());
+        assertEquals(40, mario.getPlaytime());
+        assertEquals(VideoGame.FLAG_COMPLETION | VideoGame.FLAG_WISHLIST, mario.getCategories());
+
+    }
+
+    /**
+     * Test verifying that the upgraded database contains the search index, the seeded categories and the tables added since the first version
+     */
+    @Test
+    public void upgrade_createsLaterTables() {
+
+        // The existing video games can be searched and read by page within their category
+        mySQLiteOpenHelper = new MySQLiteOpenHelper(context, DATABASE_NAME);
+        VideoGameSearchResult searchResult = mySQLiteOpenHelper.searchVideoGames("backlog", "zel", MySQLiteOpenHelper.COLUMN_TITLE, " ASC", 10);
+        assertEquals(1, searchResult.getMatchCount());
+        assertEquals("Zelda", searchResult.getVideoGames().get(0).getTitle());
+        assertEquals(1, mySQLiteOpenHelper.readVideoGamesPage("wishlist", MySQLiteOpenHelper.COLUMN_TITLE, " ASC", null, 10).size());
+
+        // The categories are seeded as lists and a list created by the user can contain the existing video games
+        assertEquals(4, mySQLiteOpenHelper.readLists().size());
+        int listId = (int) mySQLiteOpenHelper.insertList("Favorites");
+        int zeldaId = findVideoGame(mySQLiteOpenHelper.readAllVideoGames(), "Zelda").getId();
+        assertTrue(mySQLiteOpenHelper.updateListMembership(listId, zeldaId, true));
+
+        // A new video game can still be saved after the existing ones
+        assertTrue(mySQLiteOpenHelper.addVideoGame("Metroid", "Switch", "Nintendo", "2017-10-05", null, 0, 39.99, true, false, false, false, "null"));
+        assertEquals(3, mySQLiteOpenHelper.readVideoGameCount());
+
+    }
+
+    /**
+     * Method allowing to save a video game in the video game table of the first version
+     * @param db SQLite database of the first version
+     * @param title Title of the video game
+     * @param completionDate Completion date of the video game, or null if it was not completed
+     * @param playtime Playtime of the video game
+     * @param price Price of the video game
+     * @param isBacklog Category status of the video game in the backlog
+     * @param isCollection Category status of the video game in the collection
+     * @param isCompletion Category status of the video game in the completion list
+     * @param isWishlist Category status of the video game in the wishlist
+     * @param imagePath Image path of the video game
+     */
+    private static void insertVersionOneVideoGame(SQLiteDatabase db, String title, String completionDate, int playtime, double price, int isBacklog, int isCollection, int isCompletion, int isWishlist, String imagePath) {
+
+        // Insert the video game with the columns of the first version
+        ContentValues contentValues = new ContentValues();
+        contentValues.put("title", title);
+        contentValues.put("platform", "Switch");
+        contentValues.put("publisher", "Nintendo");
+        contentValues.put("release_date", "2017-03-03");
+        contentValues.put("completion_date", completionDate);
+        contentValues.put("playtime", playtime);
+        contentValues.put("price", price);
+        contentValues.put("is_backlog", isBacklog);
+        contentValues.put("is_collection", isCollection);
+        contentValues.put("is_completion", isCompletion);
+        contentValues.put("is_wishlist", isWishlist);
+        contentValues.put("image_path", imagePath);
+        assertNotEquals(-1, db.insert("video_games", null, contentValues));
+
+    }
+
+    /**
+     * Method allowing to find a video game by its title
+     * @param videoGames List containing the video games
+     * @param title Title of the video game
+     * @return Video game with the title
+     */
+    private static VideoGame findVideoGame(ArrayList<VideoGame> videoGames, String title) {
+
+        // Return the first video game with the title
+        for (VideoGame videoGame : videoGames) {
+            if (videoGame.getTitle().equals(title)) {
+                return videoGame;
+            }
+        }
+        throw new AssertionError("Missing video game: " + title);
+
+    }
+
+}
@@ -0,0 +1,194 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      ListMembershipTest.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.database.Cursor;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test verifying the queries of the list membership table on a database in memory
+ */
+@RunWith(AndroidJUnit4.class)
+public class ListMembershipTest {
+
+    // MySQLiteOpenHelper working on a database in memory, recreated for each test
+    private MySQLiteOpenHelper mySQLiteOpenHelper;
+
+    // IDs of the list created by the user and of the video games saved for each test
+    private int listId;
+    private int zeldaId;
+    private int marioId;
+
+    /**
+     * Method creating a list and two video games before each test
+     */
+    @Before
+    public void setUp() {
+
+        // Create the database in memory, a list created by the user and two video games saved in the backlog
+        mySQLiteOpenHelper = new MySQLiteOpenHelper(InstrumentationRegistry.getInstrumentation().getTargetContext(), null);
+        listId = (int) mySQLiteOpenHelper.insertList("Favorites");
+        zeldaId = addVideoGame("Zelda");
+        marioId = addVideoGame("Mario");
+
+    }
+
+    /**
+     * Method closing the database in memory after each test
+     */
+    @After
+    public void tearDown() {
+        mySQLiteOpenHelper.close();
+    }
+
+    /**
+     * Test verifying that the lists created by the user follow the seeded categories
+     */
+    @Test
+    public void readLists_startsWithCategories() {
+
+        // The four categories are seeded first and carry their flag, the list created by the user carrying none
+        ArrayList<VideoGameList> lists = mySQLiteOpenHelper.readLists();
+        assertEquals(5, lists.size());
+        for (int index = 0; index < 4; index++) {
+            assertTrue(lists.get(index).isCategory());
+        }
+        assertEquals(listId, lists.get(4).getId());
+        assertFalse(lists.get(4).isCategory());
+
+    }
+
+    /**
+     * Test verifying that a video game is found in both directions once added to a list
+     */
+    @Test
+    public void updateListMembership_addsInBothDirections() {
+
+        // Add both video games to the list
+        assertTrue(mySQLiteOpenHelper.updateListMembership(listId, zeldaId, true));
+        assertTrue(mySQLiteOpenHelper.updateListMembership(listId, marioId, true));
+
+        // Read the video games of the list and the lists of each video game
+        ArrayList<Integer> gameIds = mySQLiteOpenHelper.readListVideoGameIds(listId);
+        gameIds.sort(null);
+        assertEquals(Arrays.asList(Math.min(zeldaId, marioId), Math.max(zeldaId, marioId)), gameIds);
+        assertEquals(Arrays.asList(listId), mySQLiteOpenHelper.readVideoGameListIds(zeldaId));
+
+        // Read the video games of the list sorted by title
+        ArrayList<VideoGame> videoGames = mySQLiteOpenHelper.readListVideoGames(listId, MySQLiteOpenHelper.COLUMN_TITLE, " ASC");
+        assertEquals(2, videoGames.size());
+        assertEquals("Mario", videoGames.get(0).getTitle());
+        assertEquals("Zelda", videoGames.get(1).getTitle());
+
+    }
+
+    /**
+     * Test verifying that only an actual change of the membership is reported as such
+     */
+    @Test
+    public void updateListMembership_reportsOnlyChanges() {
+
+        // Adding a video game already within the list, or removing one already absent from it, changes nothing
+        assertTrue(mySQLiteOpenHelper.updateListMembership(listId, zeldaId, true));
+        assertFalse(mySQLiteOpenHelper.updateListMembership(listId, zeldaId, true));
+        assertTrue(mySQLiteOpenHelper.updateListMembership(listId, zeldaId, false));
+        assertFalse(mySQLiteOpenHelper.updateListMembership(listId, zeldaId, false));
+        assertTrue(mySQLiteOpenHelper.readListVideoGameIds(listId).isEmpty());
+
+    }
+
+    /**
+     * Test verifying that no membership is created for a missing video game, a missing list or a seeded category
+     */
+    @Test
+    public void updateListMembership_rejectsMissingRows() {
+
+        // None of these memberships can be created
+        assertFalse(mySQLiteOpenHelper.updateListMembership(listId, Math.max(zeldaId, marioId) + 1, true));
+        assertFalse(mySQLiteOpenHelper.updateListMembership(listId + 1, zeldaId, true));
+        assertFalse(mySQLiteOpenHelper.updateListMembership(1, zeldaId, true));
+        assertTrue(mySQLiteOpenHelper.readListVideoGameIds(1).isEmpty());
+        assertTrue(mySQLiteOpenHelper.readVideoGameListIds(zeldaId).isEmpty());
+
+    }
+
+    /**
+     * Test verifying that the membership is removed along with the video game or the list
+     */
+    @Test
+    public void delete_removesMembership() {
+
+        // Deleting a video game removes it from the list
+        mySQLiteOpenHelper.updateListMembership(listId, zeldaId, true);
+        mySQLiteOpenHelper.updateListMembership(listId, marioId, true);
+        assertTrue(mySQLiteOpenHelper.deleteOneVideoGame(zeldaId));
+        assertEquals(Arrays.asList(marioId), mySQLiteOpenHelper.readListVideoGameIds(listId));
+
+        // Deleting the list removes its membership but keeps its video games, and the seeded categories cannot be deleted
+        assertTrue(mySQLiteOpenHelper.deleteList(listId));
+        assertTrue(mySQLiteOpenHelper.readVideoGameListIds(marioId).isEmpty());
+        assertEquals(1, mySQLiteOpenHelper.readOneVideoGame(marioId).size());
+        assertFalse(mySQLiteOpenHelper.deleteList(1));
+
+    }
+
+    /**
+     * Test verifying that both directions of the membership are read from an index without reading the table
+     */
+    @Test
+    public void membershipQueries_areIndexOnly() {
+
+        // Both queries search an index instead of scanning the membership table
+        assertSearchesIndex("SELECT " + MySQLiteOpenHelper.COLUMN_GAME_ID + " FROM " + MySQLiteOpenHelper.TABLE_LIST_MEMBERSHIP + " WHERE " + MySQLiteOpenHelper.COLUMN_LIST_ID + " = ?", listId);
+        assertSearchesIndex("SELECT " + MySQLiteOpenHelper.COLUMN_LIST_ID + " FROM " + MySQLiteOpenHelper.TABLE_LIST_MEMBERSHIP + " WHERE " + MySQLiteOpenHelper.COLUMN_GAME_ID + " = ?", zeldaId);
+
+    }
+
+    /**
+     * Method allowing to verify that the plan of a query only searches the primary key or a covering index
+     * @param query Query whose plan is verified
+     * @param id ID bound to the query
+     */
+    private void assertSearchesIndex(String query, int id) {
+
+        // Every step of the plan must be a search using the primary key or a covering index
+        try (Cursor cursor = mySQLiteOpenHelper.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + query, new String[]{String.valueOf(id)})) {
+            assertTrue(cursor.moveToFirst());
+            do {
+                String detail = cursor.getString(cursor.getColumnIndexOrThrow("detail"));
+                assertTrue(detail, detail.startsWith("SEARCH") && (detail.contains("PRIMARY KEY") || detail.contains("COVERING INDEX")));
+            } while (cursor.moveToNext());
+        }
+
+    }
+
+    /**
+     * Method allowing to save a video game in the backlog and to obtain its ID
+     * @param title Title of the video game
+     * @return ID of the saved video game
+     */
+    private int addVideoGame(String title) {
+
+        // Save the video game and read its ID back using its title
+        assertTrue(mySQLiteOpenHelper.addVideoGame(title, "Switch", "Nintendo", "2017-03-03", null, 0, 59.99, true, false, false, false, "null"));
+        try (Cursor cursor = mySQLiteOpenHelper.getReadableDatabase().rawQuery("SELECT " + MySQLiteOpenHelper.COLUMN_ID + " FROM " + MySQLiteOpenHelper.TABLE_VIDEO_GAMES + " WHERE " + MySQLiteOpenHelper.COLUMN_TITLE + " = ?", new String[]{title})) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+
+    }
+
+}
@@ -0,0 +1,185 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGamePageTest.java       ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test verifying that reading a category one page at a time on a database in memory neither skips nor repeats any video game
+ */
+@RunWith(AndroidJUnit4.class)
+public class VideoGamePageTest {
+
+    // Category in which every video game of the tests is saved and columns by which it is read one page at a time
+    private static final String CATEGORY = "completion";
+    private static final String[] SORT_COLUMNS = {MySQLiteOpenHelper.COLUMN_TITLE, MySQLiteOpenHelper.COLUMN_PLATFORM, MySQLiteOpenHelper.COLUMN_COMPLETION_DATE, MySQLiteOpenHelper.COLUMN_PLAYTIME};
+
+    // Amount of video games saved for each test
+    private static final int VIDEO_GAME_COUNT = 7;
+
+    // MySQLiteOpenHelper working on a database in memory, recreated for each test
+    private MySQLiteOpenHelper mySQLiteOpenHelper;
+
+    /**
+     * Method saving video games sharing their titles, platforms, playtimes and missing completion dates before each test
+     */
+    @Before
+    public void setUp() {
+
+        // Create the database in memory
+        mySQLiteOpenHelper = new MySQLiteOpenHelper(InstrumentationRegistry.getInstrumentation().getTargetContext(), null);
+
+        // Save video games whose titles and sort values are repeated, several of them having no completion date
+        addVideoGame("Zelda", "Switch", null, 10);
+        addVideoGame("Zelda", "Switch", "2020-01-01", 10);
+        addVideoGame("Mario", "Wii", null, 30);
+        addVideoGame("Mario", "Switch", "2020-01-01", 10);
+        addVideoGame("Metroid", "Switch", null, 30);
+        addVideoGame("Kirby", "Wii", "2019-05-05", 5);
+        addVideoGame("Kirby", "Wii", null, 5);
+
+    }
+
+    /**
+     * Method closing the database in memory after each test
+     */
+    @After
+    public void tearDown() {
+        mySQLiteOpenHelper.close();
+    }
+
+    /**
+     * Test verifying that the pages read in ascending order contain every video game once and in the order of the whole category
+     */
+    @Test
+    public void readVideoGamesPage_ascending_neitherSkipsNorRepeats() {
+
+        // Read the category by pages of each size for each sort column
+        for (String sortColumn : SORT_COLUMNS) {
+            assertPagesMatchCategory(sortColumn, " ASC");
+        }
+
+    }
+
+    /**
+     * Test verifying that the pages read in descending order contain every video game once and in the order of the whole category
+     */
+    @Test
+    public void readVideoGamesPage_descending_neitherSkipsNorRepeats() {
+
+        // Read the category by pages of each size for each sort column
+        for (String sortColumn : SORT_COLUMNS) {
+            assertPagesMatchCategory(sortColumn, " DESC");
+        }
+
+    }
+
+    /**
+     * Test verifying that the video games without a completion date come first in ascending order and last in descending order
+     */
+    @Test
+    public void readVideoGamesPage_nullValues_keepTheirPlace() {
+
+        // The four video games without a completion date are read before the others in ascending order
+        ArrayList<VideoGame> ascending = readByPages(MySQLiteOpenHelper.COLUMN_COMPLETION_DATE, " ASC", 2);
+        for (int index = 0; index < VIDEO_GAME_COUNT; index++) {
+            assertEquals(index < 4, ascending.get(index).getCompletionDate() == null);
+        }
+
+        // They are read after the others in descending order
+        ArrayList<VideoGame> descending = readByPages(MySQLiteOpenHelper.COLUMN_COMPLETION_DATE, " DESC", 2);
+        for (int index = 0; index < VIDEO_GAME_COUNT; index++) {
+            assertEquals(index >= 3, descending.get(index).getCompletionDate() == null);
+        }
+
+    }
+
+    /**
+     * Method allowing to verify that reading a category by pages of any size gives the same video games as reading it at once
+     * @param sortColumn Column by which the category is sorted
+     * @param sortOrder Order in which the category is sorted
+     */
+    private void assertPagesMatchCategory(String sortColumn, String sortOrder) {
+
+        // Read the whole category as a single page
+        ArrayList<Integer> expectedIds = getIds(mySQLiteOpenHelper.readVideoGamesPage(CATEGORY, sortColumn, sortOrder, null, VIDEO_GAME_COUNT + 1));
+        assertEquals(VIDEO_GAME_COUNT, expectedIds.size());
+
+        // Every page size, including those ending a page between two equal sort values or titles, must read the same video games once in the same order
+        for (int pageSize = 1; pageSize <= VIDEO_GAME_COUNT; pageSize++) {
+            ArrayList<Integer> ids = getIds(readByPages(sortColumn, sortOrder, pageSize));
+            Set<Integer> uniqueIds = new HashSet<>(ids);
+            String message = sortColumn + sortOrder + " by pages of " + pageSize;
+            assertEquals(message, ids.size(), uniqueIds.size());
+            assertEquals(message, expectedIds, ids);
+        }
+
+    }
+
+    /**
+     * Method allowing to read the whole category one page at a time, each page starting after the last video game of the previous one
+     * @param sortColumn Column by which the category is sorted
+     * @param sortOrder Order in which the category is sorted
+     * @param pageSize Maximum amount of video games within each page
+     * @return ArrayList containing the video games of every page
+     */
+    private ArrayList<VideoGame> readByPages(String sortColumn, String sortOrder, int pageSize) {
+
+        // Read the pages until one of them is not full
+        ArrayList<VideoGame> videoGames = new ArrayList<>();
+        VideoGamePageKey afterKey = null;
+        ArrayList<VideoGame> page;
+        do {
+            page = mySQLiteOpenHelper.readVideoGamesPage(CATEGORY, sortColumn, sortOrder, afterKey, pageSize);
+            videoGames.addAll(page);
+            assertTrue(videoGames.size() <= VIDEO_GAME_COUNT);
+            if (!page.isEmpty()) {
+                afterKey = VideoGamePageKey.of(page.get(page.size() - 1), sortColumn);
+            }
+        } while (page.size() == pageSize);
+        return videoGames;
+
+    }
+
+    /**
+     * Method allowing to obtain the IDs of video games in their order
+     * @param videoGames List containing the video games
+     * @return ArrayList containing the IDs of the video games
+     */
+    private static ArrayList<Integer> getIds(ArrayList<VideoGame> videoGames) {
+
+        // Add the ID of each video game in order
+        ArrayList<Integer> ids = new ArrayList<>();
+        for (VideoGame videoGame : videoGames) {
+            ids.add(videoGame.getId());
+        }
+        return ids;
+
+    }
+
+    /**
+     * Method allowing to save a video game in the completion list
+     * @param title Title of the video game
+     * @param platform Platform of the video game
+     * @param completionDate Completion date of the video game, or null if it has none
+     * @param playtime Playtime of the video game
+     */
+    private void addVideoGame(String title, String platform, String completionDate, int playtime) {
+        assertTrue(mySQLiteOpenHelper.addVideoGame(title, platform, "Nintendo", "2017-03-03", completionDate, playtime, 59.99, false, false, true, false, "null"));
+    }
+
+}
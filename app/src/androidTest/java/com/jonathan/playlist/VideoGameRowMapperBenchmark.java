@@ -0,0 +1,135 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRowMapperBenchmark.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.util.Log;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Locale;
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark comparing the mapping of a large cursor with and without the VideoGameRowMapper
+ */
+@RunWith(AndroidJUnit4.class)
+public class VideoGameRowMapperBenchmark {
+
+    // Amount of rows contained within the benchmarked cursor
+    private static final int ROW_COUNT = 100000;
+
+    // Amount of times each mapping is executed before being measured
+    private static final int WARMUP_RUNS = 2;
+
+    /**
+     * Benchmark measuring the amount of rows mapped per second on a cursor of 100 000 rows
+     */
+    @Test
+    public void mapCursor_rowsPerSecond() {
+
+        // Warm up both mappings before measuring them
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            Cursor warmupCursor = createCursor();
+            mapWithColumnLookups(createCursor());
+            new VideoGameRowMapper(warmupCursor).mapAll(warmupCursor);
+        }
+
+        // Measure the mapping which resolves each column and parses each date for every row
+        Cursor lookupCursor = createCursor();
+        long lookupStart = System.nanoTime();
+        ArrayList<VideoGame> lookupVideoGames = mapWithColumnLookups(lookupCursor);
+        long lookupDuration = System.nanoTime() - lookupStart;
+
+        // Measure the mapping using the VideoGameRowMapper
+        Cursor mapperCursor = createCursor();
+        long mapperStart = System.nanoTime();
+        ArrayList<VideoGame> mapperVideoGames = new VideoGameRowMapper(mapperCursor).mapAll(mapperCursor);
+        long mapperDuration = System.nanoTime() - mapperStart;
+
+        // Report the amount of rows mapped per second by each mapping
+        Log.i("VideoGameRowMapper", "Column lookups: " + rowsPerSecond(lookupDuration) + " rows/s, row mapper: " + rowsPerSecond(mapperDuration) + " rows/s");
+
+        // Verify that both mappings produced the same video games
+        assertEquals(ROW_COUNT, mapperVideoGames.size());
+        for (int index = 0; index < ROW_COUNT; index += 997) {
+            assertEquals(lookupVideoGames.get(index).getId(), mapperVideoGames.get(index).getId());
+            assertEquals(lookupVideoGames.get(index).getPlatform(), mapperVideoGames.get(index).getPlatform());
+            assertEquals(lookupVideoGames.get(index).getReleaseDate(), mapperVideoGames.get(index).getReleaseDate());
+            assertEquals(lookupVideoGames.get(index).getCompletionDate(), mapperVideoGames.get(index).getCompletionDate());
+        }
+
+    }
+
+    /**
+     * Method allowing to create a cursor containing the benchmarked rows
+     * @return Cursor containing 100 000 video games
+     */
+    private static Cursor createCursor() {
+
+        // Create a cursor using the columns of the video game table
+        MatrixCursor cursor = new MatrixCursor(new String[] {
+                MySQLiteOpenHelper.COLUMN_ID, MySQLiteOpenHelper.COLUMN_TITLE, MySQLiteOpenHelper.COLUMN_PLATFORM, MySQLiteOpenHelper.COLUMN_PUBLISHER,
+                MySQLiteOpenHelper.COLUMN_RELEASE_DATE, MySQLiteOpenHelper.COLUMN_COMPLETION_DATE, MySQLiteOpenHelper.COLUMN_PLAYTIME, MySQLiteOpenHelper.COLUMN_PRICE,
+                MySQLiteOpenHelper.COLUMN_CATEGORIES, MySQLiteOpenHelper.COLUMN_IMAGE_PATH, MySQLiteOpenHelper.COLUMN_LIST_THUMBNAIL_PATH, MySQLiteOpenHelper.COLUMN_LIST_THUMBNAIL_WIDTH, MySQLiteOpenHelper.COLUMN_LIST_THUMBNAIL_HEIGHT,
+                MySQLiteOpenHelper.COLUMN_DETAIL_THUMBNAIL_PATH, MySQLiteOpenHelper.COLUMN_DETAIL_THUMBNAIL_WIDTH, MySQLiteOpenHelper.COLUMN_DETAIL_THUMBNAIL_HEIGHT, MySQLiteOpenHelper.COLUMN_COVER_PREVIEW}, ROW_COUNT);
+
+        // Add the rows, repeating a small set of platforms and publishers as in a real library
+        for (int index = 0; index < ROW_COUNT; index++) {
+            String releaseDate = String.format(Locale.ROOT, "%04d-%02d-%02d", 1990 + index % 35, 1 + index % 12, 1 + index % 28);
+            String completionDate = index % 3 == 0 ? null : String.format(Locale.ROOT, "%04d-%02d-%02d", 2000 + index % 25, 1 + index % 12, 1 + index % 28);
+            cursor.addRow(new Object[] {index, "Video Game " + index, "Platform " + index % 20, "Publisher " + index % 150, releaseDate, completionDate, index % 200, index % 80 + 0.99, VideoGame.toCategories(true, index % 2 != 0, index % 3 != 0, false), "null", null, null, null, null, null, null, null});
+        }
+
+        // Return the cursor containing the rows
+        return cursor;
+
+    }
+
+    /**
+     * Method mapping a cursor by resolving the position of each column and parsing each date for every row
+     * @param cursor Cursor containing the video games to be mapped
+     * @return ArrayList containing the mapped video games
+     */
+    private static ArrayList<VideoGame> mapWithColumnLookups(Cursor cursor) {
+
+        // Iterate through the cursor and add each video game to the ArrayList
+        ArrayList<VideoGame> videoGames = new ArrayList<>();
+        while (cursor.moveToNext()) {
+            String releaseDate = cursor.getString(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_RELEASE_DATE));
+            String completionDate = cursor.getString(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_COMPLETION_DATE));
+            videoGames.add(new VideoGame(
+                    cursor.getInt(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_ID)),
+                    cursor.getString(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_TITLE)),
+                    cursor.getString(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PLATFORM)),
+                    cursor.getString(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PUBLISHER)),
+                    releaseDate != null ? LocalDate.parse(releaseDate) : null,
+                    completionDate != null ? LocalDate.parse(completionDate) : null,
+                    cursor.getInt(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PLAYTIME)),
+                    cursor.getDouble(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PRICE)),
+                    cursor.getInt(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_CATEGORIES)),
+                    cursor.getString(cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_IMAGE_PATH))));
+        }
+        cursor.close();
+        return videoGames;
+
+    }
+
+    /**
+     * Method allowing to convert the duration of a mapping to an amount of rows per second
+     * @param durationNanos Duration of the mapping in nanoseconds
+     * @return Amount of rows mapped per second
+     */
+    private static long rowsPerSecond(long durationNanos) {
+        return ROW_COUNT * 1_000_000_000L / Math.max(durationNanos, 1);
+    }
+
+}
@@ -0,0 +1,178 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      BitmapPool.java              ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.graphics.Bitmap;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class containing the bitmaps which are no longer displayed, grouped by size in bytes so that a decoder can write into them instead of allocating a new bitmap
+ * The pool is shared by the decoder threads and the main thread, and is bounded by the size in bytes of its bitmaps
+ */
+final class BitmapPool {
+
+    // Factor by which a bitmap of the pool may be larger than the bitmap being decoded, beyond which too much memory would be wasted
+    private static final int MAX_SIZE_FACTOR = 2;
+
+    // Maximum size in bytes of the bitmaps kept by the pool
+    private final long maxSize;
+
+    // Bitmaps of the pool grouped by size in bytes, the oldest bitmap of each group being reused first
+    private final TreeMap<Integer, ArrayDeque<Bitmap>> buckets = new TreeMap<>();
+
+    // Size in bytes of the bitmaps kept by the pool
+    private long size = 0;
+
+    // Amount of bitmaps allocated by the decoders and amount of bitmaps reused from the pool
+    private final AtomicInteger allocationCount = new AtomicInteger();
+    private final AtomicInteger reuseCount = new AtomicInteger();
+
+    /**
+     * Constructor for the BitmapPool object
+     * @param maxSize Maximum size in bytes of the bitmaps kept by the pool
+     */
+    BitmapPool(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Method allowing to take from the pool a bitmap large enough to contain a bitmap of a specific size
+     * @param width Width in pixels of the bitmap which will be decoded
+     * @param height Height in pixels of the bitmap which will be decoded
+     * @param config Configuration of the bitmap which will be decoded
+     * @return Bitmap which can be reused, or null if the pool does not contain any suitable bitmap
+     */
+    synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+
+        // Find the smallest group of bitmaps large enough without wasting too much memory
+        int requiredSize = width * height * getBytesPerPixel(config);
+        Map.Entry<Integer, ArrayDeque<Bitmap>> bucket = buckets.ceilingEntry(requiredSize);
+        if (bucket == null || bucket.getKey() > (long) requiredSize * MAX_SIZE_FACTOR) {
+            return null;
+        }
+
+        // Take the oldest bitmap of the group
+        Bitmap bitmap = bucket.getValue().pollFirst();
+        if (bucket.getValue().isEmpty()) {
+            buckets.remove(bucket.getKey());
+        }
+        if (bitmap != null) {
+            size -= bucket.getKey();
+        }
+        return bitmap;
+
+    }
+
+    /**
+     * Method allowing to return to the pool a bitmap which is no longer displayed nor cached
+     * @param bitmap Bitmap which can be reused
+     */
+    synchronized void put(Bitmap bitmap) {
+
+        // Only the mutable bitmaps can be written into by a decoder
+        if (bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        int bitmapSize = bitmap.getAllocationByteCount();
+        if (bitmapSize > maxSize) {
+            return;
+        }
+
+        // Add the bitmap to its group and drop the largest bitmaps while the pool is too large
+        ArrayDeque<Bitmap> bucket = buckets.get(bitmapSize);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets.put(bitmapSize, bucket);
+        }
+        bucket.addLast(bitmap);
+        size += bitmapSize;
+        while (size > maxSize) {
+            Map.Entry<Integer, ArrayDeque<Bitmap>> largestBucket = buckets.lastEntry();
+            largestBucket.getValue().pollFirst();
+            size -= largestBucket.getKey();
+            if (largestBucket.getValue().isEmpty()) {
+                buckets.remove(largestBucket.getKey());
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to drop every bitmap of the pool, for instance when the system is running low on memory
+     */
+    synchronized void clear() {
+
+        // Drop the bitmaps so that they can be collected
+        buckets.clear();
+        size = 0;
+
+    }
+
+    /**
+     * Method allowing to record whether a decoded bitmap was allocated or reused from the pool
+     * @param isReused Status indicating whether or not the bitmap was reused from the pool
+     */
+    void recordDecode(boolean isReused) {
+
+        // Increment the counter matching the origin of the bitmap
+        if (isReused) {
+            reuseCount.incrementAndGet();
+        }
+        else {
+            allocationCount.incrementAndGet();
+        }
+
+    }
+
+    /**
+     * Getter for the amount of bitmaps allocated by the decoders
+     * @return Amount of bitmaps allocated since the application started
+     */
+    int getAllocationCount() {
+        return allocationCount.get();
+    }
+
+    /**
+     * Getter for the amount of bitmaps reused from the pool
+     * @return Amount of bitmaps reused since the application started
+     */
+    int getReuseCount() {
+        return reuseCount.get();
+    }
+
+    /**
+     * Getter for the size of the pool
+     * @return Size in bytes of the bitmaps kept by the pool
+     */
+    synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Method allowing to obtain the amount of bytes used by each pixel of a bitmap configuration
+     * @param config Configuration of the bitmap
+     * @return Amount of bytes used by each pixel
+     */
+    private static int getBytesPerPixel(Bitmap.Config config) {
+
+        // Obtain the amount of bytes using a switch case statement, the unknown configurations being considered the largest
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+                return 2;
+            default:
+                return 4;
+        }
+
+    }
+
+}
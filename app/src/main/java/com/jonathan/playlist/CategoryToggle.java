@@ -0,0 +1,65 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CategoryToggle.java          ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+/**
+ * Class representing the result of adding or removing a video game from a category in a single operation
+ */
+final class CategoryToggle {
+
+    // The video game was added to the category
+    static final int ADDED = 0;
+
+    // The video game was removed from the category and is still saved in another category
+    static final int REMOVED = 1;
+
+    // The video game was not removed since the category is the last one in which it is saved
+    static final int LAST_CATEGORY = 2;
+
+    // The video game was deleted since the category was the last one in which it was saved
+    static final int DELETED = 3;
+
+    // The video game no longer exists or could not be updated
+    static final int FAILED = 4;
+
+    // Outcome of the operation
+    private final int outcome;
+
+    // Video game with its categories after the operation, or null if it was deleted or could not be updated
+    private final VideoGame videoGame;
+
+    /**
+     * Constructor for the CategoryToggle object
+     * @param outcome Outcome of the operation
+     * @param videoGame Video game with its categories after the operation
+     */
+    CategoryToggle(int outcome, VideoGame videoGame) {
+
+        // Association between the parameters and the attributes of the CategoryToggle class
+        this.outcome = outcome;
+        this.videoGame = videoGame;
+
+    }
+
+    /**
+     * Getter for the outcome attribute
+     * @return Outcome of the operation
+     */
+    int getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Getter for the videoGame attribute
+     * @return Video game with its categories after the operation, or null if it was deleted or could not be updated
+     */
+    VideoGame getVideoGame() {
+        return videoGame;
+    }
+
+}
@@ -7,12 +7,12 @@
 
 package com.jonathan.playlist;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import android.view.LayoutInflater;
@@ -20,20 +20,27 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Fragment pertaining to displaying and managing the user's video game collection
  */
 public class CollectionFragment extends Fragment implements VideoGameFragment {
 
-    // ArrayLists containing the information that will be displayed
-    ArrayList<VideoGame> videoGames;
+    // List containing the video games that will be displayed, read one page at a time for large libraries
+    List<VideoGame> videoGames;
 
     // MyRecyclerViewAdapter used for displaying games in the RecyclerView
     RecyclerViewAdapter recyclerViewAdapter;
 
-    // MySQLiteOpenHelper allowing to manage the database
-    MySQLiteOpenHelper mySQLiteOpenHelper;
+    // CoverArtPrefetcher decoding the cover art of the rows about to be displayed while scrolling
+    CoverArtPrefetcher coverArtPrefetcher;
+
+    // VideoGameRepository allowing to manage the library shared by every screen
+    VideoGameRepository videoGameRepository;
+
+    // DatabaseTask loading the video games displayed within the fragment
+    DatabaseTask loadTask;
 
     // RecyclerView displaying the video games in the collection
     RecyclerView recyclerView;
@@ -66,7 +73,7 @@ public class CollectionFragment extends Fragment implements VideoGameFragment {
 
         // Attaching the context of the activity to the fragment
         super.onAttach(context);
-        mySQLiteOpenHelper = new MySQLiteOpenHelper(context);
+        videoGameRepository = VideoGameRepository.getInstance(context);
 
     }
 
@@ -101,13 +108,15 @@ public class CollectionFragment extends Fragment implements VideoGameFragment {
             sharedPreferencesVerification = getContext().getSharedPreferences(PREFS_NAME_CONFIRMATION, Context.MODE_PRIVATE);
         }
 
-        // Method allowing to obtain all video games from the collection
-        obtainFragmentVideoGames();
-
         // Initialize the RecyclerView in order to display all video games from the collection
         recyclerViewAdapter = new RecyclerViewAdapter(getContext(), getFragmentName(), textViewCollection, videoGames, sharedPreferencesImages.getInt(KEY_DISPLAY, 1), sharedPreferencesVerification.getInt(KEY_CONFIRMATION, 1));
         recyclerView.setAdapter(recyclerViewAdapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        coverArtPrefetcher = new CoverArtPrefetcher(recyclerViewAdapter);
+        recyclerView.addOnScrollListener(coverArtPrefetcher);
+
+        // Allow the video games to be dragged to a new position when they are displayed in their manual order
+        new ItemTouchHelper(new ManualOrderTouchCallback(recyclerViewAdapter)).attachToRecyclerView(recyclerView);
 
         // Return the inflated fragment once initialization as been completed
         return view;
@@ -117,22 +126,27 @@ public class CollectionFragment extends Fragment implements VideoGameFragment {
     /**
      * Code executed when the fragment becomes visible to the user
      */
-    @SuppressLint("NotifyDataSetChanged")
     @Override
     public void onResume() {
 
         // Refresh the RecyclerView in order to display an updated version of the collection
         super.onResume();
+        obtainFragmentVideoGames();
 
-        // Clear the current data displayed in the collection
-        videoGames.clear();
+    }
 
-        // Refresh the data displayed in the collection
-        obtainFragmentVideoGames();
-        recyclerViewAdapter.refreshCopyData();
+    /**
+     * Code executed when the view of the fragment is destroyed
+     */
+    @Override
+    public void onDestroyView() {
 
-        // Reinitialize the adapter with the updated data
-        recyclerViewAdapter.notifyDataSetChanged();
+        // Cancel the loading of the video games and the prefetching of their cover art since they can no longer be displayed
+        super.onDestroyView();
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        coverArtPrefetcher.cancelAll();
 
     }
 
@@ -245,6 +259,9 @@ public class CollectionFragment extends Fragment implements VideoGameFragment {
         else if (savedSortOption == R.id.menuGroupItemCategoryOption) {
             sortColumn = "price";
         }
+        else if (savedSortOption == R.id.menuGroupItemManual) {
+            sortColumn = "manual";
+        }
 
         // Identify if the SQLite query should be executed in ascending or descending order
         if (savedSortOrder == R.id.menuGroupItemAscending) {
@@ -254,21 +271,28 @@ public class CollectionFragment extends Fragment implements VideoGameFragment {
             sortOrder = " DESC";
         }
 
-        // Cursor that will obtain all video games from the collection
-        ArrayList<VideoGame> fragmentVideoGames = mySQLiteOpenHelper.readAllVideoGamesCollection(sortColumn, sortOrder);
-
-        // Verification that the cursor is not empty
-        if (!fragmentVideoGames.isEmpty()) {
-            // Hide the message indicating that no games were found
-            textViewCollection.setVisibility(View.INVISIBLE);
-            // Fill the ArrayLists with the data from the cursor
-            videoGames.addAll(fragmentVideoGames);
+        // Cancel the previous loading of the video games if it has not completed yet
+        if (loadTask != null) {
+            loadTask.cancel();
         }
 
-        else {
-            // Hide the message indicating that no games were found
-            textViewCollection.setVisibility(View.VISIBLE);
-        }
+        // Obtain all video games from the collection on the database thread
+        loadTask = videoGameRepository.readAllVideoGamesCollection(sortColumn, sortOrder, fragmentVideoGames -> {
+
+            // Replace the previous video game data with the data obtained from the database
+            videoGames = fragmentVideoGames;
+
+            // Display a message if no games were found
+            textViewCollection.setVisibility(fragmentVideoGames.isEmpty() ? View.VISIBLE : View.INVISIBLE);
+
+            // Allow the video games to be dragged to a new position only when they are displayed in their manual order
+            recyclerViewAdapter.setManualOrder(savedSortOption == R.id.menuGroupItemManual);
+
+            // Refresh the data displayed in the RecyclerView, the rows prefetched so far no longer matching their positions
+            coverArtPrefetcher.cancelAll();
+            recyclerViewAdapter.refreshOriginalData(videoGames);
+
+        });
 
     }
 
@@ -278,16 +302,9 @@ public class CollectionFragment extends Fragment implements VideoGameFragment {
     @Override
     public void refreshFragmentVideoGames() {
 
-        // Empty the ArrayLists containing the previous video game data
-        videoGames.clear();
-
-        // Obtain the current data from the database
+        // Obtain the current data from the database and refresh the data displayed in the RecyclerView once it is loaded
         obtainFragmentVideoGames();
 
-        // Refresh the data displayed in the RecyclerView
-        recyclerViewAdapter.refreshOriginalData(videoGames);
-        recyclerViewAdapter.refreshCopyData();
-
     }
 
 }
@@ -0,0 +1,124 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverArtImportWorker.java    ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Worker allowing to import once the cover art of the video games saved before the cover art were imported into the files of the application
+ * The persisted permission of each imported cover art is released once no video game uses it, the cover art which can no longer be read keeping their original image path
+ */
+public final class CoverArtImportWorker extends Worker {
+
+    // Name of the unique work, so that a single worker imports the cover art at any time
+    private static final String WORK_NAME = "cover-art-import";
+
+    // SharedPreferences used to remember that the cover art were imported
+    private static final String PREFS_NAME_IMPORT = "CoverArtImportPreferences";
+    private static final String KEY_IMPORT_COMPLETED = "ImportCompleted";
+
+    // Amount of video games read at once while importing the cover art
+    private static final int BATCH_SIZE = 20;
+
+    /**
+     * Constructor for the CoverArtImportWorker object, called by the WorkManager
+     * @param context Context of the application
+     * @param workerParameters Parameters of the worker
+     */
+    public CoverArtImportWorker(@NonNull Context context, @NonNull WorkerParameters workerParameters) {
+        super(context, workerParameters);
+    }
+
+    /**
+     * Method allowing to enqueue the import of the cover art if it was never completed
+     * @param context Any context of the application
+     */
+    static void enqueueOnce(Context context) {
+
+        // Enqueue the worker until it completes once, keeping the worker already enqueued if any
+        if (!context.getSharedPreferences(PREFS_NAME_IMPORT, Context.MODE_PRIVATE).getBoolean(KEY_IMPORT_COMPLETED, false)) {
+            OneTimeWorkRequest workRequest = new OneTimeWorkRequest.Builder(CoverArtImportWorker.class).build();
+            WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, workRequest);
+        }
+
+    }
+
+    /**
+     * Method importing the cover art on the background thread of the WorkManager
+     * @return Result of the import
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+
+        // Obtain the repository and the importer of the cover art
+        VideoGameRepository videoGameRepository = VideoGameRepository.getInstance(getApplicationContext());
+        CoverArtImporter coverArtImporter = CoverArtImporter.getInstance(getApplicationContext());
+
+        try {
+            // Import the cover art one batch at a time, skipping the cover art which can no longer be read
+            // The cover art already imported are remembered since their permission is released and several video games can share them
+            HashMap<String, String> importedImagePaths = new HashMap<>();
+            int afterId = 0;
+            ArrayList<VideoGame> batch;
+            do {
+                batch = videoGameRepository.readVideoGamesWithContentCoverArt(afterId, BATCH_SIZE);
+                for (VideoGame videoGame : batch) {
+                    if (isStopped()) {
+                        return Result.success();
+                    }
+                    afterId = videoGame.getId();
+                    try {
+                        String sourceImagePath = videoGame.getImagePath();
+                        String imagePath = importedImagePaths.get(sourceImagePath);
+                        if (imagePath == null) {
+                            imagePath = coverArtImporter.copyIntoLibrary(Uri.parse(sourceImagePath));
+                            importedImagePaths.put(sourceImagePath, imagePath);
+                        }
+
+                        // Discard the copy and import the cover art again later if the video game could not be updated, its original image path having to remain readable
+                        if (!videoGameRepository.replaceImagePath(videoGame.getId(), sourceImagePath, imagePath)) {
+                            importedImagePaths.remove(sourceImagePath);
+                            videoGameRepository.discardImportedCoverArt(imagePath);
+                            return Result.retry();
+                        }
+
+                        // Release the permission only once no video game uses the original image path anymore
+                        if (!videoGameRepository.isImagePathUsed(sourceImagePath)) {
+                            coverArtImporter.releasePermission(Uri.parse(sourceImagePath));
+                        }
+                    }
+                    catch (IOException | SecurityException e) {
+                        // The cover art is no longer readable, its video game keeps its original image path
+                    }
+                }
+            } while (batch.size() == BATCH_SIZE);
+
+            // Remember that the import was completed so that it is never enqueued again
+            SharedPreferences sharedPreferences = getApplicationContext().getSharedPreferences(PREFS_NAME_IMPORT, Context.MODE_PRIVATE);
+            sharedPreferences.edit().putBoolean(KEY_IMPORT_COMPLETED, true).apply();
+            return Result.success();
+        }
+        catch (Exception e) {
+            return Result.retry();
+        }
+
+    }
+
+}
@@ -0,0 +1,250 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverArtImporter.java        ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.UriPermission;
+import android.net.Uri;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Class allowing to import the cover art chosen from the gallery into the files of the application
+ * The cover art is copied once and named after the SHA-256 hash of its content, so that identical images are only stored once
+ * and the video games no longer depend on a persisted permission to read the gallery
+ */
+final class CoverArtImporter {
+
+    // Name of the directory containing the imported cover art within the files of the application
+    private static final String COVER_ART_DIRECTORY = "covers";
+
+    // Size in bytes of the buffer used to copy the cover art
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // Single instance of the CoverArtImporter shared by the whole application
+    private static volatile CoverArtImporter instance;
+
+    // ContentResolver allowing to open the cover art chosen from the gallery
+    private final ContentResolver contentResolver;
+
+    // Directory containing the imported cover art
+    private final File coverArtDirectory;
+
+    // ExecutorService importing the cover art one after the other on the import thread
+    private final ExecutorService importExecutorService;
+
+    /**
+     * Constructor for the CoverArtImporter object
+     * @param context Context of the application used to open and store the cover art
+     */
+    private CoverArtImporter(Context context) {
+
+        // Initialization of the ContentResolver, of the directory and of the import thread
+        contentResolver = context.getContentResolver();
+        coverArtDirectory = new File(context.getFilesDir(), COVER_ART_DIRECTORY);
+        importExecutorService = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "PlayList-CoverImport"));
+
+    }
+
+    /**
+     * Method allowing to obtain the CoverArtImporter shared by the whole application
+     * @param context Any context of the application
+     * @return Single instance of the CoverArtImporter
+     */
+    static CoverArtImporter getInstance(Context context) {
+
+        // Initialize the CoverArtImporter upon its first use with the context of the application
+        if (instance == null) {
+            synchronized (CoverArtImporter.class) {
+                if (instance == null) {
+                    instance = new CoverArtImporter(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+
+    }
+
+    /**
+     * Method allowing to import a cover art on the import thread, the image path of the imported cover art being delivered on the main thread
+     * @param sourceUri URI of the cover art chosen from the gallery
+     * @param callback Callback receiving the image path of the imported cover art on the main thread
+     * @param onDiscarded Consumer receiving on the main thread the image path of a cover art already copied when the import was cancelled
+     * @return DatabaseTask allowing to cancel the import
+     */
+    DatabaseTask importCoverArt(Uri sourceUri, DatabaseCallback<String> callback, Consumer<String> onDiscarded) {
+        return DatabaseExecutor.getInstance().submit(importExecutorService, () -> copyIntoLibrary(sourceUri), callback, onDiscarded);
+    }
+
+    /**
+     * Method allowing to copy a cover art into the files of the application, blocking until it is copied
+     * This method must only be called from a background thread
+     * @param sourceUri URI of the cover art to be copied
+     * @return Image path of the imported cover art
+     * @throws IOException Exception thrown if the cover art could not be read or written
+     */
+    String copyIntoLibrary(Uri sourceUri) throws IOException {
+
+        // Create the directory containing the imported cover art upon the first import
+        if (!coverArtDirectory.isDirectory() && !coverArtDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + coverArtDirectory);
+        }
+
+        // Stream the cover art into a temporary file while calculating the hash of its content
+        File temporaryFile = File.createTempFile("import", ".tmp", coverArtDirectory);
+        String hash;
+        try (InputStream inputStream = contentResolver.openInputStream(sourceUri);
+             FileOutputStream outputStream = new FileOutputStream(temporaryFile)) {
+            if (inputStream == null) {
+                throw new IOException("Unable to open " + sourceUri);
+            }
+            hash = toHex(copyAndHash(Channels.newChannel(inputStream), outputStream.getChannel(), MessageDigest.getInstance("SHA-256")));
+            outputStream.getFD().sync();
+        }
+        catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+
+        // Keep the cover art already imported with the same content, or name the new copy after its hash
+        File coverArtFile = new File(coverArtDirectory, hash);
+        if (coverArtFile.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+        }
+        else if (!temporaryFile.renameTo(coverArtFile)) {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+            throw new IOException("Unable to write " + coverArtFile);
+        }
+        return Uri.fromFile(coverArtFile).toString();
+
+    }
+
+    /**
+     * Method allowing to release the persisted permission to read a cover art from the gallery, which is no longer needed once it is imported
+     * @param sourceUri URI of the cover art chosen from the gallery
+     */
+    void releasePermission(Uri sourceUri) {
+
+        // Release the permission only if it is still persisted, since the amount of persisted permissions of an application is limited
+        for (UriPermission uriPermission : contentResolver.getPersistedUriPermissions()) {
+            if (uriPermission.getUri().equals(sourceUri)) {
+                try {
+                    contentResolver.releasePersistableUriPermission(sourceUri, Intent.FLAG_GRANT_READ_URI_PERMISSION | (uriPermission.isWritePermission() ? Intent.FLAG_GRANT_WRITE_URI_PERMISSION : 0));
+                }
+                catch (SecurityException e) {
+                    // The permission was already revoked by its provider
+                }
+                return;
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to verify if an image path refers to a cover art imported into the files of the application
+     * @param imagePath Image path of a video game
+     * @return True if the cover art was imported, false otherwise
+     */
+    boolean isImported(String imagePath) {
+
+        // Compare the directory of the file with the directory containing the imported cover art
+        if (imagePath == null || !imagePath.startsWith("file:")) {
+            return false;
+        }
+        String path = Uri.parse(imagePath).getPath();
+        return path != null && coverArtDirectory.equals(new File(path).getParentFile());
+
+    }
+
+    /**
+     * Method allowing to delete an imported cover art, which must no longer be used by any video game
+     * @param imagePath Image path of the imported cover art
+     */
+    void deleteCoverArt(String imagePath) {
+
+        // Delete the file only if it belongs to the imported cover art
+        if (isImported(imagePath)) {
+            //noinspection ResultOfMethodCallIgnored
+            new File(Uri.parse(imagePath).getPath()).delete();
+        }
+
+    }
+
+    /**
+     * Method allowing to delete every imported cover art
+     */
+    void deleteAllCoverArt() {
+
+        // Delete every file of the directory containing the imported cover art
+        File[] coverArtFiles = coverArtDirectory.listFiles();
+        if (coverArtFiles != null) {
+            for (File coverArtFile : coverArtFiles) {
+                //noinspection ResultOfMethodCallIgnored
+                coverArtFile.delete();
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to copy the content of a channel into another while calculating its hash
+     * @param source Channel from which the content is read
+     * @param destination Channel into which the content is written
+     * @param messageDigest MessageDigest calculating the hash of the content
+     * @return Hash of the copied content
+     * @throws IOException Exception thrown if the content could not be read or written
+     */
+    static byte[] copyAndHash(ReadableByteChannel source, WritableByteChannel destination, MessageDigest messageDigest) throws IOException {
+
+        // Read the content one buffer at a time, hashing each buffer before writing it
+        ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            messageDigest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                destination.write(buffer);
+            }
+            buffer.clear();
+        }
+        return messageDigest.digest();
+
+    }
+
+    /**
+     * Method allowing to convert a hash to its hexadecimal representation
+     * @param hash Hash to be converted
+     * @return Hexadecimal representation of the hash in lowercase
+     */
+    static String toHex(byte[] hash) {
+
+        // Append both hexadecimal digits of each byte
+        StringBuilder stringBuilder = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            stringBuilder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return stringBuilder.toString();
+
+    }
+
+}
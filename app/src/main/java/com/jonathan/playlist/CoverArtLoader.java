@@ -0,0 +1,837 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverArtLoader.java          ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.util.LruCache;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Class allowing to decode the cover art of the video games on background threads at the size at which they are displayed
+ * The decoded cover art is kept in a memory cache shared by every screen, so that scrolling back to a video game or opening its details does not decode it again
+ * The validity of each image path is also cached and refreshed periodically, so that a missing cover art is never probed again when a row is bound
+ * The requests are decoded by priority from a bounded queue, the cover art of the visible rows being decoded before the cover art prefetched ahead of the scrolling
+ * The cover art of the rows are decoded into the bitmaps of a BitmapPool once they are neither cached nor displayed by a row, avoiding an allocation for each decoded row
+ */
+final class CoverArtLoader {
+
+    // Amount of threads decoding cover art at the same time
+    private static final int DECODER_THREAD_COUNT = 2;
+
+    // Maximum amount of requests waiting to be decoded, the requests with the lowest priority being dropped beyond it
+    private static final int MAX_QUEUED_REQUESTS = 32;
+
+    // Priority of the cover art displayed by a visible row or screen, and of the cover art prefetched ahead of the scrolling
+    static final int PRIORITY_VISIBLE = 1000;
+    static final int PRIORITY_PREFETCH = 0;
+
+    // Fraction of the memory available to the application which can be used by the memory cache
+    private static final int MEMORY_CACHE_DIVISOR = 8;
+
+    // Fraction of the memory cache which can be used by the bitmaps waiting to be reused
+    private static final int BITMAP_POOL_DIVISOR = 4;
+
+    // Maximum size in dp of the cover art displayed by the details and the form screens
+    private static final int LARGE_COVER_ART_SIZE = 300;
+
+    // Interval in minutes between two verifications of the validity of the known image paths
+    private static final long VALIDITY_SWEEP_INTERVAL_MINUTES = 5;
+
+    // Single instance of the CoverArtLoader shared by the whole application
+    private static volatile CoverArtLoader instance;
+
+    // ContentResolver allowing to open the cover art chosen from the gallery
+    private final ContentResolver contentResolver;
+
+    // Queue containing the requests waiting to be decoded ordered by priority, and ThreadPoolExecutor decoding them on the decoder threads
+    private final PriorityBlockingQueue<Runnable> decoderQueue = new PriorityBlockingQueue<>();
+    private final ThreadPoolExecutor decoderExecutor;
+
+    // Sequence number of the latest request, allowing to decode first the most recent request among those of equal priority
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    // Prefetch requests waiting to be decoded indexed by cache key, allowing to replace them when their row becomes visible
+    private final ConcurrentHashMap<String, CoverArtRequest> queuedPrefetches = new ConcurrentHashMap<>();
+
+    // Memory cache containing the decoded cover art indexed by image path and target size, bounded by the size in bytes of the bitmaps
+    private final LruCache<String, Bitmap> memoryCache;
+
+    // Size in pixels of the cover art displayed by the details and the form screens
+    private final int largeCoverArtSize;
+
+    // Validity of the image paths which were already opened, indexed by image path
+    private final ConcurrentHashMap<String, Boolean> validityCache = new ConcurrentHashMap<>();
+
+    // ScheduledExecutorService verifying periodically the validity of the known image paths on the sweeper thread
+    private final ScheduledExecutorService sweeperExecutorService;
+
+    // BitmapPool containing the bitmaps of the rows which can be reused by the decoder threads
+    private final BitmapPool bitmapPool;
+
+    // Lock guarding the reusable bitmaps, the display counts, the pending deliveries and the evicted bitmaps, which change together
+    private final Object bitmapLock = new Object();
+
+    // Bitmaps of the rows which are in the memory cache and which will be reused once they are evicted and no longer displayed
+    private final Set<Bitmap> reusableBitmaps = new HashSet<>();
+
+    // Amount of rows displaying each reusable bitmap, amount of deliveries of each reusable bitmap still on their way to a row,
+    // and bitmaps evicted from the memory cache while still displayed or being delivered
+    // They are weak so that the bitmaps of rows destroyed without being recycled are simply collected instead of being reused
+    private final WeakHashMap<Bitmap, Integer> displayCounts = new WeakHashMap<>();
+    private final WeakHashMap<Bitmap, Integer> pendingDeliveries = new WeakHashMap<>();
+    private final Set<Bitmap> evictedBitmaps = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Constructor for the CoverArtLoader object
+     * @param context Context of the application used to open the cover art
+     */
+    private CoverArtLoader(Context context) {
+
+        // Initialization of the ContentResolver and of the decoder threads
+        contentResolver = context.getContentResolver();
+        decoderExecutor = new ThreadPoolExecutor(DECODER_THREAD_COUNT, DECODER_THREAD_COUNT, 0, TimeUnit.MILLISECONDS, decoderQueue, runnable -> new Thread(runnable, "PlayList-CoverArt"));
+        largeCoverArtSize = Math.round(LARGE_COVER_ART_SIZE * context.getResources().getDisplayMetrics().density);
+
+        // Initialization of the memory cache using a fraction of the memory class of the device
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryCacheSize = activityManager.getMemoryClass() * 1024 * 1024 / MEMORY_CACHE_DIVISOR;
+        memoryCache = new LruCache<String, Bitmap>(memoryCacheSize) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Bitmap oldValue, Bitmap newValue) {
+                if (oldValue != newValue) {
+                    onBitmapEvicted(oldValue);
+                }
+            }
+        };
+        bitmapPool = new BitmapPool(memoryCacheSize / BITMAP_POOL_DIVISOR);
+
+        // Verify periodically the validity of the known image paths, since a cover art can be deleted or restored outside of the application
+        sweeperExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "PlayList-CoverSweeper"));
+        sweeperExecutorService.scheduleWithFixedDelay(this::sweepValidity, VALIDITY_SWEEP_INTERVAL_MINUTES, VALIDITY_SWEEP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+
+    }
+
+    /**
+     * Method allowing to obtain the CoverArtLoader shared by the whole application
+     * @param context Any context of the application
+     * @return Single instance of the CoverArtLoader
+     */
+    static CoverArtLoader getInstance(Context context) {
+
+        // Initialize the CoverArtLoader upon its first use with the context of the application
+        if (instance == null) {
+            synchronized (CoverArtLoader.class) {
+                if (instance == null) {
+                    instance = new CoverArtLoader(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+
+    }
+
+    /**
+     * Method allowing to obtain a cover art from the memory cache or to decode it on a decoder thread, the cover art being delivered on the main thread
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @param callback Callback receiving on the main thread the cover art, or null if the cover art could not be found
+     * @return DatabaseTask allowing to cancel the decoding, or null if the result was delivered immediately
+     */
+    DatabaseTask load(String imagePath, int targetWidth, int targetHeight, DatabaseCallback<Bitmap> callback) {
+        return load(imagePath, targetWidth, targetHeight, PRIORITY_VISIBLE, false, callback);
+    }
+
+    /**
+     * Method allowing to obtain the cover art of a row, which can be decoded into a reused bitmap
+     * The cover art is reserved until the callback returns, so the row must call acquire from the callback if it displays the cover art and release once it no longer displays it
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @param callback Callback receiving on the main thread the cover art, or null if the cover art could not be found
+     * @return DatabaseTask allowing to cancel the decoding, or null if the result was delivered immediately
+     */
+    DatabaseTask loadRow(String imagePath, int targetWidth, int targetHeight, DatabaseCallback<Bitmap> callback) {
+        return load(imagePath, targetWidth, targetHeight, PRIORITY_VISIBLE, true, callback);
+    }
+
+    /**
+     * Method allowing to obtain a cover art from the memory cache or to decode it on a decoder thread with a specific priority
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @param priority Priority of the request, the requests of highest priority being decoded first
+     * @param isReusable Status indicating whether or not the cover art is displayed by a row and can be decoded into a reused bitmap
+     * @param callback Callback receiving on the main thread the cover art, or null if the cover art could not be found
+     * @return DatabaseTask allowing to cancel the decoding, or null if the result was delivered immediately
+     */
+    private DatabaseTask load(String imagePath, int targetWidth, int targetHeight, int priority, boolean isReusable, DatabaseCallback<Bitmap> callback) {
+
+        // Deliver immediately the absence of cover art, including the cover art already known to be missing
+        if (imagePath == null || "null".equals(imagePath) || Boolean.FALSE.equals(validityCache.get(imagePath))) {
+            callback.onResult(null);
+            return null;
+        }
+
+        // Deliver immediately the cover art found in the memory cache, reserving the bitmap of a row so that it cannot be reused while it is delivered
+        String key = buildCacheKey(imagePath, targetWidth, targetHeight);
+        Bitmap cachedCoverArt = isReusable ? getReserved(key) : memoryCache.get(key);
+        if (cachedCoverArt != null) {
+            if (isReusable) {
+                deliverReserved(cachedCoverArt, callback);
+            }
+            else {
+                callback.onResult(cachedCoverArt);
+            }
+            return null;
+        }
+
+        // Replace the prefetch of the cover art which is still waiting, since the cover art is now needed with a higher priority
+        CoverArtRequest queuedPrefetch = queuedPrefetches.remove(key);
+        if (queuedPrefetch != null) {
+            queuedPrefetch.cancel(false);
+        }
+
+        // Decode the cover art on a decoder thread, the bitmap of a row being reserved until it is delivered or its delivery is cancelled
+        if (isReusable) {
+            DatabaseCallback<Bitmap> reservedCallback = new DatabaseCallback<Bitmap>() {
+                @Override
+                public void onResult(Bitmap coverArt) {
+                    deliverReserved(coverArt, callback);
+                }
+                @Override
+                public void onError(Exception exception) {
+                    callback.onError(exception);
+                }
+            };
+            return enqueue(null, () -> decodeIntoCache(imagePath, targetWidth, targetHeight, key, true, true), reservedCallback, this::endDelivery, priority);
+        }
+        return enqueue(null, () -> decodeIntoCache(imagePath, targetWidth, targetHeight, key, false, false), callback, null, priority);
+
+    }
+
+    /**
+     * Method allowing to decode a cover art into the memory cache ahead of the scrolling, without delivering it
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art will be displayed
+     * @param targetHeight Height in pixels at which the cover art will be displayed
+     * @param distance Distance in rows between the cover art and the visible rows, the closest cover art being decoded first
+     * @return DatabaseTask allowing to cancel the prefetch, or null if the cover art does not need to be decoded
+     */
+    DatabaseTask prefetch(String imagePath, int targetWidth, int targetHeight, int distance) {
+
+        // Ignore the cover art which is missing, already decoded or already waiting to be decoded
+        if (imagePath == null || "null".equals(imagePath) || Boolean.FALSE.equals(validityCache.get(imagePath))) {
+            return null;
+        }
+        String key = buildCacheKey(imagePath, targetWidth, targetHeight);
+        if (memoryCache.get(key) != null || queuedPrefetches.containsKey(key)) {
+            return null;
+        }
+
+        // Decode the cover art on a decoder thread with a priority decreasing with its distance
+        return enqueue(key, () -> decodeIntoCache(imagePath, targetWidth, targetHeight, key, true, false), null, null, PRIORITY_PREFETCH - distance);
+
+    }
+
+    /**
+     * Method allowing to add a request to the bounded queue of the decoder threads
+     * @param prefetchKey Cache key of the cover art if the request is a prefetch, or null otherwise
+     * @param operation Operation decoding the cover art
+     * @param callback Callback receiving the cover art on the main thread, or null if the cover art is only prefetched
+     * @param onDiscarded Consumer receiving on the main thread the cover art whose delivery was cancelled, or null if it was not reserved
+     * @param priority Priority of the request
+     * @return DatabaseTask allowing to cancel the request
+     */
+    private DatabaseTask enqueue(String prefetchKey, Callable<Bitmap> operation, DatabaseCallback<Bitmap> callback, Consumer<Bitmap> onDiscarded, int priority) {
+
+        // Initialize the task allowing to cancel the request and the request delivering its result on the main thread
+        DatabaseTask task = new DatabaseTask();
+        CoverArtRequest request = new CoverArtRequest(DatabaseExecutor.getInstance().wrap(task, operation, callback, onDiscarded), prefetchKey, priority, requestSequence.incrementAndGet());
+        task.setFuture(request);
+
+        // Drop the request of lowest priority when the queue is full, which may be the new request itself
+        synchronized (decoderQueue) {
+            if (decoderQueue.size() >= MAX_QUEUED_REQUESTS) {
+                CoverArtRequest lowestRequest = request;
+                for (Runnable queuedRunnable : decoderQueue) {
+                    CoverArtRequest queuedRequest = (CoverArtRequest) queuedRunnable;
+                    if (queuedRequest.compareTo(lowestRequest) > 0) {
+                        lowestRequest = queuedRequest;
+                    }
+                }
+                lowestRequest.cancel(false);
+                if (lowestRequest == request) {
+                    return task;
+                }
+            }
+            if (prefetchKey != null) {
+                queuedPrefetches.put(prefetchKey, request);
+            }
+            decoderExecutor.execute(request);
+        }
+        return task;
+
+    }
+
+    /**
+     * Method allowing to decode a cover art on a decoder thread, to keep it in the memory cache and to remember whether its image path is valid
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @param key Key of the cover art within the memory cache
+     * @param isReusable Status indicating whether or not the cover art is displayed by a row and can be decoded into a reused bitmap
+     * @param isDelivered Status indicating whether or not the cover art will be delivered to a row, which reserves it before it leaves the decoder thread
+     * @return Decoded cover art, or null if the cover art could not be found
+     * @throws IOException Exception thrown if the cover art could not be read
+     */
+    private Bitmap decodeIntoCache(String imagePath, int targetWidth, int targetHeight, String key, boolean isReusable, boolean isDelivered) throws IOException {
+
+        // Reuse the cover art decoded by another request while this request was waiting
+        Bitmap coverArt = isDelivered ? getReserved(key) : memoryCache.get(key);
+        if (coverArt != null) {
+            return coverArt;
+        }
+
+        // Decode the cover art and remember the validity of its image path
+        try {
+            coverArt = decode(imagePath, targetWidth, targetHeight, isReusable);
+        }
+        catch (IOException | SecurityException e) {
+            validityCache.put(imagePath, false);
+            throw e;
+        }
+        validityCache.put(imagePath, coverArt != null);
+        if (coverArt != null) {
+            if (isReusable) {
+                synchronized (bitmapLock) {
+                    reusableBitmaps.add(coverArt);
+                    if (isDelivered) {
+                        pendingDeliveries.merge(coverArt, 1, Integer::sum);
+                    }
+                }
+            }
+            memoryCache.put(key, coverArt);
+        }
+        return coverArt;
+
+    }
+
+    /**
+     * Method allowing to obtain the cover art displayed at its largest size by the details and the form screens
+     * @param imagePath Image path of the video game
+     * @param callback Callback receiving on the main thread the cover art, or null if the cover art could not be found
+     * @return DatabaseTask allowing to cancel the decoding, or null if the result was delivered immediately
+     */
+    DatabaseTask loadLarge(String imagePath, DatabaseCallback<Bitmap> callback) {
+        return load(imagePath, largeCoverArtSize, largeCoverArtSize, callback);
+    }
+
+    /**
+     * Method allowing to obtain the cover art of a row from the memory cache and to reserve it in a single step,
+     * so that the bitmap cannot be evicted into the pool between the lookup and the reservation
+     * @param key Key of the cover art within the memory cache
+     * @return Reserved cover art, or null if the cover art is not in the memory cache
+     */
+    private Bitmap getReserved(String key) {
+
+        // Eviction waits for the lock before deciding the fate of the bitmap, so that it sees the reservation
+        synchronized (bitmapLock) {
+            Bitmap coverArt = memoryCache.get(key);
+            if (coverArt != null && reusableBitmaps.contains(coverArt)) {
+                pendingDeliveries.merge(coverArt, 1, Integer::sum);
+            }
+            return coverArt;
+        }
+
+    }
+
+    /**
+     * Method allowing to deliver a reserved cover art to the callback of a row on the main thread and to end its reservation afterward
+     * @param coverArt Reserved cover art, or null if the cover art could not be found
+     * @param callback Callback receiving the cover art, which acquires it if the row displays it
+     */
+    private void deliverReserved(Bitmap coverArt, DatabaseCallback<Bitmap> callback) {
+
+        // Keep the reservation while the callback runs, so that the bitmap is either acquired by the row or returned to the pool afterward
+        try {
+            callback.onResult(coverArt);
+        }
+        finally {
+            endDelivery(coverArt);
+        }
+
+    }
+
+    /**
+     * Method allowing to end the reservation of a cover art once it was delivered or once its delivery was cancelled
+     * @param coverArt Reserved cover art, or null if the cover art could not be found
+     */
+    private void endDelivery(Bitmap coverArt) {
+
+        // Ignore the absence of cover art and the bitmaps which were never reserved
+        if (coverArt == null) {
+            return;
+        }
+        synchronized (bitmapLock) {
+            Integer pendingCount = pendingDeliveries.get(coverArt);
+            if (pendingCount == null) {
+                return;
+            }
+            if (pendingCount > 1) {
+                pendingDeliveries.put(coverArt, pendingCount - 1);
+                return;
+            }
+            pendingDeliveries.remove(coverArt);
+
+            // Return the bitmap to the pool if it was evicted while being delivered and no row displays it
+            if (!displayCounts.containsKey(coverArt) && evictedBitmaps.remove(coverArt)) {
+                bitmapPool.put(coverArt);
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing a row to indicate that it displays a cover art, which must then not be reused until the row releases it
+     * This method must only be called from the main thread, by the callback receiving the cover art
+     * @param coverArt Cover art displayed by the row
+     */
+    void acquire(Bitmap coverArt) {
+
+        // Count the rows displaying the bitmap, which is still reserved by its delivery and therefore cannot be in the pool
+        synchronized (bitmapLock) {
+            if (reusableBitmaps.contains(coverArt) || evictedBitmaps.contains(coverArt)) {
+                displayCounts.merge(coverArt, 1, Integer::sum);
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing a row to indicate that it no longer displays a cover art
+     * This method must only be called from the main thread
+     * @param coverArt Cover art which was displayed by the row
+     */
+    void release(Bitmap coverArt) {
+
+        // Return the bitmap to the pool once no row displays it and no delivery reserves it, if it was already evicted from the memory cache
+        synchronized (bitmapLock) {
+            Integer displayCount = displayCounts.get(coverArt);
+            if (displayCount == null) {
+                return;
+            }
+            if (displayCount > 1) {
+                displayCounts.put(coverArt, displayCount - 1);
+                return;
+            }
+            displayCounts.remove(coverArt);
+            if (!pendingDeliveries.containsKey(coverArt) && evictedBitmaps.remove(coverArt)) {
+                bitmapPool.put(coverArt);
+            }
+        }
+
+    }
+
+    /**
+     * Method executed on the thread evicting a bitmap from the memory cache
+     * @param coverArt Evicted bitmap
+     */
+    private void onBitmapEvicted(Bitmap coverArt) {
+
+        // Return the bitmap to the pool, or wait until the rows displaying it release it and its pending deliveries end
+        synchronized (bitmapLock) {
+            if (!reusableBitmaps.remove(coverArt)) {
+                return;
+            }
+            if (displayCounts.containsKey(coverArt) || pendingDeliveries.containsKey(coverArt)) {
+                evictedBitmaps.add(coverArt);
+            }
+            else {
+                bitmapPool.put(coverArt);
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to forget the validity of an image path, for instance when a cover art is imported again after being deleted
+     * @param imagePath Image path of the cover art
+     */
+    void invalidateValidity(String imagePath) {
+        validityCache.remove(imagePath);
+    }
+
+    /**
+     * Method allowing to release the memory used by the cover art when the system asks the application to reduce its memory usage
+     * @param level Level of memory pressure received by onTrimMemory
+     */
+    void trimMemory(int level) {
+
+        // Drop every cover art and every reusable bitmap once the application is in the background or the device is critically low on memory
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            memoryCache.evictAll();
+            bitmapPool.clear();
+        }
+
+        // Keep only the most recently used half of the cover art once the interface is hidden
+        else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            memoryCache.trimToSize(memoryCache.size() / 2);
+        }
+
+    }
+
+    /**
+     * Getter for the amount of cover art found in the memory cache
+     * @return Amount of requests for which the cover art was found in the memory cache
+     */
+    int getCacheHitCount() {
+        return memoryCache.hitCount();
+    }
+
+    /**
+     * Getter for the amount of bitmaps allocated while decoding the cover art of the rows
+     * @return Amount of bitmaps allocated since the application started
+     */
+    int getBitmapAllocationCount() {
+        return bitmapPool.getAllocationCount();
+    }
+
+    /**
+     * Getter for the amount of bitmaps reused while decoding the cover art of the rows
+     * @return Amount of bitmaps reused from the BitmapPool since the application started
+     */
+    int getBitmapReuseCount() {
+        return bitmapPool.getReuseCount();
+    }
+
+    /**
+     * Getter for the amount of cover art missing from the memory cache
+     * @return Amount of requests for which the cover art had to be decoded
+     */
+    int getCacheMissCount() {
+        return memoryCache.missCount();
+    }
+
+    /**
+     * Method allowing to obtain a summary of the memory cache used when logging its efficiency
+     * @return Summary containing the maximum size, the hits, the misses and the hit rate of the memory cache, and the allocations and reuses of the BitmapPool
+     */
+    String getCacheStatistics() {
+
+        // Read the counters of the memory cache and of the BitmapPool once and summarize them on a single line
+        int hitCount = getCacheHitCount();
+        int missCount = getCacheMissCount();
+        int requestCount = hitCount + missCount;
+        return "maxSize=" + memoryCache.maxSize() + " hits=" + hitCount + " misses=" + missCount + " hitRate=" + (requestCount > 0 ? 100 * hitCount / requestCount : 0) + "%"
+                + " size=" + memoryCache.size() + " evictions=" + memoryCache.evictionCount()
+                + " knownPaths=" + validityCache.size() + " bitmapAllocations=" + getBitmapAllocationCount() + " bitmapReuses=" + getBitmapReuseCount() + " poolSize=" + bitmapPool.getSize();
+
+    }
+
+    /**
+     * Method allowing to build the key of a cover art within the memory cache
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @return Key of the cover art within the memory cache
+     */
+    static String buildCacheKey(String imagePath, int targetWidth, int targetHeight) {
+        return imagePath + "@" + targetWidth + "x" + targetHeight;
+    }
+
+    /**
+     * Method allowing to decode a cover art at a size close to the size at which it is displayed
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @return Decoded cover art, or null if the cover art could not be found
+     * @throws IOException Exception thrown if the cover art could not be read
+     */
+    Bitmap decode(String imagePath, int targetWidth, int targetHeight) throws IOException {
+        return decode(imagePath, targetWidth, targetHeight, false);
+    }
+
+    /**
+     * Method allowing to decode a cover art at a size close to the size at which it is displayed, possibly into a bitmap of the BitmapPool
+     * @param imagePath Image path of the video game
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @param isReusable Status indicating whether or not the cover art is decoded into a mutable bitmap taken from or returned to the BitmapPool
+     * @return Decoded cover art, or null if the cover art could not be found
+     * @throws IOException Exception thrown if the cover art could not be read
+     */
+    private Bitmap decode(String imagePath, int targetWidth, int targetHeight, boolean isReusable) throws IOException {
+
+        // Ignore the video games without a cover art
+        if (imagePath == null || "null".equals(imagePath)) {
+            return null;
+        }
+        Uri imageUri = Uri.parse(imagePath);
+
+        // Read only the dimensions of the cover art in order to calculate the sample size
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream inputStream = openCoverArt(imageUri)) {
+            if (inputStream == null) {
+                return null;
+            }
+            BitmapFactory.decodeStream(inputStream, null, options);
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        // Decode the cover art while skipping the pixels that would not be displayed
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+        if (!isReusable) {
+            try (InputStream inputStream = openCoverArt(imageUri)) {
+                return inputStream != null ? BitmapFactory.decodeStream(inputStream, null, options) : null;
+            }
+        }
+
+        // Decode the cover art of a row into a mutable bitmap, reusing a bitmap of the pool large enough for the sampled cover art
+        options.inMutable = true;
+        options.inBitmap = bitmapPool.get(ceilDivide(options.outWidth, options.inSampleSize), ceilDivide(options.outHeight, options.inSampleSize), Bitmap.Config.ARGB_8888);
+        try (InputStream inputStream = openCoverArt(imageUri)) {
+            if (inputStream == null) {
+                return null;
+            }
+            Bitmap coverArt = BitmapFactory.decodeStream(inputStream, null, options);
+            if (coverArt == null && options.inBitmap != null) {
+                bitmapPool.put(options.inBitmap);
+                return null;
+            }
+            bitmapPool.recordDecode(coverArt != null && coverArt == options.inBitmap);
+            return coverArt;
+        }
+        catch (IllegalArgumentException e) {
+            // The reused bitmap could not contain the cover art, which is then decoded into a new bitmap
+            if (options.inBitmap == null) {
+                throw e;
+            }
+            options.inBitmap = null;
+            try (InputStream inputStream = openCoverArt(imageUri)) {
+                Bitmap coverArt = inputStream != null ? BitmapFactory.decodeStream(inputStream, null, options) : null;
+                bitmapPool.recordDecode(false);
+                return coverArt;
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to divide a dimension by a sample size while rounding up, matching the largest size a decoder can produce
+     * @param dimension Dimension in pixels of the cover art
+     * @param sampleSize Sample size used while decoding
+     * @return Sampled dimension rounded up
+     */
+    private static int ceilDivide(int dimension, int sampleSize) {
+        return (dimension + sampleSize - 1) / sampleSize;
+    }
+
+    /**
+     * Method allowing to verify again the validity of every known image path on the sweeper thread
+     */
+    private void sweepValidity() {
+
+        // Probe each image path without decoding it, keeping the previous validity if the probe itself fails unexpectedly
+        for (String imagePath : validityCache.keySet()) {
+            try {
+                validityCache.put(imagePath, isValid(Uri.parse(imagePath)));
+            }
+            catch (RuntimeException e) {
+                // The validity will be verified again by the next sweep
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to verify if a cover art can still be opened without reading its content
+     * @param imageUri URI of the cover art
+     * @return True if the cover art can be opened, false otherwise
+     */
+    private boolean isValid(Uri imageUri) {
+
+        // Verify if the file still exists
+        if ("file".equals(imageUri.getScheme())) {
+            File imageFile = new File(imageUri.getPath());
+            return imageFile.isFile() && imageFile.length() > 0;
+        }
+
+        // Open and close a file descriptor of the cover art chosen from the gallery
+        if ("content".equals(imageUri.getScheme())) {
+            try (AssetFileDescriptor assetFileDescriptor = contentResolver.openAssetFileDescriptor(imageUri, "r")) {
+                return assetFileDescriptor != null;
+            }
+            catch (IOException | SecurityException e) {
+                return false;
+            }
+        }
+
+        // The other URI schemes are not supported
+        return false;
+
+    }
+
+    /**
+     * Method allowing to open a cover art stored in the files of the application or chosen from the gallery
+     * @param imageUri URI of the cover art
+     * @return InputStream of the cover art, or null if the cover art could not be found
+     * @throws IOException Exception thrown if the cover art could not be opened
+     */
+    private InputStream openCoverArt(Uri imageUri) throws IOException {
+
+        // Open the file if it still exists
+        if ("file".equals(imageUri.getScheme())) {
+            File imageFile = new File(imageUri.getPath());
+            return imageFile.exists() ? new FileInputStream(imageFile) : null;
+        }
+
+        // Use the ContentResolver to open the cover art chosen from the gallery
+        if ("content".equals(imageUri.getScheme())) {
+            return contentResolver.openInputStream(imageUri);
+        }
+
+        // The other URI schemes are not supported
+        return null;
+
+    }
+
+    /**
+     * Method allowing to calculate the largest power of two by which a cover art can be downsampled while remaining at least as large as its target size
+     * @param width Width in pixels of the cover art
+     * @param height Height in pixels of the cover art
+     * @param targetWidth Width in pixels at which the cover art is displayed
+     * @param targetHeight Height in pixels at which the cover art is displayed
+     * @return Sample size used when decoding the cover art
+     */
+    static int calculateInSampleSize(int width, int height, int targetWidth, int targetHeight) {
+
+        // Double the sample size as long as both dimensions remain at least as large as the target size
+        int inSampleSize = 1;
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            return inSampleSize;
+        }
+        while (width / (inSampleSize * 2) >= targetWidth && height / (inSampleSize * 2) >= targetHeight) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+
+    }
+
+    /**
+     * Class representing a request waiting to be decoded, ordered by priority and then from the most recent to the oldest
+     */
+    private final class CoverArtRequest extends FutureTask<Void> implements Comparable<CoverArtRequest> {
+
+        // Cache key of the cover art if the request is a prefetch, or null otherwise
+        private final String prefetchKey;
+
+        // Priority and sequence number of the request
+        private final int priority;
+        private final long sequence;
+
+        /**
+         * Constructor for the CoverArtRequest object
+         * @param runnable Runnable decoding the cover art and delivering it
+         * @param prefetchKey Cache key of the cover art if the request is a prefetch, or null otherwise
+         * @param priority Priority of the request
+         * @param sequence Sequence number of the request
+         */
+        CoverArtRequest(Runnable runnable, String prefetchKey, int priority, long sequence) {
+
+            // Association between the class's properties and the parameters received by the constructor
+            super(runnable, null);
+            this.prefetchKey = prefetchKey;
+            this.priority = priority;
+            this.sequence = sequence;
+
+        }
+
+        /**
+         * Method executing the request on a decoder thread
+         */
+        @Override
+        public void run() {
+
+            // The prefetch can no longer be replaced once it started
+            if (prefetchKey != null) {
+                queuedPrefetches.remove(prefetchKey, this);
+            }
+            super.run();
+
+        }
+
+        /**
+         * Method allowing to cancel the request and to remove it from the queue so that it no longer counts toward its bound
+         * @param mayInterruptIfRunning Status indicating whether or not the decoder thread should be interrupted
+         * @return True if the request was cancelled, false if it already completed
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+
+            // Cancel the request and remove it from the queue and from the prefetches
+            boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            decoderQueue.remove(this);
+            if (prefetchKey != null) {
+                queuedPrefetches.remove(prefetchKey, this);
+            }
+            return isCancelled;
+
+        }
+
+        /**
+         * Method allowing to order the requests, the request to be decoded first being the smallest
+         * @param other Other request
+         * @return Negative value if this request must be decoded first, positive value otherwise
+         */
+        @Override
+        public int compareTo(CoverArtRequest other) {
+
+            // Decode first the request of highest priority, and then the most recent one
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(other.sequence, sequence);
+
+        }
+
+    }
+
+}
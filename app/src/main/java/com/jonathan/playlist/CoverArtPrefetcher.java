@@ -0,0 +1,101 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverArtPrefetcher.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.util.SparseArray;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * OnScrollListener allowing to decode the cover art of the rows about to be displayed in the direction of the scrolling
+ * The prefetches have a lower priority than the visible rows and are cancelled once their rows are scrolled far out of view
+ */
+final class CoverArtPrefetcher extends RecyclerView.OnScrollListener {
+
+    // Amount of rows prefetched ahead of the visible rows
+    private static final int PREFETCH_COUNT = 6;
+
+    // Distance in rows beyond which the prefetches still waiting to be decoded are cancelled
+    private static final int CANCEL_DISTANCE = PREFETCH_COUNT * 2;
+
+    // RecyclerViewAdapter allowing to prefetch the cover art of its rows
+    private final RecyclerViewAdapter recyclerViewAdapter;
+
+    // Prefetches requested for the rows indexed by position
+    private final SparseArray<DatabaseTask> prefetchTasks = new SparseArray<>();
+
+    /**
+     * Constructor for the CoverArtPrefetcher object
+     * @param recyclerViewAdapter RecyclerViewAdapter whose cover art will be prefetched
+     */
+    CoverArtPrefetcher(RecyclerViewAdapter recyclerViewAdapter) {
+        this.recyclerViewAdapter = recyclerViewAdapter;
+    }
+
+    /**
+     * Method executed when the RecyclerView is scrolled allowing to prefetch the upcoming cover art
+     * @param recyclerView RecyclerView which was scrolled
+     * @param dx Horizontal distance scrolled in pixels
+     * @param dy Vertical distance scrolled in pixels
+     */
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+
+        // Obtain the visible rows, which are only known for a LinearLayoutManager
+        if (dy == 0 || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int firstVisiblePosition = linearLayoutManager.findFirstVisibleItemPosition();
+        int lastVisiblePosition = linearLayoutManager.findLastVisibleItemPosition();
+        if (firstVisiblePosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        // Cancel the prefetches of the rows which were scrolled far out of view
+        for (int i = prefetchTasks.size() - 1; i >= 0; i--) {
+            int position = prefetchTasks.keyAt(i);
+            if (position < firstVisiblePosition - CANCEL_DISTANCE || position > lastVisiblePosition + CANCEL_DISTANCE) {
+                DatabaseTask prefetchTask = prefetchTasks.valueAt(i);
+                if (prefetchTask != null) {
+                    prefetchTask.cancel();
+                }
+                prefetchTasks.removeAt(i);
+            }
+        }
+
+        // Prefetch the rows following the visible rows in the direction of the scrolling, the closest rows first
+        int step = dy > 0 ? 1 : -1;
+        int edgePosition = dy > 0 ? lastVisiblePosition : firstVisiblePosition;
+        for (int distance = 1; distance <= PREFETCH_COUNT; distance++) {
+            int position = edgePosition + step * distance;
+            if (prefetchTasks.indexOfKey(position) < 0) {
+                prefetchTasks.put(position, recyclerViewAdapter.prefetchCoverArt(position, distance));
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to cancel every prefetch, for instance when the RecyclerView is destroyed or its rows are replaced
+     */
+    void cancelAll() {
+
+        // Cancel the prefetches still waiting to be decoded
+        for (int i = 0; i < prefetchTasks.size(); i++) {
+            DatabaseTask prefetchTask = prefetchTasks.valueAt(i);
+            if (prefetchTask != null) {
+                prefetchTask.cancel();
+            }
+        }
+        prefetchTasks.clear();
+
+    }
+
+}
@@ -0,0 +1,138 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverPreview.java            ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Class allowing to encode and to display the preview of a cover art, a grid of a few colors stored in the database along with the video game
+ * The preview is painted with bilinear filtering while the cover art is decoded, showing a blurred version of the cover art on the first frame
+ */
+final class CoverPreview {
+
+    // Amount of columns and rows of the grid, matching the portrait format of the cover art
+    static final int PREVIEW_WIDTH = 3;
+    static final int PREVIEW_HEIGHT = 4;
+
+    // Size in bytes of the header containing the amount of columns and rows of the grid
+    private static final int HEADER_SIZE = 2;
+
+    /**
+     * Constructor preventing the instantiation of the class
+     */
+    private CoverPreview() { }
+
+    /**
+     * Method allowing to encode a grid of colors as a preview, each color being stored on three bytes
+     * @param pixels Colors of the grid in the ARGB format, row after row
+     * @param width Amount of columns of the grid
+     * @param height Amount of rows of the grid
+     * @return Encoded preview
+     */
+    static byte[] encode(int[] pixels, int width, int height) {
+
+        // Store the dimensions of the grid followed by the red, green and blue components of each color
+        byte[] preview = new byte[HEADER_SIZE + width * height * 3];
+        preview[0] = (byte) width;
+        preview[1] = (byte) height;
+        for (int i = 0; i < width * height; i++) {
+            preview[HEADER_SIZE + i * 3] = (byte) (pixels[i] >> 16);
+            preview[HEADER_SIZE + i * 3 + 1] = (byte) (pixels[i] >> 8);
+            preview[HEADER_SIZE + i * 3 + 2] = (byte) pixels[i];
+        }
+        return preview;
+
+    }
+
+    /**
+     * Method allowing to decode the opaque colors of a preview
+     * @param preview Encoded preview
+     * @return Colors of the grid in the ARGB format, row after row, or null if the preview is invalid
+     */
+    static int[] decode(byte[] preview) {
+
+        // Verify that the preview contains every color of its grid
+        if (preview == null || preview.length < HEADER_SIZE) {
+            return null;
+        }
+        int colorCount = getWidth(preview) * getHeight(preview);
+        if (colorCount == 0 || preview.length != HEADER_SIZE + colorCount * 3) {
+            return null;
+        }
+
+        // Rebuild each opaque color from its components
+        int[] pixels = new int[colorCount];
+        for (int i = 0; i < colorCount; i++) {
+            pixels[i] = 0xFF000000 | (preview[HEADER_SIZE + i * 3] & 0xFF) << 16 | (preview[HEADER_SIZE + i * 3 + 1] & 0xFF) << 8 | (preview[HEADER_SIZE + i * 3 + 2] & 0xFF);
+        }
+        return pixels;
+
+    }
+
+    /**
+     * Method allowing to obtain the amount of columns of a preview
+     * @param preview Encoded preview
+     * @return Amount of columns of the grid
+     */
+    static int getWidth(byte[] preview) {
+        return preview[0] & 0xFF;
+    }
+
+    /**
+     * Method allowing to obtain the amount of rows of a preview
+     * @param preview Encoded preview
+     * @return Amount of rows of the grid
+     */
+    static int getHeight(byte[] preview) {
+        return preview[1] & 0xFF;
+    }
+
+    /**
+     * Method allowing to create the preview of a decoded cover art
+     * @param coverArt Decoded cover art
+     * @return Encoded preview
+     */
+    static byte[] create(Bitmap coverArt) {
+
+        // Scale the cover art down to the grid with filtering, averaging the colors of each cell
+        Bitmap grid = Bitmap.createScaledBitmap(coverArt, PREVIEW_WIDTH, PREVIEW_HEIGHT, true);
+        int[] pixels = new int[PREVIEW_WIDTH * PREVIEW_HEIGHT];
+        grid.getPixels(pixels, 0, PREVIEW_WIDTH, 0, 0, PREVIEW_WIDTH, PREVIEW_HEIGHT);
+        if (grid != coverArt) {
+            grid.recycle();
+        }
+        return encode(pixels, PREVIEW_WIDTH, PREVIEW_HEIGHT);
+
+    }
+
+    /**
+     * Method allowing to create a Drawable painting a preview stretched and blurred by bilinear filtering
+     * @param resources Resources of the screen displaying the preview
+     * @param preview Encoded preview
+     * @return Drawable painting the preview, or null if the preview is invalid
+     */
+    static Drawable toDrawable(Resources resources, byte[] preview) {
+
+        // Create a bitmap containing a single pixel for each color of the grid
+        int[] pixels = decode(preview);
+        if (pixels == null) {
+            return null;
+        }
+        Bitmap grid = Bitmap.createBitmap(pixels, getWidth(preview), getHeight(preview), Bitmap.Config.ARGB_8888);
+
+        // Filter the bitmap so that the colors blend into each other once it is stretched
+        BitmapDrawable drawable = new BitmapDrawable(resources, grid);
+        drawable.setFilterBitmap(true);
+        return drawable;
+
+    }
+
+}
@@ -0,0 +1,60 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverThumbnail.java          ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+/**
+ * Class representing a thumbnail of the cover art of a video game stored in the files of the application
+ */
+final class CoverThumbnail {
+
+    // Image path of the thumbnail
+    private final String path;
+
+    // Width and height in pixels of the thumbnail
+    private final int width, height;
+
+    /**
+     * Constructor for the CoverThumbnail object
+     * @param path Image path of the thumbnail
+     * @param width Width in pixels of the thumbnail
+     * @param height Height in pixels of the thumbnail
+     */
+    CoverThumbnail(String path, int width, int height) {
+
+        // Association between the class's properties and the parameters received by the constructor
+        this.path = path;
+        this.width = width;
+        this.height = height;
+
+    }
+
+    /**
+     * Getter for the path attribute
+     * @return Image path of the thumbnail
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Getter for the width attribute
+     * @return Width in pixels of the thumbnail
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * Getter for the height attribute
+     * @return Height in pixels of the thumbnail
+     */
+    int getHeight() {
+        return height;
+    }
+
+}
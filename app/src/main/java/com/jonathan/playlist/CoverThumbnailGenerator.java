@@ -0,0 +1,254 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverThumbnailGenerator.java ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Build;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Class allowing to generate the thumbnails of the cover art of the video games in the files of the application
+ * The lists and the details then decode a small WebP file instead of the original picture, which can contain millions of pixels
+ */
+final class CoverThumbnailGenerator {
+
+    // Name of the directory containing the thumbnails within the files of the application
+    private static final String THUMBNAIL_DIRECTORY = "thumbnails";
+
+    // Maximum size in dp of the thumbnails displayed in the lists, matching the ImageView of recycler_view_adapter_item
+    private static final int LIST_THUMBNAIL_WIDTH = 100;
+    private static final int LIST_THUMBNAIL_HEIGHT = 150;
+
+    // Maximum size in dp of the thumbnails displayed in the details, matching the ImageView of activity_details
+    private static final int DETAIL_THUMBNAIL_SIZE = 300;
+
+    // Quality of the WebP compression of the thumbnails
+    private static final int THUMBNAIL_QUALITY = 85;
+
+    // CoverArtLoader allowing to decode the original cover art
+    private final CoverArtLoader coverArtLoader;
+
+    // Directory containing the thumbnails
+    private final File thumbnailDirectory;
+
+    // Density of the screen used to convert the sizes of the thumbnails to pixels
+    private final float density;
+
+    /**
+     * Constructor for the CoverThumbnailGenerator object
+     * @param context Any context of the application
+     */
+    CoverThumbnailGenerator(Context context) {
+
+        // Association between the class's properties and the resources of the application
+        coverArtLoader = CoverArtLoader.getInstance(context);
+        thumbnailDirectory = new File(context.getFilesDir(), THUMBNAIL_DIRECTORY);
+        density = context.getResources().getDisplayMetrics().density;
+
+    }
+
+    /**
+     * Method allowing to generate the list and detail thumbnails of the cover art of a video game, along with its tiny preview
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art
+     * @return Thumbnails and preview of the cover art, or null if the cover art could not be found
+     * @throws IOException Exception thrown if the cover art could not be read or if a thumbnail could not be written
+     */
+    Result generate(int id, String imagePath) throws IOException {
+
+        // Decode the cover art once at the size of the detail thumbnail, which is the largest one
+        int detailSize = Math.round(DETAIL_THUMBNAIL_SIZE * density);
+        Bitmap coverArt = coverArtLoader.decode(imagePath, detailSize, detailSize);
+        if (coverArt == null) {
+            return null;
+        }
+
+        // Write both thumbnails using a name unique to the cover art so that a replaced cover art never reuses a cached thumbnail
+        if (!thumbnailDirectory.isDirectory() && !thumbnailDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + thumbnailDirectory);
+        }
+        String prefix = getPrefix(id, imagePath);
+        try {
+            CoverThumbnail listThumbnail = writeThumbnail(coverArt, Math.round(LIST_THUMBNAIL_WIDTH * density), Math.round(LIST_THUMBNAIL_HEIGHT * density), new File(thumbnailDirectory, prefix + "_list.webp"));
+            CoverThumbnail detailThumbnail = writeThumbnail(coverArt, detailSize, detailSize, new File(thumbnailDirectory, prefix + "_detail.webp"));
+            deleteThumbnailsExcept(id, prefix);
+            return new Result(listThumbnail, detailThumbnail, CoverPreview.create(coverArt));
+        }
+        finally {
+            coverArt.recycle();
+        }
+
+    }
+
+    /**
+     * Method allowing to delete every thumbnail of a video game
+     * @param id Id of the video game
+     */
+    void deleteThumbnails(int id) {
+        deleteThumbnailsExcept(id, null);
+    }
+
+    /**
+     * Method allowing to delete the thumbnails generated for a specific cover art of a video game
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art whose thumbnails will be deleted
+     */
+    void deleteThumbnails(int id, String imagePath) {
+
+        // Delete the files named after the cover art
+        String prefix = getPrefix(id, imagePath) + "_";
+        File[] thumbnails = thumbnailDirectory.listFiles((directory, name) -> name.startsWith(prefix));
+        if (thumbnails != null) {
+            for (File thumbnail : thumbnails) {
+                //noinspection ResultOfMethodCallIgnored
+                thumbnail.delete();
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to delete the thumbnails of every video game
+     */
+    void deleteAllThumbnails() {
+
+        // Delete every file of the directory containing the thumbnails
+        File[] thumbnails = thumbnailDirectory.listFiles();
+        if (thumbnails != null) {
+            for (File thumbnail : thumbnails) {
+                //noinspection ResultOfMethodCallIgnored
+                thumbnail.delete();
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to delete the thumbnails of a video game except those of its current cover art
+     * @param id Id of the video game
+     * @param keptPrefix Prefix of the thumbnails to keep, or null to delete every thumbnail of the video game
+     */
+    private void deleteThumbnailsExcept(int id, String keptPrefix) {
+
+        // Delete the files belonging to the video game which do not start with the kept prefix
+        File[] thumbnails = thumbnailDirectory.listFiles((directory, name) -> name.startsWith(id + "_") && (keptPrefix == null || !name.startsWith(keptPrefix + "_")));
+        if (thumbnails != null) {
+            for (File thumbnail : thumbnails) {
+                //noinspection ResultOfMethodCallIgnored
+                thumbnail.delete();
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to obtain the prefix of the names of the thumbnails of a cover art
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art
+     * @return Prefix made of the ID of the video game and of the hash of the image path
+     */
+    private static String getPrefix(int id, String imagePath) {
+        return id + "_" + Integer.toHexString(imagePath.hashCode());
+    }
+
+    /**
+     * Method allowing to scale a cover art to fit within a maximum size and to write it as a WebP file
+     * @param coverArt Decoded cover art
+     * @param maxWidth Maximum width in pixels of the thumbnail
+     * @param maxHeight Maximum height in pixels of the thumbnail
+     * @param file File in which the thumbnail will be written
+     * @return CoverThumbnail representing the written file
+     * @throws IOException Exception thrown if the thumbnail could not be written
+     */
+    private static CoverThumbnail writeThumbnail(Bitmap coverArt, int maxWidth, int maxHeight, File file) throws IOException {
+
+        // Scale the cover art while keeping its aspect ratio
+        int[] size = fitWithin(coverArt.getWidth(), coverArt.getHeight(), maxWidth, maxHeight);
+        Bitmap thumbnail = size[0] == coverArt.getWidth() && size[1] == coverArt.getHeight() ? coverArt : Bitmap.createScaledBitmap(coverArt, size[0], size[1], true);
+
+        // Write the thumbnail into a temporary file before renaming it, so that a partially written thumbnail is never displayed
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temporaryFile)) {
+            if (!thumbnail.compress(getWebpFormat(), THUMBNAIL_QUALITY, outputStream)) {
+                throw new IOException("Unable to encode " + file);
+            }
+        }
+        finally {
+            if (thumbnail != coverArt) {
+                thumbnail.recycle();
+            }
+        }
+        if (!temporaryFile.renameTo(file)) {
+            throw new IOException("Unable to write " + file);
+        }
+
+        // Return the thumbnail using a file URI, as for the other cover art
+        return new CoverThumbnail(Uri.fromFile(file).toString(), size[0], size[1]);
+
+    }
+
+    /**
+     * Method allowing to obtain the lossy WebP format supported by the device
+     * @return Lossy WebP compression format
+     */
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat getWebpFormat() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R ? Bitmap.CompressFormat.WEBP_LOSSY : Bitmap.CompressFormat.WEBP;
+    }
+
+    /**
+     * Method allowing to calculate the size of an image scaled down to fit within a maximum size while keeping its aspect ratio
+     * @param width Width in pixels of the image
+     * @param height Height in pixels of the image
+     * @param maxWidth Maximum width in pixels
+     * @param maxHeight Maximum height in pixels
+     * @return Array containing the scaled width followed by the scaled height, the image never being enlarged
+     */
+    static int[] fitWithin(int width, int height, int maxWidth, int maxHeight) {
+
+        // Keep the image as is if it already fits
+        if (width <= maxWidth && height <= maxHeight) {
+            return new int[] {width, height};
+        }
+
+        // Scale both dimensions by the factor of the most constrained one
+        double scale = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        return new int[] {Math.max(1, (int) Math.round(width * scale)), Math.max(1, (int) Math.round(height * scale))};
+
+    }
+
+    /**
+     * Class containing the thumbnails and the preview generated for a cover art
+     */
+    static final class Result {
+
+        // Thumbnails of the cover art displayed in the lists and in the details
+        final CoverThumbnail listThumbnail, detailThumbnail;
+
+        // Tiny preview of the cover art painted before the cover art is decoded
+        final byte[] coverPreview;
+
+        /**
+         * Constructor for the Result object
+         * @param listThumbnail Thumbnail displayed in the lists
+         * @param detailThumbnail Thumbnail displayed in the details
+         * @param coverPreview Tiny preview of the cover art
+         */
+        Result(CoverThumbnail listThumbnail, CoverThumbnail detailThumbnail, byte[] coverPreview) {
+            this.listThumbnail = listThumbnail;
+            this.detailThumbnail = detailThumbnail;
+            this.coverPreview = coverPreview;
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverThumbnailWorker.java    ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Worker allowing to generate the thumbnails of the cover art of the video games in the background
+ * A worker is enqueued each time a cover art is saved, and once at startup to generate the thumbnails of the existing video games
+ */
+public final class CoverThumbnailWorker extends Worker {
+
+    // Keys of the input data identifying the video game whose thumbnails will be generated
+    private static final String KEY_VIDEO_GAME_ID = "videoGameId";
+    private static final String KEY_IMAGE_PATH = "imagePath";
+
+    // Names of the unique works, so that a single worker generates the thumbnails of a video game at any time
+    private static final String WORK_NAME_PREFIX = "cover-thumbnail-";
+    private static final String WORK_NAME_BACKFILL = "cover-thumbnail-backfill";
+
+    // Amount of video games read at once while generating the thumbnails of the existing video games
+    private static final int BACKFILL_BATCH_SIZE = 20;
+
+    /**
+     * Constructor for the CoverThumbnailWorker object, called by the WorkManager
+     * @param context Context of the application
+     * @param workerParameters Parameters of the worker
+     */
+    public CoverThumbnailWorker(@NonNull Context context, @NonNull WorkerParameters workerParameters) {
+        super(context, workerParameters);
+    }
+
+    /**
+     * Method allowing to enqueue the generation of the thumbnails of a video game, replacing any generation using a previous cover art
+     * @param context Any context of the application
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art of the video game
+     */
+    static void enqueue(Context context, int id, String imagePath) {
+
+        // Enqueue a worker receiving the video game as its input data
+        Data inputData = new Data.Builder().putInt(KEY_VIDEO_GAME_ID, id).putString(KEY_IMAGE_PATH, imagePath).build();
+        OneTimeWorkRequest workRequest = new OneTimeWorkRequest.Builder(CoverThumbnailWorker.class).setInputData(inputData).build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME_PREFIX + id, ExistingWorkPolicy.REPLACE, workRequest);
+
+    }
+
+    /**
+     * Method allowing to enqueue the generation of the thumbnails of every video game which does not have any yet
+     * @param context Any context of the application
+     */
+    static void enqueueBackfill(Context context) {
+
+        // Enqueue a worker without input data, keeping the worker already enqueued if any
+        OneTimeWorkRequest workRequest = new OneTimeWorkRequest.Builder(CoverThumbnailWorker.class).build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME_BACKFILL, ExistingWorkPolicy.KEEP, workRequest);
+
+    }
+
+    /**
+     * Method generating the thumbnails on the background thread of the WorkManager
+     * @return Result of the generation
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+
+        // Obtain the repository and the generator of the thumbnails
+        VideoGameRepository videoGameRepository = VideoGameRepository.getInstance(getApplicationContext());
+        CoverThumbnailGenerator coverThumbnailGenerator = new CoverThumbnailGenerator(getApplicationContext());
+
+        try {
+            // Generate the thumbnails of the specified video game
+            int id = getInputData().getInt(KEY_VIDEO_GAME_ID, -1);
+            if (id != -1) {
+                generateThumbnails(videoGameRepository, coverThumbnailGenerator, id, getInputData().getString(KEY_IMAGE_PATH));
+                return Result.success();
+            }
+
+            // Generate the thumbnails of the existing video games one batch at a time, skipping the video games whose cover art could not be read
+            int afterId = 0;
+            ArrayList<VideoGame> batch;
+            do {
+                batch = videoGameRepository.readVideoGamesWithoutThumbnails(afterId, BACKFILL_BATCH_SIZE);
+                for (VideoGame videoGame : batch) {
+                    if (isStopped()) {
+                        return Result.success();
+                    }
+                    afterId = videoGame.getId();
+                    try {
+                        generateThumbnails(videoGameRepository, coverThumbnailGenerator, videoGame.getId(), videoGame.getImagePath());
+                    }
+                    catch (IOException | SecurityException e) {
+                        // The cover art is no longer readable, its video game keeps being displayed from the original image path
+                    }
+                }
+            } while (batch.size() == BACKFILL_BATCH_SIZE);
+            return Result.success();
+        }
+        catch (Exception e) {
+            return Result.failure();
+        }
+
+    }
+
+    /**
+     * Method allowing to generate and to save the thumbnails of a video game
+     * @param videoGameRepository VideoGameRepository in which the thumbnails will be saved
+     * @param coverThumbnailGenerator CoverThumbnailGenerator allowing to generate the thumbnails
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art of the video game
+     * @throws Exception Exception thrown if the thumbnails could not be generated or saved
+     */
+    private static void generateThumbnails(VideoGameRepository videoGameRepository, CoverThumbnailGenerator coverThumbnailGenerator, int id, String imagePath) throws Exception {
+
+        // Generate the thumbnails and the preview and save them only if the video game still uses the same cover art
+        CoverThumbnailGenerator.Result result = imagePath != null ? coverThumbnailGenerator.generate(id, imagePath) : null;
+        if (result != null && !videoGameRepository.saveCoverThumbnails(id, imagePath, result.listThumbnail, result.detailThumbnail, result.coverPreview)) {
+            // The video game was deleted or its cover art was replaced while the thumbnails were generated
+            coverThumbnailGenerator.deleteThumbnails(id, imagePath);
+        }
+
+    }
+
+}
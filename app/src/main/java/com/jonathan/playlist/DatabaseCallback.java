@@ -0,0 +1,28 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      DatabaseCallback.java        ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+/**
+ * Interface allowing to receive on the main thread the result of an operation executed by the DatabaseExecutor
+ * @param <T> Type of the result of the operation
+ */
+public interface DatabaseCallback<T> {
+
+    /**
+     * Method executed on the main thread once the operation has completed
+     * @param result Result of the operation
+     */
+    void onResult(T result);
+
+    /**
+     * Method executed on the main thread if the operation threw an exception
+     * @param exception Exception thrown by the operation
+     */
+    default void onError(Exception exception) { }
+
+}
@@ -0,0 +1,237 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      DatabaseExecutor.java        ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Class allowing to execute the database operations of the application on a dedicated background thread, and the in-memory
+ * computations too long for the main thread on a second background thread so that they never wait behind the database
+ */
+public final class DatabaseExecutor {
+
+    // Tag used when logging the exceptions thrown by the operations
+    private static final String TAG = "DatabaseExecutor";
+
+    // Single instance of the DatabaseExecutor shared by the whole application
+    private static volatile DatabaseExecutor instance;
+
+    // ExecutorService executing the operations one after the other on the database thread
+    private final ExecutorService executorService;
+
+    // ExecutorService executing the in-memory computations one after the other on the computation thread
+    private final ExecutorService computationExecutorService;
+
+    // Handler allowing to deliver the results of the operations on the main thread
+    private final Handler mainHandler;
+
+    /**
+     * Constructor for the DatabaseExecutor object
+     */
+    private DatabaseExecutor() {
+
+        // Initialization of the database and computation threads and of the Handler associated to the main thread
+        executorService = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "PlayList-Database"));
+        computationExecutorService = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "PlayList-Computation"));
+        mainHandler = new Handler(Looper.getMainLooper());
+
+    }
+
+    /**
+     * Method allowing to obtain the DatabaseExecutor shared by the whole application
+     * @return Single instance of the DatabaseExecutor
+     */
+    public static DatabaseExecutor getInstance() {
+
+        // Initialize the DatabaseExecutor upon its first use
+        if (instance == null) {
+            synchronized (DatabaseExecutor.class) {
+                if (instance == null) {
+                    instance = new DatabaseExecutor();
+                }
+            }
+        }
+        return instance;
+
+    }
+
+    /**
+     * Method allowing to execute an operation on the database thread and to deliver its result on the main thread
+     * @param operation Operation to be executed on the database thread
+     * @param callback Callback receiving the result on the main thread, or null if the result is not needed
+     * @param <T> Type of the result of the operation
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    public <T> DatabaseTask submit(Callable<T> operation, DatabaseCallback<T> callback) {
+        return submit(executorService, operation, callback);
+    }
+
+    /**
+     * Method allowing to execute an in-memory computation on the computation thread and to deliver its result on the main thread
+     * @param operation Computation to be executed on the computation thread, which must not access the database
+     * @param callback Callback receiving the result on the main thread, or null if the result is not needed
+     * @param <T> Type of the result of the computation
+     * @return DatabaseTask allowing to cancel the computation
+     */
+    public <T> DatabaseTask submitComputation(Callable<T> operation, DatabaseCallback<T> callback) {
+        return submit(computationExecutorService, operation, callback);
+    }
+
+    /**
+     * Method allowing to execute an operation on a background thread and to deliver its result on the main thread
+     * @param targetExecutorService ExecutorService of the background thread executing the operation
+     * @param operation Operation to be executed on the background thread
+     * @param callback Callback receiving the result on the main thread, or null if the result is not needed
+     * @param <T> Type of the result of the operation
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    <T> DatabaseTask submit(ExecutorService targetExecutorService, Callable<T> operation, DatabaseCallback<T> callback) {
+        return submit(targetExecutorService, operation, callback, null);
+    }
+
+    /**
+     * Method allowing to execute an operation on a background thread whose result must be handed back when the operation is cancelled after producing it
+     * @param targetExecutorService ExecutorService of the background thread executing the operation
+     * @param operation Operation to be executed on the background thread
+     * @param callback Callback receiving the result on the main thread, or null if the result is not needed
+     * @param onDiscarded Consumer receiving on the main thread the result which was not delivered because the task was cancelled, or null if nothing needs to be handed back
+     * @param <T> Type of the result of the operation
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    <T> DatabaseTask submit(ExecutorService targetExecutorService, Callable<T> operation, DatabaseCallback<T> callback, Consumer<T> onDiscarded) {
+
+        // Initialize the task allowing to cancel the operation
+        DatabaseTask task = new DatabaseTask();
+
+        // Submit the operation to the background thread
+        task.setFuture(targetExecutorService.submit(wrap(task, operation, callback, onDiscarded)));
+
+        // Return the task allowing to cancel the operation
+        return task;
+
+    }
+
+    /**
+     * Method allowing to wrap an operation so that it is skipped once its task is cancelled and its result is delivered on the main thread
+     * This allows the executors scheduling their operations themselves, such as the one of the CoverArtLoader, to share the same delivery
+     * @param task Task allowing to cancel the operation
+     * @param operation Operation to be executed on a background thread
+     * @param callback Callback receiving the result on the main thread, or null if the result is not needed
+     * @param <T> Type of the result of the operation
+     * @return Runnable executing the operation and delivering its result
+     */
+    <T> Runnable wrap(DatabaseTask task, Callable<T> operation, DatabaseCallback<T> callback) {
+        return wrap(task, operation, callback, null);
+    }
+
+    /**
+     * Method allowing to wrap an operation whose result must be handed back when it is not delivered, for instance a resource reserved for the callback
+     * @param task Task allowing to cancel the operation
+     * @param operation Operation to be executed on a background thread
+     * @param callback Callback receiving the result on the main thread, or null if the result is not needed
+     * @param onDiscarded Consumer receiving on the main thread the result which was not delivered because the task was cancelled, or null if nothing needs to be handed back
+     * @param <T> Type of the result of the operation
+     * @return Runnable executing the operation and delivering its result
+     */
+    <T> Runnable wrap(DatabaseTask task, Callable<T> operation, DatabaseCallback<T> callback, Consumer<T> onDiscarded) {
+
+        // Return the Runnable executing the operation
+        return () -> {
+
+            // Do not execute the operation if it was cancelled before it started
+            if (task.isCancelled()) {
+                return;
+            }
+
+            // Execute the operation and deliver its result or its exception on the main thread
+            try {
+                T result = operation.call();
+                postToMainThread(task, () -> callback.onResult(result), onDiscarded != null ? () -> onDiscarded.accept(result) : null, callback);
+            }
+            catch (Exception e) {
+                Log.e(TAG, "Database operation failed", e);
+                postToMainThread(task, () -> callback.onError(e), null, callback);
+            }
+
+        };
+
+    }
+
+    /**
+     * Method allowing a background job to execute an operation on the database thread and to wait for its result
+     * This method must never be called from the main thread or from the database thread
+     * @param operation Operation to be executed on the database thread
+     * @param <T> Type of the result of the operation
+     * @return Result of the operation
+     * @throws Exception Exception thrown by the operation, or thrown if the wait was interrupted
+     */
+    public <T> T call(Callable<T> operation) throws Exception {
+
+        // Wait for the operation and rethrow the exception it threw, if any
+        try {
+            return executorService.submit(operation).get();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+
+    }
+
+    /**
+     * Method allowing to execute an operation on the database thread without waiting for its result
+     * @param operation Operation to be executed on the database thread
+     */
+    public void execute(Runnable operation) {
+
+        // Submit the operation to the database thread and log any exception it throws
+        executorService.execute(() -> {
+            try {
+                operation.run();
+            }
+            catch (Exception e) {
+                Log.e(TAG, "Database operation failed", e);
+            }
+        });
+
+    }
+
+    /**
+     * Method allowing to execute a delivery on the main thread unless the task was cancelled
+     * @param task Task associated with the delivery
+     * @param delivery Delivery executed on the main thread
+     * @param discard Runnable executed on the main thread instead of the delivery if the task was cancelled, or null if nothing needs to be handed back
+     * @param callback Callback receiving the delivery, or null if the result is not needed
+     */
+    private void postToMainThread(DatabaseTask task, Runnable delivery, Runnable discard, DatabaseCallback<?> callback) {
+
+        // Do not deliver anything if no callback was provided
+        if (callback == null) {
+            return;
+        }
+
+        // Verify once more on the main thread that the task was not cancelled in the meantime
+        mainHandler.post(() -> {
+            if (!task.isCancelled()) {
+                delivery.run();
+            }
+            else if (discard != null) {
+                discard.run();
+            }
+        });
+
+    }
+
+}
@@ -0,0 +1,87 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      DatabaseMigration.java       ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Class representing a single step allowing to upgrade the database to a specific version without losing any data
+ */
+abstract class DatabaseMigration {
+
+    // Version of the database obtained once the migration has been applied
+    private final int version;
+
+    /**
+     * Constructor for the DatabaseMigration object
+     * @param version Version of the database obtained once the migration has been applied
+     */
+    DatabaseMigration(int version) {
+
+        // Association between the class's properties and the parameters received by the constructor
+        this.version = version;
+
+    }
+
+    /**
+     * Getter for the version attribute
+     * @return Version of the database obtained once the migration has been applied
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Method containing the changes applied to the database by the migration
+     * @param db SQLite database which will be upgraded
+     */
+    abstract void migrate(SQLiteDatabase db);
+
+    /**
+     * Method allowing to apply the migration within a transaction nested in the one of the upgrade
+     * Since onUpgrade is already executed within a transaction by SQLiteOpenHelper, a failed migration rolls back the whole upgrade
+     * @param db SQLite database which will be upgraded
+     */
+    final void apply(SQLiteDatabase db) {
+
+        // Apply the changes of the migration within a nested transaction, which fails the transaction of the upgrade if the migration fails
+        db.beginTransaction();
+        try {
+            migrate(db);
+            db.setTransactionSuccessful();
+        }
+        finally {
+            db.endTransaction();
+        }
+
+    }
+
+    /**
+     * Method allowing to rebuild a table with a new definition while keeping its existing rows
+     * The indexes and triggers of the previous table are dropped along with it and must be recreated by the migration
+     * @param db SQLite database containing the table
+     * @param table Name of the table that will be rebuilt
+     * @param columnDefinitions Definition of the columns of the rebuilt table
+     * @param insertColumns Columns of the rebuilt table in which the existing rows will be copied
+     * @param selectColumns Columns or expressions of the existing table copied into the rebuilt table
+     */
+    static void rebuildTable(SQLiteDatabase db, String table, String columnDefinitions, String insertColumns, String selectColumns) {
+
+        // Name of the temporary table in which the existing rows will be copied
+        String newTable = table + "_new";
+
+        // Create the new table, copy the existing rows into it and replace the existing table
+        db.execSQL("DROP TABLE IF EXISTS " + newTable);
+        db.execSQL("CREATE TABLE " + newTable + " (" + columnDefinitions + ")");
+        db.execSQL("INSERT INTO " + newTable + " (" + insertColumns + ") SELECT " + selectColumns + " FROM " + table);
+        db.execSQL("DROP TABLE " + table);
+        db.execSQL("ALTER TABLE " + newTable + " RENAME TO " + table);
+
+    }
+
+}
@@ -0,0 +1,53 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      DatabaseTask.java            ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import java.util.concurrent.Future;
+
+/**
+ * Class representing an operation submitted to the DatabaseExecutor which can be cancelled
+ */
+public class DatabaseTask {
+
+    // Flag indicating whether or not the result of the operation should still be delivered
+    private volatile boolean isCancelled = false;
+
+    // Future associated with the operation once it has been submitted
+    private volatile Future<?> future;
+
+    /**
+     * Setter for the future attribute
+     * @param future Future associated with the operation
+     */
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Method allowing to cancel the operation if it has not started yet and to prevent its result from being delivered
+     */
+    public void cancel() {
+
+        // Prevent the result from being delivered and cancel the operation if it is still waiting to be executed
+        isCancelled = true;
+        Future<?> currentFuture = future;
+        if (currentFuture != null) {
+            currentFuture.cancel(false);
+        }
+
+    }
+
+    /**
+     * Getter for the isCancelled attribute
+     * @return Status indicating whether or not the operation was cancelled
+     */
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+}
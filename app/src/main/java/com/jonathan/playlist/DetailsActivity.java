@@ -8,11 +8,10 @@
 package com.jonathan.playlist;
 
 import android.annotation.SuppressLint;
-import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
-import android.net.Uri;
+import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.text.Spannable;
 import android.text.SpannableString;
@@ -33,20 +32,14 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate;
 import androidx.core.content.ContextCompat;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
-import java.io.File;
-import java.io.InputStream;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Objects;
 
 /**
  * Activity allowing to display the details pertaining to a specific video game
  */
 public class DetailsActivity extends AppCompatActivity {
 
-    // Flag allowing to identify if a video game will be removed from its final category without confirmation
-    boolean finalCategoryConfirmation = true;
-
     // Identifier of the video game that is going to be displayed
     int videoGameId;
 
@@ -62,8 +55,15 @@ public class DetailsActivity extends AppCompatActivity {
     // Menu containing the button allowing to display the popup menu
     Menu detailsMenu;
 
-    // MySQLiteOpenHelper allowing to manage the database
-    MySQLiteOpenHelper mySQLiteOpenHelper = new MySQLiteOpenHelper(this);
+    // VideoGameRepository allowing to manage the library shared by every screen
+    VideoGameRepository videoGameRepository;
+
+    // DatabaseTask loading the video game displayed within the activity
+    DatabaseTask loadTask;
+
+    // CoverArtLoader allowing to obtain the cover art of the video game and the DatabaseTask decoding it
+    CoverArtLoader coverArtLoader;
+    DatabaseTask coverArtTask;
 
     // TextView representing various controls in the details page
     TextView textViewTitle, textViewPlatform, textViewPrice, textViewPublisher, textViewReleaseDate, textViewCompletionDate, textViewPlaytime;
@@ -81,12 +81,13 @@ public class DetailsActivity extends AppCompatActivity {
     /**
      * Code executed at the start of the activity
      */
-    @SuppressLint("SetTextI18n")
     @Override
     protected void onCreate(Bundle savedInstanceState) {
 
         // Initialization of the activity
         super.onCreate(savedInstanceState);
+        videoGameRepository = VideoGameRepository.getInstance(this);
+        coverArtLoader = CoverArtLoader.getInstance(this);
         AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_YES);
         setContentView(R.layout.activity_details);
 
@@ -144,117 +145,121 @@ public class DetailsActivity extends AppCompatActivity {
             // Obtain the ID of the video game that is going to be displayed
             videoGameId = intent.getIntExtra("VIDEO_GAME_ID", -1);
 
-            // Obtain the video game from the database
-            videoGame = mySQLiteOpenHelper.readOneVideoGame(videoGameId);
+            // Obtain the video game from the database on the database thread and display it once it is loaded
+            loadTask = videoGameRepository.readOneVideoGame(videoGameId, result -> {
+                videoGame = result;
+                displayVideoGame();
+            });
 
-            // Display the information of the video game within the corresponding fields
-            if (videoGame != null) {
+        }
 
-                // Set data to corresponding fields
-                textViewTitle.setText(videoGame.get(0).getTitle());
-                textViewPlatform.setText(videoGame.get(0).getPlatform());
-                textViewPublisher.setText(videoGame.get(0).getPublisher());
-                textViewReleaseDate.setText(String.valueOf(videoGame.get(0).getReleaseDate()));
+    }
 
-                // Set data to the price field
-                if (videoGame.get(0).getPrice() <= 0) {
-                    textViewPrice.setText(R.string.free);
-                }
+    /**
+     * Code executed when the activity is destroyed
+     */
+    @Override
+    protected void onDestroy() {
 
-                else {
-                    DecimalFormat decimalFormat = new DecimalFormat("0.00");
-                    String formattedPrice = decimalFormat.format(videoGame.get(0).getPrice());
-                    textViewPrice.setText("$" + formattedPrice);
-                }
+        // Cancel the loading of the video game and of its cover art since they can no longer be displayed
+        super.onDestroy();
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        if (coverArtTask != null) {
+            coverArtTask.cancel();
+        }
 
-                // Set data to the completion date field
-                if (videoGame.get(0).getCompletionDate() == null) {
-                    textViewCompletionDate.setText(R.string.completion_date_no);
-                }
+    }
 
-                else {
-                    textViewCompletionDate.setText(String.valueOf(videoGame.get(0).getCompletionDate()));
-                }
+    /**
+     * Method allowing to display the information of the video game within the corresponding fields
+     */
+    @SuppressLint("SetTextI18n")
+    private void displayVideoGame() {
 
-                // Set data to the playtime field
-                if (videoGame.get(0).getPlaytime() <= 0) {
-                    textViewPlaytime.setText(R.string.playtime_no);
-                }
+        // Verify that the video game was found within the database
+        if (videoGame == null || videoGame.isEmpty()) {
+            return;
+        }
 
-                else if (videoGame.get(0).getPlaytime() == 1) {
-                    textViewPlaytime.setText(videoGame.get(0).getPlaytime() + " " + this.getString(R.string.hour));
-                }
+        // Set data to corresponding fields
+        textViewTitle.setText(videoGame.get(0).getTitle());
+        textViewPlatform.setText(videoGame.get(0).getPlatform());
+        textViewPublisher.setText(videoGame.get(0).getPublisher());
+        textViewReleaseDate.setText(String.valueOf(videoGame.get(0).getReleaseDate()));
 
-                else {
-                    textViewPlaytime.setText(videoGame.get(0).getPlaytime() + " " + this.getString(R.string.hours));
-                }
+        // Set data to the price field
+        if (videoGame.get(0).getPrice() <= 0) {
+            textViewPrice.setText(R.string.free);
+        }
 
-                // Set data to the checkbox fields based on if the video game is in the corresponding category
-                checkBoxBacklog.setChecked(videoGame.get(0).isBacklog());
-                checkBoxCollection.setChecked(videoGame.get(0).isCollection());
-                checkBoxCompletion.setChecked(videoGame.get(0).isCompletion());
-                checkBoxWishlist.setChecked(videoGame.get(0).isWishlist());
+        else {
+            DecimalFormat decimalFormat = new DecimalFormat("0.00");
+            String formattedPrice = decimalFormat.format(videoGame.get(0).getPrice());
+            textViewPrice.setText("$" + formattedPrice);
+        }
 
-                // Verify if the cover art for the video game should be displayed
-                if (sharedPreferencesImages.getInt(KEY_DISPLAY, 1) == 0) {
-                    imageViewGameCover.setVisibility(View.GONE);
-                }
+        // Set data to the completion date field
+        if (videoGame.get(0).getCompletionDate() == null) {
+            textViewCompletionDate.setText(R.string.completion_date_no);
+        }
 
-                // Display the cover art of the video game
-                else {
-
-                    // Set the visibility of the ImageView to VISIBLE
-                    imageViewGameCover.setVisibility(View.VISIBLE);
-
-                    // Obtain the URI of the cover art image associated to the video game
-                    String imagePath = videoGame.get(0).getImagePath();
-                    Uri imageUri = Uri.parse(imagePath);
-
-                    // Attempt to load the cover art image using the URI
-                    try {
-                        // Verify if the file corresponding to the URI exists
-                        if (Objects.equals(imageUri.getScheme(), "file")) {
-                            File imageFile = new File(imageUri.getPath());
-                            // If the image file exists, set the image to the ImageView
-                            if (imageFile.exists()) {
-                                imageViewGameCover.setImageURI(imageUri);
-                            }
-                            // If the image file does not exist, set the image to a placeholder
-                            else {
-                                imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                            }
-                        }
-                        // If the URI scheme is content, use ContentResolver to load the image
-                        else if (Objects.equals(imageUri.getScheme(), "content")) {
-                            ContentResolver contentResolver = imageViewGameCover.getContext().getContentResolver();
-                            InputStream inputStream = contentResolver.openInputStream(imageUri);
-                            // If the input stream is not null, set the image to the ImageView
-                            if (inputStream != null) {
-                                inputStream.close();
-                                imageViewGameCover.setImageURI(imageUri);
-                            }
-                            // If the input stream is null, set the image to a placeholder
-                            else {
-                                imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                            }
-                        }
-                        // If the URI scheme is not supported, set the image to a placeholder
-                        else {
-                            imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                        }
-                    }
-
-                    // Display the placeholder image if any exceptions are thrown when attempting to display the cover image
-                    catch (Exception e) {
-                        imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                    }
+        else {
+            textViewCompletionDate.setText(String.valueOf(videoGame.get(0).getCompletionDate()));
+        }
 
-                }
+        // Set data to the playtime field
+        if (videoGame.get(0).getPlaytime() <= 0) {
+            textViewPlaytime.setText(R.string.playtime_no);
+        }
+
+        else if (videoGame.get(0).getPlaytime() == 1) {
+            textViewPlaytime.setText(videoGame.get(0).getPlaytime() + " " + this.getString(R.string.hour));
+        }
+
+        else {
+            textViewPlaytime.setText(videoGame.get(0).getPlaytime() + " " + this.getString(R.string.hours));
+        }
 
+        // Set data to the checkbox fields based on if the video game is in the corresponding category
+        checkBoxBacklog.setChecked(videoGame.get(0).isBacklog());
+        checkBoxCollection.setChecked(videoGame.get(0).isCollection());
+        checkBoxCompletion.setChecked(videoGame.get(0).isCompletion());
+        checkBoxWishlist.setChecked(videoGame.get(0).isWishlist());
+
+        // Verify if the cover art for the video game should be displayed
+        if (sharedPreferencesImages.getInt(KEY_DISPLAY, 1) == 0) {
+            imageViewGameCover.setVisibility(View.GONE);
+        }
+
+        // Display the cover art of the video game
+        else {
+
+            // Set the visibility of the ImageView to VISIBLE
+            imageViewGameCover.setVisibility(View.VISIBLE);
+
+            // Display the preview stored with the video game, or the placeholder image if it was not generated, until the cover art image is obtained from the memory cache or decoded on a background thread, using its detail thumbnail if it was generated
+            Drawable coverPreview = CoverPreview.toDrawable(getResources(), videoGame.get(0).getCoverPreview());
+            if (coverPreview != null) {
+                imageViewGameCover.setImageDrawable(coverPreview);
             }
+            else {
+                imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
+            }
+            if (coverArtTask != null) {
+                coverArtTask.cancel();
+            }
+            CoverThumbnail detailThumbnail = videoGame.get(0).getDetailThumbnail();
+            coverArtTask = coverArtLoader.loadLarge(detailThumbnail != null ? detailThumbnail.getPath() : videoGame.get(0).getImagePath(), coverArt -> {
+                if (coverArt != null) {
+                    imageViewGameCover.setImageBitmap(coverArt);
+                }
+            });
 
         }
 
+
     }
 
     /**
@@ -290,9 +295,11 @@ public class DetailsActivity extends AppCompatActivity {
             return true;
         }
 
-        // If the activity menu icon is selected, display the popup menu
+        // If the activity menu icon is selected, display the popup menu once the video game has been loaded
         else if (item.getItemId() == R.id.activityMenuButton) {
-            showBottomSheetMenu(this.findViewById(R.id.activityMenuButton));
+            if (videoGame != null && !videoGame.isEmpty()) {
+                showBottomSheetMenu(this.findViewById(R.id.activityMenuButton));
+            }
             return true;
         }
 
@@ -402,6 +409,17 @@ public class DetailsActivity extends AppCompatActivity {
 
         });
 
+        // Code executed if the user selects the "lists" option in the menu
+        bottomSheetView.findViewById(R.id.textViewLists).setOnClickListener(v -> {
+
+            // Display the lists created by the user allowing to add the video game to them or to remove it from them
+            new VideoGameListDialogs(this).showMembership(videoGame.get(0).getId());
+
+            // Dismiss the BottomSheetDialog
+            bottomSheetDialog.dismiss();
+
+        });
+
     }
 
     /**
@@ -489,37 +507,41 @@ public class DetailsActivity extends AppCompatActivity {
 
         // If no confirmation is required, simply delete the video game
         else {
-            finalCategoryConfirmation = false;
             deleteVideoGame(videoGame.get(0).getId());
         }
 
     }
 
     /**
-     * Method using the MySQLiteOpenHelper class to delete a video game from the database
+     * Method using the VideoGameRepository class to delete a video game from the database
      * @param id The id of the video game to be deleted from the database
      */
     public void deleteVideoGame(int id) {
 
-        // Use the MySQLiteOpenHelper class to delete the video game from the database
-        try {
-            // Delete the video game from the database and display a message indicating the status of the deletion of the video game
-            if (mySQLiteOpenHelper.deleteOneVideoGame(id)) {
-                Toast.makeText(this, this.getString(R.string.delete_video_game_success), Toast.LENGTH_SHORT).show();
-                // Return to the main activity
-                Intent intent = new Intent(this, MainActivity.class);
-                startActivity(intent);
+        // Delete the video game from the database on the database thread
+        videoGameRepository.deleteOneVideoGame(id, deleted -> {
+
+            // Display a message indicating the status of the deletion of the video game
+            if (deleted) {
+                onVideoGameDeleted();
             }
             else {
                 Toast.makeText(this, this.getString(R.string.delete_video_game_error), Toast.LENGTH_SHORT).show();
             }
-        }
 
-        // Catch any exceptions when trying to delete the video game from the database
-        catch (Exception e) {
-            // Display a message if any error occurs
-            Toast.makeText(this, this.getString(R.string.delete_video_game_error), Toast.LENGTH_SHORT).show();
-        }
+        });
+
+    }
+
+    /**
+     * Method allowing to display that the video game was deleted and to return to the main activity
+     */
+    private void onVideoGameDeleted() {
+
+        // Display a message indicating that the video game was deleted and return to the main activity
+        Toast.makeText(this, this.getString(R.string.delete_video_game_success), Toast.LENGTH_SHORT).show();
+        Intent intent = new Intent(this, MainActivity.class);
+        startActivity(intent);
 
     }
 
@@ -534,82 +556,62 @@ public class DetailsActivity extends AppCompatActivity {
      */
     private void updateCategory(int videoGameId, String category, String saveSuccessMessage, String saveErrorMessage, String removeSuccessMessage, String removeErrorMessage) {
 
-        // Initialize the status of the video game within the specified category
-        boolean categoryStatus = false;
-
-        // Obtain the status of the video within the specified category
-        switch (category) {
-            case "backlog": {
-                categoryStatus = videoGame.get(0).isBacklog();
-                break;
-            }
-            case "collection": {
-                categoryStatus = videoGame.get(0).isCollection();
-                break;
-            }
-            case "completion": {
-                categoryStatus = videoGame.get(0).isCompletion();
-                break;
-            }
-            case "wishlist": {
-                categoryStatus = videoGame.get(0).isWishlist();
-                break;
-            }
-        }
-
-        // Verify if the video game is already saved in the specified category
-        if (categoryStatus) {
+        // Obtain the status of the video game within the specified category
+        boolean categoryStatus = videoGame.get(0).isInAnyCategory(VideoGame.getCategoryFlag(category));
 
-            // Verify if the video game will not be removed from its final category
-            if (mySQLiteOpenHelper.getCategoryStatusTotal(videoGameId) != 1) {
+        // Error message displayed if the update fails, based on the status currently displayed
+        String errorMessage = categoryStatus ? removeErrorMessage : saveErrorMessage;
 
-                // Update the status of the video game in the specified category by removing it
-                Boolean updateCategoryStatus = mySQLiteOpenHelper.updateCategoryStatus(category, videoGameId, 0);
+        // Toggle the category on the database thread, deleting the video game right away from its final category if no confirmation is required
+        boolean isConfirmationRequired = sharedPreferencesVerification.getInt(KEY_CONFIRMATION, 1) == 1;
+        videoGameRepository.toggleCategory(category, videoGameId, !isConfirmationRequired, result -> {
 
-                // Display a message indicating the status of the update of the video game
-                if (updateCategoryStatus) {
+            // Display the outcome of the update of the video game
+            switch (result.getOutcome()) {
+                case CategoryToggle.ADDED: {
+                    Toast.makeText(this, saveSuccessMessage, Toast.LENGTH_SHORT).show();
+                    break;
+                }
+                case CategoryToggle.REMOVED: {
                     Toast.makeText(this, removeSuccessMessage, Toast.LENGTH_SHORT).show();
+                    break;
                 }
-
-                else {
-                    Toast.makeText(this, removeErrorMessage, Toast.LENGTH_SHORT).show();
+                case CategoryToggle.LAST_CATEGORY: {
+                    // Show the confirmation box allowing to confirm the deletion of the video game from its final category
+                    showDeleteConfirmationDialog(true);
+                    break;
+                }
+                case CategoryToggle.DELETED: {
+                    onVideoGameDeleted();
+                    return;
+                }
+                default: {
+                    Toast.makeText(this, errorMessage, Toast.LENGTH_SHORT).show();
+                    break;
                 }
-
-            }
-
-            // If the video game will be removed from its final category, delete if from the database
-            else {
-                // Show the confirmation box allowing to confirm the deletion of the video game
-                showDeleteConfirmationDialog(true);
             }
 
-        }
-
-        // Verify if the video game is not already saved in the specified category
-        else {
-
-            // Update the status of the video game in the specified category by adding it
-            Boolean updateCategoryStatus = mySQLiteOpenHelper.updateCategoryStatus(category, videoGameId, 1);
-
-            // Display a message indicating the status of the update of the video game
-            if (updateCategoryStatus) {
-                Toast.makeText(this, saveSuccessMessage, Toast.LENGTH_SHORT).show();
+            // Update the status of the CheckBox items in the layout using the video game returned by the update
+            if (result.getVideoGame() != null) {
+                showCategoryStatus(result.getVideoGame());
             }
 
-            else {
-                Toast.makeText(this, saveErrorMessage, Toast.LENGTH_SHORT).show();
-            }
+        });
 
-        }
+    }
 
-        // Reset the values of the video game and update the status of the CheckBox items in the layout
-        if (videoGame != null && finalCategoryConfirmation) {
-            videoGame = mySQLiteOpenHelper.readOneVideoGame(videoGameId);
-            checkBoxBacklog.setChecked(videoGame.get(0).isBacklog());
-            checkBoxCollection.setChecked(videoGame.get(0).isCollection());
-            checkBoxCompletion.setChecked(videoGame.get(0).isCompletion());
-            checkBoxWishlist.setChecked(videoGame.get(0).isWishlist());
-        }
+    /**
+     * Method allowing to update the status of the CheckBox items in the layout
+     * @param updatedVideoGame Video game containing the status of each category
+     */
+    private void showCategoryStatus(VideoGame updatedVideoGame) {
+
+        // Keep the updated video game and update the CheckBox items
+        videoGame.set(0, updatedVideoGame);
+        checkBoxBacklog.setChecked(updatedVideoGame.isBacklog());
+        checkBoxCollection.setChecked(updatedVideoGame.isCollection());
+        checkBoxCompletion.setChecked(updatedVideoGame.isCompletion());
+        checkBoxWishlist.setChecked(updatedVideoGame.isWishlist());
 
     }
 
@@ -9,7 +9,6 @@ package com.jonathan.playlist;
 
 import android.annotation.SuppressLint;
 import android.app.DatePickerDialog;
-import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
@@ -45,15 +44,12 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
-import java.io.File;
-import java.io.InputStream;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Locale;
-import java.util.Objects;
 
 /**
  * Activity containing the form used for creating and modifying video games
@@ -103,8 +99,26 @@ public class FormActivity extends AppCompatActivity {
     // ImageView representing the cover art of the video game
     ImageView imageViewGameCover;
 
-    // MySQLiteOpenHelper allowing to manage the database
-    MySQLiteOpenHelper mySQLiteOpenHelper = new MySQLiteOpenHelper(this);
+    // VideoGameRepository allowing to manage the library shared by every screen
+    VideoGameRepository videoGameRepository;
+
+    // DatabaseTask loading the video game being edited
+    DatabaseTask loadTask;
+
+    // CoverArtLoader allowing to obtain the cover art of the video game and the DatabaseTask decoding it
+    CoverArtLoader coverArtLoader;
+    DatabaseTask coverArtTask;
+
+    // CoverArtImporter allowing to import the cover art chosen from the gallery and the DatabaseTask importing it
+    CoverArtImporter coverArtImporter;
+    DatabaseTask importTask;
+
+    // Image path of the cover art imported by this form, which is discarded if the video game is not saved with it
+    String importedImagePath;
+    boolean isVideoGameSaved = false;
+
+    // Flag allowing to identify if the values of the fields were restored from a previous instance of the activity
+    boolean isStateRestored = false;
 
     // TextView associated with the cover art image
     TextView textViewCoverArt;
@@ -128,6 +142,9 @@ public class FormActivity extends AppCompatActivity {
 
         // Initialization of the activity
         super.onCreate(savedInstanceState);
+        videoGameRepository = VideoGameRepository.getInstance(this);
+        coverArtLoader = CoverArtLoader.getInstance(this);
+        coverArtImporter = CoverArtImporter.getInstance(this);
         AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_YES);
         setContentView(R.layout.activity_form);
 
@@ -168,24 +185,9 @@ public class FormActivity extends AppCompatActivity {
                 // Launch an activity for selecting an image from the gallery
                 new ActivityResultContracts.StartActivityForResult(), result -> {
                     // If the result is OK and the selected image is not null, get the URI of the selected image
-                    if (result.getResultCode() == RESULT_OK && result.getData() != null) {
-                        // Get the URI of the selected image
-                        Uri selectedImageUri = result.getData().getData();
-                        // Try to get the necessary permissions to read the selected image
-                        try {
-                            // Assert that the image is not null and get the permission to read the URI across device reboots
-                            assert selectedImageUri != null;
-                            getContentResolver().takePersistableUriPermission(selectedImageUri, Intent.FLAG_GRANT_READ_URI_PERMISSION | Intent.FLAG_GRANT_WRITE_URI_PERMISSION);
-                        }
-                        // If an exception occurs, display a message to the user
-                        catch (SecurityException e) {
-                            Toast.makeText(FormActivity.this, R.string.error_gallery, Toast.LENGTH_SHORT).show();
-                        }
-                        // Set the URI of the selected image as the cover art URI and display the selected image in the ImageView
-                        coverArtURI = selectedImageUri;
-                        imageViewGameCover.setImageURI(selectedImageUri);
-                        imageViewGameCover.setTag(selectedImageUri.toString());
-                        updateClearCoverArtVisibility();
+                    if (result.getResultCode() == RESULT_OK && result.getData() != null && result.getData().getData() != null) {
+                        // Import the selected image while the temporary permission to read it is granted, instead of persisting the permission
+                        importCoverArt(result.getData().getData());
                     }
                 }
         );
@@ -266,118 +268,9 @@ public class FormActivity extends AppCompatActivity {
             // Obtain the ID of the video game that is going to be edited
             videoGameId = intent.getIntExtra("VIDEO_GAME_ID", -1);
 
-            // Obtain the video game from the database
-            ArrayList<VideoGame> videoGame = mySQLiteOpenHelper.readOneVideoGame(videoGameId);
-
-            // Set the values of the CheckBox fields and EditText fields to the values of the video game
-            if (videoGame != null) {
-
-                // Set data to corresponding fields
-                editTextTitle.setText(videoGame.get(0).getTitle());
-                editTextPlatform.setText(videoGame.get(0).getPlatform());
-                editTextPublisher.setText(videoGame.get(0).getPublisher());
-                editTextReleaseDate.setText(String.valueOf(videoGame.get(0).getReleaseDate()));
-                checkBoxBacklog.setChecked(videoGame.get(0).isBacklog());
-                checkBoxCollection.setChecked(videoGame.get(0).isCollection());
-                checkBoxCompletion.setChecked(videoGame.get(0).isCompletion());
-                checkBoxWishlist.setChecked(videoGame.get(0).isWishlist());
-
-                // Format and set the price field
-                DecimalFormatSymbols symbols = new DecimalFormatSymbols();
-                symbols.setDecimalSeparator('.');
-                DecimalFormat decimalFormat = new DecimalFormat("0.00", symbols);
-                String formattedPrice = decimalFormat.format(videoGame.get(0).getPrice());
-                editTextPrice.setText(formattedPrice);
-
-                // Set the value of the playtime field if the default value is not used
-                if (videoGame.get(0).getPlaytime() != -1) {
-                    editTextPlaytime.setText(String.valueOf(videoGame.get(0).getPlaytime()));
-                }
-
-                // Set the calendar objects to the values of the video game
-                calendarReleaseDate.set(videoGame.get(0).getReleaseDate().getYear(), videoGame.get(0).getReleaseDate().getMonthValue() - 1, videoGame.get(0).getReleaseDate().getDayOfMonth());
-                if (videoGame.get(0).getCompletionDate() != null) {
-                    editTextCompletionDate.setText(String.valueOf(videoGame.get(0).getCompletionDate()));
-                    calendarCompletionDate.set(videoGame.get(0).getCompletionDate().getYear(), videoGame.get(0).getCompletionDate().getMonthValue() - 1, videoGame.get(0).getCompletionDate().getDayOfMonth());
-                }
-
-                // Obtain the URI of the cover art image associated to the video game
-                String imagePath = videoGame.get(0).getImagePath();
-                Uri imageUri = Uri.parse(imagePath);
-                coverArtURI = imageUri;
-
-                // Verify if the cover art for the video game should be displayed
-                if (sharedPreferencesImages.getInt(KEY_DISPLAY, 1) == 0) {
-                    textViewCoverArt.setVisibility(View.GONE);
-                    imageViewGameCover.setVisibility(View.GONE);
-                    imageViewClearCoverArt.setVisibility(View.GONE);
-                }
-
-                // Display the cover art of the video game
-                else {
-
-                    // Set the visibility of the ImageView to VISIBLE
-                    textViewCoverArt.setVisibility(View.VISIBLE);
-                    imageViewGameCover.setVisibility(View.VISIBLE);
-                    imageViewClearCoverArt.setVisibility(View.VISIBLE);
-
-                    // Verify if the image path is null and update the value of coverArtURI accordingly
-                    if ("null".equals(imagePath) || imagePath == null) {
-                        coverArtURI = null;
-                    }
-                    else {
-                        coverArtURI = Uri.parse(imagePath);
-                    }
-
-                    // Update the visibility of the clear button upon initialization
-                    updateClearCoverArtVisibility();
-
-                    // Attempt to load the cover art image using the URI
-                    try {
-                        // Verify if the file corresponding to the URI exists
-                        if (Objects.equals(imageUri.getScheme(), "file")) {
-                            File imageFile = new File(imageUri.getPath());
-                            // If the image file exists, set the image to the ImageView
-                            if (imageFile.exists()) {
-                                imageViewGameCover.setImageURI(imageUri);
-                            }
-                            // If the image file does not exist, set the image to a placeholder
-                            else {
-                                imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                                imageViewClearCoverArt.setVisibility(View.GONE);
-                            }
-                        }
-                        // If the URI scheme is content, use ContentResolver to load the image
-                        else if (Objects.equals(imageUri.getScheme(), "content")) {
-                            ContentResolver contentResolver = imageViewGameCover.getContext().getContentResolver();
-                            InputStream inputStream = contentResolver.openInputStream(imageUri);
-                            // If the input stream is not null, set the image to the ImageView
-                            if (inputStream != null) {
-                                inputStream.close();
-                                imageViewGameCover.setImageURI(imageUri);
-                            }
-                            // If the input stream is null, set the image to a placeholder
-                            else {
-                                imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                                imageViewClearCoverArt.setVisibility(View.GONE);
-                            }
-                        }
-                        // If the URI scheme is not supported, set the image to a placeholder
-                        else {
-                            imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                            imageViewClearCoverArt.setVisibility(View.GONE);
-                        }
-                    }
-
-                    // Display the placeholder image if any exceptions are thrown when attempting to display the cover image
-                    catch (Exception e) {
-                        imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
-                        imageViewClearCoverArt.setVisibility(View.GONE);
-                    }
-
-                }
-
-            }
+            // Obtain the video game from the database on the database thread and display it once it is loaded
+            isStateRestored = savedInstanceState != null;
+            loadTask = videoGameRepository.readOneVideoGame(videoGameId, this::displayVideoGame);
 
             // Set the save button to update the video game
             buttonSave.setOnClickListener(updateVideoGame);
@@ -460,6 +353,120 @@ public class FormActivity extends AppCompatActivity {
 
     }
 
+    /**
+     * Code executed when the activity is destroyed
+     */
+    @Override
+    protected void onDestroy() {
+
+        // Cancel the loading of the video game and of its cover art since they can no longer be displayed, a cover art copied by a cancelled import being discarded
+        super.onDestroy();
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        if (coverArtTask != null) {
+            coverArtTask.cancel();
+        }
+        if (importTask != null) {
+            importTask.cancel();
+        }
+
+        // Discard the imported cover art if the form is closed without saving the video game with it
+        if (isFinishing() && !isVideoGameSaved && importedImagePath != null) {
+            videoGameRepository.discardImportedCoverArt(importedImagePath);
+        }
+
+    }
+
+    /**
+     * Method allowing to set the values of the CheckBox fields and EditText fields to the values of the video game
+     * @param videoGame List containing the video game being edited
+     */
+    private void displayVideoGame(ArrayList<VideoGame> videoGame) {
+
+        // Verify that the video game was found within the database
+        if (videoGame == null || videoGame.isEmpty()) {
+            return;
+        }
+
+        // Set data to corresponding fields unless they were already restored with the values entered by the user
+        if (!isStateRestored) {
+
+            // Set data to corresponding fields
+            editTextTitle.setText(videoGame.get(0).getTitle());
+            editTextPlatform.setText(videoGame.get(0).getPlatform());
+            editTextPublisher.setText(videoGame.get(0).getPublisher());
+            editTextReleaseDate.setText(String.valueOf(videoGame.get(0).getReleaseDate()));
+            checkBoxBacklog.setChecked(videoGame.get(0).isBacklog());
+            checkBoxCollection.setChecked(videoGame.get(0).isCollection());
+            checkBoxCompletion.setChecked(videoGame.get(0).isCompletion());
+            checkBoxWishlist.setChecked(videoGame.get(0).isWishlist());
+
+            // Format and set the price field
+            DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+            symbols.setDecimalSeparator('.');
+            DecimalFormat decimalFormat = new DecimalFormat("0.00", symbols);
+            String formattedPrice = decimalFormat.format(videoGame.get(0).getPrice());
+            editTextPrice.setText(formattedPrice);
+
+            // Set the value of the playtime field if the default value is not used
+            if (videoGame.get(0).getPlaytime() != -1) {
+                editTextPlaytime.setText(String.valueOf(videoGame.get(0).getPlaytime()));
+            }
+
+            // Set the value of the completion date field if the video game was completed
+            if (videoGame.get(0).getCompletionDate() != null) {
+                editTextCompletionDate.setText(String.valueOf(videoGame.get(0).getCompletionDate()));
+            }
+
+        }
+
+        // Set the calendar objects to the values of the video game
+        calendarReleaseDate.set(videoGame.get(0).getReleaseDate().getYear(), videoGame.get(0).getReleaseDate().getMonthValue() - 1, videoGame.get(0).getReleaseDate().getDayOfMonth());
+        if (videoGame.get(0).getCompletionDate() != null) {
+            calendarCompletionDate.set(videoGame.get(0).getCompletionDate().getYear(), videoGame.get(0).getCompletionDate().getMonthValue() - 1, videoGame.get(0).getCompletionDate().getDayOfMonth());
+        }
+
+        // Obtain the URI of the cover art image associated to the video game
+        String imagePath = videoGame.get(0).getImagePath();
+        Uri imageUri = Uri.parse(imagePath);
+        coverArtURI = imageUri;
+
+        // Verify if the cover art for the video game should be displayed
+        if (sharedPreferencesImages.getInt(KEY_DISPLAY, 1) == 0) {
+            textViewCoverArt.setVisibility(View.GONE);
+            imageViewGameCover.setVisibility(View.GONE);
+            imageViewClearCoverArt.setVisibility(View.GONE);
+        }
+
+        // Display the cover art of the video game
+        else {
+
+            // Set the visibility of the ImageView to VISIBLE
+            textViewCoverArt.setVisibility(View.VISIBLE);
+            imageViewGameCover.setVisibility(View.VISIBLE);
+            imageViewClearCoverArt.setVisibility(View.VISIBLE);
+
+            // Verify if the image path is null and update the value of coverArtURI accordingly
+            if ("null".equals(imagePath) || imagePath == null) {
+                coverArtURI = null;
+            }
+            else {
+                coverArtURI = Uri.parse(imagePath);
+            }
+
+            // Update the visibility of the clear button upon initialization
+            updateClearCoverArtVisibility();
+
+            // Display the cover art image using its detail thumbnail if it was generated, the clear button being hidden if the cover art image cannot be found
+            CoverThumbnail detailThumbnail = videoGame.get(0).getDetailThumbnail();
+            displayCoverArt(detailThumbnail != null ? detailThumbnail.getPath() : imagePath, true);
+
+        }
+
+
+    }
+
     /**
      * Code executed when the activity is destroyed allowing to save the state of the activity
      * @param outState Bundle in which to place your saved state
@@ -493,8 +500,7 @@ public class FormActivity extends AppCompatActivity {
         if (savedInstanceState.containsKey("image_uri")) {
             String imageUriString = savedInstanceState.getString("image_uri");
             if (imageUriString != null) {
-                Uri imageUri = Uri.parse(imageUriString);
-                imageViewGameCover.setImageURI(imageUri);
+                displayCoverArt(imageUriString, false);
                 imageViewGameCover.setTag(imageUriString);
             }
         }
@@ -543,18 +549,25 @@ public class FormActivity extends AppCompatActivity {
                 completionDate = null;
             }
 
-            // Invoking the MySQLiteOpenHelper method allowing to add a new video game
-            Boolean addResult = mySQLiteOpenHelper.addVideoGame(editTextTitle.getText().toString().trim(), editTextPlatform.getText().toString().trim(), editTextPublisher.getText().toString().trim(), editTextReleaseDate.getText().toString().trim(), completionDate, playtime, price, checkBoxBacklog.isChecked(), checkBoxCollection.isChecked(), checkBoxCompletion.isChecked(), checkBoxWishlist.isChecked(), String.valueOf(coverArtURI));
+            // Prevent the form from being submitted twice while the video game is being saved
+            buttonSave.setEnabled(false);
 
-            // Display a message indicating the status of the insertion and return to the main activity
-            if (addResult) {
-                Toast.makeText(FormActivity.this, R.string.add_video_game_success, Toast.LENGTH_SHORT).show();
-                Intent intent = new Intent(FormActivity.this, MainActivity.class);
-                startActivity(intent);
-            }
-            else {
-                Toast.makeText(FormActivity.this, R.string.add_video_game_error, Toast.LENGTH_SHORT).show();
-            }
+            // Invoking the VideoGameRepository method allowing to add a new video game on the database thread
+            videoGameRepository.addVideoGame(editTextTitle.getText().toString().trim(), editTextPlatform.getText().toString().trim(), editTextPublisher.getText().toString().trim(), editTextReleaseDate.getText().toString().trim(), completionDate, playtime, price, checkBoxBacklog.isChecked(), checkBoxCollection.isChecked(), checkBoxCompletion.isChecked(), checkBoxWishlist.isChecked(), String.valueOf(coverArtURI), addResult -> {
+
+                // Display a message indicating the status of the insertion and return to the main activity
+                if (addResult) {
+                    isVideoGameSaved = true;
+                    Toast.makeText(FormActivity.this, R.string.add_video_game_success, Toast.LENGTH_SHORT).show();
+                    Intent intent = new Intent(FormActivity.this, MainActivity.class);
+                    startActivity(intent);
+                }
+                else {
+                    buttonSave.setEnabled(true);
+                    Toast.makeText(FormActivity.this, R.string.add_video_game_error, Toast.LENGTH_SHORT).show();
+                }
+
+            });
 
         }
 
@@ -601,26 +614,33 @@ public class FormActivity extends AppCompatActivity {
                 completionDate = null;
             }
 
-            // Invoking the MySQLiteOpenHelper method allowing to update a video game
-            Boolean updateResult = mySQLiteOpenHelper.updateVideoGame(videoGameId, editTextTitle.getText().toString().trim(), editTextPlatform.getText().toString().trim(), editTextPublisher.getText().toString().trim(), editTextReleaseDate.getText().toString().trim(), completionDate, playtime, price, checkBoxBacklog.isChecked(), checkBoxCollection.isChecked(), checkBoxCompletion.isChecked(), checkBoxWishlist.isChecked(), String.valueOf(coverArtURI));
-
-            // Display a message indicating the status of the update and return to the main activity
-            if (updateResult) {
-                Toast.makeText(FormActivity.this, R.string.update_video_game_success, Toast.LENGTH_SHORT).show();
-                // Verify if the form's submission needs to redirect to the details activity or the main activity
-                Intent intent;
-                if (openedFromDetailsActivity == 1) {
-                    intent = new Intent(FormActivity.this, DetailsActivity.class);
-                    intent.putExtra("VIDEO_GAME_ID", videoGameId);
+            // Prevent the form from being submitted twice while the video game is being saved
+            buttonSave.setEnabled(false);
+
+            // Invoking the VideoGameRepository method allowing to update a video game on the database thread
+            videoGameRepository.updateVideoGame(videoGameId, editTextTitle.getText().toString().trim(), editTextPlatform.getText().toString().trim(), editTextPublisher.getText().toString().trim(), editTextReleaseDate.getText().toString().trim(), completionDate, playtime, price, checkBoxBacklog.isChecked(), checkBoxCollection.isChecked(), checkBoxCompletion.isChecked(), checkBoxWishlist.isChecked(), String.valueOf(coverArtURI), updateResult -> {
+
+                // Display a message indicating the status of the update and return to the main activity
+                if (updateResult) {
+                    isVideoGameSaved = true;
+                    Toast.makeText(FormActivity.this, R.string.update_video_game_success, Toast.LENGTH_SHORT).show();
+                    // Verify if the form's submission needs to redirect to the details activity or the main activity
+                    Intent intent;
+                    if (openedFromDetailsActivity == 1) {
+                        intent = new Intent(FormActivity.this, DetailsActivity.class);
+                        intent.putExtra("VIDEO_GAME_ID", videoGameId);
+                    }
+                    else {
+                        intent = new Intent(FormActivity.this, MainActivity.class);
+                    }
+                    startActivity(intent);
                 }
                 else {
-                    intent = new Intent(FormActivity.this, MainActivity.class);
+                    buttonSave.setEnabled(true);
+                    Toast.makeText(FormActivity.this, R.string.update_video_game_error, Toast.LENGTH_SHORT).show();
                 }
-                startActivity(intent);
-            }
-            else {
-                Toast.makeText(FormActivity.this, R.string.update_video_game_error, Toast.LENGTH_SHORT).show();
-            }
+
+            });
 
         }
 
@@ -680,6 +700,74 @@ public class FormActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Method allowing to import the cover art image chosen from the gallery into the files of the application on a background thread
+     * @param selectedImageUri URI of the selected image
+     */
+    private void importCoverArt(Uri selectedImageUri) {
+
+        // Prevent the form from being saved with the previous cover art image until the selected image is imported
+        buttonSave.setEnabled(false);
+        if (importTask != null) {
+            importTask.cancel();
+        }
+
+        // Display the imported image, or a message if it could not be read, an image copied after the import was cancelled being discarded
+        importTask = coverArtImporter.importCoverArt(selectedImageUri, new DatabaseCallback<String>() {
+            @Override
+            public void onResult(String imagePath) {
+                // Discard the image previously imported by this form since it will not be saved
+                if (importedImagePath != null && !importedImagePath.equals(imagePath)) {
+                    videoGameRepository.discardImportedCoverArt(importedImagePath);
+                }
+                importedImagePath = imagePath;
+                // Set the image path of the imported image as the cover art URI and display the imported image in the ImageView, which may have been missing before it was imported again
+                coverArtURI = Uri.parse(imagePath);
+                coverArtLoader.invalidateValidity(imagePath);
+                displayCoverArt(imagePath, false);
+                imageViewGameCover.setTag(imagePath);
+                updateClearCoverArtVisibility();
+                buttonSave.setEnabled(true);
+            }
+            @Override
+            public void onError(Exception e) {
+                Toast.makeText(FormActivity.this, R.string.error_gallery, Toast.LENGTH_SHORT).show();
+                buttonSave.setEnabled(true);
+            }
+        }, imagePath -> {
+            // Discard the image copied by the cancelled import unless it is the one already imported by this form
+            if (!imagePath.equals(importedImagePath)) {
+                videoGameRepository.discardImportedCoverArt(imagePath);
+            }
+        });
+
+    }
+
+    /**
+     * Method allowing to display a cover art image obtained from the memory cache or decoded on a background thread
+     * @param imagePath Image path of the cover art
+     * @param hideClearButtonIfMissing Status indicating whether or not the clear button should be hidden if the cover art image cannot be found
+     */
+    private void displayCoverArt(String imagePath, boolean hideClearButtonIfMissing) {
+
+        // Display the placeholder image until the cover art image is available, replacing any cover art image being decoded
+        imageViewGameCover.setImageResource(R.drawable.baseline_image_24);
+        if (coverArtTask != null) {
+            coverArtTask.cancel();
+        }
+
+        // Display the cover art image once it is available, or hide the clear button if requested when it cannot be found
+        coverArtTask = coverArtLoader.loadLarge(imagePath, coverArt -> {
+            if (coverArt != null) {
+                imageViewGameCover.setImageBitmap(coverArt);
+            }
+            else if (hideClearButtonIfMissing) {
+                imageViewClearCoverArt.setVisibility(View.GONE);
+            }
+        });
+
+    }
+
     /**
      * Method allowing to verify if the form is valid
      * @return Status indicating whether the form is valid or not
@@ -94,6 +94,10 @@ public class MainActivity extends AppCompatActivity implements SearchView.OnQuer
         viewPagerAdapter = new ViewPagerAdapter(this);
         viewPager2.setAdapter(viewPagerAdapter);
 
+        // Import once in the background the cover art still read from the gallery, and generate the thumbnails of the video games saved before they were introduced
+        CoverArtImportWorker.enqueueOnce(this);
+        CoverThumbnailWorker.enqueueBackfill(this);
+
         // Initialize SharedPreferences for the TabLayout position
         if (getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE) != null) {
             sharedPreferences = getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
@@ -187,6 +191,19 @@ public class MainActivity extends AppCompatActivity implements SearchView.OnQuer
 
     }
 
+    /**
+     * Code executed when the system asks the application to reduce its memory usage
+     * @param level Level of memory pressure
+     */
+    @Override
+    public void onTrimMemory(int level) {
+
+        // Release the memory used by the cover art according to the memory pressure
+        super.onTrimMemory(level);
+        CoverArtLoader.getInstance(this).trimMemory(level);
+
+    }
+
     /**
      * OnClick method allowing to open the activity containing the form to add a new video game
      */
@@ -288,7 +305,7 @@ public class MainActivity extends AppCompatActivity implements SearchView.OnQuer
                     int menuItemID = menuItem.getItemId();
 
                     // If the user selected a sorting option, update the sorting of the current RecyclerView
-                    if (menuItemID == R.id.menuGroupItemTitle || menuItemID == R.id.menuGroupItemPlatform || menuItemID == R.id.menuGroupItemPublisher ||menuItemID == R.id.menuGroupItemCompletionRelease || menuItemID == R.id.menuGroupItemCategoryOption) {
+                    if (menuItemID == R.id.menuGroupItemTitle || menuItemID == R.id.menuGroupItemPlatform || menuItemID == R.id.menuGroupItemPublisher ||menuItemID == R.id.menuGroupItemCompletionRelease || menuItemID == R.id.menuGroupItemCategoryOption || menuItemID == R.id.menuGroupItemManual) {
 
                         // Update the PopMenu icon of the previously selected sorting option
                         updateMenuItemIcon(popupMenu.getMenu(), savedSortOption, R.drawable.baseline_radio_button_unchecked_24);
@@ -355,6 +372,17 @@ public class MainActivity extends AppCompatActivity implements SearchView.OnQuer
 
         }
 
+        // If the lists icon is selected
+        else if (menuItemId == R.id.mainMenuIconLists) {
+
+            // Display the lists created by the user allowing to browse their video games
+            new VideoGameListDialogs(this).showLists();
+
+            // Return the result of the MenuItem click
+            return true;
+
+        }
+
         // If the settings icon is selected
         else if (menuItemId == R.id.mainMenuIconSettings) {
 
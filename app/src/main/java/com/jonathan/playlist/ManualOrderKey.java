@@ -0,0 +1,124 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      ManualOrderKey.java          ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+/**
+ * Class allowing to create the keys ordering the video games of a category manually
+ * Each key is the fraction of a base 62 number between 0 and 1 written without its leading "0." nor any trailing zero, so that
+ * the keys are ordered the same way as text and a key can always be created between two others, moving a video game by writing a single key
+ */
+final class ManualOrderKey {
+
+    // Digits of the keys in the order of their characters, which is also their order as text
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    // Length above which the keys of a category are spread evenly again
+    static final int MAX_LENGTH = 10;
+
+    /**
+     * Constructor preventing the instantiation of the ManualOrderKey class
+     */
+    private ManualOrderKey() { }
+
+    /**
+     * Method allowing to create a key placed between two other keys
+     * @param before Key placed before the new key, or null to place the new key first
+     * @param after Key placed after the new key, or null to place the new key last
+     * @return Key placed between both keys
+     */
+    static String between(String before, String after) {
+
+        // Verify that the keys are in order since no key can be placed between them otherwise
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Keys out of order: " + before + " >= " + after);
+        }
+
+        // Create the key halfway between both fractions, no key before the new key being the fraction 0
+        return midpoint(before == null ? "" : before, after);
+
+    }
+
+    /**
+     * Method allowing to create the keys of a category spread evenly between 0 and 1, using the shortest length allowing every key to be distinct
+     * @param count Amount of keys to be created
+     * @return Keys of the category in ascending order
+     */
+    static String[] evenlySpaced(int count) {
+
+        // Find the shortest length leaving at least one fraction between two consecutive keys
+        int length = 1;
+        long scale = DIGITS.length();
+        while (scale <= count) {
+            length++;
+            scale *= DIGITS.length();
+        }
+
+        // Write each key as the fraction of its position within the category, removing the trailing zeros
+        String[] keys = new String[count];
+        char[] digits = new char[length];
+        for (int index = 0; index < count; index++) {
+            long value = (index + 1) * scale / (count + 1);
+            for (int digit = length - 1; digit >= 0; digit--) {
+                digits[digit] = DIGITS.charAt((int) (value % DIGITS.length()));
+                value /= DIGITS.length();
+            }
+            int end = length;
+            while (digits[end - 1] == DIGITS.charAt(0)) {
+                end--;
+            }
+            keys[index] = new String(digits, 0, end);
+        }
+        return keys;
+
+    }
+
+    /**
+     * Method allowing to create the fraction halfway between two fractions
+     * @param before Fraction placed before the new fraction, an empty fraction being 0
+     * @param after Fraction placed after the new fraction, or null for the fraction 1
+     * @return Fraction between both fractions, without any trailing zero
+     */
+    private static String midpoint(String before, String after) {
+
+        // Keep the digits shared by both fractions and create the remaining digits between what follows them
+        if (after != null) {
+            int shared = 0;
+            while (shared < after.length() && digitAt(before, shared) == after.charAt(shared)) {
+                shared++;
+            }
+            if (shared > 0) {
+                return after.substring(0, shared) + midpoint(before.length() > shared ? before.substring(shared) : "", after.substring(shared));
+            }
+        }
+
+        // Use the digit halfway between the first digits of both fractions when there is one
+        int digitBefore = before.isEmpty() ? 0 : DIGITS.indexOf(before.charAt(0));
+        int digitAfter = after != null ? DIGITS.indexOf(after.charAt(0)) : DIGITS.length();
+        if (digitAfter - digitBefore > 1) {
+            return String.valueOf(DIGITS.charAt((digitBefore + digitAfter + 1) / 2));
+        }
+
+        // Otherwise shorten the following fraction if possible, or keep the first digit of the previous fraction and go one digit further
+        if (after != null && after.length() > 1) {
+            return after.substring(0, 1);
+        }
+        return DIGITS.charAt(digitBefore) + midpoint(before.isEmpty() ? "" : before.substring(1), null);
+
+    }
+
+    /**
+     * Method allowing to obtain a digit of a fraction, the digits after its end being zeros
+     * @param fraction Fraction containing the digit
+     * @param index Position of the digit
+     * @return Digit at the position
+     */
+    private static char digitAt(String fraction, int index) {
+        return index < fraction.length() ? fraction.charAt(index) : DIGITS.charAt(0);
+    }
+
+}
@@ -0,0 +1,98 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      ManualOrderTouchCallback.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * ItemTouchHelper callback allowing the user to drag a video game to a new position when a category is displayed in its manual order
+ * The rows are moved on screen while they are dragged, the new position being saved only once the video game is dropped
+ */
+final class ManualOrderTouchCallback extends ItemTouchHelper.Callback {
+
+    // RecyclerViewAdapter whose video games are moved
+    private final RecyclerViewAdapter recyclerViewAdapter;
+
+    // Status indicating whether or not the video game being dragged was moved since it was picked up
+    private boolean isMoved = false;
+
+    /**
+     * Constructor for the ManualOrderTouchCallback object
+     * @param recyclerViewAdapter RecyclerViewAdapter whose video games will be moved
+     */
+    ManualOrderTouchCallback(RecyclerViewAdapter recyclerViewAdapter) {
+        this.recyclerViewAdapter = recyclerViewAdapter;
+    }
+
+    /**
+     * Method allowing to obtain the directions in which a row can be dragged
+     * @param recyclerView RecyclerView containing the row
+     * @param viewHolder ViewHolder of the row
+     * @return Vertical drag directions if the video games can be moved, otherwise no direction
+     */
+    @Override
+    public int getMovementFlags(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
+
+        // Only allow the rows to be dragged while every video game of the category is displayed in its manual order
+        if (!recyclerViewAdapter.canMoveItems()) {
+            return 0;
+        }
+        return makeMovementFlags(ItemTouchHelper.UP | ItemTouchHelper.DOWN, 0);
+
+    }
+
+    /**
+     * Method executed when a dragged row passes over another row
+     * @param recyclerView RecyclerView containing the rows
+     * @param viewHolder ViewHolder of the dragged row
+     * @param target ViewHolder of the row over which the dragged row passed
+     * @return True if the dragged row was moved to the position of the other row
+     */
+    @Override
+    public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder, @NonNull RecyclerView.ViewHolder target) {
+
+        // Move the video game on screen only, its new position being saved once it is dropped
+        int fromPosition = viewHolder.getBindingAdapterPosition();
+        int toPosition = target.getBindingAdapterPosition();
+        if (fromPosition == RecyclerView.NO_POSITION || toPosition == RecyclerView.NO_POSITION) {
+            return false;
+        }
+        recyclerViewAdapter.moveItem(fromPosition, toPosition);
+        isMoved = true;
+        return true;
+
+    }
+
+    /**
+     * Method executed when a row is swiped, which is never the case since the rows can only be dragged
+     * @param viewHolder ViewHolder of the swiped row
+     * @param direction Direction in which the row was swiped
+     */
+    @Override
+    public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) { }
+
+    /**
+     * Method executed once the dragged row is dropped and its animation has completed
+     * @param recyclerView RecyclerView containing the row
+     * @param viewHolder ViewHolder of the dropped row
+     */
+    @Override
+    public void clearView(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
+
+        // Save the new position of the video game if it was moved while it was dragged
+        super.clearView(recyclerView, viewHolder);
+        if (isMoved) {
+            isMoved = false;
+            recyclerViewAdapter.saveMovedItem(viewHolder.getBindingAdapterPosition());
+        }
+
+    }
+
+}
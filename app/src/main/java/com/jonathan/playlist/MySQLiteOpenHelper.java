@@ -12,9 +12,10 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.Nullable;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Class pertaining to the management of the database queries
@@ -22,23 +23,63 @@ import java.util.ArrayList;
 public class MySQLiteOpenHelper extends SQLiteOpenHelper {
 
     private static final String DATABASE_NAME = "PlayList.db";
-    private static final int DATABASE_VERSION = 1;
+    static final int DATABASE_VERSION = 8;
 
     // Video game table columns
-    private static final String TABLE_VIDEO_GAMES = "video_games";
-    private static final String COLUMN_ID = "_id";
-    private static final String COLUMN_TITLE = "title";
-    private static final String COLUMN_PLATFORM = "platform";
-    private static final String COLUMN_PUBLISHER = "publisher";
-    private static final String COLUMN_RELEASE_DATE = "release_date";
-    private static final String COLUMN_COMPLETION_DATE = "completion_date";
-    private static final String COLUMN_PLAYTIME = "playtime";
-    private static final String COLUMN_PRICE = "price";
+    static final String TABLE_VIDEO_GAMES = "video_games";
+    static final String COLUMN_ID = "_id";
+    static final String COLUMN_TITLE = "title";
+    static final String COLUMN_PLATFORM = "platform";
+    static final String COLUMN_PUBLISHER = "publisher";
+    static final String COLUMN_RELEASE_DATE = "release_date";
+    static final String COLUMN_COMPLETION_DATE = "completion_date";
+    static final String COLUMN_PLAYTIME = "playtime";
+    static final String COLUMN_PRICE = "price";
+    static final String COLUMN_CATEGORIES = "categories";
+    static final String COLUMN_IMAGE_PATH = "image_path";
+    static final String COLUMN_LIST_THUMBNAIL_PATH = "list_thumbnail_path";
+    static final String COLUMN_LIST_THUMBNAIL_WIDTH = "list_thumbnail_width";
+    static final String COLUMN_LIST_THUMBNAIL_HEIGHT = "list_thumbnail_height";
+    static final String COLUMN_DETAIL_THUMBNAIL_PATH = "detail_thumbnail_path";
+    static final String COLUMN_DETAIL_THUMBNAIL_WIDTH = "detail_thumbnail_width";
+    static final String COLUMN_DETAIL_THUMBNAIL_HEIGHT = "detail_thumbnail_height";
+    static final String COLUMN_COVER_PREVIEW = "cover_preview";
+
+    // Category columns replaced by the flags of the categories column in version 6, only used to migrate the existing video games
     private static final String COLUMN_IS_BACKLOG = "is_backlog";
     private static final String COLUMN_IS_COLLECTION = "is_collection";
     private static final String COLUMN_IS_COMPLETION = "is_completion";
     private static final String COLUMN_IS_WISHLIST = "is_wishlist";
-    private static final String COLUMN_IMAGE_PATH = "image_path";
+
+    // Full-text search index over the title, platform and publisher of the video games
+    static final String TABLE_VIDEO_GAMES_FTS = "video_games_fts";
+
+    // List table columns, the seeded lists representing the categories having the flag of their category
+    static final String TABLE_LISTS = "lists";
+    static final String COLUMN_LIST_NAME = "name";
+    static final String COLUMN_LIST_CATEGORY_FLAG = "category_flag";
+
+    // List membership table columns linking the video games to the lists created by the user
+    static final String TABLE_LIST_MEMBERSHIP = "list_membership";
+    static final String COLUMN_LIST_ID = "list_id";
+    static final String COLUMN_GAME_ID = "game_id";
+
+    // Manual order table columns keeping the key of each video game placed manually within a list
+    static final String TABLE_MANUAL_ORDER = "manual_order";
+    static final String COLUMN_SORT_KEY = "sort_key";
+
+    // Sort column used by the screens to display the video games of a category in their manual order
+    static final String SORT_MANUAL = "manual";
+
+    // Name and flag of each category and the columns by which the video games of each category can be sorted
+    private static final String[] CATEGORY_NAMES = {"backlog", "collection", "completion", "wishlist"};
+    private static final int[] CATEGORY_FLAGS = {VideoGame.FLAG_BACKLOG, VideoGame.FLAG_COLLECTION, VideoGame.FLAG_COMPLETION, VideoGame.FLAG_WISHLIST};
+    private static final String[][] CATEGORY_SORT_COLUMNS = {
+            {COLUMN_PLATFORM, COLUMN_PUBLISHER, COLUMN_RELEASE_DATE, COLUMN_PLAYTIME},
+            {COLUMN_PLATFORM, COLUMN_PUBLISHER, COLUMN_RELEASE_DATE, COLUMN_PRICE},
+            {COLUMN_PLATFORM, COLUMN_PUBLISHER, COLUMN_COMPLETION_DATE, COLUMN_PLAYTIME},
+            {COLUMN_PLATFORM, COLUMN_PUBLISHER, COLUMN_RELEASE_DATE, COLUMN_PRICE}
+    };
 
     /**
      * Constructor for MySQLiteOpenHelper with parameters
@@ -47,7 +88,19 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     MySQLiteOpenHelper(@Nullable Context context) {
 
         // Initialization of the MySQLiteOpenHelper
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this(context, DATABASE_NAME);
+
+    }
+
+    /**
+     * Constructor for MySQLiteOpenHelper using a specific database, allowing the instrumented tests to work on a database in memory
+     * @param context Context of the applications used in the management of the database
+     * @param databaseName Name of the database file, or null to create the database in memory
+     */
+    MySQLiteOpenHelper(@Nullable Context context, @Nullable String databaseName) {
+
+        // Initialization of the MySQLiteOpenHelper
+        super(context, databaseName, null, DATABASE_VERSION);
 
     }
 
@@ -59,9 +112,135 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     public void onCreate(SQLiteDatabase db) {
 
         // Query allowing to create the video game table
-        String query =
-                "CREATE TABLE " + TABLE_VIDEO_GAMES + " (" +
-                COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+        db.execSQL("CREATE TABLE " + TABLE_VIDEO_GAMES + " (" + getVideoGameColumnDefinitions() + ");");
+
+        // Create the indexes used when reading the video games of each category
+        createCategoryIndexes(db);
+
+        // Create the full-text search index used when searching for video games
+        createSearchIndex(db);
+
+        // Create the lists along with the seeded categories and the membership of the video games
+        createListTables(db);
+
+        // Create the keys of the video games ordered manually within the lists
+        createManualOrderTable(db);
+
+    }
+
+    /**
+     * Method executed upon upgrading the database in order to apply each migration between both versions
+     * @param db SQLite database in which the tables will be updated
+     * @param oldVersionNumber Number associated to the previous version of the database
+     * @param newVersionNumber Number associated to the new version of the database
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersionNumber, int newVersionNumber) {
+
+        // Apply each migration in order within the transaction of the upgrade, a failed migration rolling back every migration so that the database stays at its previous version
+        for (DatabaseMigration migration : getMigrations()) {
+            if (migration.getVersion() > oldVersionNumber && migration.getVersion() <= newVersionNumber) {
+                migration.apply(db);
+            }
+        }
+
+        // Refresh the statistics used by the query planner now that the tables and indexes have changed
+        db.execSQL("ANALYZE");
+
+    }
+
+    /**
+     * Method allowing to obtain the migrations of the database ordered by version
+     * @return Array containing the migrations of the database
+     */
+    private DatabaseMigration[] getMigrations() {
+
+        // Return the migrations of the database ordered by version
+        return new DatabaseMigration[] {
+
+                // Version 2 added the indexes used when reading the video games of each category, which version 6 now creates on the rebuilt table
+                new DatabaseMigration(2) {
+                    @Override
+                    void migrate(SQLiteDatabase db) { }
+                },
+
+                // Version 3 adds the full-text search index and fills it with the existing video games
+                new DatabaseMigration(3) {
+                    @Override
+                    void migrate(SQLiteDatabase db) {
+                        createSearchIndex(db);
+                        db.execSQL("INSERT INTO " + TABLE_VIDEO_GAMES_FTS + " (" + TABLE_VIDEO_GAMES_FTS + ") VALUES ('rebuild')");
+                    }
+                },
+
+                // Version 4 adds the paths and dimensions of the cover art thumbnails, which are generated in the background for the existing video games
+                new DatabaseMigration(4) {
+                    @Override
+                    void migrate(SQLiteDatabase db) {
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_LIST_THUMBNAIL_PATH + " TEXT");
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_LIST_THUMBNAIL_WIDTH + " INTEGER");
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_LIST_THUMBNAIL_HEIGHT + " INTEGER");
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_DETAIL_THUMBNAIL_PATH + " TEXT");
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_DETAIL_THUMBNAIL_WIDTH + " INTEGER");
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_DETAIL_THUMBNAIL_HEIGHT + " INTEGER");
+                    }
+                },
+
+                // Version 5 adds the tiny preview of the cover art, which is generated along with the thumbnails for the existing video games
+                new DatabaseMigration(5) {
+                    @Override
+                    void migrate(SQLiteDatabase db) {
+                        db.execSQL("ALTER TABLE " + TABLE_VIDEO_GAMES + " ADD COLUMN " + COLUMN_COVER_PREVIEW + " BLOB");
+                    }
+                },
+
+                // Version 6 replaces the four category columns with the flags of the categories column, rebuilding the table along with its indexes and triggers
+                // The columns are defined as they were in version 6, so that later changes to the table are applied by their own migrations
+                new DatabaseMigration(6) {
+                    @Override
+                    void migrate(SQLiteDatabase db) {
+                        String columnDefinitions = "_id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, title VARCHAR(100) NOT NULL, platform VARCHAR(50) NOT NULL, publisher VARCHAR(50) NOT NULL, "
+                                + "release_date DATE NOT NULL, completion_date DATE, playtime INTEGER CHECK (playtime <= 10000), price REAL CHECK (price <= 10000) NOT NULL, "
+                                + "categories INTEGER NOT NULL DEFAULT 0, image_path TEXT, list_thumbnail_path TEXT, list_thumbnail_width INTEGER, list_thumbnail_height INTEGER, "
+                                + "detail_thumbnail_path TEXT, detail_thumbnail_width INTEGER, detail_thumbnail_height INTEGER, cover_preview BLOB";
+                        String otherColumns = COLUMN_ID + ", " + COLUMN_TITLE + ", " + COLUMN_PLATFORM + ", " + COLUMN_PUBLISHER + ", " + COLUMN_RELEASE_DATE + ", " + COLUMN_COMPLETION_DATE + ", " + COLUMN_PLAYTIME + ", " + COLUMN_PRICE + ", " + COLUMN_IMAGE_PATH + ", "
+                                + COLUMN_LIST_THUMBNAIL_PATH + ", " + COLUMN_LIST_THUMBNAIL_WIDTH + ", " + COLUMN_LIST_THUMBNAIL_HEIGHT + ", " + COLUMN_DETAIL_THUMBNAIL_PATH + ", " + COLUMN_DETAIL_THUMBNAIL_WIDTH + ", " + COLUMN_DETAIL_THUMBNAIL_HEIGHT + ", " + COLUMN_COVER_PREVIEW;
+                        String categories = "(" + COLUMN_IS_BACKLOG + " != 0) * " + VideoGame.FLAG_BACKLOG + " + (" + COLUMN_IS_COLLECTION + " != 0) * " + VideoGame.FLAG_COLLECTION
+                                + " + (" + COLUMN_IS_COMPLETION + " != 0) * " + VideoGame.FLAG_COMPLETION + " + (" + COLUMN_IS_WISHLIST + " != 0) * " + VideoGame.FLAG_WISHLIST;
+                        DatabaseMigration.rebuildTable(db, TABLE_VIDEO_GAMES, columnDefinitions, otherColumns + ", " + COLUMN_CATEGORIES, otherColumns + ", " + categories);
+                        createCategoryIndexes(db);
+                        createSearchIndex(db);
+                    }
+                },
+
+                // Version 7 adds the lists created by the user along with their membership, the categories being seeded as lists
+                new DatabaseMigration(7) {
+                    @Override
+                    void migrate(SQLiteDatabase db) {
+                        createListTables(db);
+                    }
+                },
+
+                // Version 8 adds the keys of the video games ordered manually within the lists
+                new DatabaseMigration(8) {
+                    @Override
+                    void migrate(SQLiteDatabase db) {
+                        createManualOrderTable(db);
+                    }
+                }
+
+        };
+
+    }
+
+    /**
+     * Method allowing to obtain the definition of the columns of the video game table as currently created, the migrations keeping their own definitions
+     * @return Definition of the columns of the video game table
+     */
+    private static String getVideoGameColumnDefinitions() {
+
+        // Return the definition of each column, the categories being stored as flags within a single column
+        return COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
                 COLUMN_TITLE + " VARCHAR(100) NOT NULL, " +
                 COLUMN_PLATFORM + " VARCHAR(50) NOT NULL, " +
                 COLUMN_PUBLISHER + " VARCHAR(50) NOT NULL, " +
@@ -69,27 +248,158 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
                 COLUMN_COMPLETION_DATE + " DATE, " +
                 COLUMN_PLAYTIME + " INTEGER CHECK (" + COLUMN_PLAYTIME + " <= 10000), " +
                 COLUMN_PRICE + " REAL CHECK (" + COLUMN_PRICE + " <= 10000) NOT NULL, " +
-                COLUMN_IS_BACKLOG + " INTEGER NOT NULL, " +
-                COLUMN_IS_COLLECTION + " INTEGER NOT NULL, " +
-                COLUMN_IS_COMPLETION + " INTEGER NOT NULL, " +
-                COLUMN_IS_WISHLIST + " INTEGER NOT NULL, " +
-                COLUMN_IMAGE_PATH + " TEXT);";
-        db.execSQL(query);
+                COLUMN_CATEGORIES + " INTEGER NOT NULL DEFAULT 0, " +
+                COLUMN_IMAGE_PATH + " TEXT, " +
+                COLUMN_LIST_THUMBNAIL_PATH + " TEXT, " +
+                COLUMN_LIST_THUMBNAIL_WIDTH + " INTEGER, " +
+                COLUMN_LIST_THUMBNAIL_HEIGHT + " INTEGER, " +
+                COLUMN_DETAIL_THUMBNAIL_PATH + " TEXT, " +
+                COLUMN_DETAIL_THUMBNAIL_WIDTH + " INTEGER, " +
+                COLUMN_DETAIL_THUMBNAIL_HEIGHT + " INTEGER, " +
+                COLUMN_COVER_PREVIEW + " BLOB";
 
     }
 
     /**
-     * Method executed upon upgrading the database in order to drop any existing tables and recreate them
-     * @param db SQLite database in which the tables will be created
-     * @param oldVersionNumber Number associated to the previous version of the database
-     * @param newVersionNumber Number associated to the new version of the database
+     * Method allowing to build the condition verifying if the video games are saved in any of the specified categories
+     * The condition of a single category is written exactly as in the WHERE clause of its partial indexes, which SQLite requires to use them
+     * @param tablePrefix Prefix of the categories column, such as the alias of the video game table followed by a dot, or an empty string
+     * @param categoryFlags Flags of the categories
+     * @return Condition verifying if the video games are saved in any of the categories
      */
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersionNumber, int newVersionNumber) {
+    static String buildCategoryCondition(String tablePrefix, int categoryFlags) {
+        return "(" + tablePrefix + COLUMN_CATEGORIES + " & " + categoryFlags + ") != 0";
+    }
+
+    /**
+     * Method allowing to create a partial index for each category and each column by which the category can be sorted
+     * Every index only contains the video games within its category and ends with the title, which allows SQLite to
+     * read a category in the requested order by walking the index instead of scanning and sorting the whole table
+     * @param db SQLite database in which the indexes will be created
+     */
+    private void createCategoryIndexes(SQLiteDatabase db) {
+
+        // Iterate through each category in order to create its indexes
+        for (int index = 0; index < CATEGORY_NAMES.length; index++) {
+
+            // Name of the category used within the names of the indexes and condition limiting the indexes to the video games of the category
+            String categoryName = CATEGORY_NAMES[index];
+            String whereClause = " WHERE " + buildCategoryCondition("", CATEGORY_FLAGS[index]);
+
+            // Index used when the category is sorted by title in ascending or descending order
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_" + categoryName + "_" + COLUMN_TITLE + " ON " + TABLE_VIDEO_GAMES + " (" + COLUMN_TITLE + ")" + whereClause);
+
+            // Indexes used when the category is sorted by another column, the title always being sorted in ascending order
+            for (String sortColumn : CATEGORY_SORT_COLUMNS[index]) {
+                db.execSQL("CREATE INDEX IF NOT EXISTS idx_" + categoryName + "_" + sortColumn + "_asc ON " + TABLE_VIDEO_GAMES + " (" + sortColumn + " ASC, " + COLUMN_TITLE + " ASC)" + whereClause);
+                db.execSQL("CREATE INDEX IF NOT EXISTS idx_" + categoryName + "_" + sortColumn + "_desc ON " + TABLE_VIDEO_GAMES + " (" + sortColumn + " DESC, " + COLUMN_TITLE + " ASC)" + whereClause);
+            }
+
+        }
+
+    }
+
+    /**
+     * Method allowing to create the full-text search index over the title, platform and publisher of the video games
+     * The index is an FTS4 table reading its content from the video games table and kept in sync by triggers, the FTS5 module
+     * not being available in the SQLite library of Android. Prefixes of two and three characters are indexed to speed up prefix queries
+     * @param db SQLite database in which the search index will be created
+     */
+    private void createSearchIndex(SQLiteDatabase db) {
+
+        // Create the search index reading its content from the video games table
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + TABLE_VIDEO_GAMES_FTS + " USING fts4(content=\"" + TABLE_VIDEO_GAMES + "\", " + COLUMN_TITLE + ", " + COLUMN_PLATFORM + ", " + COLUMN_PUBLISHER + ", prefix=\"2,3\", tokenize=unicode61)");
+
+        // Values of the indexed columns for the new row of the video games table
+        String indexedColumns = "docid, " + COLUMN_TITLE + ", " + COLUMN_PLATFORM + ", " + COLUMN_PUBLISHER;
+        String newValues = "new." + COLUMN_ID + ", new." + COLUMN_TITLE + ", new." + COLUMN_PLATFORM + ", new." + COLUMN_PUBLISHER;
+        String deleteOldRow = "DELETE FROM " + TABLE_VIDEO_GAMES_FTS + " WHERE docid = old." + COLUMN_ID + "; ";
+        String insertNewRow = "INSERT INTO " + TABLE_VIDEO_GAMES_FTS + " (" + indexedColumns + ") VALUES (" + newValues + "); ";
+
+        // Remove the old values from the index before they change and add the new values once they are written
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TABLE_VIDEO_GAMES_FTS + "_before_update BEFORE UPDATE OF " + COLUMN_TITLE + ", " + COLUMN_PLATFORM + ", " + COLUMN_PUBLISHER + " ON " + TABLE_VIDEO_GAMES + " BEGIN " + deleteOldRow + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TABLE_VIDEO_GAMES_FTS + "_before_delete BEFORE DELETE ON " + TABLE_VIDEO_GAMES + " BEGIN " + deleteOldRow + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TABLE_VIDEO_GAMES_FTS + "_after_update AFTER UPDATE OF " + COLUMN_TITLE + ", " + COLUMN_PLATFORM + ", " + COLUMN_PUBLISHER + " ON " + TABLE_VIDEO_GAMES + " BEGIN " + insertNewRow + "END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TABLE_VIDEO_GAMES_FTS + "_after_insert AFTER INSERT ON " + TABLE_VIDEO_GAMES + " BEGIN " + insertNewRow + "END");
+
+    }
+
+    /**
+     * Method allowing to create the list tables and to seed a list for each category
+     * The membership table is clustered on the list and then the video game, and indexed on the video game and then the list,
+     * so that both the video games of a list and the lists of a video game are read from an index without reading the table.
+     * The trigger removing the membership of the deleted video games must be recreated whenever the video game table is rebuilt
+     * @param db SQLite database in which the list tables will be created
+     */
+    private void createListTables(SQLiteDatabase db) {
+
+        // Create the list table and the membership table without a rowid, its primary key being the only index it needs for each list
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_LISTS + " (" + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " + COLUMN_LIST_NAME + " VARCHAR(50) NOT NULL, " + COLUMN_LIST_CATEGORY_FLAG + " INTEGER)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_LIST_MEMBERSHIP + " (" + COLUMN_LIST_ID + " INTEGER NOT NULL, " + COLUMN_GAME_ID + " INTEGER NOT NULL, PRIMARY KEY (" + COLUMN_LIST_ID + ", " + COLUMN_GAME_ID + ")) WITHOUT ROWID");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_" + TABLE_LIST_MEMBERSHIP + "_" + COLUMN_GAME_ID + " ON " + TABLE_LIST_MEMBERSHIP + " (" + COLUMN_GAME_ID + ", " + COLUMN_LIST_ID + ")");
+
+        // Remove the membership of a video game once it is deleted
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TABLE_LIST_MEMBERSHIP + "_after_delete AFTER DELETE ON " + TABLE_VIDEO_GAMES + " BEGIN DELETE FROM " + TABLE_LIST_MEMBERSHIP + " WHERE " + COLUMN_GAME_ID + " = old." + COLUMN_ID + "; END");
+
+        // Seed a list for each category using the position of the category as its ID
+        for (int index = 0; index < CATEGORY_NAMES.length; index++) {
+            db.execSQL("INSERT OR IGNORE INTO " + TABLE_LISTS + " (" + COLUMN_ID + ", " + COLUMN_LIST_NAME + ", " + COLUMN_LIST_CATEGORY_FLAG + ") VALUES (" + (index + 1) + ", '" + CATEGORY_NAMES[index] + "', " + CATEGORY_FLAGS[index] + ")");
+        }
+
+    }
+
+    /**
+     * Method allowing to create the table keeping the key of each video game placed manually within a list
+     * The table has no rowid and an index on the keys of each list, so that the manual order of a list is read by walking that index
+     * and moving a video game only replaces its own row. The trigger removing the keys of the deleted video games must be recreated whenever the video game table is rebuilt
+     * @param db SQLite database in which the manual order table will be created
+     */
+    private void createManualOrderTable(SQLiteDatabase db) {
+
+        // Create the manual order table, its primary key finding the key of a video game and its index ordering the video games of a list
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_MANUAL_ORDER + " (" + COLUMN_LIST_ID + " INTEGER NOT NULL, " + COLUMN_GAME_ID + " INTEGER NOT NULL, " + COLUMN_SORT_KEY + " TEXT NOT NULL, PRIMARY KEY (" + COLUMN_LIST_ID + ", " + COLUMN_GAME_ID + ")) WITHOUT ROWID");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_" + TABLE_MANUAL_ORDER + "_" + COLUMN_SORT_KEY + " ON " + TABLE_MANUAL_ORDER + " (" + COLUMN_LIST_ID + ", " + COLUMN_SORT_KEY + ")");
 
-        // Query allowing to drop all tables and recreate them
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_VIDEO_GAMES);
-        onCreate(db);
+        // Remove the keys of a video game once it is deleted
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TABLE_MANUAL_ORDER + "_after_delete AFTER DELETE ON " + TABLE_VIDEO_GAMES + " BEGIN DELETE FROM " + TABLE_MANUAL_ORDER + " WHERE " + COLUMN_GAME_ID + " = old." + COLUMN_ID + "; END");
+
+    }
+
+    /**
+     * Method allowing to obtain the ID of the list seeded for a category
+     * @param categoryFlag Flag of the category
+     * @return ID of the list representing the category, the lists being seeded in the order of the flags
+     */
+    static int getCategoryListId(int categoryFlag) {
+        return Integer.numberOfTrailingZeros(categoryFlag) + 1;
+    }
+
+    /**
+     * Method allowing to build the "ORDER BY" clause used when reading the video games of a category
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @return "ORDER BY" clause matching one of the indexes of the category
+     */
+    private String buildOrderByClause(String sortColumn, String sortOrder) {
+        return buildOrderByClause("", sortColumn, sortOrder);
+    }
+
+    /**
+     * Method allowing to build the "ORDER BY" clause used when reading the video games of a category
+     * @param tablePrefix Prefix of the sorted columns, such as the alias of the video game table followed by a dot, or an empty string
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @return "ORDER BY" clause matching one of the indexes of the category
+     */
+    private String buildOrderByClause(String tablePrefix, String sortColumn, String sortOrder) {
+
+        // The title does not need to be repeated when the video games are already sorted by title
+        if (COLUMN_TITLE.equals(sortColumn)) {
+            return " ORDER BY " + tablePrefix + COLUMN_TITLE + sortOrder;
+        }
+
+        // Sort the video games by the specified column and then by title
+        return " ORDER BY " + tablePrefix + sortColumn + sortOrder + ", " + tablePrefix + COLUMN_TITLE + " ASC";
 
     }
 
@@ -115,14 +425,35 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
 
     }
 
+    /**
+     * Method allowing to read every video game from the database
+     * @return ArrayList containing all video games from the database
+     */
+    ArrayList<VideoGame> readAllVideoGames() {
+
+        // Query allowing to read all video games from the database
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES;
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        // Cursor containing all video games from the database
+        Cursor cursor = null;
+        if (db != null) {
+            cursor = db.rawQuery(query, null);
+        }
+
+        // Return ArrayList containing all video games from the database
+        return mapCursorToVideoGames(cursor);
+
+    }
+
     /**
      * Method allowing to read the amount of video games from the database
      * @return Amount of video games from the database
      */
     int readVideoGameCount() {
 
-        // Query allowing to read all video games from the database
-        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES;
+        // Query allowing to count all video games from the database
+        String query = "SELECT COUNT(*) FROM " + TABLE_VIDEO_GAMES;
         SQLiteDatabase db = this.getReadableDatabase();
 
         // Initialize the count
@@ -154,7 +485,7 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     ArrayList<VideoGame> readAllVideoGamesBacklog(String sortColumn, String sortOrder) {
 
         // Query allowing to read all video games within the backlog from the database
-        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_IS_BACKLOG + " = 1" + " ORDER BY " + sortColumn + sortOrder + ", title ASC";
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + buildCategoryCondition("", VideoGame.FLAG_BACKLOG) + buildOrderByClause(sortColumn, sortOrder);
         SQLiteDatabase db = this.getReadableDatabase();
 
         // Cursor containing all video games within the backlog from the database
@@ -177,7 +508,7 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     ArrayList<VideoGame> readAllVideoGamesCollection(String sortColumn, String sortOrder) {
 
         // Query allowing to read all video games within the collection from the database
-        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_IS_COLLECTION + " = 1" + " ORDER BY " + sortColumn + sortOrder + ", title ASC";
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + buildCategoryCondition("", VideoGame.FLAG_COLLECTION) + buildOrderByClause(sortColumn, sortOrder);
         SQLiteDatabase db = this.getReadableDatabase();
 
         // Cursor containing all video games within the collection from the database
@@ -200,7 +531,7 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     ArrayList<VideoGame> readAllVideoGamesCompletion(String sortColumn, String sortOrder) {
 
         // Query allowing to read all video games within the completion list from the database
-        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_IS_COMPLETION + " = 1" + " ORDER BY " + sortColumn + sortOrder + ", title ASC";
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + buildCategoryCondition("", VideoGame.FLAG_COMPLETION) + buildOrderByClause(sortColumn, sortOrder);
         SQLiteDatabase db = this.getReadableDatabase();
 
         // Cursor containing all video games within the completion list from the database
@@ -223,7 +554,7 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     ArrayList<VideoGame> readAllVideoGamesWishlist(String sortColumn, String sortOrder) {
 
         // Query allowing to read all video games within the wishlist from the database
-        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_IS_WISHLIST + " = 1" + " ORDER BY " + sortColumn + sortOrder + ", title ASC";
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + buildCategoryCondition("", VideoGame.FLAG_WISHLIST) + buildOrderByClause(sortColumn, sortOrder);
         SQLiteDatabase db = this.getReadableDatabase();
 
         // Cursor containing all video games within the wishlist from the database
@@ -238,35 +569,171 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     }
 
     /**
-     * Method that calculates the total number of categories in which a specific video game is present
-     * @param id Id of the video game that will be checked
-     * @return Total number of categories in which the video game is present
+     * Method allowing to verify if the database contains more video games than a specific amount without counting all of them
+     * @param amount Amount of video games to be exceeded
+     * @return True if the database contains more video games than the specified amount, false otherwise
      */
-    public int getCategoryStatusTotal(int id) {
+    boolean hasMoreVideoGamesThan(int amount) {
 
-        // Obtain the database in which the new video game will be inserted and initialize the total
+        // Query allowing to count at most one more video game than the specified amount
+        String query = "SELECT COUNT(*) FROM (SELECT 1 FROM " + TABLE_VIDEO_GAMES + " LIMIT " + (amount + 1) + ")";
         SQLiteDatabase db = this.getReadableDatabase();
-        int total = 0;
 
-        // Query allowing to calculate the total number of categories in which a specific video game is present
-        String query = "SELECT " + COLUMN_IS_BACKLOG + ", " + COLUMN_IS_COLLECTION + ", " + COLUMN_IS_COMPLETION + ", " + COLUMN_IS_WISHLIST + " FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_ID + " = ?";
+        // Initialize the count
+        int videoGameCount = 0;
 
-        // Cursor containing the total number of categories in which a specific video game is present
-        Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(id)});
+        // Calculate the count of video games from the cursor
+        Cursor cursor = db.rawQuery(query, null);
         if (cursor != null) {
-
-            // Calculate the total number of categories in which a specific video game is present
             if (cursor.moveToFirst()) {
-                total = cursor.getInt(0) + cursor.getInt(1) + cursor.getInt(2) + cursor.getInt(3);
+                videoGameCount = cursor.getInt(0);
             }
-
-            // Close the cursor
             cursor.close();
+        }
+
+        // Return whether the amount of video games was exceeded
+        return videoGameCount > amount;
 
+    }
+
+    /**
+     * Method allowing to read a page of the video games within a category, starting right after the last video game of the previous page
+     * The pages are delimited by the sort column, the title and the ID of the video games so that each page is read with an index seek
+     * @param category Category of the video games to read
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param afterKey Key of the last video game of the previous page, or null to read the first page
+     * @param pageSize Maximum amount of video games within the page
+     * @return ArrayList containing the video games of the page
+     */
+    ArrayList<VideoGame> readVideoGamesPage(String category, String sortColumn, String sortOrder, VideoGamePageKey afterKey, int pageSize) {
+
+        // Build the clause filtering the video games of the category and the clause sorting them with the ID as a final tiebreaker
+        boolean isDescending = sortOrder.trim().equalsIgnoreCase("DESC");
+        boolean isSortedByTitle = COLUMN_TITLE.equals(sortColumn);
+        String whereClause = " WHERE " + buildCategoryCondition("", VideoGame.getCategoryFlag(category));
+        String orderByClause = isSortedByTitle
+                ? " ORDER BY " + COLUMN_TITLE + sortOrder + ", " + COLUMN_ID + sortOrder
+                : buildOrderByClause(sortColumn, sortOrder) + ", " + COLUMN_ID + " ASC";
+
+        // Conditions delimiting the remaining video games, each one being read in order until the page is full
+        ArrayList<String> conditions = new ArrayList<>();
+        ArrayList<String[]> conditionArgs = new ArrayList<>();
+        String afterTitleAndId = "(" + COLUMN_TITLE + ", " + COLUMN_ID + ") > (?, ?)";
+        if (afterKey == null) {
+            conditions.add("");
+            conditionArgs.add(new String[0]);
+        }
+        else if (isSortedByTitle) {
+            conditions.add(" AND (" + COLUMN_TITLE + ", " + COLUMN_ID + ") " + (isDescending ? "<" : ">") + " (?, ?)");
+            conditionArgs.add(new String[]{afterKey.getTitle(), String.valueOf(afterKey.getId())});
+        }
+        else if (afterKey.getSortValue() == null) {
+            // Null values come first in ascending order and last in descending order
+            conditions.add(" AND " + sortColumn + " IS NULL AND " + afterTitleAndId);
+            conditionArgs.add(new String[]{afterKey.getTitle(), String.valueOf(afterKey.getId())});
+            if (!isDescending) {
+                conditions.add(" AND " + sortColumn + " IS NOT NULL");
+                conditionArgs.add(new String[0]);
+            }
+        }
+        else {
+            conditions.add(" AND " + sortColumn + " = ? AND " + afterTitleAndId);
+            conditionArgs.add(new String[]{afterKey.getSortValue(), afterKey.getTitle(), String.valueOf(afterKey.getId())});
+            conditions.add(" AND " + sortColumn + (isDescending ? " < ?" : " > ?"));
+            conditionArgs.add(new String[]{afterKey.getSortValue()});
+            if (isDescending) {
+                conditions.add(" AND " + sortColumn + " IS NULL");
+                conditionArgs.add(new String[0]);
+            }
         }
 
-        // Return the total number of categories in which a specific video game is present
-        return total;
+        // Read the video games matching each condition until the page is full
+        SQLiteDatabase db = this.getReadableDatabase();
+        ArrayList<VideoGame> videoGames = new ArrayList<>(pageSize);
+        for (int index = 0; index < conditions.size() && videoGames.size() < pageSize; index++) {
+            String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + whereClause + conditions.get(index) + orderByClause + " LIMIT " + (pageSize - videoGames.size());
+            videoGames.addAll(mapCursorToVideoGames(db.rawQuery(query, conditionArgs.get(index))));
+        }
+
+        // Return ArrayList containing the video games of the page
+        return videoGames;
+
+    }
+
+    /**
+     * Method allowing to search for the video games of a category matching every word of a search query as a prefix
+     * The search index finds the matching video games without reading the others, and only their title, platform and publisher are read
+     * to rank them exactly as the in-memory search does. Only the most relevant video games are then read from the video games table
+     * @param category Category of the video games to search
+     * @param query Search query entered by the user
+     * @param sortColumn Column by which the video games of equal relevance will be sorted
+     * @param sortOrder Order in which the video games of equal relevance will be sorted
+     * @param limit Maximum amount of video games returned
+     * @return VideoGameSearchResult containing the most relevant video games and the amount of video games matching the search query
+     */
+    VideoGameSearchResult searchVideoGames(String category, String query, String sortColumn, String sortOrder, int limit) {
+
+        // Build the MATCH expression of the search query
+        String matchExpression = VideoGameSearchQuery.buildMatchExpression(query);
+        if (matchExpression == null) {
+            return new VideoGameSearchResult(new ArrayList<>(), 0);
+        }
+        String[] tokens = VideoGameSearchQuery.tokenize(query);
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        // Score every matching video game of the category in the sort order of the category, growing primitive arrays instead of boxing each ID
+        String rankQuery = "SELECT v." + COLUMN_ID + ", v." + COLUMN_TITLE + ", v." + COLUMN_PLATFORM + ", v." + COLUMN_PUBLISHER
+                + " FROM " + TABLE_VIDEO_GAMES_FTS + " JOIN " + TABLE_VIDEO_GAMES + " v ON v." + COLUMN_ID + " = " + TABLE_VIDEO_GAMES_FTS + ".docid"
+                + " WHERE " + TABLE_VIDEO_GAMES_FTS + " MATCH ? AND " + buildCategoryCondition("v.", VideoGame.getCategoryFlag(category)) + buildOrderByClause("v.", sortColumn, sortOrder);
+        int[] ids = new int[64];
+        int[] scores = new int[64];
+        int rowCount = 0;
+        try (Cursor cursor = db.rawQuery(rankQuery, new String[]{matchExpression})) {
+            while (cursor.moveToNext()) {
+                if (rowCount == ids.length) {
+                    ids = Arrays.copyOf(ids, rowCount * 2);
+                    scores = Arrays.copyOf(scores, rowCount * 2);
+                }
+                ids[rowCount] = cursor.getInt(0);
+                scores[rowCount] = VideoGameSearchQuery.score(cursor.getString(1), cursor.getString(2), cursor.getString(3), tokens);
+                rowCount++;
+            }
+        }
+
+        // Keep the most relevant video games, those of equal relevance staying in the sort order of the category
+        int[] order = VideoGameSearchQuery.rank(Arrays.copyOf(scores, rowCount));
+        int resultCount = Math.min(limit, order.length);
+        if (resultCount == 0) {
+            return new VideoGameSearchResult(new ArrayList<>(), order.length);
+        }
+
+        // Read the most relevant video games, finding the rank of each one through its ID within the sorted IDs
+        int[] resultIds = new int[resultCount];
+        StringBuilder idList = new StringBuilder();
+        for (int index = 0; index < resultCount; index++) {
+            resultIds[index] = ids[order[index]];
+            idList.append(index == 0 ? "" : ",").append(resultIds[index]);
+        }
+        int[] sortedIds = resultIds.clone();
+        Arrays.sort(sortedIds);
+        int[] ranks = new int[resultCount];
+        for (int index = 0; index < resultCount; index++) {
+            ranks[Arrays.binarySearch(sortedIds, resultIds[index])] = index;
+        }
+        VideoGame[] rankedVideoGames = new VideoGame[resultCount];
+        for (VideoGame videoGame : mapCursorToVideoGames(db.rawQuery("SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_ID + " IN (" + idList + ")", null))) {
+            rankedVideoGames[ranks[Arrays.binarySearch(sortedIds, videoGame.getId())]] = videoGame;
+        }
+
+        // Return the video games in the order of their relevance along with the amount of matching video games
+        ArrayList<VideoGame> videoGames = new ArrayList<>(resultCount);
+        for (VideoGame videoGame : rankedVideoGames) {
+            if (videoGame != null) {
+                videoGames.add(videoGame);
+            }
+        }
+        return new VideoGameSearchResult(videoGames, order.length);
 
     }
 
@@ -288,6 +755,29 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
      */
     Boolean addVideoGame(String title, String platform, String publisher, String releaseDate, String completionDate, int playtime, double price, boolean isBacklog, boolean isCollection, boolean isCompletion, boolean isWishlist, String imagePath){
 
+        // Inserting the new video game within the database and returning the appropriate result
+        return insertVideoGame(title, platform, publisher, releaseDate, completionDate, playtime, price, isBacklog, isCollection, isCompletion, isWishlist, imagePath) != -1;
+
+    }
+
+    /**
+     * Method allowing to create a new video game within the database and to obtain its ID
+     * @param title Title of the new video game
+     * @param platform Platform of the new video game
+     * @param publisher Publisher of the new video game
+     * @param releaseDate Release date of the new video game
+     * @param completionDate Completion date of the new video game
+     * @param playtime Playtime of the new video game
+     * @param price Price of the new video game
+     * @param isBacklog Is the new video game in the backlog?
+     * @param isCollection Is the new video game in the collection?
+     * @param isCompletion Is the new video game in the completion list?
+     * @param isWishlist Is the new video game in the wishlist?
+     * @param imagePath Image path of the new video game
+     * @return ID of the new video game, or -1 if the insertion failed
+     */
+    long insertVideoGame(String title, String platform, String publisher, String releaseDate, String completionDate, int playtime, double price, boolean isBacklog, boolean isCollection, boolean isCompletion, boolean isWishlist, String imagePath) {
+
         // Obtain the database in which the new video game will be inserted
         SQLiteDatabase db = this.getWritableDatabase();
         ContentValues cv = new ContentValues();
@@ -300,15 +790,11 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
         cv.put(COLUMN_COMPLETION_DATE, completionDate);
         cv.put(COLUMN_PLAYTIME, playtime);
         cv.put(COLUMN_PRICE, price);
-        cv.put(COLUMN_IS_BACKLOG, isBacklog ? 1 : 0);
-        cv.put(COLUMN_IS_COLLECTION, isCollection ? 1 : 0);
-        cv.put(COLUMN_IS_COMPLETION, isCompletion ? 1 : 0);
-        cv.put(COLUMN_IS_WISHLIST, isWishlist ? 1 : 0);
+        cv.put(COLUMN_CATEGORIES, VideoGame.toCategories(isBacklog, isCollection, isCompletion, isWishlist));
         cv.put(COLUMN_IMAGE_PATH, imagePath);
 
-        // Inserting the new video game within the database and returning the appropriate result
-        long result = db.insert(TABLE_VIDEO_GAMES,null, cv);
-        return result != -1;
+        // Inserting the new video game within the database and returning its ID
+        return db.insert(TABLE_VIDEO_GAMES,null, cv);
 
     }
 
@@ -343,50 +829,215 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
         cv.put(COLUMN_COMPLETION_DATE, completionDate);
         cv.put(COLUMN_PLAYTIME, playtime);
         cv.put(COLUMN_PRICE, price);
-        cv.put(COLUMN_IS_BACKLOG, isBacklog ? 1 : 0);
-        cv.put(COLUMN_IS_COLLECTION, isCollection ? 1 : 0);
-        cv.put(COLUMN_IS_COMPLETION, isCompletion ? 1 : 0);
-        cv.put(COLUMN_IS_WISHLIST, isWishlist ? 1 : 0);
+        cv.put(COLUMN_CATEGORIES, VideoGame.toCategories(isBacklog, isCollection, isCompletion, isWishlist));
         cv.put(COLUMN_IMAGE_PATH, imagePath);
 
-        // Updating the video game within the database and returning the appropriate result
-        long result = db.update(TABLE_VIDEO_GAMES, cv, "_id=?", new String[]{String.valueOf(id)});
-        return result != -1;
+        // Discard the thumbnails and the preview of the previous cover art if the cover art is replaced, and update the video game in the same transaction
+        // so that the video game is never left with its new values but the thumbnails of its previous cover art, or the other way around
+        db.beginTransaction();
+        try {
+            db.execSQL("UPDATE " + TABLE_VIDEO_GAMES + " SET " + COLUMN_LIST_THUMBNAIL_PATH + " = NULL, " + COLUMN_LIST_THUMBNAIL_WIDTH + " = NULL, " + COLUMN_LIST_THUMBNAIL_HEIGHT + " = NULL, "
+                    + COLUMN_DETAIL_THUMBNAIL_PATH + " = NULL, " + COLUMN_DETAIL_THUMBNAIL_WIDTH + " = NULL, " + COLUMN_DETAIL_THUMBNAIL_HEIGHT + " = NULL, " + COLUMN_COVER_PREVIEW + " = NULL"
+                    + " WHERE " + COLUMN_ID + " = ? AND " + COLUMN_IMAGE_PATH + " IS NOT ?", new Object[]{id, imagePath});
+
+            // Updating the video game within the database and forgetting its position within the manual order of the categories it no longer belongs to
+            long result = db.update(TABLE_VIDEO_GAMES, cv, "_id=?", new String[]{String.valueOf(id)});
+            int categories = VideoGame.toCategories(isBacklog, isCollection, isCompletion, isWishlist);
+            for (int categoryFlag : CATEGORY_FLAGS) {
+                if ((categories & categoryFlag) == 0) {
+                    db.delete(TABLE_MANUAL_ORDER, COLUMN_LIST_ID + " = ? AND " + COLUMN_GAME_ID + " = ?", new String[]{String.valueOf(getCategoryListId(categoryFlag)), String.valueOf(id)});
+                }
+            }
+            db.setTransactionSuccessful();
+            return result != -1;
+        }
+        finally {
+            db.endTransaction();
+        }
+
+    }
+
+    /**
+     * Method allowing to store the thumbnails and the preview generated for the cover art of a video game
+     * The thumbnails are only stored if the cover art was not replaced while they were being generated
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art from which the thumbnails were generated
+     * @param listThumbnail Thumbnail of the cover art displayed in the lists
+     * @param detailThumbnail Thumbnail of the cover art displayed in the details
+     * @param coverPreview Tiny preview of the cover art painted before the cover art is decoded
+     * @return Boolean indicating whether or not the thumbnails were stored
+     */
+    boolean updateCoverThumbnails(int id, String imagePath, CoverThumbnail listThumbnail, CoverThumbnail detailThumbnail, byte[] coverPreview) {
+
+        // Obtain the database in which the thumbnails will be stored
+        SQLiteDatabase db = this.getWritableDatabase();
+        ContentValues cv = new ContentValues();
+
+        // Associating the paths and dimensions of the thumbnails to the content values
+        cv.put(COLUMN_LIST_THUMBNAIL_PATH, listThumbnail.getPath());
+        cv.put(COLUMN_LIST_THUMBNAIL_WIDTH, listThumbnail.getWidth());
+        cv.put(COLUMN_LIST_THUMBNAIL_HEIGHT, listThumbnail.getHeight());
+        cv.put(COLUMN_DETAIL_THUMBNAIL_PATH, detailThumbnail.getPath());
+        cv.put(COLUMN_DETAIL_THUMBNAIL_WIDTH, detailThumbnail.getWidth());
+        cv.put(COLUMN_DETAIL_THUMBNAIL_HEIGHT, detailThumbnail.getHeight());
+        cv.put(COLUMN_COVER_PREVIEW, coverPreview);
+
+        // Update the video game only if it still uses the same cover art
+        return db.update(TABLE_VIDEO_GAMES, cv, COLUMN_ID + " = ? AND " + COLUMN_IMAGE_PATH + " = ?", new String[]{String.valueOf(id), imagePath}) > 0;
+
+    }
+
+    /**
+     * Method allowing to read the video games with a cover art whose thumbnails or preview have not been generated yet, ordered by ID
+     * @param afterId ID after which the video games are read, allowing to skip the video games whose thumbnails could not be generated
+     * @param limit Maximum amount of video games to read
+     * @return ArrayList containing the video games without thumbnails
+     */
+    ArrayList<VideoGame> readVideoGamesWithoutThumbnails(int afterId, int limit) {
+
+        // Query allowing to read the next video games with a cover art but without thumbnails
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_ID + " > ? AND " + COLUMN_IMAGE_PATH + " IS NOT NULL AND " + COLUMN_IMAGE_PATH + " != 'null'"
+                + " AND (" + COLUMN_LIST_THUMBNAIL_PATH + " IS NULL OR " + COLUMN_COVER_PREVIEW + " IS NULL) ORDER BY " + COLUMN_ID + " LIMIT " + limit;
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        // Return ArrayList containing the video games without thumbnails
+        return mapCursorToVideoGames(db.rawQuery(query, new String[]{String.valueOf(afterId)}));
 
     }
 
     /**
-     * Method allowing to add or remove a video game from a specific category within the database
+     * Method allowing to read the video games whose cover art is still read from the gallery through a content URI, ordered by ID
+     * @param afterId ID after which the video games are read, allowing to skip the video games whose cover art could not be imported
+     * @param limit Maximum amount of video games to read
+     * @return ArrayList containing the video games whose cover art was not imported
+     */
+    ArrayList<VideoGame> readVideoGamesWithContentCoverArt(int afterId, int limit) {
+
+        // Query allowing to read the next video games whose image path is a content URI
+        String query = "SELECT * FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_ID + " > ? AND " + COLUMN_IMAGE_PATH + " LIKE 'content://%' ORDER BY " + COLUMN_ID + " LIMIT " + limit;
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        // Return ArrayList containing the video games whose cover art was not imported
+        return mapCursorToVideoGames(db.rawQuery(query, new String[]{String.valueOf(afterId)}));
+
+    }
+
+    /**
+     * Method allowing to replace the image path of a video game by the image path of the same cover art imported into the files of the application
+     * @param id Id of the video game
+     * @param previousImagePath Image path from which the cover art was imported
+     * @param imagePath Image path of the imported cover art
+     * @return True if the image path was replaced, false if the video game was deleted or if its cover art was changed in the meantime
+     */
+    boolean replaceImagePath(int id, String previousImagePath, String imagePath) {
+
+        // Obtain the database in which the image path will be replaced
+        SQLiteDatabase db = this.getWritableDatabase();
+        ContentValues cv = new ContentValues();
+        cv.put(COLUMN_IMAGE_PATH, imagePath);
+
+        // Replace the image path only if the video game still uses the same cover art, its thumbnails remaining valid
+        return db.update(TABLE_VIDEO_GAMES, cv, COLUMN_ID + " = ? AND " + COLUMN_IMAGE_PATH + " = ?", new String[]{String.valueOf(id), previousImagePath}) > 0;
+
+    }
+
+    /**
+     * Method allowing to read the image path of a specific video game
+     * @param id Id of the video game
+     * @return Image path of the video game, or null if the video game does not exist
+     */
+    String readImagePath(int id) {
+
+        // Query allowing to read only the image path of the video game
+        String query = "SELECT " + COLUMN_IMAGE_PATH + " FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_ID + " = ?";
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        // Obtain the image path from the cursor
+        String imagePath = null;
+        try (Cursor cursor = db.rawQuery(query, new String[]{String.valueOf(id)})) {
+            if (cursor.moveToFirst()) {
+                imagePath = cursor.getString(0);
+            }
+        }
+        return imagePath;
+
+    }
+
+    /**
+     * Method allowing to verify if a cover art is used by at least one video game
+     * @param imagePath Image path of the cover art
+     * @return True if a video game uses the cover art, false otherwise
+     */
+    boolean isImagePathUsed(String imagePath) {
+
+        // Query allowing to find a single video game using the cover art
+        String query = "SELECT 1 FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_IMAGE_PATH + " = ? LIMIT 1";
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        // Return whether a video game was found
+        try (Cursor cursor = db.rawQuery(query, new String[]{imagePath})) {
+            return cursor.moveToFirst();
+        }
+
+    }
+
+    /**
+     * Method allowing to add or remove a video game from a specific category within a single transaction
+     * The video game is never removed from the last category in which it is saved, being deleted instead if requested
      * @param category Category from which the game will be added or removed
      * @param id Id of the video game to be added or removed
-     * @param status Indicates if the game is already or is not already in the category
-     * @return Status of the category update for the video game
+     * @param deleteIfLastCategory Indicates if the video game must be deleted when it is removed from its last category
+     * @return Outcome of the operation as defined by the CategoryToggle class
      */
-    Boolean updateCategoryStatus(String category, int id, int status) {
+    int toggleCategoryStatus(String category, int id, boolean deleteIfLastCategory) {
 
-        // Obtain the database in which the video game will be updated
+        // Obtain the database in which the video game will be updated and the flag of the category
         SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues cv = new ContentValues();
+        int categoryFlag = VideoGame.getCategoryFlag(category);
+        String[] arguments = new String[]{String.valueOf(id)};
+
+        // Read and update the video game within the same transaction so that no other write can happen in between
+        db.beginTransaction();
+        try {
+
+            // Flip the flag of the category in a single statement, SQLite having no exclusive or operator, unless the video game is not saved in any other category
+            boolean isToggled;
+            try (SQLiteStatement statement = db.compileStatement("UPDATE " + TABLE_VIDEO_GAMES + " SET " + COLUMN_CATEGORIES + " = (" + COLUMN_CATEGORIES + " | " + categoryFlag + ") - (" + COLUMN_CATEGORIES + " & " + categoryFlag + ")"
+                    + " WHERE " + COLUMN_ID + " = ? AND (NOT (" + buildCategoryCondition("", categoryFlag) + ") OR " + buildCategoryCondition("", ~categoryFlag) + ")")) {
+                statement.bindLong(1, id);
+                isToggled = statement.executeUpdateDelete() == 1;
+            }
 
-        // Update the status of the video game in the specified category using a switch case statement
-        switch (category) {
-            case "backlog":
-                cv.put(COLUMN_IS_BACKLOG, status);
-                break;
-            case "collection":
-                cv.put(COLUMN_IS_COLLECTION, status);
-                break;
-            case "completion":
-                cv.put(COLUMN_IS_COMPLETION, status);
-                break;
-            case "wishlist":
-                cv.put(COLUMN_IS_WISHLIST, status);
-                break;
-        }
-
-        // Update the video game within the database and return the appropriate result
-        long result = db.update(TABLE_VIDEO_GAMES, cv, COLUMN_ID + "=?", new String[]{String.valueOf(id)});
-        return result != -1;
+            // Obtain the new status of the category to determine the outcome, a missing video game meaning that it no longer exists
+            int outcome;
+            try (Cursor cursor = db.rawQuery("SELECT " + COLUMN_CATEGORIES + " FROM " + TABLE_VIDEO_GAMES + " WHERE " + COLUMN_ID + " = ?", arguments)) {
+                if (!cursor.moveToFirst()) {
+                    outcome = CategoryToggle.FAILED;
+                }
+                else if (isToggled) {
+                    outcome = (cursor.getInt(0) & categoryFlag) != 0 ? CategoryToggle.ADDED : CategoryToggle.REMOVED;
+                }
+                else if (deleteIfLastCategory) {
+                    outcome = db.delete(TABLE_VIDEO_GAMES, COLUMN_ID + " = ?", arguments) == 1 ? CategoryToggle.DELETED : CategoryToggle.FAILED;
+                }
+                else {
+                    outcome = CategoryToggle.LAST_CATEGORY;
+                }
+            }
+
+            // Forget the position of the video game within the manual order of the category it was removed from
+            if (outcome == CategoryToggle.REMOVED) {
+                db.delete(TABLE_MANUAL_ORDER, COLUMN_LIST_ID + " = ? AND " + COLUMN_GAME_ID + " = ?", new String[]{String.valueOf(getCategoryListId(categoryFlag)), String.valueOf(id)});
+            }
+
+            // Commit the transaction and return the outcome
+            db.setTransactionSuccessful();
+            return outcome;
+
+        }
+        finally {
+            db.endTransaction();
+        }
 
     }
 
@@ -431,54 +1082,283 @@ public class MySQLiteOpenHelper extends SQLiteOpenHelper {
     }
 
     /**
-     * Method allowing to map a Cursor object to an Arraylist of video games
-     * @param cursor Cursor containing the video games to be mapped
-     * @return ArrayList containing the mapped video games
+     * Method allowing to read every list from the database, starting with the seeded categories
+     * @return ArrayList containing all lists from the database
      */
-    public ArrayList<VideoGame> mapCursorToVideoGames(Cursor cursor) {
+    ArrayList<VideoGameList> readLists() {
 
-        // Initialize an ArrayList to store the mapped video games
-        ArrayList<VideoGame> videoGames = new ArrayList<>();
-
-        // Verify that the cursor is not null and move it to the first position
-        if (cursor != null && cursor.moveToFirst()) {
-
-            // Iterate through the cursor and add each video game to the ArrayList
-            do {
-
-                // Extract the values from the cursor and create a new VideoGame object
-                int id = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_ID));
-                String title = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_TITLE));
-                String platform = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_PLATFORM));
-                String publisher = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_PUBLISHER));
-                String releaseDateStr = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_RELEASE_DATE));
-                LocalDate releaseDate = releaseDateStr != null ? LocalDate.parse(releaseDateStr) : null;
-                String completionDateStr = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_COMPLETION_DATE));
-                LocalDate completionDate = completionDateStr != null ? LocalDate.parse(completionDateStr) : null;
-                int playtime = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_PLAYTIME));
-                double price = cursor.getDouble(cursor.getColumnIndexOrThrow(COLUMN_PRICE));
-                boolean isBacklog = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_BACKLOG)) > 0;
-                boolean isCollection = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_COLLECTION)) > 0;
-                boolean isCompletion = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_COMPLETION)) > 0;
-                boolean isWishlist = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_IS_WISHLIST)) > 0;
-                String imagePath = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_IMAGE_PATH));
-
-                // Initialize the new VideoGame object and add it to the ArrayList
-                VideoGame videoGame = new VideoGame(id, title, platform, publisher, releaseDate, completionDate, playtime, price, isBacklog, isCollection, isCompletion, isWishlist, imagePath);
-                videoGames.add(videoGame);
+        // Read the lists in the order in which they were created, the seeded categories having the first IDs
+        SQLiteDatabase db = this.getReadableDatabase();
+        ArrayList<VideoGameList> lists = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("SELECT " + COLUMN_ID + ", " + COLUMN_LIST_NAME + ", " + COLUMN_LIST_CATEGORY_FLAG + " FROM " + TABLE_LISTS + " ORDER BY " + COLUMN_ID, null)) {
+            while (cursor.moveToNext()) {
+                lists.add(new VideoGameList(cursor.getInt(0), cursor.getString(1), cursor.isNull(2) ? 0 : cursor.getInt(2)));
+            }
+        }
+        return lists;
+
+    }
+
+    /**
+     * Method allowing to create a new list within the database
+     * @param name Name of the new list
+     * @return ID of the new list, or -1 if it could not be created
+     */
+    long insertList(String name) {
+
+        // Insert the list without any category flag since it was created by the user
+        ContentValues cv = new ContentValues();
+        cv.put(COLUMN_LIST_NAME, name);
+        return this.getWritableDatabase().insert(TABLE_LISTS, null, cv);
+
+    }
+
+    /**
+     * Method allowing to delete a list created by the user along with its membership, the seeded categories never being deleted
+     * @param listId ID of the list to be deleted
+     * @return Boolean indicating if the list was deleted
+     */
+    boolean deleteList(int listId) {
 
+        // Delete the membership and then the list within the same transaction
+        SQLiteDatabase db = this.getWritableDatabase();
+        String[] arguments = new String[]{String.valueOf(listId)};
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_LIST_MEMBERSHIP, COLUMN_LIST_ID + " = ?", arguments);
+            db.delete(TABLE_MANUAL_ORDER, COLUMN_LIST_ID + " = ?", arguments);
+            boolean isDeleted = db.delete(TABLE_LISTS, COLUMN_ID + " = ? AND " + COLUMN_LIST_CATEGORY_FLAG + " IS NULL", arguments) == 1;
+            if (isDeleted) {
+                db.setTransactionSuccessful();
             }
+            return isDeleted;
+        }
+        finally {
+            db.endTransaction();
+        }
 
-            // Continue iterating trough the cursor until moveToNext() returns false
-            while (cursor.moveToNext());
+    }
 
-            // Close the cursor at the end of the loop
-            cursor.close();
+    /**
+     * Method allowing to add a video game to a list created by the user or to remove it from the list
+     * @param listId ID of the list
+     * @param gameId ID of the video game
+     * @param isMember Indicates if the video game must be added to or removed from the list
+     * @return Boolean indicating if the membership was changed, which is false if the video game was already within the list or already absent from it,
+     * if the video game does not exist or if the list is not a list created by the user
+     */
+    boolean updateListMembership(int listId, int gameId, boolean isMember) {
+
+        // Delete the membership using the primary key
+        SQLiteDatabase db = this.getWritableDatabase();
+        if (!isMember) {
+            return db.delete(TABLE_LIST_MEMBERSHIP, COLUMN_LIST_ID + " = ? AND " + COLUMN_GAME_ID + " = ?", new String[]{String.valueOf(listId), String.valueOf(gameId)}) > 0;
+        }
 
+        // Insert the membership only if both the video game and the list created by the user exist, ignoring a video game already within the list
+        try (SQLiteStatement statement = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_LIST_MEMBERSHIP + " (" + COLUMN_LIST_ID + ", " + COLUMN_GAME_ID + ")"
+                + " SELECT l." + COLUMN_ID + ", v." + COLUMN_ID + " FROM " + TABLE_LISTS + " l, " + TABLE_VIDEO_GAMES + " v"
+                + " WHERE l." + COLUMN_ID + " = ? AND l." + COLUMN_LIST_CATEGORY_FLAG + " IS NULL AND v." + COLUMN_ID + " = ?")) {
+            statement.bindLong(1, listId);
+            statement.bindLong(2, gameId);
+            return statement.executeUpdateDelete() > 0;
         }
 
-        // Return the ArrayList of video games
-        return videoGames;
+    }
+
+    /**
+     * Method allowing to read the IDs of the video games within a list created by the user using only the primary key of the membership table
+     * @param listId ID of the list
+     * @return ArrayList containing the IDs of the video games within the list
+     */
+    ArrayList<Integer> readListVideoGameIds(int listId) {
+        return readIds("SELECT " + COLUMN_GAME_ID + " FROM " + TABLE_LIST_MEMBERSHIP + " WHERE " + COLUMN_LIST_ID + " = ?", listId);
+    }
+
+    /**
+     * Method allowing to read the IDs of the lists created by the user containing a video game using only the index on the video games
+     * @param gameId ID of the video game
+     * @return ArrayList containing the IDs of the lists containing the video game
+     */
+    ArrayList<Integer> readVideoGameListIds(int gameId) {
+        return readIds("SELECT " + COLUMN_LIST_ID + " FROM " + TABLE_LIST_MEMBERSHIP + " WHERE " + COLUMN_GAME_ID + " = ?", gameId);
+    }
+
+    /**
+     * Method allowing to read all video games within a list created by the user from the database
+     * @param listId ID of the list
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @return ArrayList containing all video games within the list
+     */
+    ArrayList<VideoGame> readListVideoGames(int listId, String sortColumn, String sortOrder) {
+
+        // Find the video games of the list through the primary key of the membership table and then read them by their ID
+        String query = "SELECT v.* FROM " + TABLE_LIST_MEMBERSHIP + " m JOIN " + TABLE_VIDEO_GAMES + " v ON v." + COLUMN_ID + " = m." + COLUMN_GAME_ID
+                + " WHERE m." + COLUMN_LIST_ID + " = ?" + buildOrderByClause(sortColumn, sortOrder);
+        SQLiteDatabase db = this.getReadableDatabase();
+        return mapCursorToVideoGames(db.rawQuery(query, new String[]{String.valueOf(listId)}));
+
+    }
+
+    /**
+     * Method allowing to read the key of a video game placed manually within a list
+     * @param listId ID of the list
+     * @param gameId ID of the video game
+     * @return Key of the video game, or null if it was never placed manually within the list
+     */
+    String readManualOrderKey(int listId, int gameId) {
+
+        // Read the key using the primary key of the manual order table
+        String query = "SELECT " + COLUMN_SORT_KEY + " FROM " + TABLE_MANUAL_ORDER + " WHERE " + COLUMN_LIST_ID + " = ? AND " + COLUMN_GAME_ID + " = ?";
+        try (Cursor cursor = this.getReadableDatabase().rawQuery(query, new String[]{String.valueOf(listId), String.valueOf(gameId)})) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+
+    }
+
+    /**
+     * Method allowing to save the key of a video game placed manually within a list, which is the only row written when a video game is moved
+     * @param listId ID of the list
+     * @param gameId ID of the video game
+     * @param sortKey New key of the video game
+     * @return Boolean indicating if the key was saved
+     */
+    boolean writeManualOrderKey(int listId, int gameId, String sortKey) {
+
+        // Insert the key or replace the previous key of the video game
+        ContentValues cv = new ContentValues();
+        cv.put(COLUMN_LIST_ID, listId);
+        cv.put(COLUMN_GAME_ID, gameId);
+        cv.put(COLUMN_SORT_KEY, sortKey);
+        return this.getWritableDatabase().insertWithOnConflict(TABLE_MANUAL_ORDER, null, cv, SQLiteDatabase.CONFLICT_REPLACE) != -1;
+
+    }
+
+    /**
+     * Method allowing to replace every key of a list within a single transaction, which is done when the keys of the list have grown too long
+     * @param listId ID of the list
+     * @param gameIds IDs of the video games of the list in their manual order
+     * @param sortKeys Keys of the video games in the same order
+     * @return Boolean indicating if the keys were replaced
+     */
+    boolean writeManualOrderKeys(int listId, int[] gameIds, String[] sortKeys) {
+
+        // Delete the previous keys of the list, including those of the video games no longer within it, and insert the new keys using a single compiled statement
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_MANUAL_ORDER, COLUMN_LIST_ID + " = ?", new String[]{String.valueOf(listId)});
+            try (SQLiteStatement statement = db.compileStatement("INSERT INTO " + TABLE_MANUAL_ORDER + " (" + COLUMN_LIST_ID + ", " + COLUMN_GAME_ID + ", " + COLUMN_SORT_KEY + ") VALUES (?, ?, ?)")) {
+                for (int index = 0; index < gameIds.length; index++) {
+                    statement.bindLong(1, listId);
+                    statement.bindLong(2, gameIds[index]);
+                    statement.bindString(3, sortKeys[index]);
+                    statement.executeInsert();
+                    statement.clearBindings();
+                }
+            }
+            db.setTransactionSuccessful();
+            return true;
+        }
+        finally {
+            db.endTransaction();
+        }
+
+    }
+
+    /**
+     * Method allowing to read the IDs of the video games within a category in their manual order
+     * @param categoryFlag Flag of the category
+     * @return ArrayList containing the IDs of the video games, those never placed manually being last
+     */
+    ArrayList<Integer> readManualOrderIds(int categoryFlag) {
+
+        // Read the IDs returned by both queries of the manual order
+        ArrayList<Integer> ids = new ArrayList<>();
+        String listId = String.valueOf(getCategoryListId(categoryFlag));
+        for (String query : buildManualOrderQueries("v." + COLUMN_ID, categoryFlag)) {
+            try (Cursor cursor = this.getReadableDatabase().rawQuery(query, new String[]{listId})) {
+                while (cursor.moveToNext()) {
+                    ids.add(cursor.getInt(0));
+                }
+            }
+        }
+        return ids;
+
+    }
+
+    /**
+     * Method allowing to read all video games within a category from the database in their manual order
+     * @param categoryFlag Flag of the category
+     * @return ArrayList containing the video games, those never placed manually being last
+     */
+    ArrayList<VideoGame> readManualOrderVideoGames(int categoryFlag) {
+
+        // Read the video games returned by both queries of the manual order
+        ArrayList<VideoGame> manualOrderVideoGames = new ArrayList<>();
+        String listId = String.valueOf(getCategoryListId(categoryFlag));
+        for (String query : buildManualOrderQueries("v.*", categoryFlag)) {
+            manualOrderVideoGames.addAll(mapCursorToVideoGames(this.getReadableDatabase().rawQuery(query, new String[]{listId})));
+        }
+        return manualOrderVideoGames;
+
+    }
+
+    /**
+     * Method allowing to build the queries reading the video games of a category in their manual order, each one taking the ID of the list as its argument
+     * The video games placed manually are read by walking the index on the keys of the list, followed by the others sorted by title using the partial index of the category
+     * @param columns Columns of the video games to read
+     * @param categoryFlag Flag of the category
+     * @return Array containing both queries in the order in which their rows are displayed
+     */
+    private static String[] buildManualOrderQueries(String columns, int categoryFlag) {
+
+        // Join the keys of the list to their video games, which are then read without their keys
+        String condition = buildCategoryCondition("v.", categoryFlag);
+        return new String[] {
+                "SELECT " + columns + " FROM " + TABLE_MANUAL_ORDER + " o JOIN " + TABLE_VIDEO_GAMES + " v ON v." + COLUMN_ID + " = o." + COLUMN_GAME_ID
+                        + " WHERE o." + COLUMN_LIST_ID + " = ? AND " + condition + " ORDER BY o." + COLUMN_SORT_KEY,
+                "SELECT " + columns + " FROM " + TABLE_VIDEO_GAMES + " v WHERE " + condition
+                        + " AND NOT EXISTS (SELECT 1 FROM " + TABLE_MANUAL_ORDER + " o WHERE o." + COLUMN_LIST_ID + " = ? AND o." + COLUMN_GAME_ID + " = v." + COLUMN_ID + ")"
+                        + " ORDER BY v." + COLUMN_TITLE + " ASC"
+        };
+
+    }
+
+    /**
+     * Method allowing to read a column of IDs returned by a query filtered by a single ID
+     * @param query Query returning the IDs
+     * @param id ID used as the argument of the query
+     * @return ArrayList containing the IDs returned by the query
+     */
+    private ArrayList<Integer> readIds(String query, int id) {
+
+        // Read every ID returned by the query
+        ArrayList<Integer> ids = new ArrayList<>();
+        try (Cursor cursor = this.getReadableDatabase().rawQuery(query, new String[]{String.valueOf(id)})) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(0));
+            }
+        }
+        return ids;
+
+    }
+
+    /**
+     * Method allowing to map a Cursor object to an Arraylist of video games
+     * @param cursor Cursor containing the video games to be mapped
+     * @return ArrayList containing the mapped video games
+     */
+    public ArrayList<VideoGame> mapCursorToVideoGames(Cursor cursor) {
+
+        // Return an empty ArrayList if no cursor was obtained
+        if (cursor == null) {
+            return new ArrayList<>();
+        }
+
+        // Map the cursor using a row mapper which resolves the position of each column only once
+        return new VideoGameRowMapper(cursor).mapAll(cursor);
 
     }
 
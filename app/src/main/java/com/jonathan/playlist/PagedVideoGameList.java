@@ -0,0 +1,412 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      PagedVideoGameList.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * List of the video games of a category read one page at a time as the user scrolls through the RecyclerView
+ * Pages far from the displayed position are dropped and read again from their boundary keys when they are displayed once more
+ * The list must only be used on the main thread, where the pages are delivered
+ */
+class PagedVideoGameList extends AbstractList<VideoGame> {
+
+    // Amount of video games read at once
+    static final int PAGE_SIZE = 50;
+
+    // Maximum amount of pages kept in memory at the same time
+    static final int MAX_LOADED_PAGES = 6;
+
+    // Amount of video games from the end of the list at which the next page is read
+    private static final int PREFETCH_DISTANCE = PAGE_SIZE / 2;
+
+    /**
+     * Interface allowing to be notified when pages are added or read again
+     */
+    interface OnPageLoadedListener {
+
+        /**
+         * Method executed when a new page is added at the end of the list
+         * @param positionStart Position of the first video game of the page
+         * @param itemCount Amount of video games within the page
+         */
+        void onPageInserted(int positionStart, int itemCount);
+
+        /**
+         * Method executed when a dropped page is read again and can be displayed
+         * @param positionStart Position of the first video game of the page
+         * @param itemCount Amount of video games within the page
+         */
+        void onPageReloaded(int positionStart, int itemCount);
+
+        /**
+         * Method executed when a page read again no longer has the same amount of video games, shifting the following positions
+         */
+        void onPagesInvalidated();
+
+    }
+
+    // VideoGameRepository from which the pages are read
+    private final VideoGameRepository videoGameRepository;
+
+    // Category and sorting of the video games of the list
+    private final String category, sortColumn, sortOrder;
+
+    // Video games of each page, a page being null once it has been dropped
+    private final ArrayList<ArrayList<VideoGame>> pages = new ArrayList<>();
+
+    // Amount of video games within each page, kept once a page has been dropped
+    private final ArrayList<Integer> pageSizes = new ArrayList<>();
+
+    // Key after which each page starts, the last key being the one after which the next unread page starts
+    private final ArrayList<VideoGamePageKey> boundaryKeys = new ArrayList<>();
+
+    // Pages currently being read indexed by their position
+    private final HashMap<Integer, DatabaseTask> pendingPages = new HashMap<>();
+
+    // Total amount of video games within the pages that were read
+    private int size;
+
+    // Page containing the last video game that was displayed, around which pages are kept in memory
+    private int lastAccessedPage;
+
+    // Flags indicating if the last page was read and if the list is no longer in use
+    private boolean isEndReached, isClosed;
+
+    // Listener notified when pages are added or read again
+    private OnPageLoadedListener onPageLoadedListener;
+
+    /**
+     * Constructor for the PagedVideoGameList object
+     * @param videoGameRepository VideoGameRepository from which the pages are read
+     * @param category Category of the video games
+     * @param sortColumn Column by which the video games are sorted
+     * @param sortOrder Order in which the video games are sorted
+     * @param firstPage Video games of the first page
+     */
+    PagedVideoGameList(VideoGameRepository videoGameRepository, String category, String sortColumn, String sortOrder, ArrayList<VideoGame> firstPage) {
+
+        // Association between the parameters and the attributes of the PagedVideoGameList class
+        this.videoGameRepository = videoGameRepository;
+        this.category = category;
+        this.sortColumn = sortColumn;
+        this.sortOrder = sortOrder;
+
+        // Add the first page to the list
+        boundaryKeys.add(null);
+        appendPage(firstPage);
+
+    }
+
+    /**
+     * Method allowing to obtain the video game at a specific position, reading its page if it is not in memory
+     * @param position Position of the video game
+     * @return Video game at the specified position, or null if its page is being read
+     */
+    @Override
+    public VideoGame get(int position) {
+
+        // Verify that the position is within the list
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of " + size);
+        }
+
+        // Find the page containing the position
+        int pageIndex = 0;
+        int pageStart = 0;
+        while (position >= pageStart + pageSizes.get(pageIndex)) {
+            pageStart += pageSizes.get(pageIndex);
+            pageIndex++;
+        }
+        lastAccessedPage = pageIndex;
+
+        // Read the next page when the end of the list is getting close
+        if (!isEndReached && position >= size - PREFETCH_DISTANCE) {
+            requestPage(pages.size());
+        }
+
+        // Return the video game, or read its page again if it was dropped
+        ArrayList<VideoGame> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        return page.get(position - pageStart);
+
+    }
+
+    /**
+     * Method allowing to obtain the amount of video games within the pages that were read
+     * @return Amount of video games within the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method allowing to remove the video game at a specific position from a page in memory
+     * @param position Position of the video game
+     * @return Video game that was removed, or null if its page is not in memory
+     */
+    @Override
+    public VideoGame remove(int position) {
+
+        // Find the page containing the position
+        int pageIndex = 0;
+        int pageStart = 0;
+        while (position >= pageStart + pageSizes.get(pageIndex)) {
+            pageStart += pageSizes.get(pageIndex);
+            pageIndex++;
+        }
+
+        // Remove the video game from its page if the page is in memory
+        ArrayList<VideoGame> page = pages.get(pageIndex);
+        if (page == null) {
+            return null;
+        }
+        VideoGame videoGame = page.remove(position - pageStart);
+        pageSizes.set(pageIndex, page.size());
+        size--;
+        modCount++;
+        return videoGame;
+
+    }
+
+    /**
+     * Method allowing to replace the video game at a specific position within a page in memory
+     * @param position Position of the video game
+     * @param videoGame Video game replacing the previous one
+     * @return Video game that was replaced, or null if its page is not in memory
+     */
+    @Override
+    public VideoGame set(int position, VideoGame videoGame) {
+
+        // Find the page containing the position
+        int pageIndex = 0;
+        int pageStart = 0;
+        while (position >= pageStart + pageSizes.get(pageIndex)) {
+            pageStart += pageSizes.get(pageIndex);
+            pageIndex++;
+        }
+
+        // Replace the video game within its page if the page is in memory, a page read again containing the new values anyway
+        ArrayList<VideoGame> page = pages.get(pageIndex);
+        if (page == null) {
+            return null;
+        }
+        return page.set(position - pageStart, videoGame);
+
+    }
+
+    /**
+     * Method allowing to find the position of a video game within the pages in memory without reading any page
+     * @param id ID of the video game
+     * @return Position of the video game, or -1 if it is not within a page in memory
+     */
+    int indexOfLoadedId(int id) {
+
+        // Search each page in memory for the video game
+        int pageStart = 0;
+        for (int pageIndex = 0; pageIndex < pages.size(); pageIndex++) {
+            ArrayList<VideoGame> page = pages.get(pageIndex);
+            if (page != null) {
+                for (int index = 0; index < page.size(); index++) {
+                    if (page.get(index).getId() == id) {
+                        return pageStart + index;
+                    }
+                }
+            }
+            pageStart += pageSizes.get(pageIndex);
+        }
+        return -1;
+
+    }
+
+    /**
+     * Method allowing to obtain a video game within the pages in memory without reading any page nor changing the pages kept in memory
+     * @param position Position of the video game within the list
+     * @return Video game at the position, or null if its page is not in memory
+     */
+    VideoGame peek(int position) {
+
+        // Find the page containing the position and return the video game only if the page is in memory
+        int pageStart = 0;
+        for (int pageIndex = 0; pageIndex < pages.size(); pageIndex++) {
+            int pageSize = pageSizes.get(pageIndex);
+            if (position < pageStart + pageSize) {
+                ArrayList<VideoGame> page = pages.get(pageIndex);
+                return page != null && position >= pageStart ? page.get(position - pageStart) : null;
+            }
+            pageStart += pageSize;
+        }
+        return null;
+
+    }
+
+    /**
+     * Method allowing to set the listener notified when pages are added or read again
+     * @param onPageLoadedListener Listener notified when pages are added or read again
+     */
+    void setOnPageLoadedListener(OnPageLoadedListener onPageLoadedListener) {
+        this.onPageLoadedListener = onPageLoadedListener;
+    }
+
+    /**
+     * Method allowing to stop reading pages once the list is no longer displayed
+     */
+    void close() {
+
+        // Cancel the pages being read and stop notifying the listener
+        isClosed = true;
+        for (DatabaseTask task : pendingPages.values()) {
+            task.cancel();
+        }
+        pendingPages.clear();
+        onPageLoadedListener = null;
+
+    }
+
+    /**
+     * Getter for the category attribute
+     * @return Category of the video games
+     */
+    String getCategory() {
+        return category;
+    }
+
+    /**
+     * Getter for the sortColumn attribute
+     * @return Column by which the video games are sorted
+     */
+    String getSortColumn() {
+        return sortColumn;
+    }
+
+    /**
+     * Getter for the sortOrder attribute
+     * @return Order in which the video games are sorted
+     */
+    String getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * Method allowing to read a page on the database thread unless it is already being read
+     * @param pageIndex Position of the page, the position following the last page reading a new page
+     */
+    private void requestPage(int pageIndex) {
+
+        // Do not read the page twice or once the list is no longer in use
+        if (isClosed || pendingPages.containsKey(pageIndex)) {
+            return;
+        }
+
+        // Read the page starting after its boundary key with the amount of video games it contained when it was dropped
+        int pageSize = pageIndex < pages.size() ? pageSizes.get(pageIndex) : PAGE_SIZE;
+        pendingPages.put(pageIndex, videoGameRepository.readVideoGamesPage(category, sortColumn, sortOrder, boundaryKeys.get(pageIndex), pageSize, page -> {
+            pendingPages.remove(pageIndex);
+            onPageRead(pageIndex, page);
+        }));
+
+    }
+
+    /**
+     * Method executed on the main thread once a page has been read
+     * @param pageIndex Position of the page
+     * @param page Video games of the page
+     */
+    private void onPageRead(int pageIndex, ArrayList<VideoGame> page) {
+
+        // Add the page at the end of the list if it is a new page
+        if (pageIndex == pages.size()) {
+            int positionStart = size;
+            appendPage(page);
+            if (onPageLoadedListener != null && !page.isEmpty()) {
+                onPageLoadedListener.onPageInserted(positionStart, page.size());
+            }
+        }
+
+        // Put the page back in memory if it was dropped
+        else {
+            int positionStart = 0;
+            for (int index = 0; index < pageIndex; index++) {
+                positionStart += pageSizes.get(index);
+            }
+            int previousSize = pageSizes.get(pageIndex);
+            pages.set(pageIndex, page);
+            pageSizes.set(pageIndex, page.size());
+            size += page.size() - previousSize;
+            if (onPageLoadedListener != null) {
+                if (page.size() == previousSize) {
+                    onPageLoadedListener.onPageReloaded(positionStart, page.size());
+                }
+                else {
+                    onPageLoadedListener.onPagesInvalidated();
+                }
+            }
+        }
+
+        // Drop the pages which are the farthest from the displayed position
+        dropFarthestPages();
+
+    }
+
+    /**
+     * Method allowing to add a page at the end of the list
+     * @param page Video games of the page
+     */
+    private void appendPage(ArrayList<VideoGame> page) {
+
+        // An empty or incomplete page means that the last video game of the category was reached
+        if (page.size() < PAGE_SIZE) {
+            isEndReached = true;
+        }
+        if (page.isEmpty()) {
+            return;
+        }
+
+        // Add the page and the key after which the next page starts
+        pages.add(page);
+        pageSizes.add(page.size());
+        boundaryKeys.add(VideoGamePageKey.of(page.get(page.size() - 1), sortColumn));
+        size += page.size();
+        modCount++;
+
+    }
+
+    /**
+     * Method allowing to drop the pages farthest from the displayed position until few enough pages are kept in memory
+     */
+    private void dropFarthestPages() {
+
+        // Count the pages in memory
+        int loadedPages = 0;
+        for (ArrayList<VideoGame> page : pages) {
+            if (page != null) {
+                loadedPages++;
+            }
+        }
+
+        // Drop the farthest page until the maximum amount of pages is respected
+        while (loadedPages > MAX_LOADED_PAGES) {
+            int farthestPage = -1;
+            for (int pageIndex = 0; pageIndex < pages.size(); pageIndex++) {
+                if (pages.get(pageIndex) != null && (farthestPage == -1 || Math.abs(pageIndex - lastAccessedPage) > Math.abs(farthestPage - lastAccessedPage))) {
+                    farthestPage = pageIndex;
+                }
+            }
+            pages.set(farthestPage, null);
+            loadedPages--;
+        }
+
+    }
+
+}
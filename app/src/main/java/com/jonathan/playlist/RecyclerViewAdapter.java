@@ -8,10 +8,12 @@
 package com.jonathan.playlist;
 
 import  android.annotation.SuppressLint;
-import android.content.ContentResolver;
 import android.content.Context;
 import android.content.Intent;
-import android.net.Uri;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -24,19 +26,25 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
-import java.io.File;
-import java.io.InputStream;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Objects;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * RecyclerViewAdapter containing the detailed view of video games within the backlog, collection, completion and wishlist
  */
 public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapter.MyViewHolder> {
 
+    // Payloads indicating which part of a row changed, so that only the text or only the cover art of the row is bound again
+    static final String PAYLOAD_TEXT = "text";
+    static final String PAYLOAD_COVER = "cover";
+
     // Integer indicating whether or not images should be displayed
     private final int imageDisplayMode;
 
@@ -52,28 +60,108 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
     // TextView used to display a message if no video games were found when searching
     private final TextView textViewResultsFound;
 
-    // ArrayList received as parameters containing the data that will be displayed
-    private ArrayList<VideoGame> videoGames;
+    // List received as parameters containing the data that will be displayed, read one page at a time for large libraries
+    private List<VideoGame> videoGames;
+
+    // List used when the RecyclerView is filtered
+    private List<VideoGame> videoGamesCopy;
+
+    // Delay in milliseconds without typing after which the search query is applied
+    private static final long SEARCH_DEBOUNCE_DELAY = 150;
+
+    // Handler and Runnable allowing to apply the latest search query once the user stops typing
+    private String pendingSearchQuery = "";
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = () -> runSearch(pendingSearchQuery);
+
+    // Generation of the latest search, allowing the obsolete searches to stop as soon as possible on the computation thread
+    private final AtomicInteger searchGeneration = new AtomicInteger();
+
+    // Snapshot of the list used when the RecyclerView is filtered which is searched on the computation thread, rebuilt when the video games change
+    private List<VideoGame> searchSnapshot;
+
+    // Index of the words of the snapshot, built during the first search of the snapshot
+    private VideoGameSearchIndex searchIndex;
+
+    // Latest search query applied to the snapshot and the positions within the snapshot of the video games it found in ascending order
+    private String lastSearchQuery;
+    private int[] lastSearchPositions;
+
+    // Positions within the snapshot of the displayed video games in the order in which they are displayed, or null if they are unknown
+    private int[] displayedPositions;
+
+    // Status indicating whether or not the latest search of the database left out some of the matching video games
+    private boolean isSearchCapped = false;
+
+    // Status indicating whether or not every video game of the list used when the RecyclerView is filtered is displayed
+    private boolean isDisplayingAll = true;
+
+    // Status indicating whether or not the video games are displayed in their manual order, allowing them to be dragged to a new position
+    private boolean isManualOrder = false;
+
+    // DatabaseTask searching for the video games matching the search query on a background thread
+    private DatabaseTask searchTask;
+
+    // DatabaseTask comparing the displayed video games with the refreshed ones on the computation thread
+    private DatabaseTask diffTask;
+
+    // Indexes of the positions of the video games within the displayed list and the list used when the RecyclerView is filtered, built when a position is first searched
+    private VideoGamePositionIndex positionIndex, copyPositionIndex;
+
+    // Version of the displayed list, changed each time the list is replaced or a video game is removed from it so that an obsolete comparison is never dispatched
+    private int displayedVersion;
+
+    // Listener notifying the RecyclerView when the pages of a PagedVideoGameList are read
+    private final PagedVideoGameList.OnPageLoadedListener onPageLoadedListener = new PagedVideoGameList.OnPageLoadedListener() {
+
+        @Override
+        public void onPageInserted(int positionStart, int itemCount) {
+            prepareRows(videoGames, positionStart, itemCount);
+            notifyItemRangeInserted(positionStart, itemCount);
+        }
+
+        @Override
+        public void onPageReloaded(int positionStart, int itemCount) {
+            prepareRows(videoGames, positionStart, itemCount);
+            notifyItemRangeChanged(positionStart, itemCount);
+        }
+
+        @SuppressLint("NotifyDataSetChanged")
+        @Override
+        public void onPagesInvalidated() {
+            notifyDataSetChanged();
+        }
 
-    // ArrayList used when the RecyclerView is filtered
-    private ArrayList<VideoGame> videoGamesCopy;
+    };
     
     // Animation used to enable smooth scrolling in the recycler view
     Animation recyclerViewTranslate;
 
-    // MySQLiteOpenHelper allowing to manage the database
-    MySQLiteOpenHelper mySQLiteOpenHelper;
+    // VideoGameRepository allowing to manage the library shared by every screen
+    VideoGameRepository videoGameRepository;
+
+    // CoverArtLoader allowing to decode the cover art of the video games on background threads
+    CoverArtLoader coverArtLoader;
+
+    // Size in pixels of the ImageView displaying the cover art, known once the first row is created
+    private int coverArtWidth, coverArtHeight;
+
+    // VideoGameRowBinder formatting the text of the rows of the fragment
+    private final VideoGameRowBinder rowBinder;
+
+    // Rows prepared for each video game, kept only while the video game is referenced since the repository replaces the video games which change
+    private final Map<VideoGame, VideoGameRowBinder.Row> rows = new WeakHashMap<>();
 
     /**
      * Constructor for the DetailedRecyclerAdapter object
      * @param context Context received from the activity
      * @param fragmentName String indicating which fragment the RecyclerViewAdapter is utilized in
      * @param textViewResultsFound TextView used to display a message if no video games were found
-     * @param videoGames ArrayList containing VideoGame objects
+     * @param videoGames List containing VideoGame objects
      * @param imageDisplayMode Integer stored in the SharedPreferences indicating if images should be displayed or not
      * @param deletionConfirmation Integer stored in the SharedPreferences indicating if confirmation should be asked when deleting a video game
      */
-    RecyclerViewAdapter(Context context, String fragmentName, TextView textViewResultsFound, ArrayList<VideoGame> videoGames, int imageDisplayMode, int deletionConfirmation) {
+    RecyclerViewAdapter(Context context, String fragmentName, TextView textViewResultsFound, List<VideoGame> videoGames, int imageDisplayMode, int deletionConfirmation) {
 
         // Association between the class's properties and the parameters received by the constructor
         this.context = context;
@@ -86,8 +174,16 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
         // Initialization of the ArrayLists used when the RecyclerView is filtered by copying the original ArrayLists into them
         this.videoGamesCopy = new ArrayList<>(videoGames);
 
-        // Initialization of the MySQLiteOpenHelper
-        mySQLiteOpenHelper = new MySQLiteOpenHelper(context);
+        // Obtain the VideoGameRepository and the CoverArtLoader shared by the whole application
+        videoGameRepository = VideoGameRepository.getInstance(context);
+        coverArtLoader = CoverArtLoader.getInstance(context);
+
+        // Obtain the binder of the fragment and prepare the rows of the video games received
+        rowBinder = VideoGameRowBinder.forFragment(context, fragmentName);
+        prepareRows(videoGames, 0, videoGames.size());
+
+        // Identify the rows by the IDs of their video games so that the RecyclerView keeps their views when they move
+        setHasStableIds(true);
 
     }
 
@@ -104,7 +200,13 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
         // Inflate the layout for the RecyclerView item and return a MyViewHolder containing a specific video game
         LayoutInflater layoutInflater = LayoutInflater.from(context);
         View view = layoutInflater.inflate(R.layout.recycler_view_adapter_item, parent, false);
-        return new MyViewHolder(view);
+        MyViewHolder holder = new MyViewHolder(view);
+
+        // Remember the size of the cover art so that the cover art of the upcoming rows can be prefetched at the same size
+        ViewGroup.LayoutParams layoutParams = holder.imageViewCoverArt.getLayoutParams();
+        coverArtWidth = layoutParams.width;
+        coverArtHeight = layoutParams.height;
+        return holder;
 
     }
 
@@ -113,17 +215,74 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
      * @param holder The ViewHolder which should be updated to represent the contents of the item at the given position in the data set
      * @param position The position of the item within the adapter's data set
      */
-    @SuppressLint("SetTextI18n")
     @Override
     public void onBindViewHolder(@NonNull MyViewHolder holder, int position) {
 
-        // Setting text to each corresponding field in the RecyclerView
-        holder.textViewTitle.setText(String.valueOf(videoGames.get(position).getTitle()));
-        holder.textViewPlatform.setText(String.valueOf(videoGames.get(position).getPlatform()));
-        holder.textViewPublisher.setText(String.valueOf(videoGames.get(position).getPublisher()));
-        holder.textViewDate.setText(String.valueOf(videoGames.get(position).getReleaseDate()));
+        // Obtain the video game, which is null while its page is being read
+        VideoGame videoGame = videoGames.get(position);
+        if (videoGame == null) {
+            bindPlaceholder(holder);
+            return;
+        }
+
+        // Bind the text and the cover art of the video game
+        bindText(holder, videoGame);
+        bindCoverArt(holder, videoGame);
+
+    }
+
+    /**
+     * Method allowing to bind again only the parts of a row which changed
+     * @param holder The ViewHolder which should be updated to represent the contents of the item at the given position in the data set
+     * @param position The position of the item within the adapter's data set
+     * @param payloads Payloads indicating which parts of the row changed, or an empty list if the whole row must be bound
+     */
+    @Override
+    public void onBindViewHolder(@NonNull MyViewHolder holder, int position, @NonNull List<Object> payloads) {
+
+        // Bind the whole row if the parts which changed are unknown or if the page of the video game is still being read
+        VideoGame videoGame = videoGames.get(position);
+        if (payloads.isEmpty() || videoGame == null) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+
+        // Bind again the text or the cover art of the video game, keeping the rest of the row as is
+        if (payloads.contains(PAYLOAD_TEXT)) {
+            bindText(holder, videoGame);
+        }
+        if (payloads.contains(PAYLOAD_COVER)) {
+            bindCoverArt(holder, videoGame);
+        }
+
+    }
+
+    /**
+     * Method allowing to set the text prepared for a video game to each corresponding field of a row
+     * @param holder The ViewHolder which will display the text
+     * @param videoGame Video game displayed by the row
+     */
+    private void bindText(MyViewHolder holder, VideoGame videoGame) {
+
+        // Setting the text prepared for the video game to each corresponding field in the RecyclerView
+        VideoGameRowBinder.Row row = getRow(videoGame);
+        holder.textViewTitle.setText(row.title);
+        holder.textViewPlatform.setText(row.platform);
+        holder.textViewPublisher.setText(row.publisher);
+        holder.textViewDate.setText(row.date);
+        holder.textViewCategory.setText(row.category);
+
+    }
+
+    /**
+     * Method allowing to display the cover art of a video game in a row if images should be displayed
+     * @param holder The ViewHolder which will display the cover art
+     * @param videoGame Video game displayed by the row
+     */
+    private void bindCoverArt(MyViewHolder holder, VideoGame videoGame) {
 
         // Verify if images should be displayed in the RecyclerView
+        holder.cancelCoverArt();
         if (imageDisplayMode == 0) {
             // Set the visibility of the ImageView to GONE if images should not be displayed
             holder.imageViewCoverArt.setVisibility(View.GONE);
@@ -131,113 +290,161 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
         else {
             // Set the visibility of the ImageView to VISIBLE if images should be displayed
             holder.imageViewCoverArt.setVisibility(View.VISIBLE);
-            // Obtain the URI of the cover art image associated to the video game
-            Uri imageUri = Uri.parse(videoGames.get(position).getImagePath());
-            // Attempt to load the cover art image using the URI
-            try {
-                // Verify if the file corresponding to the URI exists
-                if (Objects.equals(imageUri.getScheme(), "file")) {
-                    File imageFile = new File(imageUri.getPath());
-                    // If the image file exists, set the image to the ImageView
-                    if (imageFile.exists()) {
-                        holder.imageViewCoverArt.setImageURI(imageUri);
-                    }
-                    // If the image file does not exist, set the image to a placeholder
-                    else {
-                        holder.imageViewCoverArt.setImageResource(R.drawable.baseline_image_24);
-                    }
-                }
-                // If the URI scheme is content, use ContentResolver to load the image
-                else if (Objects.equals(imageUri.getScheme(), "content")) {
-                    ContentResolver contentResolver = holder.imageViewCoverArt.getContext().getContentResolver();
-                    InputStream inputStream = contentResolver.openInputStream(imageUri);
-                    // If the input stream is not null, set the image to the ImageView
-                    if (inputStream != null) {
-                        inputStream.close();
-                        holder.imageViewCoverArt.setImageURI(imageUri);
-                    }
-                    // If the input stream is null, set the image to a placeholder
-                    else {
-                        holder.imageViewCoverArt.setImageResource(R.drawable.baseline_image_24);
-                    }
-                }
-                // If the URI scheme is not supported, set the image to a placeholder
-                else {
-                    holder.imageViewCoverArt.setImageResource(R.drawable.baseline_image_24);
-                }
-            }
-            // Display the placeholder image if any exceptions are thrown when attempting to display the cover image
-            catch (Exception e) {
-                holder.imageViewCoverArt.setImageResource(R.drawable.baseline_image_24);
-            }
+            // Decode the cover art image on a background thread while the placeholder is displayed
+            loadCoverArt(holder, videoGame);
         }
 
+    }
 
-        // Set the text of the category specific TextView based on the currently active fragment
-        switch (fragmentName) {
+    /**
+     * Method allowing to obtain the row prepared for a video game, preparing it right away if it was not prepared on the computation thread yet
+     * @param videoGame Video game displayed by the row
+     * @return Row containing the formatted text of the video game
+     */
+    private VideoGameRowBinder.Row getRow(VideoGame videoGame) {
 
-            // Set the playtime in the category specific TextView if the currently active fragment is the backlog
-            case "backlog":
-                if (videoGames.get(position).getPlaytime() <= 0) {
-                    holder.textViewCategory.setText(context.getString(R.string.playtime_no));
-                }
-                else if (videoGames.get(position).getPlaytime() == 1) {
-                    holder.textViewCategory.setText(videoGames.get(position).getPlaytime() + " " + context.getString(R.string.hour));
-                }
-                else {
-                    holder.textViewCategory.setText(videoGames.get(position).getPlaytime() + " " + context.getString(R.string.hours));
-                }
-                break;
+        // Prepare the row only if it is bound before its preparation on the computation thread has completed
+        VideoGameRowBinder.Row row = rows.get(videoGame);
+        if (row == null) {
+            row = rowBinder.createRow(videoGame);
+            rows.put(videoGame, row);
+        }
+        return row;
 
-            // Set the price in the category specific TextView if the currently active fragment is the collection
-            case "collection":
-                if (videoGames.get(position).getPrice() <= 0) {
-                    holder.textViewCategory.setText(context.getString(R.string.free));
-                }
-                else {
-                    DecimalFormat decimalFormat = new DecimalFormat("0.00");
-                    String formattedPrice = decimalFormat.format(videoGames.get(position).getPrice());
-                    holder.textViewCategory.setText("$" + formattedPrice);
-                }
-                break;
+    }
 
-            // Set the completion date in the release date TextView and set the playtime in the category specific TextView if the currently active fragment is the completion list
-            case "completion":
-                // Set the completion date in the corresponding TextView
-                if (videoGames.get(position).getCompletionDate() == null) {
-                    holder.textViewDate.setText(context.getString(R.string.completion_date_no));
-                }
-                else {
-                    holder.textViewDate.setText(String.valueOf(videoGames.get(position).getCompletionDate()));
-                }
-                // Set the playtime in the corresponding TextView
-                if (videoGames.get(position).getPlaytime() <= 0) {
-                    holder.textViewCategory.setText(context.getString(R.string.playtime_no));
-                }
-                else if (videoGames.get(position).getPlaytime() == 1) {
-                    holder.textViewCategory.setText(videoGames.get(position).getPlaytime() + " " + context.getString(R.string.hour));
-                }
-                else {
-                    holder.textViewCategory.setText(videoGames.get(position).getPlaytime() + " " + context.getString(R.string.hours));
-                }
-                break;
+    /**
+     * Method allowing to prepare on the computation thread the rows of the video games which do not have a row yet
+     * @param videoGamesPrepared List containing the video games
+     * @param positionStart Position of the first video game whose row will be prepared
+     * @param itemCount Amount of video games whose rows will be prepared
+     */
+    private void prepareRows(List<VideoGame> videoGamesPrepared, int positionStart, int itemCount) {
+
+        // Obtain the video games without a row, reading only the pages in memory of a PagedVideoGameList
+        ArrayList<VideoGame> pending = new ArrayList<>();
+        for (int position = positionStart; position < positionStart + itemCount && position < videoGamesPrepared.size(); position++) {
+            VideoGame videoGame = videoGamesPrepared instanceof PagedVideoGameList ? ((PagedVideoGameList) videoGamesPrepared).peek(position) : videoGamesPrepared.get(position);
+            if (videoGame != null && !rows.containsKey(videoGame)) {
+                pending.add(videoGame);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
 
-            // Set the price in the category specific TextView if the currently active fragment is the wishlist
-            case "wishlist":
-                if (videoGames.get(position).getPrice() <= 0) {
-                    holder.textViewCategory.setText(context.getString(R.string.free));
+        // Format the rows on the computation thread and keep them once they are ready, the rows bound in the meantime being prepared right away
+        DatabaseExecutor.getInstance().submitComputation(() -> rowBinder.createRows(pending), preparedRows -> {
+            for (int i = 0; i < preparedRows.length; i++) {
+                if (!rows.containsKey(pending.get(i))) {
+                    rows.put(pending.get(i), preparedRows[i]);
                 }
-                else {
-                    DecimalFormat decimalFormat = new DecimalFormat("0.00");
-                    String formattedPrice = decimalFormat.format(videoGames.get(position).getPrice());
-                    holder.textViewCategory.setText("$" + formattedPrice);
+            }
+        });
+
+    }
+
+    /**
+     * Method allowing to decode the cover art of a video game on a background thread and to display it if the holder is still bound to the video game
+     * @param holder The ViewHolder which will display the cover art
+     * @param videoGame Video game whose cover art will be displayed
+     */
+    private void loadCoverArt(MyViewHolder holder, VideoGame videoGame) {
+
+        // Display the placeholder image until the cover art is decoded, replaced by the preview stored with the video game if it was generated
+        holder.releaseCoverArt();
+        Drawable coverPreview = CoverPreview.toDrawable(holder.imageViewCoverArt.getResources(), videoGame.getCoverPreview());
+        if (coverPreview != null) {
+            holder.imageViewCoverArt.setImageDrawable(coverPreview);
+        }
+
+        // Decode the list thumbnail, or the original cover art until it is generated, at the size of the ImageView, the placeholder being kept if the cover art cannot be found
+        ViewGroup.LayoutParams layoutParams = holder.imageViewCoverArt.getLayoutParams();
+        String imagePath = getListImagePath(videoGame);
+        int videoGameId = videoGame.getId();
+        holder.coverArtVideoGameId = videoGameId;
+        holder.coverArtTask = coverArtLoader.loadRow(imagePath, layoutParams.width, layoutParams.height, coverArt -> {
+            if (holder.coverArtVideoGameId == videoGameId) {
+                holder.coverArtTask = null;
+                if (coverArt != null) {
+                    holder.displayCoverArt(coverArt);
                 }
-                break;
+            }
+        });
+
+    }
 
+    /**
+     * Method allowing to decode the cover art of a row which is about to be displayed, ahead of its binding
+     * @param position Position of the row within the RecyclerView
+     * @param distance Distance in rows between the row and the visible rows
+     * @return DatabaseTask allowing to cancel the prefetch, or null if nothing needs to be decoded
+     */
+    DatabaseTask prefetchCoverArt(int position, int distance) {
+
+        // Ignore the rows outside of the list, the rows without images and the rows created before the size of the cover art is known
+        if (imageDisplayMode == 0 || coverArtWidth <= 0 || position < 0 || position >= videoGames.size()) {
+            return null;
         }
 
-        // Bind the position of the video game to the ViewHolder
-        holder.bind(position);
+        // Prefetch the cover art of the video game unless its page is still being read
+        VideoGame videoGame = videoGames.get(position);
+        return videoGame != null ? coverArtLoader.prefetch(getListImagePath(videoGame), coverArtWidth, coverArtHeight, distance) : null;
+
+    }
+
+    /**
+     * Method allowing to obtain the image path displayed by a row
+     * @param videoGame Video game displayed by the row
+     * @return Image path of the list thumbnail, or of the original cover art until the thumbnail is generated
+     */
+    private static String getListImagePath(VideoGame videoGame) {
+        return videoGame.getListThumbnail() != null ? videoGame.getListThumbnail().getPath() : videoGame.getImagePath();
+    }
+
+    /**
+     * Method allowing to cancel the decoding of the cover art of a ViewHolder which is no longer displayed
+     * @param holder The ViewHolder being recycled
+     */
+    @Override
+    public void onViewRecycled(@NonNull MyViewHolder holder) {
+
+        // Cancel the decoding of the cover art and release the displayed cover art since the ViewHolder will be bound to another video game
+        super.onViewRecycled(holder);
+        holder.cancelCoverArt();
+        holder.releaseCoverArt();
+
+    }
+
+    /**
+     * Method allowing to display an empty row while the page containing the video game is being read
+     * @param holder The ViewHolder which will display the empty row
+     */
+    private void bindPlaceholder(MyViewHolder holder) {
+
+        // Clear the text of each field and display the placeholder image
+        holder.cancelCoverArt();
+        holder.textViewTitle.setText("");
+        holder.textViewPlatform.setText("");
+        holder.textViewPublisher.setText("");
+        holder.textViewDate.setText("");
+        holder.textViewCategory.setText("");
+        holder.imageViewCoverArt.setVisibility(imageDisplayMode == 0 ? View.GONE : View.VISIBLE);
+        holder.releaseCoverArt();
+
+    }
+
+    /**
+     * Method allowing to obtain the stable ID of a row
+     * @param position The position of the item within the adapter's data set
+     * @return ID of the video game, or a negative ID unique to the position while the page of the video game is being read
+     */
+    @Override
+    public long getItemId(int position) {
+
+        // Obtain the video game without reading any page of a PagedVideoGameList
+        VideoGame videoGame = videoGames instanceof PagedVideoGameList ? ((PagedVideoGameList) videoGames).peek(position) : videoGames.get(position);
+        return videoGame != null ? videoGame.getId() : -2L - position;
 
     }
 
@@ -269,82 +476,439 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
     }
 
     /**
-     * Method allowing to search for and filter video games within the RecyclerView using the video game titles
+     * Method allowing to search for and filter video games within the RecyclerView using the titles, platforms and publishers of the video games
+     * The search query is applied once the user stops typing, the video games being filtered on a background thread
+     * Every word of the search query must start a word of the video game, and the video games are displayed from the most to the least relevant
      * @param query Search query text used to update the RecyclerView
      */
-    @SuppressLint("NotifyDataSetChanged")
     public void search(String query) {
 
-        // Sanitize the search query text by removing special characters and extra spaces
-        query = query.replaceAll("[^a-zA-Z0-9 ]", "");
-        query = query.replaceAll("\\s{2,}", " ");
-        query = query.trim();
+        // Sanitize the search query text by keeping only its words, in lower case and without their diacritics
+        pendingSearchQuery = VideoGameSearchQuery.normalize(query);
 
-        // Clear the original ArrayLists of video games
-        videoGames.clear();
+        // Apply the search query once the user stops typing, replacing the search query which was waiting
+        searchHandler.removeCallbacks(searchRunnable);
+        searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_DELAY);
 
-        // If the search query text is empty, restore the original ArrayLists of video games
-        if (query.isEmpty()) {
+    }
 
-            // Restore the original ArrayLists of video games
-            videoGames.addAll(videoGamesCopy);
+    /**
+     * Method allowing to filter the video games of the RecyclerView using a sanitized search query on the computation thread
+     * The video games are matched and ranked exactly as the search of the database ranks them when they are read one page at a time
+     * @param query Sanitized search query text
+     */
+    private void runSearch(String query) {
 
+        // Make every previous search obsolete and cancel it if it has not completed yet
+        int generation = searchGeneration.incrementAndGet();
+        if (searchTask != null) {
+            searchTask.cancel();
         }
 
-        // If the search query text is not empty, search for video games with a title matching the search query text
-        else {
+        // Search the database when the video games are read one page at a time since they are not all in memory
+        if (videoGamesCopy instanceof PagedVideoGameList) {
+            searchPagedVideoGames((PagedVideoGameList) videoGamesCopy, query);
+            return;
+        }
 
-            // Loop allowing to obtain the video games with a title matching the search query
-            for (int index = 0; index < videoGamesCopy.size(); index++) {
+        // Take a snapshot of the video games if they changed since the last search, so that the computation thread never reads a list being modified
+        if (searchSnapshot == null) {
+            searchSnapshot = new ArrayList<>(videoGamesCopy);
+            searchIndex = null;
+            lastSearchQuery = null;
+            lastSearchPositions = null;
+            displayedPositions = isDisplayingAll ? VideoGameSearchIndex.allPositions(searchSnapshot.size()) : null;
+        }
+
+        // Values used by the computation thread, which must not read the fields of the RecyclerViewAdapter
+        List<VideoGame> snapshot = searchSnapshot;
+        VideoGameSearchIndex currentSearchIndex = searchIndex;
+        String previousQuery = lastSearchQuery;
+        int[] previousPositions = lastSearchPositions;
+        int[] previousDisplayedPositions = displayedPositions;
 
-                // Get the title of the video game at the current index
-                String title = videoGamesCopy.get(index).getTitle();
+        // Filter the video games on the computation thread
+        searchTask = DatabaseExecutor.getInstance().submitComputation(() -> {
 
-                // Sanitize the title by removing special characters and extra spaces
-                String sanitizedTitle = title.replaceAll("[^a-zA-Z0-9 ]", "").replaceAll("\\s{2,}", " ").trim();
+            // Every video game matches an empty search query and is displayed in the order of the list
+            if (query.isEmpty()) {
+                int[] positions = VideoGameSearchIndex.allPositions(snapshot.size());
+                return new SearchResults(currentSearchIndex, positions, positions, new ArrayList<>(snapshot), previousDisplayedPositions, null);
+            }
 
-                // If the video game title matches the search query text, add it to the displayed ArrayLists of video games
-                if (sanitizedTitle.toLowerCase().startsWith(query.toLowerCase())) {
+            // Build the index of the words during the first search of the snapshot
+            VideoGameSearchIndex snapshotSearchIndex = currentSearchIndex != null ? currentSearchIndex : new VideoGameSearchIndex(snapshot);
+            if (generation != searchGeneration.get()) {
+                return null;
+            }
 
-                    // Add the video game to the displayed ArrayLists of video games
-                    videoGames.add(videoGamesCopy.get(index));
+            // Score only the previous results when the search query extends the previous one, otherwise the video games found through the index
+            String[] tokens = VideoGameSearchQuery.tokenize(query);
+            int[] candidates;
+            if (previousQuery != null && !previousQuery.isEmpty() && query.startsWith(previousQuery)) {
+                candidates = previousPositions;
+            }
+            else {
+                candidates = snapshotSearchIndex.findCandidates(tokens);
+            }
+            int[] scores = snapshotSearchIndex.score(candidates, tokens);
 
+            // Keep the matching positions in ascending order, allowing the next search to narrow them
+            int matchCount = 0;
+            for (int score : scores) {
+                if (score != VideoGameSearchQuery.NO_MATCH) {
+                    matchCount++;
+                }
+            }
+            int[] matchingPositions = new int[matchCount];
+            int matchIndex = 0;
+            for (int index = 0; index < candidates.length; index++) {
+                if (scores[index] != VideoGameSearchQuery.NO_MATCH) {
+                    matchingPositions[matchIndex++] = candidates[index];
                 }
+            }
+
+            // Order the matching video games from the most to the least relevant, those of equal relevance staying in the order of the list
+            int[] order = VideoGameSearchQuery.rank(scores);
+            int[] positions = new int[order.length];
+            ArrayList<VideoGame> results = new ArrayList<>(order.length);
+            for (int index = 0; index < order.length; index++) {
+                positions[index] = candidates[order[index]];
+                results.add(snapshot.get(positions[index]));
+            }
 
+            // Compare the results with the displayed ones here when they are not both in the order of the list, which the main thread cannot do in a single pass
+            DiffUtil.DiffResult diffResult = null;
+            if (previousDisplayedPositions != null && !(VideoGameSearchIndex.isAscending(previousDisplayedPositions) && VideoGameSearchIndex.isAscending(positions))) {
+                diffResult = VideoGameSearchIndex.calculateDiff(previousDisplayedPositions, positions);
             }
+            return new SearchResults(snapshotSearchIndex, matchingPositions, positions, results, previousDisplayedPositions, diffResult);
+
+        }, searchResults -> {
+
+            // Ignore the results of an obsolete search
+            if (searchResults == null || generation != searchGeneration.get()) {
+                return;
+            }
+
+            // Search again if the video games changed while they were being filtered
+            if (snapshot != searchSnapshot) {
+                runSearch(query);
+                return;
+            }
+
+            // Keep the state allowing the next search to narrow the results
+            searchIndex = searchResults.searchIndex;
+            lastSearchQuery = query;
+            lastSearchPositions = searchResults.matchingPositions;
+
+            // Display the results and notify the RecyclerView of the differences with the previous results
+            int[] currentDisplayedPositions = displayedPositions;
+            showVideoGames(searchResults.videoGames);
+            displayedPositions = searchResults.positions;
+            isDisplayingAll = query.isEmpty();
+            notifySearchResultsChanged(currentDisplayedPositions, searchResults);
+
+            // Verify if the RecyclerView currently contains any video games and set the visibility of the TextView accordingly
+            notifyResultsFound();
+
+        });
+
+    }
+
+    /**
+     * Method allowing to notify the RecyclerView that the displayed search results have changed
+     * @param previousPositions Positions within the snapshot of the video games previously displayed, or null if they are unknown
+     * @param searchResults Results of the search now displayed
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    private void notifySearchResultsChanged(int[] previousPositions, SearchResults searchResults) {
+
+        // Refresh the whole RecyclerView if the previously displayed video games are unknown or are not those the results were compared with
+        int[] positions = searchResults.positions;
+        if (previousPositions == null || previousPositions != searchResults.comparedPositions) {
+            notifyDataSetChanged();
+        }
+        // Otherwise notify only the differences, in a single pass when both are in the order of the list
+        else if (searchResults.diffResult != null) {
+            searchResults.diffResult.dispatchUpdatesTo(this);
+        }
+        else {
+            VideoGameSearchIndex.dispatchUpdates(previousPositions, positions, new AdapterListUpdateCallback(this));
+        }
+
+    }
+
+    /**
+     * Method allowing to search for video games matching the search query in the database when the video games are read one page at a time
+     * @param pagedVideoGames PagedVideoGameList containing every video game of the fragment
+     * @param query Sanitized search query text
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    private void searchPagedVideoGames(PagedVideoGameList pagedVideoGames, String query) {
+
+        // Cancel the previous search if it has not completed yet
+        if (searchTask != null) {
+            searchTask.cancel();
+        }
+
+        // If the search query text is empty, restore the original list of video games
+        if (query.isEmpty()) {
+            isSearchCapped = false;
+            showVideoGames(pagedVideoGames);
+            notifyDataSetChanged();
+            notifyResultsFound();
+            return;
+        }
+
+        // Search the full-text search index for the video games matching the search query and display them from the most to the least relevant
+        searchTask = videoGameRepository.searchVideoGames(pagedVideoGames.getCategory(), query, pagedVideoGames.getSortColumn(), pagedVideoGames.getSortOrder(), searchResult -> {
+            showVideoGames(searchResult.getVideoGames());
+            notifyDataSetChanged();
+            notifyResultsFound();
+            // Indicate once that only the most relevant video games are displayed, until a search finds few enough video games again
+            if (searchResult.isCapped() && !isSearchCapped) {
+                Toast.makeText(context, context.getString(R.string.search_results_capped, searchResult.getVideoGames().size(), searchResult.getMatchCount()), Toast.LENGTH_LONG).show();
+            }
+            isSearchCapped = searchResult.isCapped();
+        });
+
+    }
+
+    /**
+     * Method allowing to replace the displayed list of video games while releasing the previous search results
+     * @param videoGamesDisplayed List of video games which will be displayed
+     */
+    private void showVideoGames(List<VideoGame> videoGamesDisplayed) {
+
+        // Stop reading the pages of the previous list if it is no longer used
+        if (videoGames instanceof PagedVideoGameList && videoGames != videoGamesDisplayed && videoGames != videoGamesCopy) {
+            ((PagedVideoGameList) videoGames).close();
+        }
+
+        // Display the list and be notified when its pages are read, preparing the rows of the video games already in memory
+        if (videoGames != videoGamesDisplayed) {
+            displayedVersion++;
+        }
+        videoGames = videoGamesDisplayed;
+        if (videoGames instanceof PagedVideoGameList) {
+            ((PagedVideoGameList) videoGames).setOnPageLoadedListener(onPageLoadedListener);
+        }
+        prepareRows(videoGames, 0, videoGames.size());
+
+    }
 
+    /**
+     * Method allowing to refresh the displayed ArrayLists of video games and the ArrayLists used when the RecyclerView is filtered
+     * The differences with the displayed video games are computed on the computation thread, so that only the inserted, removed, moved and changed rows are notified
+     * @param videoGamesRefreshed List containing refreshed VideoGame data
+     */
+    public void refreshOriginalData(List<VideoGame> videoGamesRefreshed) {
+
+        // Stop the previous search and the previous comparison since their results are replaced
+        searchGeneration.incrementAndGet();
+        if (searchTask != null) {
+            searchTask.cancel();
+        }
+        if (diffTask != null) {
+            diffTask.cancel();
+            diffTask = null;
         }
 
-        // Notify the RecyclerView that the displayed data has been updated
-        notifyDataSetChanged();
+        // Refresh the whole RecyclerView when a list is read one page at a time, since the video games of its pages which were not read cannot be compared
+        if (videoGames instanceof PagedVideoGameList || videoGamesRefreshed instanceof PagedVideoGameList) {
+            applyRefreshedData(videoGamesRefreshed, null);
+            return;
+        }
 
-        // Verify if the RecyclerView currently contains any video games and set the visibility of the TextView accordingly
-        notifyResultsFound();
+        // Compare copies of both lists on the computation thread, the displayed list being modified when a video game is removed
+        List<VideoGame> oldVideoGames = new ArrayList<>(videoGames);
+        List<VideoGame> newVideoGames = new ArrayList<>(videoGamesRefreshed);
+        int version = displayedVersion;
+        diffTask = DatabaseExecutor.getInstance().submitComputation(() -> DiffUtil.calculateDiff(new VideoGameDiffCallback(oldVideoGames, newVideoGames)), diffResult -> {
+            diffTask = null;
+            applyRefreshedData(videoGamesRefreshed, version == displayedVersion ? diffResult : null);
+        });
 
     }
 
     /**
-     * Method allowing to refresh the displayed ArrayLists of video games when the RecyclerView is filtered
-     * @param videoGamesRefreshed ArrayList containing refreshed VideoGame data
+     * Method allowing to display the refreshed video games and to notify the RecyclerView of the differences with the previous ones
+     * @param videoGamesRefreshed List containing refreshed VideoGame data
+     * @param diffResult Differences with the displayed video games, or null if the whole RecyclerView must be refreshed
      */
     @SuppressLint("NotifyDataSetChanged")
-    public void refreshOriginalData(ArrayList<VideoGame> videoGamesRefreshed) {
+    private void applyRefreshedData(List<VideoGame> videoGamesRefreshed, DiffUtil.DiffResult diffResult) {
+
+        // Stop reading the pages of the previous list used when the RecyclerView is filtered since it is replaced
+        if (videoGamesCopy instanceof PagedVideoGameList && videoGamesCopy != videoGamesRefreshed) {
+            ((PagedVideoGameList) videoGamesCopy).close();
+        }
 
-        // Refresh the original ArrayList of video games using the updated values
-        this.videoGames = videoGamesRefreshed;
+        // Refresh the original list of video games using the updated values and notify the adapter of the differences
+        showVideoGames(videoGamesRefreshed);
+        if (diffResult != null) {
+            diffResult.dispatchUpdatesTo(this);
+        }
+        else {
+            notifyDataSetChanged();
+        }
 
-        // Notify the adapter that the data has changed
-        notifyDataSetChanged();
+        // Copy the refreshed video games into the ArrayLists used when the RecyclerView is filtered
+        refreshCopyData();
 
     }
 
     /**
      * Method allowing to copy the original ArrayLists of video games into the ArrayLists used when the RecyclerView is filtered
      */
-    public void refreshCopyData() {
+    private void refreshCopyData() {
 
-        // Copy the original ArrayLists of video games into the ArrayLists used when the RecyclerView is filtered
-        this.videoGamesCopy = new ArrayList<>(videoGames);
+        // The copied video games, which are all displayed, will be indexed again during the next search
+        searchSnapshot = null;
+        displayedPositions = null;
+        isDisplayingAll = true;
+
+        // Copy the original ArrayLists of video games into the ArrayLists used when the RecyclerView is filtered, a paged list being kept as is
+        if (videoGames instanceof PagedVideoGameList) {
+            this.videoGamesCopy = videoGames;
+        }
+        else {
+            this.videoGamesCopy = new ArrayList<>(videoGames);
+        }
+
+    }
+
+    /**
+     * Method allowing to indicate if the video games are displayed in their manual order
+     * @param isManualOrder True if the video games are displayed in their manual order
+     */
+    public void setManualOrder(boolean isManualOrder) {
+        this.isManualOrder = isManualOrder;
+    }
+
+    /**
+     * Method allowing to verify if the video games can be dragged to a new position
+     * @return True if every video game of the category is displayed in its manual order and no refreshed data is being compared
+     */
+    public boolean canMoveItems() {
+
+        // The neighbours of a moved video game are only its neighbours within the category when no search is applied or pending
+        return isManualOrder && isDisplayingAll && pendingSearchQuery.isEmpty() && diffTask == null && !(videoGames instanceof PagedVideoGameList);
+
+    }
+
+    /**
+     * Method allowing to move a video game to a new position while it is dragged, without saving its new position
+     * @param fromPosition Position of the dragged video game
+     * @param toPosition New position of the dragged video game
+     */
+    public void moveItem(int fromPosition, int toPosition) {
+
+        // Find the video game within the copy list before the move, since every video game of the category is displayed in the same order within both lists
+        VideoGame videoGame = videoGames.get(fromPosition);
+        int copyPosition = videoGamesCopy != videoGames ? findPosition(videoGamesCopy, videoGame.getId()) : -1;
+
+        // Move the video game within the displayed list, making any comparison in progress obsolete
+        videoGames.remove(fromPosition);
+        videoGames.add(toPosition, videoGame);
+        displayedVersion++;
+
+        // Move the video game within the copy list, the positions within the snapshot no longer being valid
+        if (copyPosition != -1) {
+            videoGamesCopy.remove(copyPosition);
+            videoGamesCopy.add(toPosition, videoGame);
+            searchSnapshot = null;
+            displayedPositions = null;
+        }
+
+        // Index the positions of both lists again when they are next searched and notify the RecyclerView of the move
+        positionIndex = null;
+        copyPositionIndex = null;
+        notifyItemMoved(fromPosition, toPosition);
+
+    }
+
+    /**
+     * Method allowing to save the new position of a video game once it is dropped, only the key of the video game being written
+     * @param position Position at which the video game was dropped
+     */
+    public void saveMovedItem(int position) {
+
+        // Ignore a video game which is no longer displayed
+        if (position == RecyclerView.NO_POSITION || position >= videoGames.size()) {
+            return;
+        }
+
+        // Save the position of the video game between its new neighbours
+        int previousId = position > 0 ? videoGames.get(position - 1).getId() : -1;
+        int nextId = position < videoGames.size() - 1 ? videoGames.get(position + 1).getId() : -1;
+        videoGameRepository.moveVideoGame(fragmentName, videoGames.get(position).getId(), previousId, nextId, isMoved -> {
+            // Display a message and the saved manual order again if the position could not be saved, so that the video game is not displayed where it was not saved
+            if (!isMoved) {
+                Toast.makeText(context, context.getString(R.string.move_video_game_error), Toast.LENGTH_SHORT).show();
+                videoGameRepository.readAllVideoGamesInManualOrder(fragmentName, savedVideoGames -> {
+                    if (isManualOrder) {
+                        refreshOriginalData(savedVideoGames);
+                    }
+                });
+            }
+        });
+
+    }
+
+    /**
+     * Method allowing to find the position of a video game within a list without reading any page of a PagedVideoGameList
+     * @param videoGames List containing the video game
+     * @param id ID of the video game
+     * @return Position of the video game, or -1 if it was not found
+     */
+    private int findPosition(List<VideoGame> videoGames, int id) {
+
+        // Search only the pages in memory of a PagedVideoGameList
+        if (videoGames instanceof PagedVideoGameList) {
+            return ((PagedVideoGameList) videoGames).indexOfLoadedId(id);
+        }
+
+        // Search the index of the positions of the list
+        return getPositionIndex(videoGames).indexOf(id);
+
+    }
+
+    /**
+     * Method allowing to notify the index of the positions of a list that a video game was removed from the list
+     * @param videoGames List from which the video game was removed
+     * @param id ID of the removed video game
+     */
+    private void removePosition(List<VideoGame> videoGames, int id) {
+
+        // A PagedVideoGameList is searched without any index
+        if (!(videoGames instanceof PagedVideoGameList)) {
+            getPositionIndex(videoGames).remove(id);
+        }
+
+    }
+
+    /**
+     * Method allowing to obtain the index of the positions of the displayed list or of the list used when the RecyclerView is filtered
+     * @param videoGames List whose positions are indexed
+     * @return VideoGamePositionIndex of the list, built again if the list was replaced since it was last used
+     */
+    private VideoGamePositionIndex getPositionIndex(List<VideoGame> videoGames) {
+
+        // Keep a separate index for the list used when the RecyclerView is filtered, which is not replaced by the searches
+        if (videoGames == videoGamesCopy) {
+            if (copyPositionIndex == null || !copyPositionIndex.isIndexing(videoGames)) {
+                copyPositionIndex = new VideoGamePositionIndex(videoGames);
+            }
+            return copyPositionIndex;
+        }
+
+        // Index the displayed list
+        if (positionIndex == null || !positionIndex.isIndexing(videoGames)) {
+            positionIndex = new VideoGamePositionIndex(videoGames);
+        }
+        return positionIndex;
 
     }
 
@@ -353,8 +917,12 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
      */
      public class MyViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
 
-        // Position of the video game in the RecyclerView
-        int position;
+        // Decoding of the cover art in progress and ID of the video game whose cover art is being displayed
+        DatabaseTask coverArtTask;
+        int coverArtVideoGameId = -1;
+
+        // Cover art displayed by the ViewHolder, which is acquired from the CoverArtLoader until it is released
+        Bitmap coverArt;
 
         // ImageButton containing additional actions for each row of the RecyclerView
         ImageButton imageButtonMoreActions;
@@ -393,9 +961,16 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             // OnClickListener event for a video game within the RecyclerView allowing to open the details page
             linearLayout.setOnClickListener(view -> {
 
+                // Ignore the rows being removed and the rows whose page is still being read
+                int position = getBindingAdapterPosition();
+                VideoGame videoGame = position != RecyclerView.NO_POSITION ? videoGames.get(position) : null;
+                if (videoGame == null) {
+                    return;
+                }
+
                 // Open the details page of a the selected video game while passing the ID as an extra
                 Intent intent = new Intent(itemView.getContext(), DetailsActivity.class);
-                intent.putExtra("VIDEO_GAME_ID", Integer.valueOf(videoGames.get(position).getId()));
+                intent.putExtra("VIDEO_GAME_ID", Integer.valueOf(videoGame.getId()));
                 itemView.getContext().startActivity(intent);
 
             });
@@ -407,13 +982,44 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
         }
 
         /**
-         * Bind the position to the ViewHolder
-         * @param position Position of the item in the RecyclerView
+         * Method allowing to cancel the decoding of the cover art previously requested for the ViewHolder
          */
-        public void bind(int position) {
+        void cancelCoverArt() {
 
-            // Bind the position of the video game within the RecyclerView to the ViewHolder
-            this.position = position;
+            // Cancel the decoding and forget the video game so that a late result is never displayed
+            if (coverArtTask != null) {
+                coverArtTask.cancel();
+                coverArtTask = null;
+            }
+            coverArtVideoGameId = -1;
+
+        }
+
+        /**
+         * Method allowing to display a cover art and to prevent it from being reused while it is displayed
+         * @param coverArt Cover art to be displayed
+         */
+        void displayCoverArt(Bitmap coverArt) {
+
+            // Release the previous cover art and acquire the new one before displaying it
+            releaseCoverArt();
+            this.coverArt = coverArt;
+            coverArtLoader.acquire(coverArt);
+            imageViewCoverArt.setImageBitmap(coverArt);
+
+        }
+
+        /**
+         * Method allowing to display the placeholder image and to release the cover art so that its bitmap can be reused
+         */
+        void releaseCoverArt() {
+
+            // Stop displaying the cover art before releasing it, since its bitmap may be decoded into right away
+            imageViewCoverArt.setImageResource(R.drawable.baseline_image_24);
+            if (coverArt != null) {
+                coverArtLoader.release(coverArt);
+                coverArt = null;
+            }
 
         }
 
@@ -424,16 +1030,21 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
         @Override
         public void onClick(View view) {
 
-            // Clicking on the image button corresponding to more actions opens the action menu
-            showBottomSheetMenu(view);
+            // Clicking on the image button corresponding to more actions opens the action menu once the page of the video game has been read
+            int position = getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION && videoGames.get(position) != null) {
+                showBottomSheetMenu(view, position);
+            }
 
         }
 
         /**
          * Method allowing to display the BottomSheetDialog menu containing additional actions for each video game
+         * The actions obtain the position of the video game again when they are selected, since the rows may have moved while the menu was displayed
          * @param view View in which the BottomSheetDialog will be displayed
+         * @param position Position of the video game in the RecyclerView when the menu is opened
          */
-        private void showBottomSheetMenu(View view) {
+        private void showBottomSheetMenu(View view, int position) {
 
             // Initialization of the BottomSheetDialog
             BottomSheetDialog bottomSheetDialog = new BottomSheetDialog(context, R.style.BottomSheetDialogTheme);
@@ -461,8 +1072,13 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
                 // Create an Intent to start FormActivity
                 Intent intent = new Intent(itemView.getContext(), FormActivity.class);
 
-                // Pass the video game ID as an extra
-                intent.putExtra("VIDEO_GAME_ID", Integer.valueOf(videoGames.get(position).getId()));
+                // Pass the video game ID as an extra, unless the row was removed while the menu was displayed
+                int currentPosition = getBindingAdapterPosition();
+                if (currentPosition == RecyclerView.NO_POSITION) {
+                    bottomSheetDialog.dismiss();
+                    return;
+                }
+                intent.putExtra("VIDEO_GAME_ID", Integer.valueOf(videoGames.get(currentPosition).getId()));
 
                 // Start FormActivity
                 itemView.getContext().startActivity(intent);
@@ -476,7 +1092,7 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             bottomSheetView.findViewById(R.id.textViewDelete).setOnClickListener(v -> {
 
                 // Show a confirmation dialog box to confirm the deletion of the video game
-                showDeleteConfirmationDialog(position, false);
+                showDeleteConfirmationDialog(getBindingAdapterPosition(), false);
 
                 // Dismiss the BottomSheetDialog
                 bottomSheetDialog.dismiss();
@@ -487,7 +1103,7 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             bottomSheetView.findViewById(R.id.textViewBacklog).setOnClickListener(v -> {
 
                 // Update the status of the video game in the backlog
-                updateCategory(videoGames, videoGamesCopy, "backlog", position, context.getString(R.string.save_backlog_success), context.getString(R.string.save_backlog_error), context.getString(R.string.remove_backlog_success), context.getString(R.string.remove_backlog_error));
+                updateCategory(videoGames, videoGamesCopy, "backlog", getBindingAdapterPosition(), context.getString(R.string.save_backlog_success), context.getString(R.string.save_backlog_error), context.getString(R.string.remove_backlog_success), context.getString(R.string.remove_backlog_error));
 
                 // Dismiss the BottomSheetDialog
                 bottomSheetDialog.dismiss();
@@ -498,7 +1114,7 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             bottomSheetView.findViewById(R.id.textViewCollection).setOnClickListener(v -> {
 
                 // Update the status of the video game in the collection
-                updateCategory(videoGames, videoGamesCopy, "collection", position, context.getString(R.string.save_collection_success), context.getString(R.string.save_collection_error), context.getString(R.string.remove_collection_success), context.getString(R.string.remove_collection_error));
+                updateCategory(videoGames, videoGamesCopy, "collection", getBindingAdapterPosition(), context.getString(R.string.save_collection_success), context.getString(R.string.save_collection_error), context.getString(R.string.remove_collection_success), context.getString(R.string.remove_collection_error));
 
                 // Dismiss the BottomSheetDialog
                 bottomSheetDialog.dismiss();
@@ -509,7 +1125,7 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             bottomSheetView.findViewById(R.id.textViewCompletion).setOnClickListener(v -> {
 
                 // Update the status of the video game in the completion list
-                updateCategory(videoGames, videoGamesCopy, "completion", position, context.getString(R.string.save_completion_success), context.getString(R.string.save_completion_error), context.getString(R.string.remove_completion_success), context.getString(R.string.remove_completion_error));
+                updateCategory(videoGames, videoGamesCopy, "completion", getBindingAdapterPosition(), context.getString(R.string.save_completion_success), context.getString(R.string.save_completion_error), context.getString(R.string.remove_completion_success), context.getString(R.string.remove_completion_error));
 
                 // Dismiss the BottomSheetDialog
                 bottomSheetDialog.dismiss();
@@ -520,7 +1136,21 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             bottomSheetView.findViewById(R.id.textViewWishlist).setOnClickListener(v -> {
 
                 // Update the status of the video game in the wishlist
-                updateCategory(videoGames, videoGamesCopy, "wishlist", position, context.getString(R.string.save_wishlist_success), context.getString(R.string.save_wishlist_error), context.getString(R.string.remove_wishlist_success), context.getString(R.string.remove_wishlist_error));
+                updateCategory(videoGames, videoGamesCopy, "wishlist", getBindingAdapterPosition(), context.getString(R.string.save_wishlist_success), context.getString(R.string.save_wishlist_error), context.getString(R.string.remove_wishlist_success), context.getString(R.string.remove_wishlist_error));
+
+                // Dismiss the BottomSheetDialog
+                bottomSheetDialog.dismiss();
+
+            });
+
+            // Code executed if the user selects the "lists" option in the menu
+            bottomSheetView.findViewById(R.id.textViewLists).setOnClickListener(v -> {
+
+                // Display the lists created by the user for the video game, unless the row was removed while the menu was displayed
+                int currentPosition = getBindingAdapterPosition();
+                if (currentPosition != RecyclerView.NO_POSITION) {
+                    new VideoGameListDialogs(context).showMembership(videoGames.get(currentPosition).getId());
+                }
 
                 // Dismiss the BottomSheetDialog
                 bottomSheetDialog.dismiss();
@@ -536,7 +1166,10 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
          */
         private void showDeleteConfirmationDialog(int position, Boolean isFinalCategory) {
 
-            // Get the ID of the video game at the specified position
+            // Ignore the rows removed while the menu was displayed and get the ID of the video game at the specified position
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
             int videoGameId = videoGames.get(position).getId();
 
             // Verify if confirmation should be asked when deleting a video game
@@ -557,10 +1190,7 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
                 }
 
                 // Set the positive button to confirm the deletion of the video game
-                builder.setPositiveButton(context.getString(R.string.confirm), (dialog, which) -> {
-                    deleteVideoGame(videoGames.get(position).getId());
-                    removeItem(videoGameId);
-                });
+                builder.setPositiveButton(context.getString(R.string.confirm), (dialog, which) -> deleteVideoGame(videoGameId));
 
                 // Set the negative button to cancel the deletion of the video game
                 builder.setNegativeButton(context.getString(R.string.cancel), null);
@@ -573,37 +1203,29 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
             // If no confirmation is required, simply delete the video game
             else {
                 deleteVideoGame(videoGameId);
-                removeItem(videoGameId);
             }
 
         }
 
         /**
-         * Method using the MySQLiteOpenHelper class to delete a video game from the database
+         * Method using the VideoGameRepository class to delete a video game from the database and remove it from the RecyclerView
          * @param id The id of the video game to be deleted from the database
          */
         public void deleteVideoGame(int id) {
 
-            // Use the MySQLiteOpenHelper class to delete the video game from the database
-            try {
+            // Delete the video game from the database on the database thread
+            videoGameRepository.deleteOneVideoGame(id, deleted -> {
 
-                // Delete the video game from the database and display a message indicating the status of the deletion of the video game
-                if (mySQLiteOpenHelper.deleteOneVideoGame(id)) {
+                // Display a message indicating the status of the deletion of the video game and remove it from the RecyclerView
+                if (deleted) {
                     Toast.makeText(context, context.getString(R.string.delete_video_game_success), Toast.LENGTH_SHORT).show();
+                    removeItem(id);
                 }
                 else {
                     Toast.makeText(context, context.getString(R.string.delete_video_game_error), Toast.LENGTH_SHORT).show();
                 }
 
-            }
-
-            // Catch any exceptions when trying to delete the video game from the database
-            catch (Exception e) {
-
-                // Display a message if any error occurs
-                Toast.makeText(context, context.getString(R.string.delete_video_game_error), Toast.LENGTH_SHORT).show();
-
-            }
+            });
 
         }
 
@@ -613,53 +1235,31 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
          */
         private void removeItem(int id) {
 
-            // Initialize the position variables for both the original and copy lists
-            int originalPosition = -1;
-            int copyPosition = -1;
-
-            // Find the position in the original list
-            for (int i = 0; i < videoGames.size(); i++) {
-
-                if (videoGames.get(i).getId() == id) {
-
-                    // Set the position in the original list
-                    originalPosition = i;
-                    break;
-
-                }
-
-            }
-
-            // Find the position in the copy list
-            for (int i = 0; i < videoGamesCopy.size(); i++) {
-
-                if (videoGamesCopy.get(i).getId() == id) {
-
-                    // Set the position in the copy list
-                    copyPosition = i;
-                    break;
-
-                }
-
-            }
+            // Find the position of the video game in both the original and copy lists
+            int originalPosition = findPosition(videoGames, id);
+            int copyPosition = findPosition(videoGamesCopy, id);
 
             // Remove from original list if found
             if (originalPosition != -1) {
 
-                // Remove the video game from the original list
+                // Remove the video game from the original list and from its index, making any comparison in progress obsolete
                 videoGames.remove(originalPosition);
+                removePosition(videoGames, id);
+                displayedVersion++;
 
-                // Notify RecyclerView about item removal
+                // Notify RecyclerView about item removal, the following rows obtaining their new positions from the RecyclerView when they are clicked
                 notifyItemRemoved(originalPosition);
-                notifyItemRangeChanged(originalPosition, getItemCount());
 
             }
 
-            // Remove from copy list if found
-            if (copyPosition != -1) {
+            // Remove from copy list if found, unless both lists are the same PagedVideoGameList
+            if (copyPosition != -1 && videoGamesCopy != videoGames) {
 
-                // Remove the video game from the copy list
+                // Remove the video game from the copy list, the positions within the snapshot no longer being valid
                 videoGamesCopy.remove(copyPosition);
+                removePosition(videoGamesCopy, id);
+                searchSnapshot = null;
+                displayedPositions = null;
 
             }
 
@@ -679,162 +1279,79 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
          * @param removeSuccessMessage Message to display when the video game is removed successfully
          * @param removeErrorMessage Message to display when the video game is not removed successfully
          */
-        private void updateCategory(ArrayList<VideoGame> categoryList, ArrayList<VideoGame> categoryListCopy, String category, int position, String saveSuccessMessage, String saveErrorMessage, String removeSuccessMessage, String removeErrorMessage) {
-
-            // Get the ID of the video game at the specified position
-            int videoGameId = videoGames.get(position).getId();
-
-            // Initialize the position variables for both the original and copy lists
-            int originalPosition = -1;
-            int copyPosition = -1;
-
-            // Initialize the status of the video game within the specified category
-            boolean categoryStatus = false;
-
-            // Find the position in the original list
-            for (int i = 0; i < videoGames.size(); i++) {
-
-                if (videoGames.get(i).getId() == videoGameId) {
-
-                    // Set the position in the original list
-                    originalPosition = i;
-                    break;
-
-                }
+        private void updateCategory(List<VideoGame> categoryList, List<VideoGame> categoryListCopy, String category, int position, String saveSuccessMessage, String saveErrorMessage, String removeSuccessMessage, String removeErrorMessage) {
 
+            // Ignore the rows removed while the menu was displayed and get the ID of the video game at the specified position
+            if (position == RecyclerView.NO_POSITION) {
+                return;
             }
+            int videoGameId = videoGames.get(position).getId();
 
-            // Find the position in the copy list
-            for (int i = 0; i < videoGamesCopy.size(); i++) {
-
-                if (videoGamesCopy.get(i).getId() == videoGameId) {
-
-                    // Set the position in the copy list
-                    copyPosition = i;
-                    break;
-
-                }
-
-            }
-
-            // Obtain the status of the video within the specified category
-            switch (category) {
-
-                case "backlog": {
-                    categoryStatus = categoryList.get(position).isBacklog();
-                    break;
-                }
-                case "collection": {
-                    categoryStatus = categoryList.get(position).isCollection();
-                    break;
-                }
-                case "completion": {
-                    categoryStatus = categoryList.get(position).isCompletion();
-                    break;
-                }
-                case "wishlist": {
-                    categoryStatus = categoryList.get(position).isWishlist();
-                    break;
-                }
-
-            }
+            // Obtain the status of the video game within the specified category
+            boolean categoryStatus = categoryList.get(position).isInAnyCategory(VideoGame.getCategoryFlag(category));
+
+            // Error message displayed if the update fails, based on the status currently displayed
+            String errorMessage = categoryStatus ? removeErrorMessage : saveErrorMessage;
+
+            // Toggle the category on the database thread, deleting the video game right away from its final category if no confirmation is required
+            videoGameRepository.toggleCategory(category, videoGameId, deletionConfirmation != 1, result -> {
+
+                // Verify the outcome of the update of the video game
+                switch (result.getOutcome()) {
+
+                    case CategoryToggle.ADDED:
+                    case CategoryToggle.REMOVED: {
+
+                        // Replace the video game within both lists with the copy returned by the repository, using the positions found once the database has been updated
+                        boolean isAdded = result.getOutcome() == CategoryToggle.ADDED;
+                        VideoGame updatedVideoGame = result.getVideoGame();
+                        if (updatedVideoGame != null) {
+                            int originalPosition = findPosition(categoryList, videoGameId);
+                            int copyPosition = findPosition(categoryListCopy, videoGameId);
+                            if (originalPosition != -1) {
+                                categoryList.set(originalPosition, updatedVideoGame);
+                            }
+                            if (copyPosition != -1 && categoryListCopy != categoryList) {
+                                categoryListCopy.set(copyPosition, updatedVideoGame);
+                            }
+                        }
+
+                        // If the video game is removed from the currently active fragment, remove it from the RecyclerView
+                        if (!isAdded && category.equals(fragmentName)) {
+                            removeItem(videoGameId);
+                        }
+
+                        // Display a message indicating the status of the update of the video game
+                        Toast.makeText(context, isAdded ? saveSuccessMessage : removeSuccessMessage, Toast.LENGTH_SHORT).show();
+                        break;
 
-            // Verify if the video game is already saved in the specified category
-            if (categoryStatus) {
+                    }
 
-                // Verify if the video game will not be removed from its final category
-                if (mySQLiteOpenHelper.getCategoryStatusTotal(videoGameId) != 1) {
+                    case CategoryToggle.LAST_CATEGORY: {
 
-                    // Update the status of the video game in the specified category by removing it
-                    Boolean updateCategoryStatus = mySQLiteOpenHelper.updateCategoryStatus(category, videoGameId, 0);
+                        // Show the confirmation box allowing to confirm the deletion of the video game from its final category
+                        showDeleteConfirmationDialog(getBindingAdapterPosition(), true);
+                        break;
 
-                    // Update the status of the video game in the specified category within the ArrayList
-                    if (originalPosition != -1) {
-                        updateCategoryStatus(category, categoryList, originalPosition, false);
-                    }
-                    if (copyPosition != -1) {
-                        updateCategoryStatus(category, categoryListCopy, copyPosition, false);
                     }
 
-                    // If the video game is removed from the currently active fragment, remove it from the RecyclerView
-                    if (category.equals(fragmentName)) {
+                    case CategoryToggle.DELETED: {
+
+                        // Display a message indicating that the video game was deleted and remove it from the RecyclerView
+                        Toast.makeText(context, context.getString(R.string.delete_video_game_success), Toast.LENGTH_SHORT).show();
                         removeItem(videoGameId);
-                    }
+                        break;
 
-                    // Display a message indicating the status of the update of the video game
-                    if (updateCategoryStatus) {
-                        Toast.makeText(context, removeSuccessMessage, Toast.LENGTH_SHORT).show();
                     }
-                    else {
-                        Toast.makeText(context, removeErrorMessage, Toast.LENGTH_SHORT).show();
-                    }
-
-                }
-
-                // If the video game will be removed from its final category, delete if from the database
-                else {
 
-                    // Show the confirmation box allowing to confirm the deletion of the video game
-                    showDeleteConfirmationDialog(position, true);
-
-                }
-
-            }
-
-            // Verify if the video game is not already saved in the specified category
-            else {
-
-                // Update the status of the video game in the specified category by adding it
-                Boolean updateCategoryStatus = mySQLiteOpenHelper.updateCategoryStatus(category, videoGameId, 1);
-
-                // Update the status of the video game in the specified category within the ArrayList
-                if (originalPosition != -1) {
-                    updateCategoryStatus(category, categoryList, originalPosition, true);
-                }
-                if (copyPosition != -1) {
-                    updateCategoryStatus(category, categoryListCopy, copyPosition, true);
-                }
+                    default: {
+                        Toast.makeText(context, errorMessage, Toast.LENGTH_SHORT).show();
+                        break;
+                    }
 
-                // Display a message indicating the status of the update of the video game
-                if (updateCategoryStatus) {
-                    Toast.makeText(context, saveSuccessMessage, Toast.LENGTH_SHORT).show();
                 }
-                else {
-                    Toast.makeText(context, saveErrorMessage, Toast.LENGTH_SHORT).show();
-                }
-
-            }
-
-        }
 
-        /**
-         * Method allowing to update the value associated to a category within a specific ArrayList
-         * @param category Category in which the position of the video game will be set
-         * @param videoGames ArrayList containing the video game which will have its category updated
-         * @param position Position of the video game in the RecyclerView
-         * @param categoryStatus Status of the video game indicating whether or not it is saved within the specified category
-         */
-        private void updateCategoryStatus(String category, ArrayList<VideoGame> videoGames, int position, boolean categoryStatus) {
-
-            // Switch case allowing to set the value of the category within the ArrayList
-            switch (category) {
-                case "backlog": {
-                    videoGames.get(position).setBacklog(categoryStatus);
-                    break;
-                }
-                case "collection": {
-                    videoGames.get(position).setCollection(categoryStatus);
-                    break;
-                }
-                case "completion": {
-                    videoGames.get(position).setCompletion(categoryStatus);
-                    break;
-                }
-                case "wishlist": {
-                    videoGames.get(position).setWishlist(categoryStatus);
-                    break;
-                }
-            }
+            });
 
         }
 
@@ -892,4 +1409,45 @@ public class RecyclerViewAdapter extends RecyclerView.Adapter<RecyclerViewAdapte
 
     }
 
+    /**
+     * Class containing the results of a search executed on the computation thread
+     */
+    private static final class SearchResults {
+
+        // Index of the words of the searched snapshot, or null if it was not needed
+        final VideoGameSearchIndex searchIndex;
+
+        // Positions within the snapshot of the matching video games in ascending order
+        final int[] matchingPositions;
+
+        // Positions within the snapshot of the matching video games from the most to the least relevant
+        final int[] positions;
+
+        // Matching video games from the most to the least relevant
+        final List<VideoGame> videoGames;
+
+        // Positions of the displayed video games with which the results were compared, and the differences found, or null if they were not compared
+        final int[] comparedPositions;
+        final DiffUtil.DiffResult diffResult;
+
+        /**
+         * Constructor for the SearchResults object
+         * @param searchIndex Index of the words of the searched snapshot, or null if it was not needed
+         * @param matchingPositions Positions within the snapshot of the matching video games in ascending order
+         * @param positions Positions within the snapshot of the matching video games from the most to the least relevant
+         * @param videoGames Matching video games from the most to the least relevant
+         * @param comparedPositions Positions of the displayed video games when the search started
+         * @param diffResult Differences with the displayed video games, or null if they can be notified in a single pass
+         */
+        SearchResults(VideoGameSearchIndex searchIndex, int[] matchingPositions, int[] positions, List<VideoGame> videoGames, int[] comparedPositions, DiffUtil.DiffResult diffResult) {
+            this.searchIndex = searchIndex;
+            this.matchingPositions = matchingPositions;
+            this.positions = positions;
+            this.videoGames = videoGames;
+            this.comparedPositions = comparedPositions;
+            this.diffResult = diffResult;
+        }
+
+    }
+
 }
@@ -38,8 +38,8 @@ public class SettingsActivity extends AppCompatActivity {
     // Switches used to manage images and deletion verification
     SwitchCompat switchImages, switchVerification;
 
-    // MySQLiteOpenHelper allowing to manage the database
-    MySQLiteOpenHelper mySQLiteOpenHelper = new MySQLiteOpenHelper(this);
+    // VideoGameRepository allowing to manage the library shared by every screen
+    VideoGameRepository videoGameRepository;
 
     // SharedPreferences used to store image display settings
     SharedPreferences sharedPreferencesImages;
@@ -59,6 +59,7 @@ public class SettingsActivity extends AppCompatActivity {
 
         // Initialization of the activity
         super.onCreate(savedInstanceState);
+        videoGameRepository = VideoGameRepository.getInstance(this);
         AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_YES);
         setContentView(R.layout.activity_settings);
 
@@ -179,29 +180,34 @@ public class SettingsActivity extends AppCompatActivity {
      */
     private void showDeleteConfirmationDialog() {
 
-        // Verify if there are any video games in the database
-        if (mySQLiteOpenHelper.readVideoGameCount() == 0) {
-            Toast.makeText(this, this.getString(R.string.delete_video_game_error_no_data), Toast.LENGTH_SHORT).show();
-            return;
-        }
+        // Verify if there are any video games in the database on the database thread
+        videoGameRepository.readVideoGameCount(count -> {
+
+            // Display a message if there are no video games to delete
+            if (count == 0) {
+                Toast.makeText(this, this.getString(R.string.delete_video_game_error_no_data), Toast.LENGTH_SHORT).show();
+                return;
+            }
 
-        // Create an AlertDialog builder
-        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+            // Create an AlertDialog builder
+            AlertDialog.Builder builder = new AlertDialog.Builder(this);
 
-        // Set the title of the AlertDialog box
-        builder.setTitle(this.getString(R.string.delete_all));
+            // Set the title of the AlertDialog box
+            builder.setTitle(this.getString(R.string.delete_all));
 
-        // Set the message of the AlertDialog box
-        builder.setMessage(this.getString(R.string.delete_message_all));
+            // Set the message of the AlertDialog box
+            builder.setMessage(this.getString(R.string.delete_message_all));
 
-        // Set the positive button to confirm the deletion of the video game
-        builder.setPositiveButton(this.getString(R.string.confirm), (dialog, which) -> deleteAllVideoGames());
+            // Set the positive button to confirm the deletion of the video game
+            builder.setPositiveButton(this.getString(R.string.confirm), (dialog, which) -> deleteAllVideoGames());
 
-        // Set the negative button to cancel the deletion of the video game
-        builder.setNegativeButton(this.getString(R.string.cancel), null);
+            // Set the negative button to cancel the deletion of the video game
+            builder.setNegativeButton(this.getString(R.string.cancel), null);
 
-        // Show the AlertDialog box
-        builder.show();
+            // Show the AlertDialog box
+            builder.show();
+
+        });
 
     }
 
@@ -210,20 +216,15 @@ public class SettingsActivity extends AppCompatActivity {
      */
     public void deleteAllVideoGames() {
 
-        // Delete all video games from the database and display a message indicating the status of the deletion of the video games
-        try {
-            if (mySQLiteOpenHelper.deleteAllVideoGames()) {
+        // Delete all video games from the database on the database thread and display a message indicating the status of the deletion of the video games
+        videoGameRepository.deleteAllVideoGames(deleted -> {
+            if (deleted) {
                 Toast.makeText(this, this.getString(R.string.delete_video_game_success_all), Toast.LENGTH_SHORT).show();
             }
             else {
                 Toast.makeText(this, this.getString(R.string.delete_video_game_error_all), Toast.LENGTH_SHORT).show();
             }
-        }
-
-        // Catch any exceptions when trying to delete all video games from the database
-        catch (Exception e) {
-            Toast.makeText(this, this.getString(R.string.delete_video_game_error_all), Toast.LENGTH_SHORT).show();
-        }
+        });
 
     }
 
@@ -39,21 +39,24 @@ public class VideoGame {
     // Playtime in hours of the video game
     private int playtime;
 
-    // Category status of the video game in the backlog
-    private boolean isBacklog;
+    // Flags of each category within the categories of the video game, as stored in the database
+    static final int FLAG_BACKLOG = 1;
+    static final int FLAG_COLLECTION = 1 << 1;
+    static final int FLAG_COMPLETION = 1 << 2;
+    static final int FLAG_WISHLIST = 1 << 3;
 
-    // Category status of the video game in the collection
-    private boolean isCollection;
-
-    // Category status of the video game in the completion list
-    private boolean isCompletion;
-
-    // Category status of the video game in the wishlist
-    private boolean isWishlist;
+    // Flags of the categories in which the video game is saved
+    private int categories;
 
     // Image path of the video game
     private String imagePath;
 
+    // Thumbnails of the cover art displayed in the lists and in the details, or null until they are generated
+    private CoverThumbnail listThumbnail, detailThumbnail;
+
+    // Tiny preview of the cover art painted before the cover art is decoded, or null until it is generated
+    private byte[] coverPreview;
+
     /**
      * Constructor with parameters for the VideoGame class
      * @param id ID of the video game
@@ -71,6 +74,23 @@ public class VideoGame {
      * @param imagePath Image path of the video game
      */
     public VideoGame(int id, String title, String platform, String publisher, LocalDate releaseDate, LocalDate completionDate, int playtime, double price, boolean isBacklog, boolean isCollection, boolean isCompletion, boolean isWishlist, String imagePath) {
+        this(id, title, platform, publisher, releaseDate, completionDate, playtime, price, toCategories(isBacklog, isCollection, isCompletion, isWishlist), imagePath);
+    }
+
+    /**
+     * Constructor with parameters for the VideoGame class using the flags of its categories
+     * @param id ID of the video game
+     * @param title Title of the video game
+     * @param platform Platform of the video game
+     * @param price Price of the video game
+     * @param publisher Publisher of the video game
+     * @param releaseDate Release date of the video game
+     * @param completionDate Completion date of the video game
+     * @param playtime Playtime in hours of the video game
+     * @param categories Flags of the categories in which the video game is saved
+     * @param imagePath Image path of the video game
+     */
+    public VideoGame(int id, String title, String platform, String publisher, LocalDate releaseDate, LocalDate completionDate, int playtime, double price, int categories, String imagePath) {
 
         // Association between the parameters and the attributes of the VideoGame class
         this.id = id;
@@ -81,14 +101,46 @@ public class VideoGame {
         this.completionDate = completionDate;
         this.playtime = playtime;
         this.price = price;
-        this.isBacklog = isBacklog;
-        this.isCollection = isCollection;
-        this.isCompletion = isCompletion;
-        this.isWishlist = isWishlist;
+        this.categories = categories;
         this.imagePath = imagePath;
 
     }
 
+    /**
+     * Method allowing to obtain the flag of a category
+     * @param category Name of the category
+     * @return Flag of the category within the categories of a video game
+     */
+    static int getCategoryFlag(String category) {
+
+        // Obtain the flag of the category using a switch case statement
+        switch (category) {
+            case "backlog":
+                return FLAG_BACKLOG;
+            case "collection":
+                return FLAG_COLLECTION;
+            case "completion":
+                return FLAG_COMPLETION;
+            case "wishlist":
+                return FLAG_WISHLIST;
+            default:
+                throw new IllegalArgumentException("Unknown category: " + category);
+        }
+
+    }
+
+    /**
+     * Method allowing to combine the status of each category into the flags of the categories
+     * @param isBacklog Category status of the video game in the backlog
+     * @param isCollection Category status of the video game in the collection
+     * @param isCompletion Category status of the video game in the completion list
+     * @param isWishlist Category status of the video game in the wishlist
+     * @return Flags of the categories in which the video game is saved
+     */
+    static int toCategories(boolean isBacklog, boolean isCollection, boolean isCompletion, boolean isWishlist) {
+        return (isBacklog ? FLAG_BACKLOG : 0) | (isCollection ? FLAG_COLLECTION : 0) | (isCompletion ? FLAG_COMPLETION : 0) | (isWishlist ? FLAG_WISHLIST : 0);
+    }
+
     /**
      * Getter for the ID attribute
      * @return ID of the video game
@@ -218,67 +270,101 @@ public class VideoGame {
     }
 
     /**
-     * Getter for the isBacklog attribute
+     * Getter for the categories attribute
+     * @return Flags of the categories in which the video game is saved
+     */
+    int getCategories() {
+        return categories;
+    }
+
+    /**
+     * Setter for the categories attribute
+     * @param categories Flags of the categories in which the video game is saved
+     */
+    void setCategories(int categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * Method allowing to verify if the video game is saved in any of the specified categories
+     * @param categoryFlags Flags of the categories to be verified
+     * @return True if the video game is saved in at least one of the categories, false otherwise
+     */
+    boolean isInAnyCategory(int categoryFlags) {
+        return (categories & categoryFlags) != 0;
+    }
+
+    /**
+     * Method allowing to add or remove the video game from the specified categories
+     * @param categoryFlags Flags of the categories to be updated
+     * @param status Indicates if the video game must be added to or removed from the categories
+     */
+    void setInCategory(int categoryFlags, boolean status) {
+        categories = status ? categories | categoryFlags : categories & ~categoryFlags;
+    }
+
+    /**
+     * Getter for the backlog category status
      * @return Category status of the video game in the backlog
      */
     public boolean isBacklog() {
-        return isBacklog;
+        return isInAnyCategory(FLAG_BACKLOG);
     }
 
     /**
-     * Setter for the isBacklog attribute
+     * Setter for the backlog category status
      * @param isBacklog Category status of the video game in the backlog
      */
     public void setBacklog(boolean isBacklog) {
-        this.isBacklog = isBacklog;
+        setInCategory(FLAG_BACKLOG, isBacklog);
     }
 
     /**
-     * Getter for the isCollection attribute
+     * Getter for the collection category status
      * @return Category status of the video game in the collection
      */
     public boolean isCollection() {
-        return isCollection;
+        return isInAnyCategory(FLAG_COLLECTION);
     }
 
     /**
-     * Setter for the isCollection attribute
+     * Setter for the collection category status
      * @param isCollection Category status of the video game in the collection
      */
     public void setCollection(boolean isCollection) {
-        this.isCollection = isCollection;
+        setInCategory(FLAG_COLLECTION, isCollection);
     }
 
     /**
-     * Getter for the isCompletion attribute
+     * Getter for the completion category status
      * @return Category status of the video game in the completion list
      */
     public boolean isCompletion() {
-        return isCompletion;
+        return isInAnyCategory(FLAG_COMPLETION);
     }
 
     /**
-     * Setter for the isCompletion attribute
+     * Setter for the completion category status
      * @param isCompletion Category status of the video game in the completion list
      */
     public void setCompletion(boolean isCompletion) {
-        this.isCompletion = isCompletion;
+        setInCategory(FLAG_COMPLETION, isCompletion);
     }
 
     /**
-     * Getter for the isWishlist attribute
+     * Getter for the wishlist category status
      * @return Category status of the video game in the wishlist
      */
     public boolean isWishlist() {
-        return isWishlist;
+        return isInAnyCategory(FLAG_WISHLIST);
     }
 
     /**
-     * Setter for the isWishlist attribute
+     * Setter for the wishlist category status
      * @param isWishlist Category status of the video game in the wishlist
      */
     public void setWishlist(boolean isWishlist) {
-        this.isWishlist = isWishlist;
+        setInCategory(FLAG_WISHLIST, isWishlist);
     }
 
     /**
@@ -297,4 +383,52 @@ public class VideoGame {
         this.imagePath = imagePath;
     }
 
+    /**
+     * Getter for the listThumbnail attribute
+     * @return Thumbnail of the cover art displayed in the lists, or null if it was not generated
+     */
+    public CoverThumbnail getListThumbnail() {
+        return listThumbnail;
+    }
+
+    /**
+     * Setter for the listThumbnail attribute
+     * @param listThumbnail Thumbnail of the cover art displayed in the lists
+     */
+    public void setListThumbnail(CoverThumbnail listThumbnail) {
+        this.listThumbnail = listThumbnail;
+    }
+
+    /**
+     * Getter for the detailThumbnail attribute
+     * @return Thumbnail of the cover art displayed in the details, or null if it was not generated
+     */
+    public CoverThumbnail getDetailThumbnail() {
+        return detailThumbnail;
+    }
+
+    /**
+     * Setter for the detailThumbnail attribute
+     * @param detailThumbnail Thumbnail of the cover art displayed in the details
+     */
+    public void setDetailThumbnail(CoverThumbnail detailThumbnail) {
+        this.detailThumbnail = detailThumbnail;
+    }
+
+    /**
+     * Getter for the coverPreview attribute
+     * @return Tiny preview of the cover art, or null if it was not generated
+     */
+    public byte[] getCoverPreview() {
+        return coverPreview;
+    }
+
+    /**
+     * Setter for the coverPreview attribute
+     * @param coverPreview Tiny preview of the cover art
+     */
+    public void setCoverPreview(byte[] coverPreview) {
+        this.coverPreview = coverPreview;
+    }
+
 }
@@ -0,0 +1,142 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameDiffCallback.java   ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import androidx.recyclerview.widget.DiffUtil;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Class allowing DiffUtil to compare two lists of video games, so that a reloaded or sorted list only notifies the rows which were inserted, removed, moved or changed
+ */
+final class VideoGameDiffCallback extends DiffUtil.Callback {
+
+    // Lists of video games before and after the refresh
+    private final List<VideoGame> oldVideoGames, newVideoGames;
+
+    /**
+     * Constructor for the VideoGameDiffCallback object
+     * @param oldVideoGames List of video games before the refresh
+     * @param newVideoGames List of video games after the refresh
+     */
+    VideoGameDiffCallback(List<VideoGame> oldVideoGames, List<VideoGame> newVideoGames) {
+        this.oldVideoGames = oldVideoGames;
+        this.newVideoGames = newVideoGames;
+    }
+
+    /**
+     * Method allowing to obtain the size of the list before the refresh
+     * @return Amount of video games before the refresh
+     */
+    @Override
+    public int getOldListSize() {
+        return oldVideoGames.size();
+    }
+
+    /**
+     * Method allowing to obtain the size of the list after the refresh
+     * @return Amount of video games after the refresh
+     */
+    @Override
+    public int getNewListSize() {
+        return newVideoGames.size();
+    }
+
+    /**
+     * Method allowing to verify if two rows represent the same video game
+     * @param oldItemPosition Position of the video game before the refresh
+     * @param newItemPosition Position of the video game after the refresh
+     * @return True if both rows represent the video game with the same ID
+     */
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        return oldVideoGames.get(oldItemPosition).getId() == newVideoGames.get(newItemPosition).getId();
+    }
+
+    /**
+     * Method allowing to verify if a row can be kept as is after the refresh
+     * @param oldItemPosition Position of the video game before the refresh
+     * @param newItemPosition Position of the video game after the refresh
+     * @return True if the row displays the same information before and after the refresh
+     */
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        return isDisplayedTheSame(oldVideoGames.get(oldItemPosition), newVideoGames.get(newItemPosition));
+    }
+
+    /**
+     * Method allowing to obtain the part of a row which changed, so that only this part is bound again
+     * @param oldItemPosition Position of the video game before the refresh
+     * @param newItemPosition Position of the video game after the refresh
+     * @return Payload indicating whether the text or the cover art changed, or null if both changed
+     */
+    @Override
+    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+
+        // Bind again only the text or only the cover art, or the whole row if both changed
+        VideoGame oldVideoGame = oldVideoGames.get(oldItemPosition);
+        VideoGame newVideoGame = newVideoGames.get(newItemPosition);
+        if (hasSameText(oldVideoGame, newVideoGame)) {
+            return RecyclerViewAdapter.PAYLOAD_COVER;
+        }
+        if (hasSameCoverArt(oldVideoGame, newVideoGame)) {
+            return RecyclerViewAdapter.PAYLOAD_TEXT;
+        }
+        return null;
+
+    }
+
+    /**
+     * Method allowing to verify if two versions of a video game display the same information in a row
+     * The category statuses are ignored since they are not displayed by the rows
+     * @param oldVideoGame Video game before the refresh
+     * @param newVideoGame Video game after the refresh
+     * @return True if the row displays the same information for both versions
+     */
+    static boolean isDisplayedTheSame(VideoGame oldVideoGame, VideoGame newVideoGame) {
+
+        // The repository keeps the same instance while a video game does not change
+        return oldVideoGame == newVideoGame || hasSameText(oldVideoGame, newVideoGame) && hasSameCoverArt(oldVideoGame, newVideoGame);
+
+    }
+
+    /**
+     * Method allowing to verify if two versions of a video game display the same text in a row
+     * @param oldVideoGame Video game before the refresh
+     * @param newVideoGame Video game after the refresh
+     * @return True if every field displayed as text is the same for both versions
+     */
+    static boolean hasSameText(VideoGame oldVideoGame, VideoGame newVideoGame) {
+
+        // Compare every field displayed as text by the row
+        return Objects.equals(oldVideoGame.getTitle(), newVideoGame.getTitle())
+                && Objects.equals(oldVideoGame.getPlatform(), newVideoGame.getPlatform())
+                && Objects.equals(oldVideoGame.getPublisher(), newVideoGame.getPublisher())
+                && Objects.equals(oldVideoGame.getReleaseDate(), newVideoGame.getReleaseDate())
+                && Objects.equals(oldVideoGame.getCompletionDate(), newVideoGame.getCompletionDate())
+                && oldVideoGame.getPlaytime() == newVideoGame.getPlaytime()
+                && Double.compare(oldVideoGame.getPrice(), newVideoGame.getPrice()) == 0;
+
+    }
+
+    /**
+     * Method allowing to verify if two versions of a video game display the same cover art in a row
+     * @param oldVideoGame Video game before the refresh
+     * @param newVideoGame Video game after the refresh
+     * @return True if the cover art, its thumbnail and its preview are the same for both versions
+     */
+    static boolean hasSameCoverArt(VideoGame oldVideoGame, VideoGame newVideoGame) {
+
+        // Compare the cover art along with the thumbnail and the preview displayed in its place
+        return Objects.equals(oldVideoGame.getImagePath(), newVideoGame.getImagePath())
+                && oldVideoGame.getListThumbnail() == newVideoGame.getListThumbnail()
+                && oldVideoGame.getCoverPreview() == newVideoGame.getCoverPreview();
+
+    }
+
+}
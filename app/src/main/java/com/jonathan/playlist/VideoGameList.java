@@ -0,0 +1,72 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameList.java           ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+/**
+ * Class representing a list of video games, either one of the four categories seeded with the database or a list created by the user
+ * The video games of a category are saved within the flags of the categories column, while those of a user-defined list are saved within the list membership table
+ */
+final class VideoGameList {
+
+    // ID of the list
+    private final int id;
+
+    // Name of the list, which is the name of the category for the seeded lists
+    private final String name;
+
+    // Flag of the category represented by the list, or 0 if the list was created by the user
+    private final int categoryFlag;
+
+    /**
+     * Constructor for the VideoGameList object
+     * @param id ID of the list
+     * @param name Name of the list
+     * @param categoryFlag Flag of the category represented by the list, or 0 if the list was created by the user
+     */
+    VideoGameList(int id, String name, int categoryFlag) {
+
+        // Association between the parameters and the attributes of the VideoGameList class
+        this.id = id;
+        this.name = name;
+        this.categoryFlag = categoryFlag;
+
+    }
+
+    /**
+     * Getter for the id attribute
+     * @return ID of the list
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Getter for the name attribute
+     * @return Name of the list
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for the categoryFlag attribute
+     * @return Flag of the category represented by the list, or 0 if the list was created by the user
+     */
+    int getCategoryFlag() {
+        return categoryFlag;
+    }
+
+    /**
+     * Method allowing to verify if the list is one of the categories seeded with the database
+     * @return True if the list represents a category, false if it was created by the user
+     */
+    boolean isCategory() {
+        return categoryFlag != 0;
+    }
+
+}
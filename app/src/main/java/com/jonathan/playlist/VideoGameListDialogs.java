@@ -0,0 +1,295 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameListDialogs.java    ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.text.InputFilter;
+import android.widget.EditText;
+import android.widget.Toast;
+import androidx.appcompat.app.AlertDialog;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class allowing to display the dialogs managing the lists created by the user, whose video games are saved within the list membership table
+ * The seeded categories are not displayed by these dialogs, since they are managed by the tabs and the category actions
+ */
+final class VideoGameListDialogs {
+
+    // Maximum length of the name of a list, matching the size of its column
+    private static final int MAX_LIST_NAME_LENGTH = 50;
+
+    // Context in which the dialogs are displayed
+    private final Context context;
+
+    // VideoGameRepository allowing to manage the lists shared by every screen
+    private final VideoGameRepository videoGameRepository;
+
+    /**
+     * Constructor for the VideoGameListDialogs object
+     * @param context Context in which the dialogs are displayed
+     */
+    VideoGameListDialogs(Context context) {
+
+        // Association between the class's properties and the parameters received by the constructor
+        this.context = context;
+        this.videoGameRepository = VideoGameRepository.getInstance(context);
+
+    }
+
+    /**
+     * Method allowing to display the lists created by the user with a checkbox indicating which of them contain a video game
+     * Checking or unchecking a list immediately adds the video game to the list or removes it from the list
+     * @param videoGameId ID of the video game
+     */
+    void showMembership(int videoGameId) {
+
+        // Read every list and then the lists containing the video game before displaying them
+        videoGameRepository.readLists(lists -> videoGameRepository.readVideoGameLists(videoGameId, videoGameLists -> {
+
+            // Keep only the lists created by the user and check those containing the video game
+            if (isFinishing()) {
+                return;
+            }
+            ArrayList<VideoGameList> userLists = getUserLists(lists);
+            String[] names = new String[userLists.size()];
+            boolean[] checkedItems = new boolean[userLists.size()];
+            for (int index = 0; index < userLists.size(); index++) {
+                names[index] = userLists.get(index).getName();
+                for (VideoGameList videoGameList : videoGameLists) {
+                    if (videoGameList.getId() == userLists.get(index).getId()) {
+                        checkedItems[index] = true;
+                        break;
+                    }
+                }
+            }
+
+            // Create an AlertDialog builder displaying the lists, or a message if the user has not created any list yet
+            AlertDialog.Builder builder = new AlertDialog.Builder(context);
+            builder.setTitle(context.getString(R.string.save_to_lists));
+            if (userLists.isEmpty()) {
+                builder.setMessage(context.getString(R.string.no_lists));
+            }
+            else {
+                builder.setMultiChoiceItems(names, checkedItems, (dialog, which, isChecked) -> updateMembership((AlertDialog) dialog, userLists.get(which), which, videoGameId, isChecked, checkedItems));
+            }
+
+            // Set the neutral button to create a new list and the positive button to close the dialog
+            builder.setNeutralButton(context.getString(R.string.new_list), (dialog, which) -> showCreateList(() -> showMembership(videoGameId)));
+            builder.setPositiveButton(context.getString(R.string.confirm), null);
+
+            // Show the AlertDialog box, a long click on a list allowing to delete it
+            AlertDialog alertDialog = builder.show();
+            if (!userLists.isEmpty()) {
+                alertDialog.getListView().setOnItemLongClickListener((parent, view, position, id) -> {
+                    alertDialog.dismiss();
+                    showDeleteList(userLists.get(position), () -> showMembership(videoGameId));
+                    return true;
+                });
+            }
+
+        }));
+
+    }
+
+    /**
+     * Method allowing to display the lists created by the user, selecting a list displaying its video games
+     */
+    void showLists() {
+
+        // Read every list before displaying the lists created by the user
+        videoGameRepository.readLists(lists -> {
+
+            // Create an AlertDialog builder displaying the lists, or a message if the user has not created any list yet
+            if (isFinishing()) {
+                return;
+            }
+            ArrayList<VideoGameList> userLists = getUserLists(lists);
+            String[] names = new String[userLists.size()];
+            for (int index = 0; index < userLists.size(); index++) {
+                names[index] = userLists.get(index).getName();
+            }
+            AlertDialog.Builder builder = new AlertDialog.Builder(context);
+            builder.setTitle(context.getString(R.string.lists));
+            if (userLists.isEmpty()) {
+                builder.setMessage(context.getString(R.string.no_lists));
+            }
+            else {
+                builder.setItems(names, (dialog, which) -> showListVideoGames(userLists.get(which)));
+            }
+
+            // Set the neutral button to create a new list and the negative button to close the dialog
+            builder.setNeutralButton(context.getString(R.string.new_list), (dialog, which) -> showCreateList(this::showLists));
+            builder.setNegativeButton(context.getString(R.string.cancel), null);
+
+            // Show the AlertDialog box, a long click on a list allowing to delete it
+            AlertDialog alertDialog = builder.show();
+            if (!userLists.isEmpty()) {
+                alertDialog.getListView().setOnItemLongClickListener((parent, view, position, id) -> {
+                    alertDialog.dismiss();
+                    showDeleteList(userLists.get(position), this::showLists);
+                    return true;
+                });
+            }
+
+        });
+
+    }
+
+    /**
+     * Method allowing to display the video games of a list created by the user sorted by title, selecting a video game opening its details
+     * @param list List whose video games are displayed
+     */
+    private void showListVideoGames(VideoGameList list) {
+
+        // Read the video games of the list through the list membership table
+        videoGameRepository.readListVideoGames(list, MySQLiteOpenHelper.COLUMN_TITLE, " ASC", videoGames -> {
+
+            // Create an AlertDialog builder displaying the titles of the video games, or a message if the list is empty
+            if (isFinishing()) {
+                return;
+            }
+            String[] titles = new String[videoGames.size()];
+            for (int index = 0; index < videoGames.size(); index++) {
+                titles[index] = videoGames.get(index).getTitle();
+            }
+            AlertDialog.Builder builder = new AlertDialog.Builder(context);
+            builder.setTitle(list.getName());
+            if (videoGames.isEmpty()) {
+                builder.setMessage(context.getString(R.string.list_empty));
+            }
+            else {
+                builder.setItems(titles, (dialog, which) -> {
+                    Intent intent = new Intent(context, DetailsActivity.class);
+                    intent.putExtra("VIDEO_GAME_ID", videoGames.get(which).getId());
+                    context.startActivity(intent);
+                });
+            }
+
+            // Set the negative button to return to the lists and show the AlertDialog box
+            builder.setNegativeButton(context.getString(R.string.lists), (dialog, which) -> showLists());
+            builder.show();
+
+        });
+
+    }
+
+    /**
+     * Method allowing to display a dialog asking for the name of a new list and to create it
+     * @param onCompleted Runnable executed on the main thread once the list was created or could not be created
+     */
+    private void showCreateList(Runnable onCompleted) {
+
+        // Initialization of the EditText receiving the name of the list
+        EditText editTextName = new EditText(context);
+        editTextName.setHint(context.getString(R.string.list_name));
+        editTextName.setSingleLine(true);
+        editTextName.setFilters(new InputFilter[]{new InputFilter.LengthFilter(MAX_LIST_NAME_LENGTH)});
+
+        // Create the list once the name is confirmed, ignoring an empty name
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle(context.getString(R.string.new_list));
+        builder.setView(editTextName);
+        builder.setPositiveButton(context.getString(R.string.save), (dialog, which) -> {
+            String name = editTextName.getText().toString().trim();
+            if (name.isEmpty()) {
+                onCompleted.run();
+                return;
+            }
+            videoGameRepository.createList(name, created -> {
+                if (isFinishing()) {
+                    return;
+                }
+                if (!created) {
+                    Toast.makeText(context, context.getString(R.string.create_list_error), Toast.LENGTH_SHORT).show();
+                }
+                onCompleted.run();
+            });
+        });
+        builder.setNegativeButton(context.getString(R.string.cancel), (dialog, which) -> onCompleted.run());
+        builder.show();
+
+    }
+
+    /**
+     * Method allowing to display a dialog confirming the deletion of a list created by the user and to delete it, its video games being kept
+     * @param list List to be deleted
+     * @param onCompleted Runnable executed on the main thread once the list was deleted or its deletion was cancelled
+     */
+    private void showDeleteList(VideoGameList list, Runnable onCompleted) {
+
+        // Delete the list once the deletion is confirmed
+        AlertDialog.Builder builder = new AlertDialog.Builder(context);
+        builder.setTitle(context.getString(R.string.delete_list, list.getName()));
+        builder.setMessage(context.getString(R.string.delete_list_message));
+        builder.setPositiveButton(context.getString(R.string.confirm), (dialog, which) -> videoGameRepository.deleteList(list.getId(), deleted -> {
+            if (isFinishing()) {
+                return;
+            }
+            if (!deleted) {
+                Toast.makeText(context, context.getString(R.string.delete_list_error), Toast.LENGTH_SHORT).show();
+            }
+            onCompleted.run();
+        }));
+        builder.setNegativeButton(context.getString(R.string.cancel), (dialog, which) -> onCompleted.run());
+        builder.show();
+
+    }
+
+    /**
+     * Method allowing to add a video game to a list or to remove it from the list once its checkbox is checked or unchecked
+     * The checkbox is restored if the membership could not be changed, for instance if the list was deleted from another screen
+     * @param dialog AlertDialog displaying the checkbox of the list
+     * @param list List to be updated
+     * @param position Position of the list within the AlertDialog
+     * @param videoGameId ID of the video game
+     * @param isChecked Indicates if the checkbox was checked or unchecked
+     * @param checkedItems Status of the checkboxes displayed by the AlertDialog
+     */
+    private void updateMembership(AlertDialog dialog, VideoGameList list, int position, int videoGameId, boolean isChecked, boolean[] checkedItems) {
+
+        // Update the membership on the database thread and restore the checkbox if it failed
+        videoGameRepository.updateListMembership(list, videoGameId, isChecked, updated -> {
+            if (!updated) {
+                checkedItems[position] = !isChecked;
+                dialog.getListView().setItemChecked(position, !isChecked);
+                Toast.makeText(context, context.getString(R.string.update_list_error), Toast.LENGTH_SHORT).show();
+            }
+        });
+
+    }
+
+    /**
+     * Method allowing to keep only the lists created by the user
+     * @param lists List containing every list, including the seeded categories
+     * @return ArrayList containing the lists created by the user in the order in which they were created
+     */
+    static ArrayList<VideoGameList> getUserLists(List<VideoGameList> lists) {
+
+        // Skip the lists representing a category
+        ArrayList<VideoGameList> userLists = new ArrayList<>();
+        for (VideoGameList list : lists) {
+            if (!list.isCategory()) {
+                userLists.add(list);
+            }
+        }
+        return userLists;
+
+    }
+
+    /**
+     * Method allowing to verify if the activity displaying the dialogs is finishing, in which case a dialog can no longer be displayed
+     * @return True if the activity is finishing, false otherwise
+     */
+    private boolean isFinishing() {
+        return context instanceof Activity && ((Activity) context).isFinishing();
+    }
+
+}
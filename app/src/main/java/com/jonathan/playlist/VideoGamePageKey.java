@@ -0,0 +1,102 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGamePageKey.java        ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+/**
+ * Class representing the position of a video game within a sorted category, used to read the page following it
+ */
+final class VideoGamePageKey {
+
+    // Value of the sort column of the video game as stored in the database, or null if the video game has no value
+    private final String sortValue;
+
+    // Title of the video game
+    private final String title;
+
+    // ID of the video game
+    private final int id;
+
+    /**
+     * Constructor for the VideoGamePageKey object
+     * @param sortValue Value of the sort column of the video game as stored in the database
+     * @param title Title of the video game
+     * @param id ID of the video game
+     */
+    VideoGamePageKey(String sortValue, String title, int id) {
+
+        // Association between the parameters and the attributes of the VideoGamePageKey class
+        this.sortValue = sortValue;
+        this.title = title;
+        this.id = id;
+
+    }
+
+    /**
+     * Method allowing to obtain the key of a video game within a category sorted by a specific column
+     * @param videoGame Video game whose key will be obtained
+     * @param sortColumn Column by which the category is sorted
+     * @return Key of the video game
+     */
+    static VideoGamePageKey of(VideoGame videoGame, String sortColumn) {
+
+        // Obtain the value of the sort column in the same format as the one stored in the database
+        String sortValue;
+        switch (sortColumn) {
+            case MySQLiteOpenHelper.COLUMN_PLATFORM:
+                sortValue = videoGame.getPlatform();
+                break;
+            case MySQLiteOpenHelper.COLUMN_PUBLISHER:
+                sortValue = videoGame.getPublisher();
+                break;
+            case MySQLiteOpenHelper.COLUMN_RELEASE_DATE:
+                sortValue = videoGame.getReleaseDate() == null ? null : videoGame.getReleaseDate().toString();
+                break;
+            case MySQLiteOpenHelper.COLUMN_COMPLETION_DATE:
+                sortValue = videoGame.getCompletionDate() == null ? null : videoGame.getCompletionDate().toString();
+                break;
+            case MySQLiteOpenHelper.COLUMN_PLAYTIME:
+                sortValue = String.valueOf(videoGame.getPlaytime());
+                break;
+            case MySQLiteOpenHelper.COLUMN_PRICE:
+                sortValue = String.valueOf(videoGame.getPrice());
+                break;
+            default:
+                sortValue = videoGame.getTitle();
+                break;
+        }
+
+        // Return the key of the video game
+        return new VideoGamePageKey(sortValue, videoGame.getTitle(), videoGame.getId());
+
+    }
+
+    /**
+     * Getter for the sortValue attribute
+     * @return Value of the sort column of the video game as stored in the database
+     */
+    String getSortValue() {
+        return sortValue;
+    }
+
+    /**
+     * Getter for the title attribute
+     * @return Title of the video game
+     */
+    String getTitle() {
+        return title;
+    }
+
+    /**
+     * Getter for the id attribute
+     * @return ID of the video game
+     */
+    int getId() {
+        return id;
+    }
+
+}
@@ -0,0 +1,165 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGamePositionIndex.java  ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class mapping the IDs of the video games of a list to their positions, allowing to find a video game without walking the whole list
+ * The IDs and positions are stored in primitive arrays using open addressing, and the removed video games are tracked so that the following positions do not have to be updated
+ */
+final class VideoGamePositionIndex {
+
+    // Key marking an empty slot of the table
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    // Position marking a video game removed from the list
+    private static final int REMOVED = -1;
+
+    // Minimum amount of removed video games after which the index is built again
+    private static final int MIN_REBUILD_REMOVED_COUNT = 16;
+
+    // List whose positions are indexed
+    private final List<VideoGame> videoGames;
+
+    // IDs of the video games and their positions when the index was built, stored at the same slot of the table
+    private int[] keys, positions;
+
+    // Positions when the index was built of the video games removed since then, sorted in ascending order
+    private int[] removedPositions = new int[8];
+    private int removedCount;
+
+    /**
+     * Constructor building the index of the positions of a list of video games
+     * @param videoGames List containing the video games to index
+     */
+    VideoGamePositionIndex(List<VideoGame> videoGames) {
+
+        // Association between the class's properties and the list, which is indexed right away
+        this.videoGames = videoGames;
+        rebuild();
+
+    }
+
+    /**
+     * Method allowing to verify if the index contains the positions of a specific list
+     * @param videoGames List of video games
+     * @return True if the list is the one indexed
+     */
+    boolean isIndexing(List<VideoGame> videoGames) {
+        return this.videoGames == videoGames;
+    }
+
+    /**
+     * Method allowing to find the position of a video game within the list
+     * @param id ID of the video game
+     * @return Position of the video game, or -1 if it is not within the list
+     */
+    int indexOf(int id) {
+
+        // Build the index again if the list was modified without notifying the index
+        int position = findCurrentPosition(id);
+        if (position != REMOVED && (position >= videoGames.size() || videoGames.get(position).getId() != id)) {
+            rebuild();
+            position = findCurrentPosition(id);
+        }
+        return position;
+
+    }
+
+    /**
+     * Method allowing to notify the index that a video game was removed from the list, so that the following positions are shifted
+     * @param id ID of the removed video game
+     */
+    void remove(int id) {
+
+        // Forget the video game and remember its position so that the following video games are shifted by one
+        int slot = findSlot(id);
+        if (keys[slot] == EMPTY || positions[slot] == REMOVED) {
+            return;
+        }
+        int position = positions[slot];
+        positions[slot] = REMOVED;
+
+        // Build the index again once the removed positions make up a large share of the list, otherwise insert the position in order
+        if (removedCount >= Math.max(MIN_REBUILD_REMOVED_COUNT, videoGames.size() / 8)) {
+            rebuild();
+            return;
+        }
+        if (removedCount == removedPositions.length) {
+            removedPositions = Arrays.copyOf(removedPositions, removedCount * 2);
+        }
+        int insertion = -Arrays.binarySearch(removedPositions, 0, removedCount, position) - 1;
+        System.arraycopy(removedPositions, insertion, removedPositions, insertion + 1, removedCount - insertion);
+        removedPositions[insertion] = position;
+        removedCount++;
+
+    }
+
+    /**
+     * Method allowing to build the index again from the current content of the list
+     */
+    private void rebuild() {
+
+        // Use a table at least twice as large as the list, with a power of two size allowing to mask the hashes
+        int capacity = Integer.highestOneBit(Math.max(4, videoGames.size()) * 2) * 2;
+        keys = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        removedCount = 0;
+
+        // Store the position of every video game, the first occurrence of an ID being kept as when walking the list
+        for (int position = 0; position < videoGames.size(); position++) {
+            int id = videoGames.get(position).getId();
+            int slot = findSlot(id);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = id;
+                positions[slot] = position;
+            }
+        }
+
+    }
+
+    /**
+     * Method allowing to find the current position of a video game from its position when the index was built
+     * @param id ID of the video game
+     * @return Current position of the video game, or -1 if it is not within the index
+     */
+    private int findCurrentPosition(int id) {
+
+        // Shift the position by the amount of video games removed before it
+        int slot = findSlot(id);
+        if (keys[slot] == EMPTY || positions[slot] == REMOVED) {
+            return REMOVED;
+        }
+        int position = positions[slot];
+        int removedBefore = -Arrays.binarySearch(removedPositions, 0, removedCount, position) - 1;
+        return position - removedBefore;
+
+    }
+
+    /**
+     * Method allowing to find the slot of the table containing an ID, or the empty slot where it would be stored
+     * @param id ID of the video game
+     * @return Slot of the table
+     */
+    private int findSlot(int id) {
+
+        // Walk the table from the slot of the mixed hash until the ID or an empty slot is found
+        int mask = keys.length - 1;
+        int hash = id * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+
+    }
+
+}
@@ -0,0 +1,938 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRepository.java     ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.Context;
+import android.util.Log;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Class owning the database of the application and an in-memory model of the library shared by every screen
+ * The model is only accessed on the database thread, every write being applied to the database before the model
+ * Libraries too large to be kept in memory are read directly from the database, their categories being read one page at a time
+ */
+final class VideoGameRepository {
+
+    // Tag used when logging the exceptions thrown by the write operations
+    private static final String TAG = "VideoGameRepository";
+
+    // Names of the categories in which a video game can be saved
+    static final String CATEGORY_BACKLOG = "backlog";
+    static final String CATEGORY_COLLECTION = "collection";
+    static final String CATEGORY_COMPLETION = "completion";
+    static final String CATEGORY_WISHLIST = "wishlist";
+
+    // Amount of video games above which the library is no longer kept in memory
+    static final int LARGE_LIBRARY_THRESHOLD = 2000;
+
+    // Maximum amount of video games returned by a search of the full-text search index
+    static final int SEARCH_RESULT_LIMIT = 500;
+
+    // Single instance of the VideoGameRepository shared by the whole application
+    private static volatile VideoGameRepository instance;
+
+    // MySQLiteOpenHelper allowing to manage the database
+    private final MySQLiteOpenHelper mySQLiteOpenHelper;
+
+    // Context of the application used to enqueue the generation of the thumbnails
+    private final Context context;
+
+    // CoverThumbnailGenerator allowing to delete the thumbnails of the deleted video games
+    private final CoverThumbnailGenerator coverThumbnailGenerator;
+
+    // CoverArtImporter allowing to delete the imported cover art which are no longer used
+    private final CoverArtImporter coverArtImporter;
+
+    // DatabaseExecutor allowing to execute the operations on the database thread
+    private final DatabaseExecutor databaseExecutor = DatabaseExecutor.getInstance();
+
+    // Video games of the library indexed by their ID, or null until the library has been loaded or if it is too large
+    private LinkedHashMap<Integer, VideoGame> videoGames;
+
+    // Flag indicating if the library is too large to be kept in memory, which is verified once when the library is first read
+    private boolean isLargeLibrary = false;
+
+    // Sorted video games of each category indexed by category, sort column and sort order
+    private final HashMap<String, ArrayList<VideoGame>> sortedCategories = new HashMap<>();
+
+    /**
+     * Constructor for the VideoGameRepository object
+     * @param context Context of the application used in the management of the database
+     */
+    private VideoGameRepository(Context context) {
+
+        // Initialization of the MySQLiteOpenHelper and loading of the library ahead of its first use
+        this.context = context;
+        mySQLiteOpenHelper = new MySQLiteOpenHelper(context);
+        coverThumbnailGenerator = new CoverThumbnailGenerator(context);
+        coverArtImporter = CoverArtImporter.getInstance(context);
+        databaseExecutor.execute(this::ensureLoaded);
+
+    }
+
+    /**
+     * Method allowing to obtain the VideoGameRepository shared by the whole application
+     * @param context Any context of the application
+     * @return Single instance of the VideoGameRepository
+     */
+    static VideoGameRepository getInstance(Context context) {
+
+        // Initialize the VideoGameRepository upon its first use with the context of the application
+        if (instance == null) {
+            synchronized (VideoGameRepository.class) {
+                if (instance == null) {
+                    instance = new VideoGameRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+
+    }
+
+    /**
+     * Method allowing to read a specific video game from the library
+     * @param id Id of the video game to read
+     * @param callback Callback receiving the ArrayList containing the specified video game on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readOneVideoGame(int id, DatabaseCallback<ArrayList<VideoGame>> callback) {
+
+        // Obtain the video game from the model, or from the database if the library is too large
+        return databaseExecutor.submit(() -> {
+            if (!ensureLoaded()) {
+                return mySQLiteOpenHelper.readOneVideoGame(id);
+            }
+            ArrayList<VideoGame> videoGame = new ArrayList<>(1);
+            if (videoGames.containsKey(id)) {
+                videoGame.add(videoGames.get(id));
+            }
+            return videoGame;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to read the amount of video games within the library
+     * @param callback Callback receiving the amount of video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readVideoGameCount(DatabaseCallback<Integer> callback) {
+
+        // Obtain the amount of video games from the model, or from the database if the library is too large
+        return databaseExecutor.submit(() -> ensureLoaded() ? videoGames.size() : mySQLiteOpenHelper.readVideoGameCount(), callback);
+
+    }
+
+    /**
+     * Method allowing to read all video games within the backlog
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readAllVideoGamesBacklog(String sortColumn, String sortOrder, DatabaseCallback<List<VideoGame>> callback) {
+        return readAllVideoGames(CATEGORY_BACKLOG, sortColumn, sortOrder, callback);
+    }
+
+    /**
+     * Method allowing to read all video games within the collection
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readAllVideoGamesCollection(String sortColumn, String sortOrder, DatabaseCallback<List<VideoGame>> callback) {
+        return readAllVideoGames(CATEGORY_COLLECTION, sortColumn, sortOrder, callback);
+    }
+
+    /**
+     * Method allowing to read all video games within the completion list
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readAllVideoGamesCompletion(String sortColumn, String sortOrder, DatabaseCallback<List<VideoGame>> callback) {
+        return readAllVideoGames(CATEGORY_COMPLETION, sortColumn, sortOrder, callback);
+    }
+
+    /**
+     * Method allowing to read all video games within the wishlist
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readAllVideoGamesWishlist(String sortColumn, String sortOrder, DatabaseCallback<List<VideoGame>> callback) {
+        return readAllVideoGames(CATEGORY_WISHLIST, sortColumn, sortOrder, callback);
+    }
+
+    /**
+     * Method allowing to read all video games within a category in their manual order, for instance to display it again once a move could not be saved
+     * @param category Category of the video games to read
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readAllVideoGamesInManualOrder(String category, DatabaseCallback<List<VideoGame>> callback) {
+        return readAllVideoGames(category, MySQLiteOpenHelper.SORT_MANUAL, "", callback);
+    }
+
+    /**
+     * Method allowing to create a new video game within the library
+     * @param title Title of the new video game
+     * @param platform Platform of the new video game
+     * @param publisher Publisher of the new video game
+     * @param releaseDate Release date of the new video game
+     * @param completionDate Completion date of the new video game
+     * @param playtime Playtime of the new video game
+     * @param price Price of the new video game
+     * @param isBacklog Is the new video game in the backlog?
+     * @param isCollection Is the new video game in the collection?
+     * @param isCompletion Is the new video game in the completion list?
+     * @param isWishlist Is the new video game in the wishlist?
+     * @param imagePath Image path of the new video game
+     * @param callback Callback receiving the success of the insertion on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask addVideoGame(String title, String platform, String publisher, String releaseDate, String completionDate, int playtime, double price, boolean isBacklog, boolean isCollection, boolean isCompletion, boolean isWishlist, String imagePath, DatabaseCallback<Boolean> callback) {
+
+        // Insert the video game within the database and then within the model using the ID obtained from the database
+        return submitWrite(() -> {
+            long id = mySQLiteOpenHelper.insertVideoGame(title, platform, publisher, releaseDate, completionDate, playtime, price, isBacklog, isCollection, isCompletion, isWishlist, imagePath);
+            if (id == -1) {
+                return false;
+            }
+            putVideoGame(new VideoGame((int) id, title, platform, publisher, VideoGameRowMapper.decodeDate(releaseDate), VideoGameRowMapper.decodeDate(completionDate), playtime, price, isBacklog, isCollection, isCompletion, isWishlist, imagePath));
+            enqueueCoverThumbnails((int) id, imagePath);
+            return true;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to update an existing video game within the library
+     * @param id Id of the video game to update
+     * @param title Title of the video game to update
+     * @param platform Platform of the video game to update
+     * @param publisher Publisher of the video game to update
+     * @param releaseDate Release date of the video game to update
+     * @param completionDate Completion date of the video game to update
+     * @param playtime Playtime of the video game to update
+     * @param price Price of the video game to update
+     * @param isBacklog Is the video game in the backlog?
+     * @param isCollection Is the video game in the collection?
+     * @param isCompletion Is the video game in the completion list?
+     * @param isWishlist Is the video game in the wishlist?
+     * @param imagePath Image path of the video game to update
+     * @param callback Callback receiving the success of the update on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask updateVideoGame(int id, String title, String platform, String publisher, String releaseDate, String completionDate, int playtime, double price, boolean isBacklog, boolean isCollection, boolean isCompletion, boolean isWishlist, String imagePath, DatabaseCallback<Boolean> callback) {
+
+        // Update the video game within the database and then replace it within the model, keeping its thumbnails if its cover art did not change
+        return submitWrite(() -> {
+            VideoGame previousVideoGame = videoGames != null ? videoGames.get(id) : null;
+            String previousImagePath = previousVideoGame != null ? previousVideoGame.getImagePath() : mySQLiteOpenHelper.readImagePath(id);
+            if (!mySQLiteOpenHelper.updateVideoGame(id, title, platform, publisher, releaseDate, completionDate, playtime, price, isBacklog, isCollection, isCompletion, isWishlist, imagePath)) {
+                return false;
+            }
+            VideoGame videoGame = new VideoGame(id, title, platform, publisher, VideoGameRowMapper.decodeDate(releaseDate), VideoGameRowMapper.decodeDate(completionDate), playtime, price, isBacklog, isCollection, isCompletion, isWishlist, imagePath);
+            if (previousVideoGame != null && Objects.equals(previousVideoGame.getImagePath(), imagePath)) {
+                videoGame.setListThumbnail(previousVideoGame.getListThumbnail());
+                videoGame.setDetailThumbnail(previousVideoGame.getDetailThumbnail());
+                videoGame.setCoverPreview(previousVideoGame.getCoverPreview());
+            }
+            putVideoGame(videoGame);
+            if (videoGame.getListThumbnail() == null || videoGame.getCoverPreview() == null) {
+                enqueueCoverThumbnails(id, imagePath);
+            }
+            if (!Objects.equals(previousImagePath, imagePath)) {
+                deleteCoverArtIfUnused(previousImagePath);
+            }
+            return true;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to add or remove a video game from a specific category within the library in a single operation
+     * The status of the category is flipped from the one saved in the database, so that a stale status displayed to the user cannot be written
+     * @param category Category from which the game will be added or removed
+     * @param id Id of the video game to be added or removed
+     * @param deleteIfLastCategory Indicates if the video game must be deleted when it is removed from its last category
+     * @param callback Callback receiving the outcome and the updated video game on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask toggleCategory(String category, int id, boolean deleteIfLastCategory, DatabaseCallback<CategoryToggle> callback) {
+
+        // Toggle the category within the database and then apply the outcome to the model, logging any exception and reporting it as a failure
+        return databaseExecutor.submit(() -> {
+            try {
+                boolean isLoaded = ensureLoaded();
+                VideoGame previousVideoGame = isLoaded ? videoGames.get(id) : null;
+                String imagePath = previousVideoGame != null ? previousVideoGame.getImagePath() : deleteIfLastCategory ? mySQLiteOpenHelper.readImagePath(id) : null;
+                int outcome = mySQLiteOpenHelper.toggleCategoryStatus(category, id, deleteIfLastCategory);
+                VideoGame videoGame = null;
+                if (outcome == CategoryToggle.ADDED || outcome == CategoryToggle.REMOVED) {
+                    if (previousVideoGame != null) {
+                        videoGame = withCategoryStatus(previousVideoGame, category, outcome == CategoryToggle.ADDED);
+                        putVideoGame(videoGame);
+                    }
+                    else if (!isLoaded) {
+                        ArrayList<VideoGame> result = mySQLiteOpenHelper.readOneVideoGame(id);
+                        videoGame = result.isEmpty() ? null : result.get(0);
+                    }
+                }
+                else if (outcome == CategoryToggle.LAST_CATEGORY) {
+                    videoGame = previousVideoGame;
+                }
+                else if (outcome == CategoryToggle.DELETED) {
+                    onVideoGameDeleted(id, imagePath);
+                }
+                return new CategoryToggle(outcome, videoGame);
+            }
+            catch (Exception e) {
+                Log.e(TAG, "Category toggle failed", e);
+                return new CategoryToggle(CategoryToggle.FAILED, null);
+            }
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to delete a specific video game from the library
+     * @param id Id of the video game that will be deleted
+     * @param callback Callback receiving the success of the deletion on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask deleteOneVideoGame(int id, DatabaseCallback<Boolean> callback) {
+
+        // Delete the video game from the database and then from the model, along with its files which are no longer used
+        return submitWrite(() -> {
+            String imagePath = mySQLiteOpenHelper.readImagePath(id);
+            if (!mySQLiteOpenHelper.deleteOneVideoGame(id)) {
+                return false;
+            }
+            onVideoGameDeleted(id, imagePath);
+            return true;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to delete all video games from the library
+     * @param callback Callback receiving the success of the deletion on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask deleteAllVideoGames(DatabaseCallback<Boolean> callback) {
+
+        // Delete all video games from the database and then from the model
+        return submitWrite(() -> {
+            if (!mySQLiteOpenHelper.deleteAllVideoGames()) {
+                return false;
+            }
+            coverThumbnailGenerator.deleteAllThumbnails();
+            coverArtImporter.deleteAllCoverArt();
+            // The empty library can be kept in memory once again
+            isLargeLibrary = false;
+            videoGames = new LinkedHashMap<>();
+            sortedCategories.clear();
+            return true;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to save the thumbnails and the preview generated for the cover art of a video game, blocking until they are saved
+     * This method must only be called from a background thread, such as the one of the CoverThumbnailWorker
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art from which the thumbnails were generated
+     * @param listThumbnail Thumbnail displayed in the lists
+     * @param detailThumbnail Thumbnail displayed in the details
+     * @param coverPreview Tiny preview of the cover art
+     * @return True if the thumbnails were saved, false if the video game was deleted or if its cover art was replaced
+     * @throws Exception Exception thrown if the thumbnails could not be saved
+     */
+    boolean saveCoverThumbnails(int id, String imagePath, CoverThumbnail listThumbnail, CoverThumbnail detailThumbnail, byte[] coverPreview) throws Exception {
+
+        // Save the thumbnails and the preview within the database and then within a copy of the video game replacing it within the model
+        return databaseExecutor.call(() -> {
+            if (!mySQLiteOpenHelper.updateCoverThumbnails(id, imagePath, listThumbnail, detailThumbnail, coverPreview)) {
+                return false;
+            }
+            VideoGame videoGame = videoGames != null ? videoGames.get(id) : null;
+            if (videoGame != null) {
+                putVideoGame(withCoverThumbnails(videoGame, listThumbnail, detailThumbnail, coverPreview));
+            }
+            return true;
+        });
+
+    }
+
+    /**
+     * Method allowing to read the video games with a cover art whose thumbnails have not been generated yet, blocking until they are read
+     * This method must only be called from a background thread, such as the one of the CoverThumbnailWorker
+     * @param afterId ID after which the video games are read
+     * @param limit Maximum amount of video games to read
+     * @return ArrayList containing the video games without thumbnails
+     * @throws Exception Exception thrown if the video games could not be read
+     */
+    ArrayList<VideoGame> readVideoGamesWithoutThumbnails(int afterId, int limit) throws Exception {
+
+        // Read the video games from the database on the database thread
+        return databaseExecutor.call(() -> mySQLiteOpenHelper.readVideoGamesWithoutThumbnails(afterId, limit));
+
+    }
+
+    /**
+     * Method allowing to delete an imported cover art which was chosen in a form but never saved
+     * @param imagePath Image path of the imported cover art
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask discardImportedCoverArt(String imagePath) {
+
+        // Verify on the database thread that no video game was saved with the cover art before deleting it
+        return databaseExecutor.submit(() -> {
+            deleteCoverArtIfUnused(imagePath);
+            return null;
+        }, null);
+
+    }
+
+    /**
+     * Method allowing to read the video games whose cover art was not imported yet, blocking until they are read
+     * This method must only be called from a background thread, such as the one of the CoverArtImportWorker
+     * @param afterId ID after which the video games are read
+     * @param limit Maximum amount of video games to read
+     * @return ArrayList containing the video games whose cover art was not imported
+     * @throws Exception Exception thrown if the video games could not be read
+     */
+    ArrayList<VideoGame> readVideoGamesWithContentCoverArt(int afterId, int limit) throws Exception {
+
+        // Read the video games from the database on the database thread
+        return databaseExecutor.call(() -> mySQLiteOpenHelper.readVideoGamesWithContentCoverArt(afterId, limit));
+
+    }
+
+    /**
+     * Method allowing to verify if any video game still uses an image path, blocking until it is verified
+     * This method must only be called from a background thread, such as the one of the CoverArtImportWorker
+     * @param imagePath Image path of the cover art
+     * @return True if at least one video game uses the image path
+     * @throws Exception Exception thrown if the video games could not be read
+     */
+    boolean isImagePathUsed(String imagePath) throws Exception {
+
+        // Verify the image path within the database on the database thread
+        return databaseExecutor.call(() -> mySQLiteOpenHelper.isImagePathUsed(imagePath));
+
+    }
+
+    /**
+     * Method allowing to replace the image path of a video game by the image path of its imported cover art, blocking until it is replaced
+     * This method must only be called from a background thread, such as the one of the CoverArtImportWorker
+     * @param id Id of the video game
+     * @param previousImagePath Image path from which the cover art was imported
+     * @param imagePath Image path of the imported cover art
+     * @return True if the image path was replaced, false if the video game was deleted or if its cover art was changed in the meantime
+     * @throws Exception Exception thrown if the image path could not be replaced
+     */
+    boolean replaceImagePath(int id, String previousImagePath, String imagePath) throws Exception {
+
+        // Replace the image path within the database and then within a copy of the video game replacing it within the model
+        return databaseExecutor.call(() -> {
+            if (!mySQLiteOpenHelper.replaceImagePath(id, previousImagePath, imagePath)) {
+                return false;
+            }
+            VideoGame videoGame = videoGames != null ? videoGames.get(id) : null;
+            if (videoGame != null) {
+                VideoGame copy = withCategoryStatus(videoGame, null, false);
+                copy.setImagePath(imagePath);
+                putVideoGame(copy);
+            }
+            return true;
+        });
+
+    }
+
+    /**
+     * Method allowing to read all video games within a category from the model
+     * @param category Category of the video games to read
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    private DatabaseTask readAllVideoGames(String category, String sortColumn, String sortOrder, DatabaseCallback<List<VideoGame>> callback) {
+
+        // Obtain the sorted video games of the category, sorting them only if they were modified since the last read
+        return databaseExecutor.submit(() -> {
+            // Read the manual order from the keys of the category, which is never cached since moving a video game changes it
+            if (MySQLiteOpenHelper.SORT_MANUAL.equals(sortColumn)) {
+                return readManualOrder(VideoGame.getCategoryFlag(category));
+            }
+            // Read only the first page of the category if the library is too large to be kept in memory
+            if (!ensureLoaded()) {
+                return new PagedVideoGameList(this, category, sortColumn, sortOrder, mySQLiteOpenHelper.readVideoGamesPage(category, sortColumn, sortOrder, null, PagedVideoGameList.PAGE_SIZE));
+            }
+            String key = category + ":" + sortColumn + sortOrder;
+            ArrayList<VideoGame> sortedVideoGames = sortedCategories.get(key);
+            if (sortedVideoGames == null) {
+                sortedVideoGames = new ArrayList<>();
+                int categoryFlag = VideoGame.getCategoryFlag(category);
+                for (VideoGame videoGame : videoGames.values()) {
+                    if (videoGame.isInAnyCategory(categoryFlag)) {
+                        sortedVideoGames.add(videoGame);
+                    }
+                }
+                sortedVideoGames.sort(buildComparator(sortColumn, sortOrder));
+                sortedCategories.put(key, sortedVideoGames);
+            }
+            // Return a copy so that the callers can modify their list without altering the model
+            return new ArrayList<>(sortedVideoGames);
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to read all video games within a category in their manual order, those never placed manually being sorted by title after the others
+     * This method must only be called from the database thread
+     * @param categoryFlag Flag of the category
+     * @return ArrayList containing every video game of the category, since the manual order cannot be read by pages
+     */
+    private ArrayList<VideoGame> readManualOrder(int categoryFlag) {
+
+        // Read the video games from the database if the library is too large to be kept in memory
+        if (!ensureLoaded()) {
+            return mySQLiteOpenHelper.readManualOrderVideoGames(categoryFlag);
+        }
+
+        // Otherwise only read the ordered IDs of the category and obtain their video games from the model
+        ArrayList<VideoGame> manualOrderVideoGames = new ArrayList<>();
+        for (int gameId : mySQLiteOpenHelper.readManualOrderIds(categoryFlag)) {
+            VideoGame videoGame = videoGames.get(gameId);
+            if (videoGame != null) {
+                manualOrderVideoGames.add(videoGame);
+            }
+        }
+        return manualOrderVideoGames;
+
+    }
+
+    /**
+     * Method allowing to move a video game between two others within the manual order of a category, which only writes the key of the moved video game
+     * Every key of the category is written once when a neighbour was never placed manually, and again in the background once the keys have grown too long
+     * @param category Category in which the video game was moved
+     * @param gameId ID of the moved video game
+     * @param previousId ID of the video game now displayed before the moved video game, or -1 if it is now first
+     * @param nextId ID of the video game now displayed after the moved video game, or -1 if it is now last
+     * @param callback Callback receiving the success of the move on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask moveVideoGame(String category, int gameId, int previousId, int nextId, DatabaseCallback<Boolean> callback) {
+
+        // Create a key between the keys of both neighbours, or place the video game after its previous neighbour while writing every key if one of them has no usable key
+        return submitWrite(() -> {
+            int categoryFlag = VideoGame.getCategoryFlag(category);
+            int listId = MySQLiteOpenHelper.getCategoryListId(categoryFlag);
+            String previousKey = previousId != -1 ? mySQLiteOpenHelper.readManualOrderKey(listId, previousId) : null;
+            String nextKey = nextId != -1 ? mySQLiteOpenHelper.readManualOrderKey(listId, nextId) : null;
+            if ((previousId != -1 && previousKey == null) || (nextId != -1 && nextKey == null) || (previousKey != null && nextKey != null && previousKey.compareTo(nextKey) >= 0)) {
+                return rebalanceManualOrder(categoryFlag, gameId, previousId, nextId);
+            }
+            String sortKey = ManualOrderKey.between(previousKey, nextKey);
+            if (!mySQLiteOpenHelper.writeManualOrderKey(listId, gameId, sortKey)) {
+                return false;
+            }
+            // Spread the keys of the category again after the move has been reported, so that they stay short
+            if (sortKey.length() > ManualOrderKey.MAX_LENGTH) {
+                submitWrite(() -> rebalanceManualOrder(categoryFlag, -1, -1, -1), null);
+            }
+            return true;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to replace every key of a category with keys spread evenly, keeping the current manual order
+     * This method must only be called from the database thread
+     * @param categoryFlag Flag of the category
+     * @param movedId ID of a video game to be placed between two others, or -1 to keep every video game in place
+     * @param previousId ID of the video game after which the moved video game is placed, or -1 to place it first
+     * @param nextId ID of the video game before which the moved video game is placed, or -1 to place it last
+     * @return Boolean indicating if the keys were replaced, which is false if the moved video game or both of its neighbours are no longer in the category
+     */
+    private boolean rebalanceManualOrder(int categoryFlag, int movedId, int previousId, int nextId) {
+
+        // Read the current manual order and move the video game after its previous neighbour, or before its next neighbour if the previous one is no longer in the category
+        ArrayList<Integer> orderedIds = mySQLiteOpenHelper.readManualOrderIds(categoryFlag);
+        if (movedId != -1) {
+            if (!orderedIds.remove(Integer.valueOf(movedId))) {
+                return false;
+            }
+            int previousIndex = orderedIds.indexOf(previousId);
+            int nextIndex = orderedIds.indexOf(nextId);
+            if (previousId == -1) {
+                orderedIds.add(0, movedId);
+            }
+            else if (previousIndex != -1) {
+                orderedIds.add(previousIndex + 1, movedId);
+            }
+            else if (nextIndex != -1) {
+                orderedIds.add(nextIndex, movedId);
+            }
+            else {
+                return false;
+            }
+        }
+
+        // Write the new keys of the whole category within a single transaction
+        int[] gameIds = new int[orderedIds.size()];
+        for (int index = 0; index < gameIds.length; index++) {
+            gameIds[index] = orderedIds.get(index);
+        }
+        return mySQLiteOpenHelper.writeManualOrderKeys(MySQLiteOpenHelper.getCategoryListId(categoryFlag), gameIds, ManualOrderKey.evenlySpaced(gameIds.length));
+
+    }
+
+    /**
+     * Method allowing to read every list of the library, starting with the seeded categories
+     * @param callback Callback receiving the ArrayList containing the lists on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readLists(DatabaseCallback<ArrayList<VideoGameList>> callback) {
+        return databaseExecutor.submit(mySQLiteOpenHelper::readLists, callback);
+    }
+
+    /**
+     * Method allowing to create a new list within the library
+     * @param name Name of the new list
+     * @param callback Callback receiving the success of the creation on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask createList(String name, DatabaseCallback<Boolean> callback) {
+        return submitWrite(() -> mySQLiteOpenHelper.insertList(name) != -1, callback);
+    }
+
+    /**
+     * Method allowing to delete a list created by the user, the video games of the list being kept within the library
+     * @param listId ID of the list to be deleted
+     * @param callback Callback receiving the success of the deletion on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask deleteList(int listId, DatabaseCallback<Boolean> callback) {
+        return submitWrite(() -> mySQLiteOpenHelper.deleteList(listId), callback);
+    }
+
+    /**
+     * Method allowing to add a video game to a list created by the user or to remove it from the list
+     * The seeded categories are updated with the toggleCategory method, which keeps every video game within at least one category
+     * @param list List to be updated
+     * @param gameId ID of the video game
+     * @param isMember Indicates if the video game must be added to or removed from the list
+     * @param callback Callback receiving on the main thread whether the membership was changed, which is false if it already matched or if the video game or the list no longer exists
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask updateListMembership(VideoGameList list, int gameId, boolean isMember, DatabaseCallback<Boolean> callback) {
+
+        // Reject the seeded categories, whose video games are saved within the categories of each video game
+        if (list.isCategory()) {
+            throw new IllegalArgumentException("Categories are updated with toggleCategory: " + list.getName());
+        }
+
+        // Update the membership of the video game within the database
+        return submitWrite(() -> mySQLiteOpenHelper.updateListMembership(list.getId(), gameId, isMember), callback);
+
+    }
+
+    /**
+     * Method allowing to read all video games within a list, the seeded categories being read as any other category
+     * @param list List of the video games to read
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param callback Callback receiving the list containing the video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readListVideoGames(VideoGameList list, String sortColumn, String sortOrder, DatabaseCallback<List<VideoGame>> callback) {
+
+        // Read the seeded categories using their partial indexes and the model
+        if (list.isCategory()) {
+            return readAllVideoGames(list.getName(), sortColumn, sortOrder, callback);
+        }
+
+        // Obtain the video games of the list from the model using the IDs within the membership table, or from the database if the library is too large
+        return databaseExecutor.submit(() -> {
+            if (!ensureLoaded()) {
+                return mySQLiteOpenHelper.readListVideoGames(list.getId(), sortColumn, sortOrder);
+            }
+            ArrayList<VideoGame> listVideoGames = new ArrayList<>();
+            for (int gameId : mySQLiteOpenHelper.readListVideoGameIds(list.getId())) {
+                VideoGame videoGame = videoGames.get(gameId);
+                if (videoGame != null) {
+                    listVideoGames.add(videoGame);
+                }
+            }
+            listVideoGames.sort(buildComparator(sortColumn, sortOrder));
+            return listVideoGames;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to read the lists containing a specific video game, including the seeded categories in which it is saved
+     * @param gameId ID of the video game
+     * @param callback Callback receiving the ArrayList containing the lists on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readVideoGameLists(int gameId, DatabaseCallback<ArrayList<VideoGameList>> callback) {
+
+        // Keep the categories in which the video game is saved and the lists created by the user whose membership contains the video game
+        return databaseExecutor.submit(() -> {
+            VideoGame videoGame;
+            if (ensureLoaded()) {
+                videoGame = videoGames.get(gameId);
+            }
+            else {
+                ArrayList<VideoGame> result = mySQLiteOpenHelper.readOneVideoGame(gameId);
+                videoGame = result.isEmpty() ? null : result.get(0);
+            }
+            ArrayList<Integer> listIds = mySQLiteOpenHelper.readVideoGameListIds(gameId);
+            ArrayList<VideoGameList> videoGameLists = new ArrayList<>();
+            for (VideoGameList list : mySQLiteOpenHelper.readLists()) {
+                if (list.isCategory() ? videoGame != null && videoGame.isInAnyCategory(list.getCategoryFlag()) : listIds.contains(list.getId())) {
+                    videoGameLists.add(list);
+                }
+            }
+            return videoGameLists;
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to search for the video games of a category using the full-text search index, which matches and ranks them like the in-memory search
+     * @param category Category of the video games to search
+     * @param query Search query entered by the user
+     * @param sortColumn Column by which the video games of equal relevance will be sorted
+     * @param sortOrder Order in which the video games of equal relevance will be sorted
+     * @param callback Callback receiving the most relevant video games and the amount of matching video games on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask searchVideoGames(String category, String query, String sortColumn, String sortOrder, DatabaseCallback<VideoGameSearchResult> callback) {
+        return databaseExecutor.submit(() -> mySQLiteOpenHelper.searchVideoGames(category, query, sortColumn, sortOrder, SEARCH_RESULT_LIMIT), callback);
+    }
+
+    /**
+     * Method allowing to read a page of the video games within a category from the database
+     * @param category Category of the video games to read
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param afterKey Key of the last video game of the previous page, or null to read the first page
+     * @param pageSize Maximum amount of video games within the page
+     * @param callback Callback receiving the ArrayList containing the video games of the page on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    DatabaseTask readVideoGamesPage(String category, String sortColumn, String sortOrder, VideoGamePageKey afterKey, int pageSize, DatabaseCallback<ArrayList<VideoGame>> callback) {
+        return databaseExecutor.submit(() -> mySQLiteOpenHelper.readVideoGamesPage(category, sortColumn, sortOrder, afterKey, pageSize), callback);
+    }
+
+    /**
+     * Method allowing to load every video game of the database within the model if it was not already loaded
+     * @return True if the library is kept in memory, false if it is too large and must be read from the database
+     */
+    private boolean ensureLoaded() {
+
+        // Verify once if the library is small enough to be kept in memory without counting every video game
+        if (videoGames == null && !isLargeLibrary) {
+            isLargeLibrary = mySQLiteOpenHelper.hasMoreVideoGamesThan(LARGE_LIBRARY_THRESHOLD);
+        }
+
+        // Read the whole library once and index the video games by their ID
+        if (videoGames == null && !isLargeLibrary) {
+            ArrayList<VideoGame> library = mySQLiteOpenHelper.readAllVideoGames();
+            videoGames = new LinkedHashMap<>(library.size() * 2);
+            for (VideoGame videoGame : library) {
+                videoGames.put(videoGame.getId(), videoGame);
+            }
+        }
+        return videoGames != null;
+
+    }
+
+    /**
+     * Method allowing to add or replace a video game within the model
+     * @param videoGame Video game to be added or replaced
+     */
+    private void putVideoGame(VideoGame videoGame) {
+
+        // Replace the video game and discard the sorted categories which may no longer be valid
+        if (videoGames != null) {
+            videoGames.put(videoGame.getId(), videoGame);
+            sortedCategories.clear();
+        }
+
+    }
+
+    /**
+     * Method allowing to remove a deleted video game from the model along with its files which are no longer used
+     * @param id Id of the deleted video game
+     * @param imagePath Image path of the cover art of the deleted video game
+     */
+    private void onVideoGameDeleted(int id, String imagePath) {
+
+        // Delete the thumbnails and the cover art if no other video game uses it, and then remove the video game from the model
+        coverThumbnailGenerator.deleteThumbnails(id);
+        deleteCoverArtIfUnused(imagePath);
+        if (videoGames != null) {
+            videoGames.remove(id);
+            sortedCategories.clear();
+        }
+
+    }
+
+    /**
+     * Method allowing to enqueue the generation of the thumbnails of a video game if it has a cover art
+     * @param id Id of the video game
+     * @param imagePath Image path of the cover art of the video game
+     */
+    private void enqueueCoverThumbnails(int id, String imagePath) {
+
+        // Video games without a cover art are saved with the "null" image path
+        if (imagePath != null && !imagePath.equals("null")) {
+            CoverThumbnailWorker.enqueue(context, id, imagePath);
+        }
+
+    }
+
+    /**
+     * Method allowing to delete an imported cover art if no video game uses it anymore, since identical cover art are shared by the video games
+     * This method must only be called from the database thread
+     * @param imagePath Image path of the cover art
+     */
+    private void deleteCoverArtIfUnused(String imagePath) {
+
+        // Only the cover art imported into the files of the application can be deleted
+        if (coverArtImporter.isImported(imagePath) && !mySQLiteOpenHelper.isImagePathUsed(imagePath)) {
+            coverArtImporter.deleteCoverArt(imagePath);
+        }
+
+    }
+
+    /**
+     * Method allowing to execute a write operation on the database thread while logging any exception and reporting it as a failure
+     * @param operation Write operation to be executed
+     * @param callback Callback receiving the success of the operation on the main thread
+     * @return DatabaseTask allowing to cancel the operation
+     */
+    private DatabaseTask submitWrite(Callable<Boolean> operation, DatabaseCallback<Boolean> callback) {
+
+        // Load the model before the write so that it can be updated, and log and report a failure if the operation throws an exception
+        return databaseExecutor.submit(() -> {
+            try {
+                ensureLoaded();
+                return operation.call();
+            }
+            catch (Exception e) {
+                Log.e(TAG, "Write operation failed", e);
+                return false;
+            }
+        }, callback);
+
+    }
+
+    /**
+     * Method allowing to copy a video game while changing its status in a specific category
+     * The copy replaces the original so that the lists already handed to the screens are never modified
+     * @param videoGame Video game to be copied
+     * @param category Category whose status will be changed, or null to copy the video game without changing any category
+     * @param status New status of the video game in the category
+     * @return Copy of the video game with the new status
+     */
+    private static VideoGame withCategoryStatus(VideoGame videoGame, String category, boolean status) {
+
+        // Copy the video game with the new status in the specified category, along with its thumbnails and its preview
+        VideoGame copy = new VideoGame(videoGame.getId(), videoGame.getTitle(), videoGame.getPlatform(), videoGame.getPublisher(), videoGame.getReleaseDate(), videoGame.getCompletionDate(), videoGame.getPlaytime(), videoGame.getPrice(), videoGame.getCategories(), videoGame.getImagePath());
+        if (category != null) {
+            copy.setInCategory(VideoGame.getCategoryFlag(category), status);
+        }
+        copy.setListThumbnail(videoGame.getListThumbnail());
+        copy.setDetailThumbnail(videoGame.getDetailThumbnail());
+        copy.setCoverPreview(videoGame.getCoverPreview());
+        return copy;
+
+    }
+
+    /**
+     * Method allowing to copy a video game while changing the thumbnails and the preview of its cover art
+     * @param videoGame Video game to be copied
+     * @param listThumbnail New thumbnail displayed in the lists
+     * @param detailThumbnail New thumbnail displayed in the details
+     * @param coverPreview New tiny preview of the cover art
+     * @return Copy of the video game with the new thumbnails
+     */
+    private static VideoGame withCoverThumbnails(VideoGame videoGame, CoverThumbnail listThumbnail, CoverThumbnail detailThumbnail, byte[] coverPreview) {
+
+        // Copy the video game without changing any category and replace its thumbnails and its preview
+        VideoGame copy = withCategoryStatus(videoGame, null, false);
+        copy.setListThumbnail(listThumbnail);
+        copy.setDetailThumbnail(detailThumbnail);
+        copy.setCoverPreview(coverPreview);
+        return copy;
+
+    }
+
+    /**
+     * Method allowing to build a Comparator sorting the video games in the same order as the queries of the database
+     * Null values come first in ascending order and last in descending order, ties always being sorted by title
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @return Comparator sorting the video games
+     */
+    static Comparator<VideoGame> buildComparator(String sortColumn, String sortOrder) {
+
+        // Comparator used to sort the video games by title
+        Comparator<VideoGame> byTitle = Comparator.comparing(VideoGame::getTitle, Comparator.nullsFirst(Comparator.naturalOrder()));
+        boolean isDescending = sortOrder.trim().equalsIgnoreCase("DESC");
+
+        // Comparator used to sort the video games by the specified column
+        Comparator<VideoGame> bySortColumn;
+        switch (sortColumn) {
+            case MySQLiteOpenHelper.COLUMN_PLATFORM:
+                bySortColumn = Comparator.comparing(VideoGame::getPlatform, Comparator.nullsFirst(Comparator.naturalOrder()));
+                break;
+            case MySQLiteOpenHelper.COLUMN_PUBLISHER:
+                bySortColumn = Comparator.comparing(VideoGame::getPublisher, Comparator.nullsFirst(Comparator.naturalOrder()));
+                break;
+            case MySQLiteOpenHelper.COLUMN_RELEASE_DATE:
+                bySortColumn = Comparator.comparing(VideoGame::getReleaseDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+                break;
+            case MySQLiteOpenHelper.COLUMN_COMPLETION_DATE:
+                bySortColumn = Comparator.comparing(VideoGame::getCompletionDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+                break;
+            case MySQLiteOpenHelper.COLUMN_PLAYTIME:
+                bySortColumn = Comparator.comparingInt(VideoGame::getPlaytime);
+                break;
+            case MySQLiteOpenHelper.COLUMN_PRICE:
+                bySortColumn = Comparator.comparingDouble(VideoGame::getPrice);
+                break;
+            default:
+                // The title does not need to be repeated when the video games are already sorted by title
+                return isDescending ? byTitle.reversed() : byTitle;
+        }
+
+        // Sort the video games by the specified column and then by title
+        return (isDescending ? bySortColumn.reversed() : bySortColumn).thenComparing(byTitle);
+
+    }
+
+}
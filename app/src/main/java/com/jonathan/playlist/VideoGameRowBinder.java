@@ -0,0 +1,227 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRowBinder.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.content.Context;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Class allowing to prepare the text displayed by the rows of a fragment, so that binding a row only assigns strings which were already formatted
+ * Each fragment uses its own binder, displaying the playtime, the price or the completion date of the video games
+ */
+abstract class VideoGameRowBinder {
+
+    /**
+     * Method allowing to obtain the binder of a fragment
+     * @param context Context used to obtain the strings of the application
+     * @param fragmentName Name of the fragment displaying the rows
+     * @return VideoGameRowBinder of the fragment
+     */
+    static VideoGameRowBinder forFragment(Context context, String fragmentName) {
+
+        // Return the binder displaying the information specific to the category of the fragment
+        switch (fragmentName) {
+            case "collection":
+            case "wishlist":
+                return new PriceRowBinder(context.getString(R.string.free));
+            case "completion":
+                return new CompletionRowBinder(context.getString(R.string.playtime_no), context.getString(R.string.hour), context.getString(R.string.hours), context.getString(R.string.completion_date_no));
+            default:
+                return new PlaytimeRowBinder(context.getString(R.string.playtime_no), context.getString(R.string.hour), context.getString(R.string.hours));
+        }
+
+    }
+
+    /**
+     * Method allowing to prepare the text displayed by the row of a video game
+     * This method can be called from any thread
+     * @param videoGame Video game displayed by the row
+     * @return Row containing the formatted text
+     */
+    Row createRow(VideoGame videoGame) {
+
+        // Format each field displayed by the row
+        return new Row(String.valueOf(videoGame.getTitle()), String.valueOf(videoGame.getPlatform()), String.valueOf(videoGame.getPublisher()), formatDate(videoGame), formatCategory(videoGame));
+
+    }
+
+    /**
+     * Method allowing to prepare the text displayed by the rows of many video games
+     * This method can be called from any thread
+     * @param videoGames Video games displayed by the rows, a null video game resulting in a null row
+     * @return Array containing the rows in the same order as the video games
+     */
+    Row[] createRows(List<VideoGame> videoGames) {
+
+        // Prepare the row of each video game
+        Row[] rows = new Row[videoGames.size()];
+        for (int i = 0; i < rows.length; i++) {
+            VideoGame videoGame = videoGames.get(i);
+            rows[i] = videoGame != null ? createRow(videoGame) : null;
+        }
+        return rows;
+
+    }
+
+    /**
+     * Method allowing to format the date displayed by the row of a video game
+     * @param videoGame Video game displayed by the row
+     * @return Formatted release date of the video game
+     */
+    String formatDate(VideoGame videoGame) {
+        return String.valueOf(videoGame.getReleaseDate());
+    }
+
+    /**
+     * Method allowing to format the information specific to the category of the fragment
+     * @param videoGame Video game displayed by the row
+     * @return Formatted information specific to the category
+     */
+    abstract String formatCategory(VideoGame videoGame);
+
+    /**
+     * Class containing the formatted text displayed by the row of a video game
+     */
+    static final class Row {
+
+        // Formatted text of each TextView of the row
+        final String title, platform, publisher, date, category;
+
+        /**
+         * Constructor for the Row object
+         * @param title Title of the video game
+         * @param platform Platform of the video game
+         * @param publisher Publisher of the video game
+         * @param date Date displayed by the row
+         * @param category Information specific to the category of the fragment
+         */
+        Row(String title, String platform, String publisher, String date, String category) {
+            this.title = title;
+            this.platform = platform;
+            this.publisher = publisher;
+            this.date = date;
+            this.category = category;
+        }
+
+    }
+
+    /**
+     * Binder displaying the playtime of the video games, used by the backlog
+     */
+    static class PlaytimeRowBinder extends VideoGameRowBinder {
+
+        // Strings displayed along with the playtime
+        private final String noPlaytime, hour, hours;
+
+        /**
+         * Constructor for the PlaytimeRowBinder object
+         * @param noPlaytime String displayed when the video game has no playtime
+         * @param hour String displayed after a playtime of one hour
+         * @param hours String displayed after a playtime of many hours
+         */
+        PlaytimeRowBinder(String noPlaytime, String hour, String hours) {
+            this.noPlaytime = noPlaytime;
+            this.hour = " " + hour;
+            this.hours = " " + hours;
+        }
+
+        /**
+         * Method allowing to format the playtime of a video game
+         * @param videoGame Video game displayed by the row
+         * @return Formatted playtime of the video game
+         */
+        @Override
+        String formatCategory(VideoGame videoGame) {
+
+            // Display the playtime in hours, or a message if the video game has no playtime
+            int playtime = videoGame.getPlaytime();
+            if (playtime <= 0) {
+                return noPlaytime;
+            }
+            return playtime + (playtime == 1 ? hour : hours);
+
+        }
+
+    }
+
+    /**
+     * Binder displaying the completion date and the playtime of the video games, used by the completion list
+     */
+    static final class CompletionRowBinder extends PlaytimeRowBinder {
+
+        // String displayed when the video game has no completion date
+        private final String noCompletionDate;
+
+        /**
+         * Constructor for the CompletionRowBinder object
+         * @param noPlaytime String displayed when the video game has no playtime
+         * @param hour String displayed after a playtime of one hour
+         * @param hours String displayed after a playtime of many hours
+         * @param noCompletionDate String displayed when the video game has no completion date
+         */
+        CompletionRowBinder(String noPlaytime, String hour, String hours, String noCompletionDate) {
+            super(noPlaytime, hour, hours);
+            this.noCompletionDate = noCompletionDate;
+        }
+
+        /**
+         * Method allowing to format the completion date of a video game
+         * @param videoGame Video game displayed by the row
+         * @return Formatted completion date of the video game
+         */
+        @Override
+        String formatDate(VideoGame videoGame) {
+
+            // Display the completion date, or a message if the video game has no completion date
+            return videoGame.getCompletionDate() != null ? String.valueOf(videoGame.getCompletionDate()) : noCompletionDate;
+
+        }
+
+    }
+
+    /**
+     * Binder displaying the price of the video games, used by the collection and the wishlist
+     */
+    static final class PriceRowBinder extends VideoGameRowBinder {
+
+        // String displayed when the video game is free
+        private final String free;
+
+        // DecimalFormat shared by every row, which is only used while holding its lock since it is not thread-safe
+        private final DecimalFormat decimalFormat = new DecimalFormat("0.00");
+
+        /**
+         * Constructor for the PriceRowBinder object
+         * @param free String displayed when the video game is free
+         */
+        PriceRowBinder(String free) {
+            this.free = free;
+        }
+
+        /**
+         * Method allowing to format the price of a video game
+         * @param videoGame Video game displayed by the row
+         * @return Formatted price of the video game
+         */
+        @Override
+        String formatCategory(VideoGame videoGame) {
+
+            // Display the price in dollars, or a message if the video game is free
+            if (videoGame.getPrice() <= 0) {
+                return free;
+            }
+            synchronized (decimalFormat) {
+                return "$" + decimalFormat.format(videoGame.getPrice());
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRowMapper.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import android.database.Cursor;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Class allowing to map the rows of a Cursor to VideoGame objects while resolving the position of each column only once
+ */
+class VideoGameRowMapper {
+
+    // Positions of the columns within the cursor
+    private final int columnId, columnTitle, columnPlatform, columnPublisher, columnReleaseDate, columnCompletionDate, columnPlaytime, columnPrice, columnCategories, columnImagePath;
+    private final int columnListThumbnailPath, columnListThumbnailWidth, columnListThumbnailHeight, columnDetailThumbnailPath, columnDetailThumbnailWidth, columnDetailThumbnailHeight, columnCoverPreview;
+
+    // HashMap allowing the video games to share a single instance of each repeated platform and publisher
+    private final HashMap<String, String> sharedStrings = new HashMap<>();
+
+    /**
+     * Constructor for the VideoGameRowMapper object
+     * @param cursor Cursor whose columns will be resolved
+     */
+    VideoGameRowMapper(Cursor cursor) {
+
+        // Resolve the position of each column of the cursor
+        columnId = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_ID);
+        columnTitle = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_TITLE);
+        columnPlatform = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PLATFORM);
+        columnPublisher = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PUBLISHER);
+        columnReleaseDate = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_RELEASE_DATE);
+        columnCompletionDate = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_COMPLETION_DATE);
+        columnPlaytime = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PLAYTIME);
+        columnPrice = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_PRICE);
+        columnCategories = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_CATEGORIES);
+        columnImagePath = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_IMAGE_PATH);
+        columnListThumbnailPath = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_LIST_THUMBNAIL_PATH);
+        columnListThumbnailWidth = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_LIST_THUMBNAIL_WIDTH);
+        columnListThumbnailHeight = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_LIST_THUMBNAIL_HEIGHT);
+        columnDetailThumbnailPath = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_DETAIL_THUMBNAIL_PATH);
+        columnDetailThumbnailWidth = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_DETAIL_THUMBNAIL_WIDTH);
+        columnDetailThumbnailHeight = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_DETAIL_THUMBNAIL_HEIGHT);
+        columnCoverPreview = cursor.getColumnIndexOrThrow(MySQLiteOpenHelper.COLUMN_COVER_PREVIEW);
+
+    }
+
+    /**
+     * Method allowing to map every row of a cursor to an ArrayList of video games before closing the cursor
+     * @param cursor Cursor containing the video games to be mapped
+     * @return ArrayList containing the mapped video games
+     */
+    ArrayList<VideoGame> mapAll(Cursor cursor) {
+
+        // Initialize an ArrayList large enough to store every video game of the cursor
+        ArrayList<VideoGame> videoGames = new ArrayList<>(Math.max(cursor.getCount(), 0));
+
+        // Iterate through the cursor and add each video game to the ArrayList
+        try {
+            while (cursor.moveToNext()) {
+                videoGames.add(map(cursor));
+            }
+        }
+
+        // Close the cursor once every row has been mapped
+        finally {
+            cursor.close();
+        }
+
+        // Return the ArrayList of video games
+        return videoGames;
+
+    }
+
+    /**
+     * Method allowing to map the current row of a cursor to a VideoGame object
+     * @param cursor Cursor positioned on the row to be mapped
+     * @return VideoGame object corresponding to the current row
+     */
+    VideoGame map(Cursor cursor) {
+
+        // Extract the values from the cursor using the resolved column positions
+        int id = cursor.getInt(columnId);
+        String title = cursor.getString(columnTitle);
+        String platform = share(cursor.getString(columnPlatform));
+        String publisher = share(cursor.getString(columnPublisher));
+        LocalDate releaseDate = decodeDate(cursor.getString(columnReleaseDate));
+        LocalDate completionDate = decodeDate(cursor.getString(columnCompletionDate));
+        int playtime = cursor.getInt(columnPlaytime);
+        double price = cursor.getDouble(columnPrice);
+        int categories = cursor.getInt(columnCategories);
+        String imagePath = cursor.getString(columnImagePath);
+
+        // Create the new VideoGame object along with the thumbnails and the preview of its cover art
+        VideoGame videoGame = new VideoGame(id, title, platform, publisher, releaseDate, completionDate, playtime, price, categories, imagePath);
+        videoGame.setListThumbnail(mapThumbnail(cursor, columnListThumbnailPath, columnListThumbnailWidth, columnListThumbnailHeight));
+        videoGame.setDetailThumbnail(mapThumbnail(cursor, columnDetailThumbnailPath, columnDetailThumbnailWidth, columnDetailThumbnailHeight));
+        videoGame.setCoverPreview(cursor.isNull(columnCoverPreview) ? null : cursor.getBlob(columnCoverPreview));
+
+        // Return the new VideoGame object
+        return videoGame;
+
+    }
+
+    /**
+     * Method allowing to map the columns of a thumbnail of the current row of a cursor to a CoverThumbnail object
+     * @param cursor Cursor positioned on the row to be mapped
+     * @param columnPath Position of the column containing the path of the thumbnail
+     * @param columnWidth Position of the column containing the width of the thumbnail
+     * @param columnHeight Position of the column containing the height of the thumbnail
+     * @return CoverThumbnail object, or null if the thumbnail has not been generated
+     */
+    private static CoverThumbnail mapThumbnail(Cursor cursor, int columnPath, int columnWidth, int columnHeight) {
+
+        // Return the thumbnail only if it has been generated
+        String path = cursor.getString(columnPath);
+        return path != null ? new CoverThumbnail(path, cursor.getInt(columnWidth), cursor.getInt(columnHeight)) : null;
+
+    }
+
+    /**
+     * Method allowing to obtain the shared instance of a repeated String
+     * @param value String read from the cursor
+     * @return Instance of the String shared by every video game of the cursor
+     */
+    private String share(String value) {
+
+        // Null values do not need to be shared
+        if (value == null) {
+            return null;
+        }
+
+        // Return the previously stored instance or store the new one
+        String sharedValue = sharedStrings.get(value);
+        if (sharedValue == null) {
+            sharedStrings.put(value, value);
+            sharedValue = value;
+        }
+        return sharedValue;
+
+    }
+
+    /**
+     * Method allowing to decode a date stored in the ISO format (yyyy-MM-dd) without using a formatter
+     * @param value Date read from the cursor
+     * @return LocalDate corresponding to the date, or null if no date was stored
+     */
+    static LocalDate decodeDate(String value) {
+
+        // Null values correspond to a missing date
+        if (value == null) {
+            return null;
+        }
+
+        // Decode the year, month and day directly from the characters of the date
+        if (value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 7);
+            int day = digits(value, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+
+        // Use the default parser for any date which is not in the expected format
+        return LocalDate.parse(value);
+
+    }
+
+    /**
+     * Method allowing to convert a range of decimal digits to an integer
+     * @param value String containing the digits
+     * @param start Index of the first digit
+     * @param end Index following the last digit
+     * @return Integer corresponding to the digits, or -1 if a character is not a digit
+     */
+    private static int digits(String value, int start, int end) {
+
+        // Accumulate the value of each digit
+        int result = 0;
+        for (int index = start; index < end; index++) {
+            int digit = value.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+
+    }
+
+}
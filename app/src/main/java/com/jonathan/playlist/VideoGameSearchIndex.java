@@ -0,0 +1,275 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameSearchIndex.java    ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class containing the words of the title, platform and publisher of a list of video games sorted alphabetically, allowing to search for
+ * the video games matching a search query in memory exactly as the full-text search index of the database would match them
+ * The words are split once when the index is built, so that searching does not split or allocate anything for each video game
+ */
+final class VideoGameSearchIndex {
+
+    // Words of the title, platform and publisher of the video games in the order of the list
+    private final String[][] titleWords;
+    private final String[][] platformWords;
+    private final String[][] publisherWords;
+
+    // Words of every video game sorted alphabetically
+    private final String[] sortedWords;
+
+    // Positions within the list of the video games associated to each sorted word
+    private final int[] sortedPositions;
+
+    /**
+     * Constructor building the index of the words of a list of video games
+     * @param videoGames List containing the video games to index
+     */
+    VideoGameSearchIndex(List<VideoGame> videoGames) {
+
+        // Split the title, platform and publisher of every video game a single time
+        int size = videoGames.size();
+        titleWords = new String[size][];
+        platformWords = new String[size][];
+        publisherWords = new String[size][];
+        int wordCount = 0;
+        for (int index = 0; index < size; index++) {
+            VideoGame videoGame = videoGames.get(index);
+            titleWords[index] = VideoGameSearchQuery.tokenize(videoGame.getTitle());
+            platformWords[index] = VideoGameSearchQuery.tokenize(videoGame.getPlatform());
+            publisherWords[index] = VideoGameSearchQuery.tokenize(videoGame.getPublisher());
+            wordCount += titleWords[index].length + platformWords[index].length + publisherWords[index].length;
+        }
+
+        // Gather every word along with the position of its video game
+        String[] words = new String[wordCount];
+        int[] positions = new int[wordCount];
+        int wordIndex = 0;
+        for (int index = 0; index < size; index++) {
+            for (String[] columnWords : new String[][]{titleWords[index], platformWords[index], publisherWords[index]}) {
+                for (String word : columnWords) {
+                    words[wordIndex] = word;
+                    positions[wordIndex++] = index;
+                }
+            }
+        }
+
+        // Sort the words alphabetically along with the positions of their video games
+        Integer[] order = new Integer[wordCount];
+        for (int index = 0; index < wordCount; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, (first, second) -> words[first].compareTo(words[second]));
+        sortedWords = new String[wordCount];
+        sortedPositions = new int[wordCount];
+        for (int index = 0; index < wordCount; index++) {
+            sortedWords[index] = words[order[index]];
+            sortedPositions[index] = positions[order[index]];
+        }
+
+    }
+
+    /**
+     * Method allowing to obtain the positions of the video games which may match a search query, which are the video games
+     * having a word starting with the word of the search query found in the fewest video games
+     * @param tokens Words of the search query, of which there is at least one
+     * @return Array containing the positions of the candidate video games in ascending order
+     */
+    int[] findCandidates(String[] tokens) {
+
+        // The words starting with a word of the search query are contiguous in the sorted words, keep the word with the fewest of them
+        int start = 0;
+        int end = sortedWords.length;
+        for (String token : tokens) {
+            int tokenStart = lowerBound(token, false);
+            int tokenEnd = lowerBound(token, true);
+            if (tokenEnd - tokenStart < end - start) {
+                start = tokenStart;
+                end = tokenEnd;
+            }
+        }
+
+        // Return the positions of the candidate video games in the order of the list, each video game only once
+        int[] positions = Arrays.copyOfRange(sortedPositions, start, end);
+        Arrays.sort(positions);
+        int distinctCount = 0;
+        for (int index = 0; index < positions.length; index++) {
+            if (distinctCount == 0 || positions[distinctCount - 1] != positions[index]) {
+                positions[distinctCount++] = positions[index];
+            }
+        }
+        return Arrays.copyOf(positions, distinctCount);
+
+    }
+
+    /**
+     * Method allowing to calculate the relevance of candidate video games for a search query
+     * @param positions Positions of the candidate video games
+     * @param tokens Words of the search query
+     * @return Array containing the score of each candidate video game, or NO_MATCH if it does not match the search query
+     */
+    int[] score(int[] positions, String[] tokens) {
+
+        // Score each candidate video game using the words split when the index was built
+        int[] scores = new int[positions.length];
+        for (int index = 0; index < positions.length; index++) {
+            int position = positions[index];
+            scores[index] = VideoGameSearchQuery.score(titleWords[position], platformWords[position], publisherWords[position], tokens);
+        }
+        return scores;
+
+    }
+
+    /**
+     * Method allowing to obtain the positions of every video game of a list
+     * @param size Amount of video games within the list
+     * @return Array containing every position from 0 to the size of the list
+     */
+    static int[] allPositions(int size) {
+
+        // Fill the array with every position in ascending order
+        int[] positions = new int[size];
+        for (int index = 0; index < size; index++) {
+            positions[index] = index;
+        }
+        return positions;
+
+    }
+
+    /**
+     * Method allowing to verify if positions are sorted in ascending order
+     * @param positions Positions of video games
+     * @return True if every position is greater than the previous one
+     */
+    static boolean isAscending(int[] positions) {
+
+        // Compare each position with the previous one
+        for (int index = 1; index < positions.length; index++) {
+            if (positions[index] <= positions[index - 1]) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    /**
+     * Method allowing to compute the differences between two sets of positions within the same list, in any order
+     * This is used when the search results are ordered by relevance, the dispatchUpdates method only handling positions in ascending order
+     * @param oldPositions Positions of the video games previously displayed
+     * @param newPositions Positions of the video games now displayed
+     * @return Differences between both sets of positions
+     */
+    static DiffUtil.DiffResult calculateDiff(int[] oldPositions, int[] newPositions) {
+
+        // Both sets index the same snapshot, so that two equal positions are the same unchanged video game
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+
+            @Override
+            public int getOldListSize() {
+                return oldPositions.length;
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newPositions.length;
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldPositions[oldItemPosition] == newPositions[newItemPosition];
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return true;
+            }
+
+        });
+
+    }
+
+    /**
+     * Method allowing to notify a RecyclerView of the differences between two sets of positions within the same list
+     * Both sets being sorted subsets of the list, the differences are found in a single pass and consecutive changes are notified as ranges
+     * @param oldPositions Positions of the video games previously displayed in ascending order
+     * @param newPositions Positions of the video games now displayed in ascending order
+     * @param callback ListUpdateCallback receiving the removed and inserted ranges
+     */
+    static void dispatchUpdates(int[] oldPositions, int[] newPositions, ListUpdateCallback callback) {
+
+        // Walk both sets of positions while tracking the position within the displayed list
+        int oldIndex = 0;
+        int newIndex = 0;
+        int displayedPosition = 0;
+        while (oldIndex < oldPositions.length || newIndex < newPositions.length) {
+
+            // Keep the video games displayed in both sets
+            if (oldIndex < oldPositions.length && newIndex < newPositions.length && oldPositions[oldIndex] == newPositions[newIndex]) {
+                oldIndex++;
+                newIndex++;
+                displayedPosition++;
+                continue;
+            }
+
+            // Remove the consecutive video games which are no longer displayed
+            int removedCount = 0;
+            while (oldIndex < oldPositions.length && (newIndex == newPositions.length || oldPositions[oldIndex] < newPositions[newIndex])) {
+                oldIndex++;
+                removedCount++;
+            }
+            if (removedCount > 0) {
+                callback.onRemoved(displayedPosition, removedCount);
+            }
+
+            // Insert the consecutive video games which are now displayed
+            int insertedCount = 0;
+            while (newIndex < newPositions.length && (oldIndex == oldPositions.length || newPositions[newIndex] < oldPositions[oldIndex])) {
+                newIndex++;
+                insertedCount++;
+            }
+            if (insertedCount > 0) {
+                callback.onInserted(displayedPosition, insertedCount);
+                displayedPosition += insertedCount;
+            }
+
+        }
+
+    }
+
+    /**
+     * Method allowing to binary search the sorted words for the first word past a prefix
+     * @param prefix Word of the search query being searched
+     * @param skipMatches True to find the first word after those starting with the prefix, false to find the first word starting with it
+     * @return Index of the first sorted word that is past the prefix
+     */
+    private int lowerBound(String prefix, boolean skipMatches) {
+
+        // Every word smaller than the prefix comes first, followed by the words starting with the prefix and then by the greater words
+        int low = 0;
+        int high = sortedWords.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            String word = sortedWords[middle];
+            boolean isBefore = word.compareTo(prefix) < 0 || (skipMatches && word.startsWith(prefix));
+            if (isBefore) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+
+    }
+
+}
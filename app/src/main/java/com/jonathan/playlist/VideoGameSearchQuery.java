@@ -0,0 +1,209 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameSearchQuery.java    ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Class allowing to split the search queries into words, to build the full-text queries of the search index and to rank the video games they match
+ * The same words and the same ranking are used whether the video games are searched in memory or through the search index, so that a search
+ * finds the same video games in the same order whatever the size of the library
+ */
+final class VideoGameSearchQuery {
+
+    // Score of a video game in which one of the words of the search query was not found
+    static final int NO_MATCH = -1;
+
+    // Weight of a word found in the title, and of a word only found in the platform or the publisher
+    private static final int TITLE_WEIGHT = 4;
+    private static final int OTHER_WEIGHT = 1;
+
+    // Bonus given to the video games whose title starts with the first word of the search query
+    private static final int TITLE_PREFIX_BONUS = 2;
+
+    /**
+     * Constructor preventing the instantiation of the VideoGameSearchQuery class
+     */
+    private VideoGameSearchQuery() {}
+
+    /**
+     * Method allowing to split a text into lower case words made only of letters and digits, without their diacritics
+     * The words are split like the unicode61 tokenizer of the search index splits the indexed columns
+     * @param text Search query entered by the user, or title, platform or publisher of a video game
+     * @return Array containing the words of the text
+     */
+    static String[] tokenize(String text) {
+
+        // No words can be found in a missing text
+        if (text == null) {
+            return new String[0];
+        }
+
+        // Separate the diacritics from their letters and keep only the letters and digits, every other character ending the current word
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        ArrayList<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int index = 0; index < decomposed.length(); index++) {
+            char character = decomposed.charAt(index);
+            if (Character.getType(character) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(character)) {
+                word.append(character);
+            }
+            else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+
+    }
+
+    /**
+     * Method allowing to normalize a search query into its words separated by single spaces
+     * A normalized search query starting with a previous one can only match the video games matched by the previous one
+     * @param query Search query entered by the user
+     * @return Normalized search query, which is empty if the search query contains no word
+     */
+    static String normalize(String query) {
+        return String.join(" ", tokenize(query));
+    }
+
+    /**
+     * Method allowing to build the MATCH expression in which every word of the search query is a prefix that must be found
+     * @param query Search query entered by the user
+     * @return MATCH expression of the search index, or null if the search query contains no word
+     */
+    static String buildMatchExpression(String query) {
+
+        // Turn each word into a prefix query, the words being implicitly combined with AND
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return null;
+        }
+        StringBuilder matchExpression = new StringBuilder();
+        for (String token : tokens) {
+            if (matchExpression.length() > 0) {
+                matchExpression.append(' ');
+            }
+            matchExpression.append(token).append('*');
+        }
+        return matchExpression.toString();
+
+    }
+
+    /**
+     * Method allowing to calculate the relevance of a video game from its title, platform and publisher
+     * @param title Title of the video game
+     * @param platform Platform of the video game
+     * @param publisher Publisher of the video game
+     * @param tokens Words of the search query
+     * @return Relevance of the video game, higher being more relevant, or NO_MATCH if one of the words was not found
+     */
+    static int score(String title, String platform, String publisher, String[] tokens) {
+        return score(tokenize(title), tokenize(platform), tokenize(publisher), tokens);
+    }
+
+    /**
+     * Method allowing to calculate the relevance of a video game from the words of its title, platform and publisher
+     * Each word of the search query must be the prefix of a word of the video game, and adds the weight of the title
+     * if it is found in the title or the weight of the other columns otherwise
+     * @param titleWords Words of the title of the video game
+     * @param platformWords Words of the platform of the video game
+     * @param publisherWords Words of the publisher of the video game
+     * @param tokens Words of the search query
+     * @return Relevance of the video game, higher being more relevant, or NO_MATCH if one of the words was not found
+     */
+    static int score(String[] titleWords, String[] platformWords, String[] publisherWords, String[] tokens) {
+
+        // Add the weight of the best column in which each word of the search query is found
+        int score = 0;
+        for (String token : tokens) {
+            if (containsPrefix(titleWords, token)) {
+                score += TITLE_WEIGHT;
+            }
+            else if (containsPrefix(platformWords, token) || containsPrefix(publisherWords, token)) {
+                score += OTHER_WEIGHT;
+            }
+            else {
+                return NO_MATCH;
+            }
+        }
+
+        // Favor the video games whose title starts with the first word of the search query
+        if (tokens.length > 0 && titleWords.length > 0 && titleWords[0].startsWith(tokens[0])) {
+            score += TITLE_PREFIX_BONUS;
+        }
+        return score;
+
+    }
+
+    /**
+     * Method allowing to order the matching video games from the most to the least relevant
+     * The video games are sorted by a counting sort on their scores, which keeps the video games of equal relevance in their original order
+     * @param scores Scores of the video games in their original order
+     * @return Array containing the indexes within the scores of the matching video games from the most to the least relevant
+     */
+    static int[] rank(int[] scores) {
+
+        // Count the video games having each score
+        int maxScore = NO_MATCH;
+        for (int score : scores) {
+            maxScore = Math.max(maxScore, score);
+        }
+        int[] counts = new int[maxScore + 1];
+        for (int score : scores) {
+            if (score != NO_MATCH) {
+                counts[score]++;
+            }
+        }
+
+        // Compute where the video games of each score start, the highest score coming first
+        int[] starts = new int[maxScore + 1];
+        int matchCount = 0;
+        for (int score = maxScore; score >= 0; score--) {
+            starts[score] = matchCount;
+            matchCount += counts[score];
+        }
+
+        // Place each matching video game after those of the same score which came before it
+        int[] order = new int[matchCount];
+        for (int index = 0; index < scores.length; index++) {
+            if (scores[index] != NO_MATCH) {
+                order[starts[scores[index]]++] = index;
+            }
+        }
+        return order;
+
+    }
+
+    /**
+     * Method allowing to verify if one of the words of a column starts with a word of the search query
+     * @param words Words of the column
+     * @param token Word of the search query
+     * @return True if a word of the column starts with the word of the search query
+     */
+    private static boolean containsPrefix(String[] words, String token) {
+
+        // Compare the word of the search query with each word of the column
+        for (String word : words) {
+            if (word.startsWith(token)) {
+                return true;
+            }
+        }
+        return false;
+
+    }
+
+}
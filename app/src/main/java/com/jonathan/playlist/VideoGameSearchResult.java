@@ -0,0 +1,60 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameSearchResult.java   ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import java.util.ArrayList;
+
+/**
+ * Class representing the result of a search of the full-text search index, which only returns the most relevant video games
+ */
+final class VideoGameSearchResult {
+
+    // Most relevant video games from the most to the least relevant
+    private final ArrayList<VideoGame> videoGames;
+
+    // Amount of video games matching the search query, which is greater than the amount returned when the result was capped
+    private final int matchCount;
+
+    /**
+     * Constructor for the VideoGameSearchResult object
+     * @param videoGames Most relevant video games from the most to the least relevant
+     * @param matchCount Amount of video games matching the search query
+     */
+    VideoGameSearchResult(ArrayList<VideoGame> videoGames, int matchCount) {
+
+        // Association between the parameters and the attributes of the VideoGameSearchResult class
+        this.videoGames = videoGames;
+        this.matchCount = matchCount;
+
+    }
+
+    /**
+     * Getter for the videoGames attribute
+     * @return Most relevant video games from the most to the least relevant
+     */
+    ArrayList<VideoGame> getVideoGames() {
+        return videoGames;
+    }
+
+    /**
+     * Getter for the matchCount attribute
+     * @return Amount of video games matching the search query
+     */
+    int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Method allowing to verify if some of the matching video games were left out of the result
+     * @return True if fewer video games were returned than the amount matching the search query
+     */
+    boolean isCapped() {
+        return videoGames.size() < matchCount;
+    }
+
+}
@@ -0,0 +1,55 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverArtImporterTest.java    ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the copy of the cover art by the CoverArtImporter
+ */
+public class CoverArtImporterTest {
+
+    /**
+     * Test verifying that the cover art is copied unchanged over several buffers and that its hash is calculated while it is copied
+     */
+    @Test
+    public void copyAndHash_copiesTheContentAndNamesItAfterItsHash() throws Exception {
+
+        // Create a content larger than the buffer used to copy the cover art
+        byte[] content = new byte[200 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+
+        // Copy the content and verify both the copy and its hash
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        byte[] hash = CoverArtImporter.copyAndHash(Channels.newChannel(new ByteArrayInputStream(content)), Channels.newChannel(copy), MessageDigest.getInstance("SHA-256"));
+        assertArrayEquals(content, copy.toByteArray());
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(content), hash);
+
+    }
+
+    /**
+     * Test verifying that the hash naming the imported cover art is formatted as lowercase hexadecimal
+     */
+    @Test
+    public void toHex_formatsTheHashInLowercase() throws Exception {
+
+        // The hash of a known value matches its published SHA-256 digest
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest("abc".getBytes(StandardCharsets.UTF_8));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", CoverArtImporter.toHex(hash));
+
+    }
+
+}
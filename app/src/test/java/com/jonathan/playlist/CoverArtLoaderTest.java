@@ -0,0 +1,36 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverArtLoaderTest.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the downsampling of the cover art by the CoverArtLoader
+ */
+public class CoverArtLoaderTest {
+
+    /**
+     * Test verifying that the cover art is downsampled by the largest power of two keeping it at least as large as its target
+     */
+    @Test
+    public void calculateInSampleSize_keepsTheCoverAtLeastAsLargeAsItsTarget() {
+
+        // A cover art several times larger than its target is downsampled, while one already close to its target is decoded at full size
+        assertEquals(4, CoverArtLoader.calculateInSampleSize(1200, 1800, 263, 394));
+        assertEquals(1, CoverArtLoader.calculateInSampleSize(300, 450, 263, 394));
+
+        // A cover art whose height is already close to its target is only downsampled as far as its height allows
+        assertEquals(2, CoverArtLoader.calculateInSampleSize(4000, 800, 263, 394));
+
+        // A cover art without a known target size is decoded at full size
+        assertEquals(1, CoverArtLoader.calculateInSampleSize(4000, 6000, -1, -1));
+
+    }
+
+}
@@ -0,0 +1,61 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverPreviewTest.java        ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the encoding of the cover art previews
+ */
+public class CoverPreviewTest {
+
+    /**
+     * Test verifying that a preview only contains its dimensions and three bytes for each pixel of its grid
+     */
+    @Test
+    public void encode_keepsThePreviewWithinAFewDozenBytes() {
+
+        // Encode a preview of the default size and verify its size and dimensions
+        byte[] preview = CoverPreview.encode(new int[CoverPreview.PREVIEW_WIDTH * CoverPreview.PREVIEW_HEIGHT], CoverPreview.PREVIEW_WIDTH, CoverPreview.PREVIEW_HEIGHT);
+        assertEquals(38, preview.length);
+        assertEquals(CoverPreview.PREVIEW_WIDTH, CoverPreview.getWidth(preview));
+        assertEquals(CoverPreview.PREVIEW_HEIGHT, CoverPreview.getHeight(preview));
+
+    }
+
+    /**
+     * Test verifying that decoding a preview restores the colors of its grid, the transparency being dropped
+     */
+    @Test
+    public void decode_restoresTheOpaqueColorsOfTheGrid() {
+
+        // Encode and decode pixels of various colors, some of them being transparent
+        int[] pixels = {0xFF102030, 0x80FFFFFF, 0xFF000000, 0xFFABCDEF, 0xFF7F8081, 0x00FF0000};
+        int[] decoded = CoverPreview.decode(CoverPreview.encode(pixels, 2, 3));
+
+        // Every color is restored as an opaque color
+        assertArrayEquals(new int[] {0xFF102030, 0xFFFFFFFF, 0xFF000000, 0xFFABCDEF, 0xFF7F8081, 0xFFFF0000}, decoded);
+
+    }
+
+    /**
+     * Test verifying that a missing, truncated or empty preview is not decoded
+     */
+    @Test
+    public void decode_rejectsTruncatedPreviews() {
+
+        // A missing preview, a preview without its dimensions, a preview missing pixels and a preview without any pixel are rejected
+        assertNull(CoverPreview.decode(null));
+        assertNull(CoverPreview.decode(new byte[] {3}));
+        assertNull(CoverPreview.decode(new byte[] {3, 4, 1, 2, 3}));
+        assertNull(CoverPreview.decode(new byte[] {0, 4}));
+
+    }
+
+}
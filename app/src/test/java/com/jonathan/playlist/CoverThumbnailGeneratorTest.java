@@ -0,0 +1,36 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      CoverThumbnailGeneratorTest.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the scaling of the thumbnails by the CoverThumbnailGenerator
+ */
+public class CoverThumbnailGeneratorTest {
+
+    /**
+     * Test verifying that a thumbnail is scaled down to fit within its bounds while keeping the aspect ratio of the cover art
+     */
+    @Test
+    public void fitWithin_scalesDownWhileKeepingTheAspectRatio() {
+
+        // A cover art of the same aspect ratio as the bounds fills them, and a wide cover art is limited by the width of the bounds
+        assertArrayEquals(new int[] {263, 394}, CoverThumbnailGenerator.fitWithin(1200, 1800, 263, 394));
+        assertArrayEquals(new int[] {263, 53}, CoverThumbnailGenerator.fitWithin(4000, 800, 263, 394));
+
+        // A cover art already within the bounds is never scaled up
+        assertArrayEquals(new int[] {200, 300}, CoverThumbnailGenerator.fitWithin(200, 300, 263, 394));
+
+        // A very narrow cover art keeps a width of at least one pixel
+        assertArrayEquals(new int[] {1, 394}, CoverThumbnailGenerator.fitWithin(1, 5000, 263, 394));
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      ManualOrderKeyTest.java      ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the keys ordering the video games of a category manually
+ */
+public class ManualOrderKeyTest {
+
+    /**
+     * Test verifying that a key created between two others is ordered between them as text
+     */
+    @Test
+    public void between_isOrderedBetweenBothKeys() {
+        String first = ManualOrderKey.between(null, null);
+        String last = ManualOrderKey.between(first, null);
+        String middle = ManualOrderKey.between(first, last);
+        String start = ManualOrderKey.between(null, first);
+        assertTrue(start.compareTo(first) < 0);
+        assertTrue(first.compareTo(middle) < 0);
+        assertTrue(middle.compareTo(last) < 0);
+    }
+
+    /**
+     * Test verifying that repeatedly moving video games to random positions keeps every key distinct, ordered and without trailing zero
+     */
+    @Test
+    public void between_keepsOrderAcrossRandomMoves() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>();
+        for (int move = 0; move < 2000; move++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position > 0 ? keys.get(position - 1) : null;
+            String after = position < keys.size() ? keys.get(position) : null;
+            String key = ManualOrderKey.between(before, after);
+            assertFalse(key.endsWith("0"));
+            if (before != null) {
+                assertTrue(before.compareTo(key) < 0);
+            }
+            if (after != null) {
+                assertTrue(key.compareTo(after) < 0);
+            }
+            keys.add(position, key);
+        }
+    }
+
+    /**
+     * Test verifying that the keys spread evenly are distinct, ordered and as short as possible
+     */
+    @Test
+    public void evenlySpaced_createsOrderedKeys() {
+        String[] keys = ManualOrderKey.evenlySpaced(5000);
+        assertEquals(5000, keys.length);
+        for (int index = 0; index < keys.length; index++) {
+            assertTrue(keys[index].length() <= 3);
+            assertFalse(keys[index].endsWith("0"));
+            if (index > 0) {
+                assertTrue(keys[index - 1].compareTo(keys[index]) < 0);
+            }
+        }
+    }
+
+    /**
+     * Test verifying that no key can be created between keys out of order
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void between_rejectsKeysOutOfOrder() {
+        ManualOrderKey.between("V", "F");
+    }
+
+}
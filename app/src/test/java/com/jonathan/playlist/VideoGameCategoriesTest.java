@@ -0,0 +1,61 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameCategoriesTest.java ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the flags of the categories of a VideoGame
+ */
+public class VideoGameCategoriesTest {
+
+    /**
+     * Test verifying that the status of each category is kept within its own flag
+     */
+    @Test
+    public void constructor_keepsEachCategory() {
+        VideoGame videoGame = new VideoGame(1, "Title", "Platform", "Publisher", null, null, 0, 0, true, false, true, false, null);
+        assertEquals(VideoGame.FLAG_BACKLOG | VideoGame.FLAG_COMPLETION, videoGame.getCategories());
+        assertTrue(videoGame.isBacklog());
+        assertFalse(videoGame.isCollection());
+        assertTrue(videoGame.isCompletion());
+        assertFalse(videoGame.isWishlist());
+    }
+
+    /**
+     * Test verifying that adding or removing a category does not change the other categories
+     */
+    @Test
+    public void setInCategory_changesOnlyThatCategory() {
+        VideoGame videoGame = new VideoGame(1, "Title", "Platform", "Publisher", null, null, 0, 0, VideoGame.FLAG_COLLECTION, null);
+        videoGame.setInCategory(VideoGame.getCategoryFlag("wishlist"), true);
+        assertEquals(VideoGame.FLAG_COLLECTION | VideoGame.FLAG_WISHLIST, videoGame.getCategories());
+        videoGame.setCollection(false);
+        assertEquals(VideoGame.FLAG_WISHLIST, videoGame.getCategories());
+    }
+
+    /**
+     * Test verifying that a single check finds a video game saved in any of several categories
+     */
+    @Test
+    public void isInAnyCategory_matchesAnyFlag() {
+        VideoGame videoGame = new VideoGame(1, "Title", "Platform", "Publisher", null, null, 0, 0, VideoGame.FLAG_WISHLIST, null);
+        assertTrue(videoGame.isInAnyCategory(VideoGame.FLAG_BACKLOG | VideoGame.FLAG_WISHLIST));
+        assertFalse(videoGame.isInAnyCategory(VideoGame.FLAG_BACKLOG | VideoGame.FLAG_COLLECTION));
+    }
+
+    /**
+     * Test verifying that an unknown category is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void getCategoryFlag_unknownCategory() {
+        VideoGame.getCategoryFlag("favorites");
+    }
+
+}
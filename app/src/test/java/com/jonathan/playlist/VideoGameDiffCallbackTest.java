@@ -0,0 +1,95 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameDiffCallbackTest.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import org.junit.Test;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the comparison of the refreshed video games by the VideoGameDiffCallback
+ */
+public class VideoGameDiffCallbackTest {
+
+    /**
+     * Method allowing to create a video game with a specific ID and title
+     * @param id ID of the video game
+     * @param title Title of the video game
+     * @return VideoGame object
+     */
+    private static VideoGame videoGame(int id, String title) {
+        return new VideoGame(id, title, "Platform", "Publisher", LocalDate.of(2024, 8, 20), null, 10, 59.99, true, false, false, false, null);
+    }
+
+    /**
+     * Test verifying that a change of category status does not change the row of a video game
+     */
+    @Test
+    public void isDisplayedTheSame_ignoresTheCategoryStatuses() {
+        VideoGame videoGame = videoGame(1, "Title");
+        VideoGame copy = videoGame(1, "Title");
+        copy.setWishlist(true);
+        assertTrue(VideoGameDiffCallback.isDisplayedTheSame(videoGame, copy));
+        assertFalse(VideoGameDiffCallback.isDisplayedTheSame(videoGame, videoGame(1, "Renamed")));
+    }
+
+    /**
+     * Test verifying that a row whose cover art or text changed is only partially bound again
+     */
+    @Test
+    public void getChangePayload_identifiesThePartOfTheRowWhichChanged() {
+        VideoGame videoGame = videoGame(1, "Title");
+        VideoGame renamed = videoGame(1, "Renamed");
+        VideoGame newCoverArt = videoGame(1, "Title");
+        newCoverArt.setImagePath("/covers/new.jpg");
+        VideoGameDiffCallback callback = new VideoGameDiffCallback(Arrays.asList(videoGame, videoGame), Arrays.asList(renamed, newCoverArt));
+        assertEquals(RecyclerViewAdapter.PAYLOAD_TEXT, callback.getChangePayload(0, 0));
+        assertEquals(RecyclerViewAdapter.PAYLOAD_COVER, callback.getChangePayload(1, 1));
+        assertNull(new VideoGameDiffCallback(Arrays.asList(renamed), Arrays.asList(newCoverArt)).getChangePayload(0, 0));
+    }
+
+    /**
+     * Test verifying that sorting the video games again only moves the rows
+     */
+    @Test
+    public void calculateDiff_sortedListOnlyMovesRows() {
+        VideoGame first = videoGame(1, "A");
+        VideoGame second = videoGame(2, "B");
+        VideoGame third = videoGame(3, "C");
+        List<VideoGame> oldVideoGames = Arrays.asList(first, second, third);
+        List<VideoGame> newVideoGames = Arrays.asList(third, second, first);
+        int[] counts = new int[4];
+        DiffUtil.calculateDiff(new VideoGameDiffCallback(oldVideoGames, newVideoGames)).dispatchUpdatesTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                counts[0] += count;
+            }
+            @Override
+            public void onRemoved(int position, int count) {
+                counts[1] += count;
+            }
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                counts[2]++;
+            }
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                counts[3] += count;
+            }
+        });
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[1]);
+        assertTrue(counts[2] > 0);
+        assertEquals(0, counts[3]);
+    }
+
+}
@@ -0,0 +1,83 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGamePositionIndexTest.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the positions found by the VideoGamePositionIndex
+ */
+public class VideoGamePositionIndexTest {
+
+    /**
+     * Method allowing to create a list of video games with IDs spread over a large range
+     * @param size Amount of video games
+     * @return List of video games
+     */
+    private static List<VideoGame> videoGames(int size) {
+        List<VideoGame> videoGames = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            videoGames.add(new VideoGame(index * 7919 + 1, "Title " + index, "Platform", "Publisher", null, null, 0, 0, true, false, false, false, null));
+        }
+        return videoGames;
+    }
+
+    /**
+     * Method allowing to find the position of a video game by walking the list
+     * @param videoGames List of video games
+     * @param id ID of the video game
+     * @return Position of the video game, or -1 if it is not within the list
+     */
+    private static int linearPosition(List<VideoGame> videoGames, int id) {
+        for (int index = 0; index < videoGames.size(); index++) {
+            if (videoGames.get(index).getId() == id) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Test verifying that the positions are shifted after each removal, including after the index is built again
+     */
+    @Test
+    public void indexOf_matchesTheListAfterRemovals() {
+        List<VideoGame> videoGames = videoGames(500);
+        List<VideoGame> allVideoGames = new ArrayList<>(videoGames);
+        VideoGamePositionIndex index = new VideoGamePositionIndex(videoGames);
+        Random random = new Random(42);
+        for (int removal = 0; removal < 300; removal++) {
+            int id = videoGames.remove(random.nextInt(videoGames.size())).getId();
+            index.remove(id);
+            assertEquals(-1, index.indexOf(id));
+            for (int check = 0; check < 20; check++) {
+                int checkedId = allVideoGames.get(random.nextInt(allVideoGames.size())).getId();
+                assertEquals(linearPosition(videoGames, checkedId), index.indexOf(checkedId));
+            }
+        }
+    }
+
+    /**
+     * Test verifying that a list modified without notifying the index is indexed again
+     */
+    @Test
+    public void indexOf_rebuildsAfterAnUnnotifiedChange() {
+        List<VideoGame> videoGames = videoGames(10);
+        VideoGamePositionIndex index = new VideoGamePositionIndex(videoGames);
+        VideoGame moved = videoGames.remove(9);
+        videoGames.add(0, moved);
+        assertEquals(0, index.indexOf(moved.getId()));
+        assertEquals(9, index.indexOf(videoGames.get(9).getId()));
+        assertEquals(-1, index.indexOf(123456));
+    }
+
+}
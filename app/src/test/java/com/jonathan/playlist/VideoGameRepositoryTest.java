@@ -0,0 +1,83 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRepositoryTest.java ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the in-memory sorting of the VideoGameRepository
+ */
+public class VideoGameRepositoryTest {
+
+    /**
+     * Method allowing to create a video game used by the tests
+     * @param id ID of the video game
+     * @param title Title of the video game
+     * @param completionDate Completion date of the video game
+     * @param playtime Playtime of the video game
+     * @return Video game used by the tests
+     */
+    private static VideoGame videoGame(int id, String title, LocalDate completionDate, int playtime) {
+        return new VideoGame(id, title, "Switch", "Nintendo", LocalDate.of(2020, 1, 1), completionDate, playtime, 0, false, false, true, false, "null");
+    }
+
+    /**
+     * Method allowing to sort video games and obtain their IDs in order
+     * @param sortColumn Column by which the video games will be sorted
+     * @param sortOrder Order in which the video games will be sorted
+     * @param videoGames Video games to be sorted
+     * @return IDs of the sorted video games
+     */
+    private static Integer[] sortedIds(String sortColumn, String sortOrder, VideoGame... videoGames) {
+        ArrayList<VideoGame> list = new ArrayList<>(Arrays.asList(videoGames));
+        list.sort(VideoGameRepository.buildComparator(sortColumn, sortOrder));
+        Integer[] ids = new Integer[list.size()];
+        for (int index = 0; index < list.size(); index++) {
+            ids[index] = list.get(index).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Test verifying that ties are sorted by title in ascending order whatever the sort order
+     */
+    @Test
+    public void buildComparator_tiesSortedByTitle() {
+        VideoGame a = videoGame(1, "Zelda", null, 10);
+        VideoGame b = videoGame(2, "Metroid", null, 10);
+        VideoGame c = videoGame(3, "Kirby", null, 5);
+        assertArrayEquals(new Integer[]{3, 2, 1}, sortedIds("playtime", " ASC", a, b, c));
+        assertArrayEquals(new Integer[]{2, 1, 3}, sortedIds("playtime", " DESC", a, b, c));
+    }
+
+    /**
+     * Test verifying that missing completion dates are sorted like the NULL values of the database
+     */
+    @Test
+    public void buildComparator_nullDates() {
+        VideoGame a = videoGame(1, "Zelda", LocalDate.of(2023, 5, 12), 10);
+        VideoGame b = videoGame(2, "Metroid", null, 10);
+        assertArrayEquals(new Integer[]{2, 1}, sortedIds("completion_date", " ASC", a, b));
+        assertArrayEquals(new Integer[]{1, 2}, sortedIds("completion_date", " DESC", a, b));
+    }
+
+    /**
+     * Test verifying that the video games are sorted by title alone when the title is the sort column
+     */
+    @Test
+    public void buildComparator_title() {
+        VideoGame a = videoGame(1, "Metroid", null, 10);
+        VideoGame b = videoGame(2, "Zelda", null, 10);
+        assertArrayEquals(new Integer[]{2, 1}, sortedIds("title", " DESC", a, b));
+    }
+
+}
@@ -0,0 +1,65 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRowBinderTest.java  ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the text prepared by the VideoGameRowBinder of each fragment
+ */
+public class VideoGameRowBinderTest {
+
+    /**
+     * Method allowing to create a video game with a specific playtime, price and completion date
+     * @param playtime Playtime in hours of the video game
+     * @param price Price of the video game
+     * @param completionDate Completion date of the video game
+     * @return VideoGame object
+     */
+    private static VideoGame videoGame(int playtime, double price, LocalDate completionDate) {
+        return new VideoGame(1, "Title", "Platform", "Publisher", LocalDate.of(2024, 8, 20), completionDate, playtime, price, true, true, true, true, null);
+    }
+
+    /**
+     * Test verifying that the backlog displays the playtime along with the release date
+     */
+    @Test
+    public void playtimeRowBinder_formatsThePlaytime() {
+        VideoGameRowBinder binder = new VideoGameRowBinder.PlaytimeRowBinder("No Playtime", "Hour", "Hours");
+        assertEquals("No Playtime", binder.createRow(videoGame(0, 0, null)).category);
+        assertEquals("1 Hour", binder.createRow(videoGame(1, 0, null)).category);
+        assertEquals("42 Hours", binder.createRow(videoGame(42, 0, null)).category);
+        assertEquals("2024-08-20", binder.createRow(videoGame(42, 0, null)).date);
+        assertEquals("Title", binder.createRow(videoGame(42, 0, null)).title);
+    }
+
+    /**
+     * Test verifying that the completion list displays the completion date instead of the release date
+     */
+    @Test
+    public void completionRowBinder_formatsTheCompletionDate() {
+        VideoGameRowBinder binder = new VideoGameRowBinder.CompletionRowBinder("No Playtime", "Hour", "Hours", "No Completion Date");
+        assertEquals("2025-01-02", binder.createRow(videoGame(3, 0, LocalDate.of(2025, 1, 2))).date);
+        assertEquals("No Completion Date", binder.createRow(videoGame(3, 0, null)).date);
+        assertEquals("3 Hours", binder.createRow(videoGame(3, 0, null)).category);
+    }
+
+    /**
+     * Test verifying that the collection and the wishlist display the price with two decimals
+     */
+    @Test
+    public void priceRowBinder_formatsThePrice() {
+        VideoGameRowBinder binder = new VideoGameRowBinder.PriceRowBinder("Free");
+        assertEquals("Free", binder.createRow(videoGame(0, 0, null)).category);
+        assertEquals("$" + new DecimalFormat("0.00").format(59.5), binder.createRow(videoGame(0, 59.5, null)).category);
+    }
+
+}
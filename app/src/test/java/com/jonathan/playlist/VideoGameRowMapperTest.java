@@ -0,0 +1,44 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameRowMapperTest.java  ***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import java.time.LocalDate;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the date decoding of the VideoGameRowMapper
+ */
+public class VideoGameRowMapperTest {
+
+    /**
+     * Test verifying that dates in the ISO format are decoded correctly
+     */
+    @Test
+    public void decodeDate_isoDate() {
+        assertEquals(LocalDate.of(2024, 8, 20), VideoGameRowMapper.decodeDate("2024-08-20"));
+        assertEquals(LocalDate.of(1998, 11, 21), VideoGameRowMapper.decodeDate("1998-11-21"));
+    }
+
+    /**
+     * Test verifying that a missing date is decoded as null
+     */
+    @Test
+    public void decodeDate_null() {
+        assertNull(VideoGameRowMapper.decodeDate(null));
+    }
+
+    /**
+     * Test verifying that an invalid date is rejected as it was by the default parser
+     */
+    @Test(expected = java.time.DateTimeException.class)
+    public void decodeDate_invalidDate() {
+        VideoGameRowMapper.decodeDate("2024-02-30");
+    }
+
+}
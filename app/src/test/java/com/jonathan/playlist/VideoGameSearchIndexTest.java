@@ -0,0 +1,89 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameSearchIndexTest.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+import org.junit.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the word prefix search of the VideoGameSearchIndex
+ */
+public class VideoGameSearchIndexTest {
+
+    /**
+     * Method allowing to create a list of video games with the specified titles
+     * @param titles Titles of the video games
+     * @return ArrayList containing the video games in the order of the titles
+     */
+    private static ArrayList<VideoGame> videoGames(String... titles) {
+        ArrayList<VideoGame> videoGames = new ArrayList<>();
+        for (int index = 0; index < titles.length; index++) {
+            videoGames.add(new VideoGame(index, titles[index], "Switch", "Nintendo", LocalDate.of(2020, 1, 1), null, 0, 0, true, false, false, false, "null"));
+        }
+        return videoGames;
+    }
+
+    @Test
+    public void findCandidates_returnsEachVideoGameOnceInListOrder() {
+        VideoGameSearchIndex searchIndex = new VideoGameSearchIndex(videoGames("Zelda", "Super Mario 64", "super  metroid", "Mario Kart", "Super-Mario Galaxy"));
+        assertEquals("[1, 2, 4]", Arrays.toString(searchIndex.findCandidates(VideoGameSearchQuery.tokenize("SUPER "))));
+        assertEquals("[1, 2, 4]", Arrays.toString(searchIndex.findCandidates(VideoGameSearchQuery.tokenize("super mario"))));
+        assertEquals("[0, 1, 2, 3, 4]", Arrays.toString(searchIndex.findCandidates(VideoGameSearchQuery.tokenize("nin"))));
+        assertEquals("[]", Arrays.toString(searchIndex.findCandidates(VideoGameSearchQuery.tokenize("pokemon"))));
+    }
+
+    @Test
+    public void score_matchesEveryWordAcrossTheColumns() {
+        VideoGameSearchIndex searchIndex = new VideoGameSearchIndex(videoGames("Super Mario 64", "Zelda", "Super Metroid", "Super Mario Galaxy"));
+        String[] tokens = VideoGameSearchQuery.tokenize("mario nin");
+        int[] candidates = searchIndex.findCandidates(tokens);
+        int[] scores = searchIndex.score(candidates, tokens);
+        assertEquals("[0, 3]", Arrays.toString(candidates));
+        assertTrue(scores[0] > 0 && scores[1] > 0);
+        assertEquals(VideoGameSearchQuery.NO_MATCH, searchIndex.score(new int[]{1}, tokens)[0]);
+    }
+
+    @Test
+    public void dispatchUpdates_transformsTheOldPositionsIntoTheNewOnes() {
+        // Apply the notified ranges to the old positions and verify that they become the new positions
+        int[] oldPositions = {0, 1, 2, 5, 6, 9};
+        int[] newPositions = {1, 3, 4, 6, 7, 8, 9, 10};
+        List<Integer> displayed = new ArrayList<>();
+        for (int position : oldPositions) {
+            displayed.add(position);
+        }
+        VideoGameSearchIndex.dispatchUpdates(oldPositions, newPositions, new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                for (int index = 0; index < count; index++) {
+                    displayed.add(position + index, -1);
+                }
+            }
+            @Override
+            public void onRemoved(int position, int count) {
+                displayed.subList(position, position + count).clear();
+            }
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                fail();
+            }
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                fail();
+            }
+        });
+        assertEquals(newPositions.length, displayed.size());
+        assertEquals("[1, -1, -1, 6, -1, -1, 9, -1]", displayed.toString());
+    }
+
+}
@@ -0,0 +1,57 @@
+/***********************************************
+ *** Author:    Jonathan Carrière            ***
+ *** Date:      2024-08-20                   ***
+ *** File:      VideoGameSearchQueryTest.java***
+ *** Project:   PlayList                     ***
+ ***********************************************/
+
+package com.jonathan.playlist;
+
+import org.junit.Test;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the queries and the ranking of the full-text search
+ */
+public class VideoGameSearchQueryTest {
+
+    @Test
+    public void tokenize_splitsOnSymbolsAndRemovesDiacritics() {
+        assertEquals("[super, mario, 64]", Arrays.toString(VideoGameSearchQuery.tokenize("Super-Mario  64")));
+        assertEquals("[pokemon, x]", Arrays.toString(VideoGameSearchQuery.tokenize("Pokémon: X")));
+        assertEquals("super mario", VideoGameSearchQuery.normalize("  SUPER--mario "));
+    }
+
+    @Test
+    public void buildMatchExpression_turnsEveryWordIntoAPrefix() {
+        assertEquals("zelda* breath*", VideoGameSearchQuery.buildMatchExpression("  Zelda: Breath "));
+        assertEquals("pokemon*", VideoGameSearchQuery.buildMatchExpression("Pokémon"));
+        assertNull(VideoGameSearchQuery.buildMatchExpression(" - "));
+    }
+
+    @Test
+    public void score_favorsTitleMatchesAndTitlePrefixes() {
+        String[] tokens = VideoGameSearchQuery.tokenize("mario");
+        int titleMatch = VideoGameSearchQuery.score("The Legend of Mario", "Switch", "Nintendo", tokens);
+        int publisherMatch = VideoGameSearchQuery.score("Paper Jam", "Switch", "Mario Club", tokens);
+        int titlePrefix = VideoGameSearchQuery.score("Mario Kart", "Switch", "Nintendo", tokens);
+        assertTrue(titleMatch > publisherMatch);
+        assertTrue(titlePrefix > titleMatch);
+    }
+
+    @Test
+    public void score_requiresEveryWordAcrossTheColumns() {
+        String[] tokens = VideoGameSearchQuery.tokenize("kart swi");
+        assertTrue(VideoGameSearchQuery.score("Mario Kart 8", "Switch", "Nintendo", tokens) > 0);
+        assertEquals(VideoGameSearchQuery.NO_MATCH, VideoGameSearchQuery.score("Mario Kart 8", "Wii U", "Nintendo", tokens));
+    }
+
+    @Test
+    public void rank_sortsByScoreAndKeepsTiesInOrder() {
+        int[] scores = {1, VideoGameSearchQuery.NO_MATCH, 6, 1, 4, 6};
+        assertEquals("[2, 5, 4, 0, 3]", Arrays.toString(VideoGameSearchQuery.rank(scores)));
+        assertEquals("[]", Arrays.toString(VideoGameSearchQuery.rank(new int[]{VideoGameSearchQuery.NO_MATCH})));
+    }
+
+}